@@ -0,0 +1,73 @@
+package ru.modgy.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.modgy.PetHotelApplication;
+
+import java.util.Arrays;
+
+/**
+ * Контексты Spring для бенчмарков: только мапперы либо приложение целиком на H2 в памяти
+ */
+public final class BenchmarkContext {
+    private static final String[] MAPPER_PACKAGES = {
+            "ru.modgy.booking.dto.mapper",
+            "ru.modgy.owner.dto.mapper",
+            "ru.modgy.pet.mapper",
+            "ru.modgy.room.dto.mapper",
+            "ru.modgy.room.category.dto.mapper"
+    };
+
+    /**
+     * Передаются как аргументы командной строки, чтобы перекрыть application.properties.
+     * Схему создает только schema.sql: иначе Hibernate пересоздает таблицы для H2 и теряет
+     * начальные данные (пользователь 1). Журнал SQL и статистика Hibernate отключены,
+     * чтобы вывод не попадал в измерения
+     */
+    private static final String[] BENCHMARK_ARGS = {
+            "--spring.jpa.hibernate.ddl-auto=none",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.generate_statistics=false",
+            "--logging.level.root=WARN",
+            "--logging.level.ru.modgy.benchmark=INFO",
+            "--logging.level.org.hibernate.SQL=OFF"
+    };
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Сгенерированные MapStruct мапперы со связями между ними, без JPA и веб-слоя
+     */
+    public static AnnotationConfigApplicationContext startMappers() {
+        return new AnnotationConfigApplicationContext(MAPPER_PACKAGES);
+    }
+
+    /**
+     * Приложение с профилем ci (H2 в памяти) без веб-сервера
+     */
+    public static ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(PetHotelApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("ci")
+                .run(BENCHMARK_ARGS);
+    }
+
+    /**
+     * Приложение с профилем ci и веб-сервером на случайном порту (local.server.port)
+     */
+    public static ConfigurableApplicationContext startServer() {
+        return new SpringApplicationBuilder(PetHotelApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("ci")
+                .run(serverArgs());
+    }
+
+    private static String[] serverArgs() {
+        String[] args = Arrays.copyOf(BENCHMARK_ARGS, BENCHMARK_ARGS.length + 1);
+        args[BENCHMARK_ARGS.length] = "--server.port=0";
+        return args;
+    }
+}
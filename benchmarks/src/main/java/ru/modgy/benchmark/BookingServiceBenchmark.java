@@ -0,0 +1,75 @@
+package ru.modgy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.modgy.benchmark.load.DataSetGenerator;
+import ru.modgy.benchmark.load.DataSetIds;
+import ru.modgy.benchmark.load.DataSetVolume;
+import ru.modgy.booking.dto.BookingDto;
+import ru.modgy.booking.dto.BookingPageDto;
+import ru.modgy.booking.service.BookingService;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение бронирований через BookingServiceImpl с дополнением питомцев данными владельцев
+ * на наборе DataSetVolume.small() в H2 в памяти
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+    private static final long REQUESTER_ID = 1L;
+    private static final int PAGE_SIZE = 50;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private final Random random = new Random(42);
+    private DataSetIds ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        context = BenchmarkContext.startApplication();
+        bookingService = context.getBean(BookingService.class);
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            ids = new DataSetGenerator(DataSetVolume.small()).generate(connection);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingDto getBookingById() {
+        return bookingService.getBookingById(REQUESTER_ID, ids.randomBookingId(random));
+    }
+
+    @Benchmark
+    public BookingPageDto findAllBookingsInDates() {
+        LocalDate startDate = ids.randomDate(random);
+        return bookingService.findAllBookingsInDates(REQUESTER_ID, startDate, startDate.plusDays(7), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public BookingPageDto findAllBookingsByOwner() {
+        return bookingService.findAllBookingsByOwner(REQUESTER_ID, ids.randomOwnerId(random), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> findCrossingBookingsForRoomInDates() {
+        LocalDate checkInDate = ids.randomDate(random);
+        return bookingService.findCrossingBookingsForRoomInDates(REQUESTER_ID, ids.randomRoomId(random),
+                checkInDate, checkInDate.plusDays(30));
+    }
+}
@@ -0,0 +1,188 @@
+package ru.modgy.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.modgy.booking.dto.BookingDto;
+import ru.modgy.booking.dto.mapper.BookingMapper;
+import ru.modgy.booking.model.Booking;
+import ru.modgy.booking.model.StatusBooking;
+import ru.modgy.booking.model.TypesBooking;
+import ru.modgy.owner.dto.OwnerDto;
+import ru.modgy.owner.dto.mapper.OwnerMapper;
+import ru.modgy.owner.model.Owner;
+import ru.modgy.pet.dto.PetDto;
+import ru.modgy.pet.dto.PetSummaryDto;
+import ru.modgy.pet.mapper.PetMapper;
+import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.PetCare;
+import ru.modgy.pet.model.PetHealth;
+import ru.modgy.pet.model.PetQuestionnaire;
+import ru.modgy.pet.model.Sex;
+import ru.modgy.pet.model.TypeOfPet;
+import ru.modgy.room.category.model.Category;
+import ru.modgy.room.model.Room;
+import ru.modgy.utility.PhoneFormatMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Мапперы, через которые проходит каждый ответ с бронированиями, питомцами и владельцами.
+ * Сущности собираются в памяти, БД не используется
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private static final int PETS_TO_SORT = 1_000;
+    private static final String[] PHONES = {"89001234567", "+7 (900) 123-45-67", "8-900-123-45-67", "9001234567"};
+
+    private AnnotationConfigApplicationContext context;
+    private BookingMapper bookingMapper;
+    private PetMapper petMapper;
+    private OwnerMapper ownerMapper;
+    private Booking booking;
+    private Pet pet;
+    private PetQuestionnaire questionnaire;
+    private Owner owner;
+    private List<LocalDate> birthDates;
+    private List<PetSummaryDto> petDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startMappers();
+        bookingMapper = context.getBean(BookingMapper.class);
+        petMapper = context.getBean(PetMapper.class);
+        ownerMapper = context.getBean(OwnerMapper.class);
+
+        owner = Owner.builder()
+                .id(1L)
+                .lastName("Иванов")
+                .firstName("Иван")
+                .middleName("Иванович")
+                .mainPhone("+79001234567")
+                .optionalPhone("+74951234567")
+                .actualAddress("Москва, ул. Ленина, 1")
+                .rating(5)
+                .registrationDate(LocalDateTime.of(2023, 1, 1, 12, 0))
+                .pets(new ArrayList<>())
+                .build();
+        pet = pet(1L, "Бобик", LocalDate.now().minusYears(3));
+        questionnaire = new PetQuestionnaire(
+                PetHealth.builder().id(1L).pet(pet).vaccine("прививка от бешенства").build(),
+                null,
+                PetCare.builder().id(1L).pet(pet).feedType("сухой корм").feedingQuantity(2).build());
+        Pet secondPet = pet(2L, "Мурка", LocalDate.now().minusMonths(5));
+        owner.getPets().add(pet);
+        owner.getPets().add(secondPet);
+        owner.getPets().add(pet(3L, "Шарик", LocalDate.now().minusYears(10)));
+
+        Room room = Room.builder()
+                .id(1L)
+                .number("1F")
+                .area(10.0)
+                .description("Номер с отдельным входом")
+                .category(Category.builder().id(1L).name("Room").description("Стандарт").build())
+                .isVisible(true)
+                .build();
+        booking = Booking.builder()
+                .id(1L)
+                .type(TypesBooking.TYPE_BOOKING)
+                .checkInDate(LocalDate.of(2024, 9, 2))
+                .checkOutDate(LocalDate.of(2024, 9, 9))
+                .status(StatusBooking.STATUS_CONFIRMED)
+                .price(1_500.0)
+                .amount(10_500.0)
+                .prepaymentAmount(3_000.0)
+                .isPrepaid(true)
+                .room(room)
+                .pets(List.of(pet, secondPet))
+                .version(0L)
+                .build();
+
+        birthDates = List.of(LocalDate.now().minusDays(10), LocalDate.now().minusMonths(7),
+                LocalDate.now().minusYears(4));
+
+        Random random = new Random(42);
+        petDtos = new ArrayList<>(PETS_TO_SORT);
+        for (int i = 0; i < PETS_TO_SORT; i++) {
+            PetSummaryDto petDto = petMapper.toPetSummaryDto(pet((long) i, "Pet " + random.nextInt(PETS_TO_SORT / 4),
+                    LocalDate.now().minusDays(random.nextInt(5_000))));
+            petDto.setType(random.nextBoolean() ? TypeOfPet.DOG : TypeOfPet.CAT);
+            petDto.setRegistrationDate(LocalDateTime.of(2020, 1, 1, 0, 0).plusMinutes(random.nextInt(1_000_000)));
+            petDtos.add(petDto);
+        }
+        Collections.shuffle(petDtos, random);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return bookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public PetDto petToDto() {
+        return petMapper.toPetDto(pet, questionnaire);
+    }
+
+    @Benchmark
+    public PetSummaryDto petToSummaryDto() {
+        return petMapper.toPetSummaryDto(pet);
+    }
+
+    @Benchmark
+    public void calculateAge(Blackhole blackhole) {
+        for (LocalDate birthDate : birthDates) {
+            blackhole.consume(petMapper.calculateAge(birthDate));
+        }
+    }
+
+    @Benchmark
+    public OwnerDto ownerToDto() {
+        return ownerMapper.toOwnerDto(owner);
+    }
+
+    @Benchmark
+    public void formatPhoneNumber(Blackhole blackhole) {
+        for (String phone : PHONES) {
+            blackhole.consume(PhoneFormatMapper.formatPhoneNumber(phone));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<PetSummaryDto> sortPetsByComparator() {
+        List<PetSummaryDto> sorted = new ArrayList<>(petDtos);
+        sorted.sort(PetSummaryDto.PET_COMPARATOR);
+        return sorted;
+    }
+
+    private Pet pet(Long id, String name, LocalDate birthDate) {
+        return Pet.builder()
+                .id(id)
+                .owner(owner)
+                .type(TypeOfPet.DOG)
+                .name(name)
+                .breed("Spaniel")
+                .birthDate(birthDate)
+                .sex(Sex.MALE)
+                .color("рыжий")
+                .registrationDate(LocalDateTime.of(2023, 1, 1, 12, 0))
+                .version(0L)
+                .build();
+    }
+}
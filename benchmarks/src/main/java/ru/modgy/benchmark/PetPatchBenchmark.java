@@ -0,0 +1,145 @@
+package ru.modgy.benchmark;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import ru.modgy.owner.model.Owner;
+import ru.modgy.pet.dto.UpdatePetDto;
+import ru.modgy.pet.mapper.PetPatchMapper;
+import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.PetBehaviour;
+import ru.modgy.pet.model.PetCare;
+import ru.modgy.pet.model.PetHealth;
+import ru.modgy.pet.model.PetQuestionnaire;
+import ru.modgy.pet.model.Sex;
+import ru.modgy.pet.model.TypeOfPet;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Частичное обновление питомца через PetPatchMapper: только основные поля и вся карточка вместе с разделами анкеты.
+ * Измеряется только работа в памяти, без flush и принудительного увеличения версии.
+ * Повторное применение того же патча идемпотентно, поэтому сущности готовятся один раз на прогон.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PetPatchBenchmark {
+    private final PetPatchMapper petPatchMapper = Mappers.getMapper(PetPatchMapper.class);
+
+    /**
+     * sparse - меняются два поля анкеты, full - заполнены все поля UpdatePetDto
+     */
+    @Param({"sparse", "full"})
+    private String patch;
+    private UpdatePetDto dto;
+    private Pet pet;
+    private PetQuestionnaire questionnaire;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pet = Pet.builder()
+                .id(1L)
+                .owner(Owner.builder().id(1L).build())
+                .type(TypeOfPet.DOG)
+                .name("Бобик")
+                .breed("Spaniel")
+                .birthDate(LocalDate.of(2020, 1, 1))
+                .sex(Sex.MALE)
+                .color("black")
+                .registrationDate(LocalDateTime.of(2023, 1, 1, 10, 0))
+                .version(3L)
+                .build();
+        questionnaire = new PetQuestionnaire(
+                PetHealth.builder().id(1L).pet(pet).vaccine("rabies").build(),
+                PetBehaviour.builder().id(1L).pet(pet).build(),
+                PetCare.builder().id(1L).pet(pet).feedName("dry").feedingQuantity(2).build());
+        dto = "sparse".equals(patch) ? sparsePatch() : fullPatch();
+    }
+
+    @Benchmark
+    public Pet corePatch() {
+        petPatchMapper.updatePet(dto, pet);
+        return pet;
+    }
+
+    @Benchmark
+    public PetQuestionnaire profilePatch() {
+        petPatchMapper.updatePet(dto, pet);
+        petPatchMapper.updateHealth(dto, questionnaire.health());
+        petPatchMapper.updateBehaviour(dto, questionnaire.behaviour());
+        petPatchMapper.updateCare(dto, questionnaire.care());
+        return questionnaire;
+    }
+
+    private static UpdatePetDto sparsePatch() {
+        return UpdatePetDto.builder()
+                .name("Шарик")
+                .additionalData("любит морковку")
+                .build();
+    }
+
+    private static UpdatePetDto fullPatch() {
+        return UpdatePetDto.builder()
+                .type(TypeOfPet.CAT)
+                .name("Шарик")
+                .breed("Siamese")
+                .birthDate(LocalDate.of(2021, 2, 2))
+                .sex(Sex.FEMALE)
+                .color("white")
+                .sign("chip")
+                .isExhibition(true)
+                .vetVisitDate(LocalDate.of(2024, 3, 3))
+                .vetVisitReason("check-up")
+                .vaccine("rabies")
+                .parasites("none")
+                .fleaMite("none")
+                .surgery("none")
+                .pastDisease("none")
+                .healthCharacteristic("healthy")
+                .urineAnalysis("ok")
+                .isAllergy(false)
+                .allergyType("none")
+                .isChronicDisease(false)
+                .chronicDiseaseType("none")
+                .heatDate(LocalDate.of(2024, 4, 4))
+                .vetData("clinic")
+                .stayWithoutMaster("ok")
+                .stayAlone("ok")
+                .specialCare("no")
+                .barkHowl("no")
+                .furnitureDamage("no")
+                .foodFromTable("no")
+                .defecateAtHome("no")
+                .markAtHome("no")
+                .newPeople("friendly")
+                .isBitePeople(false)
+                .reasonOfBite("none")
+                .playWithDogs("yes")
+                .isDogTraining(true)
+                .trainingName("basic")
+                .like("balls")
+                .notLike("vacuum")
+                .toys("ball")
+                .badHabit("none")
+                .walking("twice")
+                .morningWalking("8:00")
+                .dayWalking("13:00")
+                .eveningWalking("20:00")
+                .feedingQuantity(3)
+                .feedType("dry")
+                .feedName("premium")
+                .feedComposition("chicken")
+                .feedingRate("200g")
+                .feedingPractice("bowl")
+                .treat("cheese")
+                .isMedicine(false)
+                .medicineRegimen("none")
+                .additionalData("любит морковку")
+                .build();
+    }
+}
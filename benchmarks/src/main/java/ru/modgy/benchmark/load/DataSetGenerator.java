@@ -0,0 +1,384 @@
+package ru.modgy.benchmark.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import ru.modgy.booking.model.ReasonOfStopBooking;
+import ru.modgy.booking.model.StatusBooking;
+import ru.modgy.booking.model.TypesBooking;
+import ru.modgy.pet.model.Sex;
+import ru.modgy.pet.model.TypeOfPet;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Random;
+
+/**
+ * Генератор синтетического набора данных зоо-отеля: категории, номера, владельцы с телефонами,
+ * питомцы и бронирования с сезонной загрузкой. Данные добавляются пакетными вставками JDBC
+ * к уже существующим, SQL совместим с H2 и Postgres.
+ * <p>
+ * История бронирований каждого номера строится назад от endDate, активные бронирования одного номера
+ * не пересекаются, поэтому большой объем бронирований на немного номеров дает долгую историю.
+ * <p>
+ * Запуск против отдельной БД:
+ * {@code DataSetGenerator --jdbc-url=jdbc:postgresql://localhost:5432/pethotel?reWriteBatchedInserts=true
+ * --db-user=admin --db-password=admin_pwd --rooms=200 --owners=100000 --pets=150000 --bookings=2000000}
+ */
+@Slf4j
+public class DataSetGenerator {
+    public static final String[] PET_NAMES = {"Барсик", "Мурка", "Бобик", "Шарик", "Рекс", "Луна", "Тиса", "Граф",
+            "Бусинка", "Джек", "Симба", "Лаки", "Ричи", "Марс", "Пушок", "Соня"};
+    private static final String[] BREEDS = {"Спаниель", "Бигль", "Хаски", "Корги", "Такса", "Сиамская",
+            "Мейн-кун", "Персидская", "Британская", "Метис"};
+    private static final String[] LAST_NAMES = {"Иванов", "Петров", "Сидоров", "Смирнов", "Кузнецов", "Попов",
+            "Васильев", "Соколов", "Михайлов", "Новиков"};
+    private static final String[] FIRST_NAMES = {"Иван", "Петр", "Анна", "Мария", "Сергей", "Ольга", "Алексей",
+            "Елена", "Дмитрий", "Наталья"};
+    /**
+     * Доля занятых дней номера по месяцам: пик летом и в новогодние праздники
+     */
+    private static final double[] OCCUPANCY = {0.85, 0.45, 0.5, 0.55, 0.75, 0.9, 0.95, 0.95, 0.65, 0.5, 0.45, 0.8};
+    private static final double CANCEL_RATE = 0.1;
+    private static final double CLOSING_RATE = 0.01;
+    private static final int BATCH_SIZE = 1_000;
+
+    private final DataSetVolume volume;
+    private final Random random;
+    private final LocalDate today = LocalDate.now();
+
+    public DataSetGenerator(DataSetVolume volume) {
+        this.volume = volume;
+        this.random = new Random(volume.seed());
+    }
+
+    public static void main(String[] args) throws SQLException {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        DataSetVolume volume = DataSetVolume.of(options);
+        try (Connection connection = DriverManager.getConnection(options.getProperty("jdbc-url"),
+                options.getProperty("db-user"), options.getProperty("db-password"))) {
+            DataSetIds ids = new DataSetGenerator(volume).generate(connection);
+            log.info("DataSetGenerator: generated, volume={}, bookings from {} to {}",
+                    volume, ids.firstDate(), ids.lastDate());
+        }
+    }
+
+    /**
+     * Добавляет набор данных; транзакция фиксируется после каждого пакета
+     */
+    public DataSetIds generate(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            long startedAt = System.currentTimeMillis();
+            long[] categoryIds = insertCategories(connection);
+            long[] roomIds = insertRooms(connection, categoryIds);
+            long[] ownerIds = insertOwners(connection);
+            long[] petIds = insertPets(connection, ownerIds);
+            insertBookings(connection, roomIds, petIds);
+            log.info("DataSetGenerator: generate, volume={}, millis={}", volume,
+                    System.currentTimeMillis() - startedAt);
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return DataSetIds.read(connection);
+    }
+
+    private long[] insertCategories(Connection connection) throws SQLException {
+        // имена категорий уникальны, поэтому при повторной генерации к ним добавляется метка запуска
+        String run = Long.toString(System.currentTimeMillis() % 100_000, 36);
+        return insert(connection, "categories", "id_categories",
+                "INSERT INTO categories (name_categories, description_categories) VALUES (?, ?)",
+                volume.categories(), (ps, i) -> {
+                    ps.setString(1, "cat " + run + " " + i);
+                    ps.setString(2, "Категория номеров " + i);
+                });
+    }
+
+    private long[] insertRooms(Connection connection, long[] categoryIds) throws SQLException {
+        String run = Long.toString(System.currentTimeMillis() % 100_000, 36);
+        return insert(connection, "rooms", "id_rooms",
+                "INSERT INTO rooms (number_rooms, area_rooms, category_id_rooms, description_rooms, visible_rooms) " +
+                "VALUES (?, ?, ?, ?, ?)",
+                volume.rooms(), (ps, i) -> {
+                    ps.setString(1, "room " + run + " " + i);
+                    ps.setDouble(2, 4.0 + i % 12);
+                    ps.setLong(3, categoryIds[i % categoryIds.length]);
+                    ps.setString(4, "Номер " + i);
+                    ps.setBoolean(5, true);
+                });
+    }
+
+    private long[] insertOwners(Connection connection) throws SQLException {
+        long phoneBase = nextPhoneBase(connection);
+        long[] ownerIds = insert(connection, "owners", "id_owners",
+                "INSERT INTO owners (last_name_owners, first_name_owners, middle_name_owners, main_phone_owners, " +
+                "optional_phone_owners, actual_address_owners, source_owners, rating_owners, " +
+                "registration_date_owners) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                volume.owners(), (ps, i) -> {
+                    ps.setString(1, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                    ps.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                    ps.setString(3, null);
+                    ps.setString(4, mainPhone(phoneBase + i));
+                    ps.setString(5, i % 3 == 0 ? optionalPhone(phoneBase + i) : null);
+                    ps.setString(6, "г. Москва, ул. Ленина, " + (1 + i % 200));
+                    ps.setString(7, i % 2 == 0 ? "Рекомендация" : "Интернет");
+                    ps.setInt(8, random.nextInt(6));
+                    ps.setObject(9, LocalDateTime.of(2015, 1, 1, 10, 0).plusMinutes(random.nextInt(5_000_000)));
+                });
+
+        // телефоны хранятся в формате PhoneFormatMapper, как у владельцев, добавленных через API
+        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO owner_phones " +
+                "(owner_id_owner_phones, number_owner_phones, suffix_owner_phones) VALUES (?, ?, ?)")) {
+            int batched = 0;
+            for (int i = 0; i < ownerIds.length; i++) {
+                batched += addPhone(ps, ownerIds[i], mainPhone(phoneBase + i));
+                if (i % 3 == 0) {
+                    batched += addPhone(ps, ownerIds[i], optionalPhone(phoneBase + i));
+                }
+                if (batched >= BATCH_SIZE) {
+                    executeBatch(connection, ps);
+                    batched = 0;
+                }
+            }
+            executeBatch(connection, ps);
+        }
+        return ownerIds;
+    }
+
+    private long[] insertPets(Connection connection, long[] ownerIds) throws SQLException {
+        // питомец i принадлежит владельцу i % owners: у части владельцев несколько питомцев
+        long[] petIds = insert(connection, "pets", "id_pets",
+                "INSERT INTO pets (owner_id_pets, type_pets, name_pets, breed_pets, birth_date_pets, sex_pets, " +
+                "color_pets) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                volume.pets(), (ps, i) -> {
+                    boolean isCat = random.nextInt(3) == 0;
+                    ps.setLong(1, ownerIds[i % ownerIds.length]);
+                    ps.setString(2, isCat ? TypeOfPet.CAT.name() : TypeOfPet.DOG.name());
+                    ps.setString(3, PET_NAMES[random.nextInt(PET_NAMES.length)]);
+                    ps.setString(4, BREEDS[(isCat ? 5 : 0) + random.nextInt(5)]);
+                    ps.setObject(5, today.minusDays(60 + random.nextInt(5_000)).atStartOfDay());
+                    ps.setString(6, random.nextBoolean() ? Sex.MALE.name() : Sex.FEMALE.name());
+                    ps.setString(7, "рыжий");
+                });
+
+        // разделы анкеты, как у питомцев, добавленных через API
+        insertSections(connection, petIds, "INSERT INTO pet_health (id_pet_health, vaccine_pet_health) " +
+                "VALUES (?, ?)", (ps, i) -> ps.setString(2, "комплексная, бешенство"));
+        insertSections(connection, petIds, "INSERT INTO pet_behaviour (id_pet_behaviour) VALUES (?)", (ps, i) -> {
+        });
+        insertSections(connection, petIds, "INSERT INTO pet_care (id_pet_care, feed_type_pet_care, " +
+                "feeding_quantity_pet_care, additional_data_pet_care) VALUES (?, ?, ?, ?)", (ps, i) -> {
+            ps.setString(2, "сухой корм");
+            ps.setInt(3, 1 + random.nextInt(3));
+            ps.setString(4, i % 4 == 0 ? "Боится громких звуков, нужен отдельный выгул" : null);
+        });
+        return petIds;
+    }
+
+    private void insertSections(Connection connection, long[] petIds, String sql, RowWriter writer)
+            throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < petIds.length; i++) {
+                ps.setLong(1, petIds[i]);
+                writer.write(ps, i);
+                ps.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    executeBatch(connection, ps);
+                }
+            }
+            executeBatch(connection, ps);
+        }
+    }
+
+    private void insertBookings(Connection connection, long[] roomIds, long[] petIds) throws SQLException {
+        int total = volume.bookings();
+        long[] firstPets = new long[total];
+        long[] secondPets = new long[total];
+        int[] bookingsOfRooms = new int[roomIds.length];
+        for (int i = 0; i < total; i++) {
+            bookingsOfRooms[i % roomIds.length]++;
+        }
+
+        long maxId = maxId(connection, "bookings", "id_bookings");
+        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO bookings (type_bookings, " +
+                "check_in_date_bookings, check_out_date_bookings, status_bookings, reason_of_stop_bookings, " +
+                "price_bookings, amount_bookings, prepayment_amount_bookings, made_prepayment_bookings, " +
+                "room_id_bookings) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            int booking = 0;
+            for (int room = 0; room < roomIds.length; room++) {
+                LocalDate cursor = volume.endDate().minusDays(random.nextInt(7));
+                double basePrice = 800 + 200 * (room % Math.max(volume.categories(), 1));
+                for (int j = 0; j < bookingsOfRooms[room]; j++) {
+                    LocalDate checkOut = cursor;
+                    int stay = stayLength(checkOut.getMonth());
+                    LocalDate checkIn = checkOut.minusDays(stay);
+                    double occupancy = OCCUPANCY[checkIn.getMonthValue() - 1];
+                    int gap = (int) Math.round(stay * (1 - occupancy) / occupancy * (0.5 + random.nextDouble()));
+                    cursor = checkIn.minusDays(gap);
+
+                    boolean isClosing = random.nextDouble() < CLOSING_RATE;
+                    double price = isClosing ? 0 : basePrice * (occupancy > 0.8 ? 1.2 : 1.0);
+                    double amount = price * stay;
+                    boolean isPrepaid = !isClosing && random.nextBoolean();
+                    ps.setString(1, isClosing ? TypesBooking.TYPE_CLOSING.name() : TypesBooking.TYPE_BOOKING.name());
+                    ps.setObject(2, checkIn);
+                    ps.setObject(3, checkOut);
+                    ps.setString(4, status(checkIn, checkOut).name());
+                    ps.setString(5, isClosing ? ReasonOfStopBooking.REASON_RENOVATION.name() : null);
+                    ps.setDouble(6, price);
+                    ps.setDouble(7, amount);
+                    ps.setDouble(8, isPrepaid ? Math.round(amount * 0.3) : 0);
+                    ps.setBoolean(9, isPrepaid);
+                    ps.setLong(10, roomIds[room]);
+                    ps.addBatch();
+
+                    if (!isClosing) {
+                        // второй питомец того же владельца, если он есть
+                        int pet = random.nextInt(petIds.length);
+                        firstPets[booking] = petIds[pet];
+                        int owners = volume.owners();
+                        if (random.nextInt(5) == 0 && pet + owners < petIds.length) {
+                            secondPets[booking] = petIds[pet + owners];
+                        }
+                    }
+                    if (++booking % BATCH_SIZE == 0) {
+                        executeBatch(connection, ps);
+                    }
+                }
+            }
+            executeBatch(connection, ps);
+        }
+
+        long[] bookingIds = idsAfter(connection, "bookings", "id_bookings", maxId, total);
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO pets_in_bookings (id_bookings, id_pets) VALUES (?, ?)")) {
+            int batched = 0;
+            for (int i = 0; i < total; i++) {
+                for (long petId : new long[]{firstPets[i], secondPets[i]}) {
+                    if (petId != 0) {
+                        ps.setLong(1, bookingIds[i]);
+                        ps.setLong(2, petId);
+                        ps.addBatch();
+                        batched++;
+                    }
+                }
+                if (batched >= BATCH_SIZE) {
+                    executeBatch(connection, ps);
+                    batched = 0;
+                }
+            }
+            executeBatch(connection, ps);
+        }
+    }
+
+    private int stayLength(Month month) {
+        return switch (month) {
+            case JUNE, JULY, AUGUST -> 3 + random.nextInt(12);
+            case DECEMBER, JANUARY -> 2 + random.nextInt(9);
+            default -> 1 + random.nextInt(5);
+        };
+    }
+
+    private StatusBooking status(LocalDate checkIn, LocalDate checkOut) {
+        if (random.nextDouble() < CANCEL_RATE) {
+            return StatusBooking.STATUS_CANCELLED;
+        }
+        if (checkOut.isBefore(today)) {
+            return StatusBooking.STATUS_CHECKED_OUT;
+        }
+        if (!checkIn.isAfter(today)) {
+            return StatusBooking.STATUS_CHECKED_IN;
+        }
+        return random.nextInt(4) == 0 ? StatusBooking.STATUS_INITIAL : StatusBooking.STATUS_CONFIRMED;
+    }
+
+    /**
+     * Вставляет count строк пакетами и возвращает идентификаторы в порядке вставки
+     */
+    private long[] insert(Connection connection,
+                          String table,
+                          String idColumn,
+                          String sql,
+                          int count,
+                          RowWriter writer) throws SQLException {
+        long maxId = maxId(connection, table, idColumn);
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(ps, i);
+                ps.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    executeBatch(connection, ps);
+                }
+            }
+            executeBatch(connection, ps);
+        }
+        return idsAfter(connection, table, idColumn, maxId, count);
+    }
+
+    private long[] idsAfter(Connection connection, String table, String idColumn, long maxId, int count)
+            throws SQLException {
+        long[] ids = new long[count];
+        try (PreparedStatement ps = connection.prepareStatement(
+                String.format("SELECT %1$s FROM %2$s WHERE %1$s > ? ORDER BY %1$s", idColumn, table))) {
+            ps.setLong(1, maxId);
+            try (ResultSet resultSet = ps.executeQuery()) {
+                int i = 0;
+                while (resultSet.next() && i < count) {
+                    ids[i++] = resultSet.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private long maxId(Connection connection, String table, String idColumn) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     String.format("SELECT COALESCE(MAX(%s), 0) FROM %s", idColumn, table))) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Основные телефоны уникальны, поэтому новые владельцы получают номера после уже выданных
+     */
+    private long nextPhoneBase(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM owners")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private int addPhone(PreparedStatement ps, long ownerId, String number) throws SQLException {
+        ps.setLong(1, ownerId);
+        ps.setString(2, number);
+        ps.setString(3, number.substring(number.length() - 4));
+        ps.addBatch();
+        return 1;
+    }
+
+    private static void executeBatch(Connection connection, PreparedStatement ps) throws SQLException {
+        ps.executeBatch();
+        connection.commit();
+    }
+
+    private static String mainPhone(long owner) {
+        return String.format("+7901%07d", owner);
+    }
+
+    private static String optionalPhone(long owner) {
+        return String.format("+7495%07d", owner);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, int index) throws SQLException;
+    }
+}
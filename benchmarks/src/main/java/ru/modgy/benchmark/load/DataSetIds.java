@@ -0,0 +1,91 @@
+package ru.modgy.benchmark.load;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Идентификаторы и телефоны, существующие в БД: по ним нагрузка выбирает случайные объекты
+ */
+public record DataSetIds(long[] roomIds,
+                         long[] ownerIds,
+                         String[] ownerPhones,
+                         long[] petIds,
+                         long[] bookingIds,
+                         LocalDate firstDate,
+                         LocalDate lastDate) {
+
+    public static DataSetIds read(Connection connection) throws SQLException {
+        List<String> phones = new ArrayList<>();
+        long[] ownerIds = readIds(connection,
+                "SELECT id_owners, main_phone_owners FROM owners ORDER BY id_owners", phones);
+        LocalDate firstDate;
+        LocalDate lastDate;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT MIN(check_in_date_bookings), MAX(check_out_date_bookings) FROM bookings")) {
+            resultSet.next();
+            firstDate = resultSet.getObject(1, LocalDate.class);
+            lastDate = resultSet.getObject(2, LocalDate.class);
+        }
+        return new DataSetIds(
+                readIds(connection, "SELECT id_rooms FROM rooms WHERE visible_rooms ORDER BY id_rooms", null),
+                ownerIds,
+                phones.toArray(String[]::new),
+                readIds(connection, "SELECT id_pets FROM pets ORDER BY id_pets", null),
+                readIds(connection, "SELECT id_bookings FROM bookings ORDER BY id_bookings", null),
+                firstDate,
+                lastDate);
+    }
+
+    public long randomRoomId(Random random) {
+        return roomIds[random.nextInt(roomIds.length)];
+    }
+
+    public long randomOwnerId(Random random) {
+        return ownerIds[random.nextInt(ownerIds.length)];
+    }
+
+    public String randomOwnerPhone(Random random) {
+        return ownerPhones[random.nextInt(ownerPhones.length)];
+    }
+
+    public long randomPetId(Random random) {
+        return petIds[random.nextInt(petIds.length)];
+    }
+
+    public long randomBookingId(Random random) {
+        return bookingIds[random.nextInt(bookingIds.length)];
+    }
+
+    /**
+     * Случайная дата в пределах периода, покрытого бронированиями
+     */
+    public LocalDate randomDate(Random random) {
+        return firstDate.plusDays(random.nextInt((int) (lastDate.toEpochDay() - firstDate.toEpochDay()) + 1));
+    }
+
+    private static long[] readIds(Connection connection, String sql, List<String> secondColumn) throws SQLException {
+        long[] ids = new long[1_024];
+        int size = 0;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                ids[size++] = resultSet.getLong(1);
+                if (secondColumn != null) {
+                    secondColumn.add(resultSet.getString(2));
+                }
+            }
+        }
+        return Arrays.copyOf(ids, size);
+    }
+}
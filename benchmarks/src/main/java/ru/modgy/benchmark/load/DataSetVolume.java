@@ -0,0 +1,55 @@
+package ru.modgy.benchmark.load;
+
+import org.springframework.core.env.PropertySource;
+
+import java.time.LocalDate;
+
+/**
+ * Объемы генерируемого набора данных
+ *
+ * @param endDate дата, до которой строится история бронирований каждого номера (в прошлое от нее)
+ */
+public record DataSetVolume(int categories,
+                            int rooms,
+                            int owners,
+                            int pets,
+                            int bookings,
+                            LocalDate endDate,
+                            long seed) {
+    /**
+     * Объем, сопоставимый с крупной сетью зоо-отелей
+     */
+    public static DataSetVolume production() {
+        return new DataSetVolume(6, 200, 100_000, 150_000, 2_000_000, LocalDate.now().plusMonths(6), 42);
+    }
+
+    /**
+     * Небольшой отель за несколько лет работы, создается за секунды
+     */
+    public static DataSetVolume small() {
+        return new DataSetVolume(4, 50, 2_000, 3_000, 20_000, LocalDate.now().plusMonths(6), 42);
+    }
+
+    /**
+     * Объемы из параметров командной строки --rooms, --owners, --pets, --bookings, --seed,
+     * не заданные берутся из production()
+     */
+    public static DataSetVolume of(PropertySource<?> options) {
+        DataSetVolume defaults = production();
+        return new DataSetVolume(
+                intOption(options, "categories", defaults.categories()),
+                intOption(options, "rooms", defaults.rooms()),
+                intOption(options, "owners", defaults.owners()),
+                intOption(options, "pets", defaults.pets()),
+                intOption(options, "bookings", defaults.bookings()),
+                options.containsProperty("end-date") ?
+                        LocalDate.parse((String) options.getProperty("end-date")) : defaults.endDate(),
+                options.containsProperty("seed") ?
+                        Long.parseLong((String) options.getProperty("seed")) : defaults.seed());
+    }
+
+    private static int intOption(PropertySource<?> options, String name, int defaultValue) {
+        Object value = options.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value.toString().replace("_", ""));
+    }
+}
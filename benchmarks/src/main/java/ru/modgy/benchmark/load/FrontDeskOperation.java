@@ -0,0 +1,202 @@
+package ru.modgy.benchmark.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.modgy.booking.dto.NewBookingDto;
+import ru.modgy.booking.model.TypesBooking;
+import ru.modgy.owner.dto.CheckOwnerDto;
+import ru.modgy.pet.dto.UpdatePetDto;
+import ru.modgy.utility.UtilityService;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Запросы стойки администратора и их доли в нагрузке
+ */
+public enum FrontDeskOperation {
+    GET_BOOKING(20) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            return traffic.get("/bookings/" + traffic.ids().randomBookingId(traffic.random()));
+        }
+    },
+    BOOKINGS_IN_DATES(12) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            LocalDate startDate = traffic.randomDate();
+            return traffic.get("/bookings/inDates?startDate=" + format(startDate) +
+                               "&endDate=" + format(startDate.plusDays(7)) + "&size=20");
+        }
+    },
+    SHORT_BOOKINGS_IN_DATES(8) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            LocalDate startDate = traffic.randomDate();
+            return traffic.get("/bookings/inDates/short?startDate=" + format(startDate) +
+                               "&endDate=" + format(startDate.plusDays(14)));
+        }
+    },
+    AVAILABILITY_MATRIX(5) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            LocalDate startDate = traffic.randomDate();
+            return traffic.get("/bookings/availability-matrix?startDate=" + format(startDate) +
+                               "&endDate=" + format(startDate.plusDays(14)));
+        }
+    },
+    CHECK_ROOM_AVAILABLE(10) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            LocalDate checkInDate = traffic.randomDate();
+            return traffic.get("/bookings/rooms/" + traffic.ids().randomRoomId(traffic.random()) +
+                               "/checkRoomAvailable?checkInDate=" + format(checkInDate) +
+                               "&checkOutDate=" + format(checkInDate.plusDays(5)));
+        }
+    },
+    CROSSING_BOOKINGS(5) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            LocalDate checkInDate = traffic.randomDate();
+            return traffic.get("/bookings/rooms/" + traffic.ids().randomRoomId(traffic.random()) +
+                               "/crossingBookingsOfRoomInDates?checkInDate=" + format(checkInDate) +
+                               "&checkOutDate=" + format(checkInDate.plusDays(30)));
+        }
+    },
+    BOOKINGS_OF_OWNER(5) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            return traffic.get("/bookings/allByOwner/owners/" + traffic.ids().randomOwnerId(traffic.random()));
+        }
+    },
+    ADD_BOOKING(2) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            // новые бронирования приходятся на ближайший год, часть из них получает 409 из-за занятого номера
+            LocalDate checkInDate = LocalDate.now().plusDays(traffic.random().nextInt(365));
+            NewBookingDto newBookingDto = NewBookingDto.builder()
+                    .type(TypesBooking.TYPE_BOOKING)
+                    .roomId(traffic.ids().randomRoomId(traffic.random()))
+                    .checkInDate(checkInDate)
+                    .checkOutDate(checkInDate.plusDays(1 + traffic.random().nextInt(7)))
+                    .isPrepaid(false)
+                    .petIds(List.of(traffic.ids().randomPetId(traffic.random())))
+                    .build();
+            return traffic.post("/bookings", newBookingDto);
+        }
+    },
+    GET_PET(12) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            return traffic.get("/pets/" + traffic.ids().randomPetId(traffic.random()));
+        }
+    },
+    SEARCH_PETS(5) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            String name = DataSetGenerator.PET_NAMES[traffic.random().nextInt(DataSetGenerator.PET_NAMES.length)];
+            return traffic.get("/pets/search?text=" + URLEncoder.encode(name, StandardCharsets.UTF_8));
+        }
+    },
+    UPDATE_PET(3) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            UpdatePetDto updatePetDto = UpdatePetDto.builder()
+                    .additionalData("Обновлено стойкой администратора " + traffic.random().nextInt(1_000))
+                    .build();
+            return traffic.patch("/pets/" + traffic.ids().randomPetId(traffic.random()), updatePetDto);
+        }
+    },
+    GET_OWNER(8) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            return traffic.get("/owners/" + traffic.ids().randomOwnerId(traffic.random()));
+        }
+    },
+    CHECK_OWNER_PHONE(5) {
+        @Override
+        HttpRequest.Builder request(Traffic traffic) {
+            CheckOwnerDto checkOwnerDto = new CheckOwnerDto(traffic.ids().randomOwnerPhone(traffic.random()));
+            return traffic.post("/owners/check", checkOwnerDto);
+        }
+    };
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (FrontDeskOperation operation : values()) {
+            total += operation.weight;
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    private final int weight;
+
+    FrontDeskOperation(int weight) {
+        this.weight = weight;
+    }
+
+    public static FrontDeskOperation pick(Random random) {
+        int value = random.nextInt(TOTAL_WEIGHT);
+        for (FrontDeskOperation operation : values()) {
+            value -= operation.weight;
+            if (value < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights of operations are inconsistent");
+    }
+
+    abstract HttpRequest.Builder request(Traffic traffic);
+
+    private static String format(LocalDate date) {
+        return date.format(DATE_FORMAT);
+    }
+
+    /**
+     * Данные одного потока нагрузки для построения запросов
+     */
+    record Traffic(URI baseUri, Long requesterId, DataSetIds ids, ObjectMapper objectMapper, Random random) {
+
+        LocalDate randomDate() {
+            return ids.randomDate(random);
+        }
+
+        HttpRequest.Builder get(String path) {
+            return builder(path).GET();
+        }
+
+        HttpRequest.Builder post(String path, Object body) {
+            return builder(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json(body)));
+        }
+
+        HttpRequest.Builder patch(String path, Object body) {
+            return builder(path)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(json(body)));
+        }
+
+        private HttpRequest.Builder builder(String path) {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header(UtilityService.REQUESTER_ID_HEADER, requesterId.toString());
+        }
+
+        private String json(Object body) {
+            try {
+                return objectMapper.writeValueAsString(body);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+}
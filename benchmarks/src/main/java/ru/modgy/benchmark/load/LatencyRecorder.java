@@ -0,0 +1,63 @@
+package ru.modgy.benchmark.load;
+
+import java.util.Arrays;
+
+/**
+ * Задержки запросов одного вида в наносекундах; используется одним потоком, потоки объединяются через merge
+ */
+class LatencyRecorder {
+    private long[] latencies = new long[1_024];
+    private int count;
+    private int non2xx;
+    private int errors;
+
+    void record(long latencyNanos, int status) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (status < 200 || status >= 300) {
+            non2xx++;
+        }
+        if (status >= 500) {
+            errors++;
+        }
+    }
+
+    /**
+     * Запрос не получил ответа
+     */
+    void recordError(long latencyNanos) {
+        record(latencyNanos, 0);
+        errors++;
+    }
+
+    void merge(LatencyRecorder other) {
+        latencies = Arrays.copyOf(latencies, Math.max(latencies.length, count + other.count));
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        non2xx += other.non2xx;
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int non2xx() {
+        return non2xx;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    /**
+     * @return отсортированные задержки
+     */
+    long[] sorted() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,145 @@
+package ru.modgy.benchmark.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import ru.modgy.benchmark.BenchmarkContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Нагрузка стойки администратора на BookingController, PetController и OwnerController
+ * с отчетом о p50/p99 и пропускной способности.
+ * <p>
+ * Без --base-url поднимает приложение на H2 в памяти со случайным портом и заполняет его
+ * DataSetGenerator (объемы задаются теми же параметрами, что и у генератора).
+ * С --base-url нагружает уже запущенное приложение, а существующие идентификаторы читает
+ * из его БД по --jdbc-url, --db-user, --db-password.
+ * <p>
+ * Параметры: --threads=8, --warmup=PT10S, --duration=PT60S, --requester-id=1,
+ * --report=target/workload-report.json
+ */
+@Slf4j
+public class WorkloadDriver {
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final URI baseUri;
+    private final Long requesterId;
+    private final DataSetIds ids;
+
+    public WorkloadDriver(URI baseUri, Long requesterId, DataSetIds ids) {
+        this.baseUri = baseUri;
+        this.requesterId = requesterId;
+        this.ids = ids;
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        int threads = Integer.parseInt(option(options, "threads", "8"));
+        Duration warmup = Duration.parse(option(options, "warmup", "PT10S"));
+        Duration duration = Duration.parse(option(options, "duration", "PT60S"));
+        Long requesterId = Long.valueOf(option(options, "requester-id", "1"));
+        Path reportPath = Path.of(option(options, "report", "target/workload-report.json"));
+
+        WorkloadReport report;
+        if (options.containsProperty("base-url")) {
+            DataSetIds ids;
+            try (Connection connection = DriverManager.getConnection(options.getProperty("jdbc-url"),
+                    options.getProperty("db-user"), options.getProperty("db-password"))) {
+                ids = DataSetIds.read(connection);
+            }
+            WorkloadDriver driver = new WorkloadDriver(URI.create(options.getProperty("base-url")), requesterId, ids);
+            report = driver.run(threads, warmup, duration);
+        } else {
+            try (ConfigurableApplicationContext context = BenchmarkContext.startServer()) {
+                DataSetIds ids;
+                try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+                    ids = new DataSetGenerator(DataSetVolume.of(options)).generate(connection);
+                }
+                URI baseUri = URI.create("http://localhost:" +
+                                         context.getEnvironment().getProperty("local.server.port"));
+                report = new WorkloadDriver(baseUri, requesterId, ids).run(threads, warmup, duration);
+            }
+        }
+        report.print(System.out);
+        report.writeJson(reportPath, new ObjectMapper());
+        log.info("WorkloadDriver: report written to {}", reportPath.toAbsolutePath());
+    }
+
+    /**
+     * Запускает потоки нагрузки; запросы, начатые во время прогрева, в отчет не попадают
+     */
+    public WorkloadReport run(int threads, Duration warmup, Duration duration) throws Exception {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Map<FrontDeskOperation, LatencyRecorder>>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Random random = new Random(i);
+            results.add(executor.submit(() -> drive(random, measureFrom, measureUntil)));
+        }
+
+        Map<FrontDeskOperation, LatencyRecorder> recorders = new EnumMap<>(FrontDeskOperation.class);
+        for (Future<Map<FrontDeskOperation, LatencyRecorder>> result : results) {
+            result.get().forEach((operation, recorder) ->
+                    recorders.computeIfAbsent(operation, o -> new LatencyRecorder()).merge(recorder));
+        }
+        executor.shutdown();
+        return WorkloadReport.of(threads, duration.toMillis() / 1_000.0, recorders);
+    }
+
+    private Map<FrontDeskOperation, LatencyRecorder> drive(Random random, long measureFrom, long measureUntil)
+            throws InterruptedException {
+        FrontDeskOperation.Traffic traffic =
+                new FrontDeskOperation.Traffic(baseUri, requesterId, ids, objectMapper, random);
+        Map<FrontDeskOperation, LatencyRecorder> recorders = new EnumMap<>(FrontDeskOperation.class);
+        long now = System.nanoTime();
+        while (now < measureUntil) {
+            FrontDeskOperation operation = FrontDeskOperation.pick(random);
+            HttpRequest request = operation.request(traffic).timeout(Duration.ofSeconds(30)).build();
+            long startedAt = System.nanoTime();
+            int status = -1;
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                log.debug("WorkloadDriver: {} failed: {}", operation, e.getMessage());
+            }
+            now = System.nanoTime();
+            if (startedAt >= measureFrom && now <= measureUntil) {
+                LatencyRecorder recorder = recorders.computeIfAbsent(operation, o -> new LatencyRecorder());
+                if (status < 0) {
+                    recorder.recordError(now - startedAt);
+                } else {
+                    recorder.record(now - startedAt, status);
+                }
+            }
+        }
+        return recorders;
+    }
+
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value == null ? defaultValue : value;
+    }
+}
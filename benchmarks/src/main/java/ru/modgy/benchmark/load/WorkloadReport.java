@@ -0,0 +1,77 @@
+package ru.modgy.benchmark.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Итоги прогона нагрузки: пропускная способность и перцентили задержек по видам запросов
+ */
+public record WorkloadReport(int threads, double seconds, List<OperationStats> operations, OperationStats total) {
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+
+    static WorkloadReport of(int threads, double seconds, Map<FrontDeskOperation, LatencyRecorder> recorders) {
+        List<OperationStats> operations = new ArrayList<>();
+        LatencyRecorder all = new LatencyRecorder();
+        recorders.forEach((operation, recorder) -> {
+            operations.add(OperationStats.of(operation.name(), recorder, seconds));
+            all.merge(recorder);
+        });
+        return new WorkloadReport(threads, seconds, operations, OperationStats.of("TOTAL", all, seconds));
+    }
+
+    public void print(PrintStream out) {
+        out.printf("threads=%d, measured=%.1f s%n", threads, seconds);
+        out.printf("%-24s %9s %10s %9s %9s %9s %7s %7s%n",
+                "operation", "count", "ops/s", "p50 ms", "p99 ms", "max ms", "non2xx", "errors");
+        for (OperationStats stats : operations) {
+            print(out, stats);
+        }
+        print(out, total);
+    }
+
+    public void writeJson(Path path, ObjectMapper objectMapper) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), this);
+    }
+
+    private static void print(PrintStream out, OperationStats stats) {
+        out.printf("%-24s %9d %10.1f %9.2f %9.2f %9.2f %7d %7d%n", stats.operation(), stats.count(),
+                stats.throughput(), stats.p50Millis(), stats.p99Millis(), stats.maxMillis(), stats.non2xx(),
+                stats.errors());
+    }
+
+    public record OperationStats(String operation,
+                                 int count,
+                                 double throughput,
+                                 double p50Millis,
+                                 double p99Millis,
+                                 double maxMillis,
+                                 int non2xx,
+                                 int errors) {
+
+        static OperationStats of(String operation, LatencyRecorder recorder, double seconds) {
+            long[] sorted = recorder.sorted();
+            return new OperationStats(operation, recorder.count(), recorder.count() / seconds,
+                    percentile(sorted, 0.5), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / NANOS_IN_MILLI,
+                    recorder.non2xx(), recorder.errors());
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / NANOS_IN_MILLI;
+        }
+    }
+}
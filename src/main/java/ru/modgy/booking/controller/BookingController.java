@@ -1,15 +1,26 @@
 package ru.modgy.booking.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.modgy.booking.dto.AvailabilityMatrixDto;
+import ru.modgy.booking.dto.BookingBatchResultDto;
 import ru.modgy.booking.dto.BookingDto;
+import ru.modgy.booking.dto.BookingPageDto;
+import ru.modgy.booking.dto.BookingShortDto;
+import ru.modgy.booking.dto.NewBookingBatchDto;
 import ru.modgy.booking.dto.NewBookingDto;
 import ru.modgy.booking.dto.UpdateBookingDto;
 import ru.modgy.booking.service.BookingService;
+import ru.modgy.utility.EntityVersion;
 import ru.modgy.utility.UtilityService;
 
 import java.time.LocalDate;
@@ -17,10 +28,12 @@ import java.util.List;
 
 @CrossOrigin
 @Slf4j
+@Validated
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    private static final int MAX_PAGE_SIZE = 100;
     private final BookingService bookingService;
     private final UtilityService utilityService;
 
@@ -29,29 +42,46 @@ public class BookingController {
     public BookingDto addBooking(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
                                  @RequestBody @Valid NewBookingDto newBookingDto) {
         utilityService.checkBossAdminAccess(requesterId);
-        log.info("BookingController: POST/addBooking, requesterId={}, booking={}", requesterId, newBookingDto);
+        log.info("BookingController: POST/addBooking, requesterId={}, roomId={}", requesterId, newBookingDto.getRoomId());
         utilityService.checkBossAdminAccess(requesterId);
         return bookingService.addBooking(requesterId, newBookingDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BookingBatchResultDto> addBookings(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                                             @RequestBody @Valid NewBookingBatchDto newBookingBatchDto) {
+        log.info("BookingController: POST/addBookings, requesterId={}, items={}, atomic={}",
+                requesterId, newBookingBatchDto.getBookings().size(), newBookingBatchDto.getAtomic());
+        utilityService.checkBossAdminAccess(requesterId);
+        BookingBatchResultDto result = bookingService.addBookings(requesterId, newBookingBatchDto);
+        HttpStatus status = result.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(result);
+    }
+
     @GetMapping("/{id}")
-    public BookingDto getBookingById(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
-                                     @PathVariable("id") Long bookingId) {
+    public ResponseEntity<BookingDto> getBookingById(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                                     @PathVariable("id") Long bookingId) {
         utilityService.checkBossAdminAccess(requesterId);
         log.info("BookingController: GET/getBookingById, requesterId={}, bookingId={}", requesterId, bookingId);
         utilityService.checkBossAdminAccess(requesterId);
-        return bookingService.getBookingById(requesterId, bookingId);
+        BookingDto bookingDto = bookingService.getBookingById(requesterId, bookingId);
+        return ResponseEntity.ok().eTag(EntityVersion.toETag(bookingDto.getVersion())).body(bookingDto);
     }
 
     @PatchMapping("/{id}")
-    public BookingDto updateBooking(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
-                                    @RequestBody @Valid UpdateBookingDto updateBookingDto,
-                                    @PathVariable("id") Long bookingId) {
+    public ResponseEntity<BookingDto> updateBooking(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @RequestBody @Valid UpdateBookingDto updateBookingDto,
+                                                    @PathVariable("id") Long bookingId) {
         utilityService.checkBossAdminAccess(requesterId);
-        log.info("BookingController: PATCH/updateBooking, requesterId={}, bookingId={}, requestBody={}",
-                requesterId, bookingId, updateBookingDto);
+        log.info("BookingController: PATCH/updateBooking, requesterId={}, bookingId={}, ifMatch={}",
+                requesterId, bookingId, ifMatch);
         utilityService.checkBossAdminAccess(requesterId);
-        return bookingService.updateBooking(requesterId, bookingId, updateBookingDto);
+        if (ifMatch != null) {
+            updateBookingDto.setVersions(EntityVersion.fromIfMatch(ifMatch));
+        }
+        BookingDto bookingDto = bookingService.updateBooking(requesterId, bookingId, updateBookingDto);
+        return ResponseEntity.ok().eTag(EntityVersion.toETag(bookingDto.getVersion())).body(bookingDto);
     }
 
     @DeleteMapping("/{id}")
@@ -106,27 +136,56 @@ public class BookingController {
     }
 
     @GetMapping("/inDates")
-    public List<BookingDto> findAllBookingsInDates(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
-                                                   @RequestParam("startDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate startDate,
-                                                   @RequestParam("endDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate endDate) {
-        log.info("BookingController: GET/findAllBookingsInDates, requesterId={}", requesterId);
+    public BookingPageDto findAllBookingsInDates(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                                 @RequestParam("startDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate startDate,
+                                                 @RequestParam("endDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate endDate,
+                                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                                 @Positive @Max(MAX_PAGE_SIZE) @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        log.info("BookingController: GET/findAllBookingsInDates, requesterId={}, cursor={}, size={}",
+                requesterId, cursor, size);
+        utilityService.checkBossAdminAccess(requesterId);
+        return bookingService.findAllBookingsInDates(requesterId, startDate, endDate, cursor, size);
+    }
+
+    @GetMapping("/inDates/short")
+    public List<BookingShortDto> findAllShortBookingsInDates(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                                             @RequestParam("startDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate startDate,
+                                                             @RequestParam("endDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate endDate) {
+        log.info("BookingController: GET/findAllShortBookingsInDates, requesterId={}", requesterId);
+        utilityService.checkBossAdminAccess(requesterId);
+        return bookingService.findAllShortBookingsInDates(requesterId, startDate, endDate);
+    }
+
+    @GetMapping("/availability-matrix")
+    public AvailabilityMatrixDto getAvailabilityMatrix(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                                       @RequestParam("startDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate startDate,
+                                                       @RequestParam("endDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate endDate,
+                                                       @RequestParam(value = "categoryId", required = false) Long categoryId) {
+        log.info("BookingController: GET/getAvailabilityMatrix, requesterId={}, startDate={}, endDate={}, categoryId={}",
+                requesterId, startDate, endDate, categoryId);
         utilityService.checkBossAdminAccess(requesterId);
-        return bookingService.findAllBookingsInDates(requesterId, startDate, endDate);
+        return bookingService.getAvailabilityMatrix(requesterId, startDate, endDate, categoryId);
     }
 
     @GetMapping("/allByPet/pets/{petId}")
-    public List<BookingDto> findAllBookingsByPet(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
-                                                 @PathVariable("petId") Long petId) {
-        log.info("BookingController: GET/findAllBookingsByPet, requesterId={}, petId={}", requesterId, petId);
+    public BookingPageDto findAllBookingsByPet(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                               @PathVariable("petId") Long petId,
+                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                               @Positive @Max(MAX_PAGE_SIZE) @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        log.info("BookingController: GET/findAllBookingsByPet, requesterId={}, petId={}, cursor={}, size={}",
+                requesterId, petId, cursor, size);
         utilityService.checkBossAdminAccess(requesterId);
-        return bookingService.findAllBookingsByPet(requesterId, petId);
+        return bookingService.findAllBookingsByPet(requesterId, petId, cursor, size);
     }
 
     @GetMapping("/allByOwner/owners/{ownerId}")
-    public List<BookingDto> findAllBookingsByOwner(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
-                                                 @PathVariable("ownerId") Long ownerId) {
-        log.info("BookingController: GET/findAllBookingsByOwner, requesterId={}, ownerId={}", requesterId, ownerId);
+    public BookingPageDto findAllBookingsByOwner(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                                 @PathVariable("ownerId") Long ownerId,
+                                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                                 @Positive @Max(MAX_PAGE_SIZE) @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        log.info("BookingController: GET/findAllBookingsByOwner, requesterId={}, ownerId={}, cursor={}, size={}",
+                requesterId, ownerId, cursor, size);
         utilityService.checkBossAdminAccess(requesterId);
-        return bookingService.findAllBookingsByOwner(requesterId, ownerId);
+        return bookingService.findAllBookingsByOwner(requesterId, ownerId, cursor, size);
     }
 }
@@ -0,0 +1,19 @@
+package ru.modgy.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailabilityMatrixDto {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<RoomOccupancyDto> rooms;
+}
@@ -0,0 +1,18 @@
+package ru.modgy.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.modgy.booking.model.BookingBatchItemStatus;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingBatchItemDto {
+    private Integer index; // позиция в запросе
+    private BookingBatchItemStatus status;
+    private Long bookingId;
+    private String error;
+}
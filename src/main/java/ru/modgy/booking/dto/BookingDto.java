@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 import ru.modgy.booking.model.ReasonOfStopBooking;
 import ru.modgy.booking.model.StatusBooking;
 import ru.modgy.booking.model.TypesBooking;
-import ru.modgy.pet.dto.PetDto;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.room.dto.RoomDto;
 
 import java.time.LocalDate;
@@ -36,5 +36,6 @@ public class BookingDto {
     private String comment;
     private String fileUrl;
     private RoomDto room;
-    private List<PetDto> pets;
+    private List<PetSummaryDto> pets;
+    private Long version;
 }
@@ -0,0 +1,18 @@
+package ru.modgy.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingPetShortDto {
+    private Long id;
+    private String name;
+    private Long ownerId;
+    private String ownerLastName;
+    private String ownerFirstName;
+}
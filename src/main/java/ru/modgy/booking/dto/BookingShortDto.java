@@ -0,0 +1,26 @@
+package ru.modgy.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.modgy.booking.model.StatusBooking;
+import ru.modgy.booking.model.TypesBooking;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingShortDto {
+    private Long id;
+    private TypesBooking type;
+    private StatusBooking status;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Long roomId;
+    private String roomNumber;
+    private List<BookingPetShortDto> pets;
+}
@@ -0,0 +1,24 @@
+package ru.modgy.booking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NewBookingBatchDto {
+    @NotEmpty(message = "Field: bookings. Error: must not be empty.")
+    @Size(max = 100, message = "Не более {max} бронирований за один запрос.")
+    private List<@Valid NewBookingDto> bookings;
+    // true - бронирования создаются, только если проходят проверку все, false - создаются прошедшие проверку
+    @Builder.Default
+    private Boolean atomic = true;
+}
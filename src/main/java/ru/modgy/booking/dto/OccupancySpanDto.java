@@ -0,0 +1,22 @@
+package ru.modgy.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.modgy.booking.model.StatusBooking;
+import ru.modgy.booking.model.TypesBooking;
+
+import java.time.LocalDate;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OccupancySpanDto {
+    private Long bookingId;
+    private TypesBooking type;
+    private StatusBooking status;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+}
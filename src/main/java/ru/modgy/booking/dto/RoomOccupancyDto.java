@@ -0,0 +1,19 @@
+package ru.modgy.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomOccupancyDto {
+    private Long roomId;
+    private String roomNumber;
+    private Long categoryId;
+    private List<OccupancySpanDto> occupancy;
+}
@@ -47,4 +47,5 @@ public class UpdateBookingDto {
     private String fileUrl;
     private Long roomId;
     private List<Long> petIds;
+    private List<Long> versions; // версии, которые изменяет клиент (ETag из If-Match), подходит любая
 }
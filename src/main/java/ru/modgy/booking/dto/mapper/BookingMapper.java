@@ -1,11 +1,19 @@
 package ru.modgy.booking.dto.mapper;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.modgy.booking.dto.BookingDto;
+import ru.modgy.booking.dto.BookingPetShortDto;
+import ru.modgy.booking.dto.BookingShortDto;
 import ru.modgy.booking.dto.NewBookingDto;
+import ru.modgy.booking.dto.OccupancySpanDto;
 import ru.modgy.booking.dto.UpdateBookingDto;
 import ru.modgy.booking.model.Booking;
+import ru.modgy.booking.model.BookingShortRow;
+import ru.modgy.booking.model.BookingSpan;
 import ru.modgy.pet.mapper.PetMapper;
 import ru.modgy.room.category.dto.mapper.CategoryMapper;
 import ru.modgy.room.dto.mapper.RoomMapper;
@@ -39,11 +47,23 @@ public interface BookingMapper {
     @Mapping(source = "newBookingDto.prepaymentAmount", target = "prepaymentAmount", defaultValue = "0")
     Booking toBooking(NewBookingDto newBookingDto);
 
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "type", ignore = true)
     @Mapping(target = "room", ignore = true)
     @Mapping(target = "pets", ignore = true)
-    Booking toBooking(UpdateBookingDto updateBookingDto);
+    @Mapping(target = "version", ignore = true)
+    void updateBooking(UpdateBookingDto updateBookingDto, @MappingTarget Booking booking);
 
     List<BookingDto> toBookingDto(List<Booking> bookings);
+
+    OccupancySpanDto toOccupancySpanDto(BookingSpan bookingSpan);
+
+    @Mapping(source = "bookingId", target = "id")
+    @Mapping(target = "pets", expression = "java(new java.util.ArrayList<>())")
+    BookingShortDto toBookingShortDto(BookingShortRow bookingShortRow);
+
+    @Mapping(source = "petId", target = "id")
+    @Mapping(source = "petName", target = "name")
+    BookingPetShortDto toBookingPetShortDto(BookingShortRow bookingShortRow);
 }
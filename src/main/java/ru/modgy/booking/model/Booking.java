@@ -2,6 +2,7 @@ package ru.modgy.booking.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import ru.modgy.pet.model.Pet;
 import ru.modgy.room.model.Room;
 
@@ -14,12 +15,14 @@ import java.util.List;
 @Setter
 @ToString
 @Entity
+@DynamicUpdate
 @Table(name = "bookings")
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     @Column(name = "id_bookings")
     private Long id;
     @Column(name = "type_bookings")
@@ -53,6 +56,9 @@ public class Booking {
     private String comment;
     @Column(name = "file_bookings")
     private String fileUrl;
+    @Version
+    @Column(name = "version_bookings")
+    private Long version;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id_bookings")
     @ToString.Exclude
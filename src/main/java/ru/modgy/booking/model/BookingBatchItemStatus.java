@@ -0,0 +1,7 @@
+package ru.modgy.booking.model;
+
+public enum BookingBatchItemStatus {
+    CREATED,
+    REJECTED, // не прошло проверку, причина в error
+    NOT_CREATED // прошло проверку, но не создано, потому что в атомарном запросе отклонено другое
+}
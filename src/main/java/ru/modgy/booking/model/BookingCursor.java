@@ -0,0 +1,39 @@
+package ru.modgy.booking.model;
+
+import ru.modgy.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в списке бронирований, отсортированном по (checkInDate, id).
+ * Клиенту передается в виде непрозрачной строки.
+ */
+public record BookingCursor(LocalDate checkInDate, Long id) {
+    private static final String SEPARATOR = ":";
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getCheckInDate(), booking.getId());
+    }
+
+    public static BookingCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(SEPARATOR);
+            return new BookingCursor(LocalDate.parse(value.substring(0, separatorIndex)),
+                    Long.parseLong(value.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException(String.format("Cursor=%s is not valid", token));
+        }
+    }
+
+    public String encode() {
+        String value = checkInDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
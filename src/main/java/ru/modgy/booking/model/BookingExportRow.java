@@ -0,0 +1,17 @@
+package ru.modgy.booking.model;
+
+import java.time.LocalDate;
+
+public record BookingExportRow(Long id,
+                               TypesBooking type,
+                               StatusBooking status,
+                               LocalDate checkInDate,
+                               LocalDate checkOutDate,
+                               Long roomId,
+                               String roomNumber,
+                               Integer pets,
+                               Double price,
+                               Double amount,
+                               Double prepaymentAmount,
+                               Boolean isPrepaid) {
+}
@@ -0,0 +1,18 @@
+package ru.modgy.booking.model;
+
+import java.time.LocalDate;
+
+public record BookingInterval(Long bookingId, LocalDate checkInDate, LocalDate checkOutDate) {
+
+    /**
+     * Повторяет условие пересечения из BookingRepository.findBookingsForRoomInDates
+     */
+    public boolean overlaps(LocalDate checkIn, LocalDate checkOut) {
+        return (checkInDate.isBefore(checkIn) && checkOutDate.isAfter(checkIn)) ||
+               (!checkInDate.isBefore(checkIn) && checkInDate.isBefore(checkOut)) ||
+               (checkInDate.equals(checkIn) && checkInDate.equals(checkOut)) ||
+               (checkOutDate.equals(checkIn) && checkOutDate.equals(checkOut)) ||
+               (checkInDate.equals(checkOut) && checkOutDate.equals(checkOut)) ||
+               (checkInDate.equals(checkIn) && checkOutDate.equals(checkIn));
+    }
+}
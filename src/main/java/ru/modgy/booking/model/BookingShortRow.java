@@ -0,0 +1,17 @@
+package ru.modgy.booking.model;
+
+import java.time.LocalDate;
+
+public record BookingShortRow(Long bookingId,
+                              TypesBooking type,
+                              StatusBooking status,
+                              LocalDate checkInDate,
+                              LocalDate checkOutDate,
+                              Long roomId,
+                              String roomNumber,
+                              Long petId,
+                              String petName,
+                              Long ownerId,
+                              String ownerLastName,
+                              String ownerFirstName) {
+}
@@ -0,0 +1,11 @@
+package ru.modgy.booking.model;
+
+import java.time.LocalDate;
+
+public record BookingSpan(Long roomId,
+                          Long bookingId,
+                          TypesBooking type,
+                          StatusBooking status,
+                          LocalDate checkInDate,
+                          LocalDate checkOutDate) {
+}
@@ -1,29 +1,76 @@
 package ru.modgy.booking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.modgy.booking.model.Booking;
+import ru.modgy.booking.model.BookingExportRow;
+import ru.modgy.booking.model.BookingInterval;
+import ru.modgy.booking.model.BookingShortRow;
+import ru.modgy.booking.model.BookingSpan;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String AFTER_CURSOR = "AND (:cursorDate IS NULL OR b.checkInDate > :cursorDate " +
+                          "OR (b.checkInDate = :cursorDate AND b.id > :cursorId)) ";
+
+    String ACTIVE_IN_DATES = "AND b.status <> 'STATUS_CANCELLED' " +
+                             "AND ((b.checkInDate < :checkInDate AND b.checkOutDate > :checkInDate) OR " +
+                             "(b.checkInDate >= :checkInDate AND b.checkInDate < :checkOutDate) OR " +
+                             "(b.checkInDate = :checkInDate AND b.checkInDate = :checkOutDate) OR " +
+                             "(b.checkOutDate = :checkInDate AND b.checkOutDate = :checkOutDate) OR " +
+                             "(b.checkInDate = :checkOutDate AND b.checkOutDate = :checkOutDate) OR " +
+                             "(b.checkInDate = :checkInDate AND b.checkOutDate = :checkInDate))";
+
     Integer deleteBookingById(Long id);
 
-    @Query("SELECT b FROM Booking b WHERE b.room.id = :roomId " +
-           "AND b.status <> 'STATUS_CANCELLED' " +
-           "AND ((b.checkInDate < :checkInDate AND b.checkOutDate > :checkInDate) OR " +
-           "(b.checkInDate >= :checkInDate AND b.checkInDate < :checkOutDate) OR " +
-           "(b.checkInDate = :checkInDate AND b.checkInDate = :checkOutDate) OR " +
-           "(b.checkOutDate = :checkInDate AND b.checkOutDate = :checkOutDate) OR " +
-           "(b.checkInDate = :checkOutDate AND b.checkOutDate = :checkOutDate) OR " +
-           "(b.checkInDate = :checkInDate AND b.checkOutDate = :checkInDate))")
+    @EntityGraph(attributePaths = {"room", "room.category", "pets", "pets.owner"})
+    @Query("SELECT b FROM Booking b WHERE b.room.id = :roomId " + ACTIVE_IN_DATES)
     Optional<List<Booking>> findBookingsForRoomInDates(@Param("roomId") Long roomId,
                                                        @Param("checkInDate") LocalDate checkInDate,
                                                        @Param("checkOutDate") LocalDate checkOutDate);
 
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.room.id = :roomId " + ACTIVE_IN_DATES)
+    boolean existsBookingsForRoomInDates(@Param("roomId") Long roomId,
+                                         @Param("checkInDate") LocalDate checkInDate,
+                                         @Param("checkOutDate") LocalDate checkOutDate);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.room.id = :roomId AND b.id <> :bookingId " + ACTIVE_IN_DATES)
+    boolean existsOtherBookingsForRoomInDates(@Param("roomId") Long roomId,
+                                              @Param("bookingId") Long bookingId,
+                                              @Param("checkInDate") LocalDate checkInDate,
+                                              @Param("checkOutDate") LocalDate checkOutDate);
+
+    @Query("SELECT new ru.modgy.booking.model.BookingInterval(b.id, b.checkInDate, b.checkOutDate) " +
+           "FROM Booking b WHERE b.room.id = :roomId " +
+           "AND b.status <> 'STATUS_CANCELLED'")
+    List<BookingInterval> findActiveBookingIntervalsForRoom(@Param("roomId") Long roomId);
+
+    /**
+     * Неотмененные бронирования нескольких номеров, задевающие период, одним запросом для пакетной проверки.
+     * Точное пересечение с каждым новым бронированием проверяет BookingInterval.overlaps
+     */
+    @Query("SELECT new ru.modgy.booking.model.BookingSpan(" +
+           "b.room.id, b.id, b.type, b.status, b.checkInDate, b.checkOutDate) " +
+           "FROM Booking b WHERE b.room.id IN :roomIds " +
+           "AND b.status <> 'STATUS_CANCELLED' " +
+           "AND b.checkInDate <= :endDate AND b.checkOutDate >= :startDate")
+    List<BookingSpan> findActiveBookingSpansForRooms(@Param("roomIds") Collection<Long> roomIds,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
+
+    @EntityGraph(attributePaths = {"room", "room.category", "pets", "pets.owner"})
     @Query("SELECT b FROM Booking b WHERE b.room.id = :roomId " +
            "AND b.status <> 'STATUS_CANCELLED' " +
            "AND b.checkInDate = :checkOutDate OR " +
@@ -39,17 +86,69 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Optional<List<Booking>> findFutureBookingsForRoom(@Param("roomId") Long roomId,
                                                       @Param("today") LocalDate today);
 
-    @Query("SELECT b FROM Booking b WHERE "+
-            "b.status <> 'STATUS_CANCELLED' " +
-            "AND ((b.checkInDate <= :startDate AND b.checkOutDate >= :startDate) OR " +
-            "(b.checkInDate <= :endDate AND b.checkOutDate >= :endDate) OR " +
-            "(b.checkInDate >= :startDate AND b.checkOutDate <= :endDate))")
-    Optional<List<Booking>> findAllBookingsInDates(@Param("startDate") LocalDate startDate,
-                                                   @Param("endDate") LocalDate endDate);
+    @Query("SELECT b.id FROM Booking b WHERE " +
+           "b.status <> 'STATUS_CANCELLED' " +
+           "AND ((b.checkInDate <= :startDate AND b.checkOutDate >= :startDate) OR " +
+           "(b.checkInDate <= :endDate AND b.checkOutDate >= :endDate) OR " +
+           "(b.checkInDate >= :startDate AND b.checkOutDate <= :endDate)) " +
+           AFTER_CURSOR +
+           "ORDER BY b.checkInDate, b.id")
+    List<Long> findBookingIdsInDates(@Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate,
+                                     @Param("cursorDate") LocalDate cursorDate,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable pageable);
+
+    @Query("SELECT new ru.modgy.booking.model.BookingShortRow(" +
+           "b.id, b.type, b.status, b.checkInDate, b.checkOutDate, r.id, r.number, " +
+           "p.id, p.name, o.id, o.lastName, o.firstName) " +
+           "FROM Booking b LEFT JOIN b.room r LEFT JOIN b.pets p LEFT JOIN p.owner o WHERE " +
+           "b.status <> 'STATUS_CANCELLED' " +
+           "AND ((b.checkInDate <= :startDate AND b.checkOutDate >= :startDate) OR " +
+           "(b.checkInDate <= :endDate AND b.checkOutDate >= :endDate) OR " +
+           "(b.checkInDate >= :startDate AND b.checkOutDate <= :endDate)) " +
+           "ORDER BY b.checkInDate, b.id, p.id")
+    List<BookingShortRow> findAllBookingShortRowsInDates(@Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new ru.modgy.booking.model.BookingSpan(" +
+           "b.room.id, b.id, b.type, b.status, b.checkInDate, b.checkOutDate) " +
+           "FROM Booking b WHERE b.status <> 'STATUS_CANCELLED' " +
+           "AND b.room.isVisible = true " +
+           "AND (:categoryId IS NULL OR b.room.category.id = :categoryId) " +
+           "AND b.checkInDate <= :endDate AND b.checkOutDate >= :startDate " +
+           "ORDER BY b.room.id, b.checkInDate")
+    List<BookingSpan> findBookingSpansInDates(@Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate,
+                                              @Param("categoryId") Long categoryId);
+
+    @Query("SELECT b.id FROM Booking b JOIN b.pets p WHERE p.id = :petId " +
+           AFTER_CURSOR +
+           "ORDER BY b.checkInDate, b.id")
+    List<Long> findBookingIdsByPet(@Param("petId") Long petId,
+                                   @Param("cursorDate") LocalDate cursorDate,
+                                   @Param("cursorId") Long cursorId,
+                                   Pageable pageable);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN " +
+           "(SELECT ob.id FROM Booking ob JOIN ob.pets p WHERE p.owner.id = :ownerId) " +
+           AFTER_CURSOR +
+           "ORDER BY b.checkInDate, b.id")
+    List<Long> findBookingIdsByOwner(@Param("ownerId") Long ownerId,
+                                     @Param("cursorDate") LocalDate cursorDate,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable pageable);
 
-    @Query("SELECT b FROM Booking b JOIN b.pets p WHERE p.id = :petId")
-    Optional<List<Booking>> findAllBookingsByPet(@Param("petId") Long petId);
+    @EntityGraph(attributePaths = {"room", "room.category", "pets", "pets.owner"})
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids ORDER BY b.checkInDate, b.id")
+    List<Booking> findAllBookingsByIds(@Param("ids") List<Long> ids);
 
-    @Query("SELECT b FROM Booking b JOIN b.pets p WHERE p.owner.id = :ownerId")
-    Optional<List<Booking>> findAllBookingsByOwner(@Param("ownerId") Long ownerId);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new ru.modgy.booking.model.BookingExportRow(b.id, b.type, b.status, b.checkInDate, " +
+           "b.checkOutDate, r.id, r.number, SIZE(b.pets), b.price, b.amount, b.prepaymentAmount, b.isPrepaid) " +
+           "FROM Booking b LEFT JOIN b.room r " +
+           "WHERE b.checkInDate <= :endDate AND b.checkOutDate >= :startDate " +
+           "ORDER BY b.checkInDate, b.id")
+    Stream<BookingExportRow> streamExportRowsInDates(@Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
 }
@@ -1,6 +1,11 @@
 package ru.modgy.booking.service;
 
+import ru.modgy.booking.dto.AvailabilityMatrixDto;
+import ru.modgy.booking.dto.BookingBatchResultDto;
 import ru.modgy.booking.dto.BookingDto;
+import ru.modgy.booking.dto.BookingPageDto;
+import ru.modgy.booking.dto.BookingShortDto;
+import ru.modgy.booking.dto.NewBookingBatchDto;
 import ru.modgy.booking.dto.NewBookingDto;
 import ru.modgy.booking.dto.UpdateBookingDto;
 
@@ -17,6 +22,16 @@ public interface BookingService {
      */
     BookingDto addBooking(Long userId, NewBookingDto newBookingDto);
 
+    /**
+     * Добавление нескольких бронирований (групповой заезд, регулярные закрытия) в одной транзакции.
+     * Номера, питомцы и занятость номеров проверяются для всех позиций сразу
+     *
+     * @param userId             - id пользователя, направляющего запрос
+     * @param newBookingBatchDto - добавляемые бронирования и режим: все или ничего либо прошедшие проверку
+     * @return результат по каждой позиции запроса
+     */
+    BookingBatchResultDto addBookings(Long userId, NewBookingBatchDto newBookingBatchDto);
+
     /**
      * Получение по id информации о бронировании
      *
@@ -99,25 +114,54 @@ public interface BookingService {
      * @param userId    - id пользователя, направляющего запрос
      * @param startDate - дата начала периода, за который отбираются бронирования
      * @param endDate   - дата окончания периода, за который отбираются бронирования
-     * @return список бронирований в указанные даты с любым статусом, кроме "отменено"
+     * @param cursor    - позиция, после которой начинается страница (null - первая страница)
+     * @param size      - количество бронирований на странице
+     * @return страница бронирований в указанные даты с любым статусом, кроме "отменено",
+     * отсортированных по дате заезда и id, и позиция следующей страницы
      */
-    List<BookingDto> findAllBookingsInDates(Long userId, LocalDate startDate, LocalDate endDate);
+    BookingPageDto findAllBookingsInDates(Long userId, LocalDate startDate, LocalDate endDate, String cursor, Integer size);
+
+    /**
+     * Поиск всех имеющихся бронирований в заданные даты, кроме отмененных, в сокращенном виде (для списков).
+     * Данные читаются одним запросом-проекцией без загрузки сущностей.
+     *
+     * @param userId    - id пользователя, направляющего запрос
+     * @param startDate - дата начала периода, за который отбираются бронирования
+     * @param endDate   - дата окончания периода, за который отбираются бронирования
+     * @return список бронирований с датами, статусом, номером и именами питомцев и их владельцев
+     */
+    List<BookingShortDto> findAllShortBookingsInDates(Long userId, LocalDate startDate, LocalDate endDate);
 
     /**
      * Поиск всех имеющихся бронирований на пребывание конкретного питомца.
      *
      * @param userId    - id пользователя, направляющего запрос
      * @param petId - id питомца, чьи бронирования отбираются
-     * @return список всех имеющихся бронирований на пребывание конкретного питомца
+     * @param cursor    - позиция, после которой начинается страница (null - первая страница)
+     * @param size      - количество бронирований на странице
+     * @return страница бронирований на пребывание конкретного питомца и позиция следующей страницы
      */
-    List<BookingDto> findAllBookingsByPet(Long userId, Long petId);
+    BookingPageDto findAllBookingsByPet(Long userId, Long petId, String cursor, Integer size);
 
     /**
      * Поиск всех имеющихся бронирований на пребывание всех питомцев конкретного клиента.
      *
      * @param userId    - id пользователя, направляющего запрос
      * @param ownerId - id клиента, чьи бронирования отбираются
-     * @return список всех имеющихся бронирований на пребывание всех питомцев конкретного клиента
+     * @param cursor    - позиция, после которой начинается страница (null - первая страница)
+     * @param size      - количество бронирований на странице
+     * @return страница бронирований на пребывание всех питомцев конкретного клиента и позиция следующей страницы
+     */
+    BookingPageDto findAllBookingsByOwner(Long userId, Long ownerId, String cursor, Integer size);
+
+    /**
+     * Получение занятости всех видимых номеров в указанный период одним запросом (для календаря занятости)
+     *
+     * @param userId     - id пользователя, направляющего запрос
+     * @param startDate  - дата начала периода
+     * @param endDate    - дата окончания периода
+     * @param categoryId - id категории номеров (необязательный, если не указан - все категории)
+     * @return список номеров с интервалами неотмененных бронирований, пересекающихся с периодом
      */
-    List<BookingDto> findAllBookingsByOwner(Long userId, Long ownerId);
+    AvailabilityMatrixDto getAvailabilityMatrix(Long userId, LocalDate startDate, LocalDate endDate, Long categoryId);
 }
@@ -1,41 +1,67 @@
 package ru.modgy.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.modgy.booking.dto.AvailabilityMatrixDto;
+import ru.modgy.booking.dto.BookingBatchItemDto;
+import ru.modgy.booking.dto.BookingBatchResultDto;
 import ru.modgy.booking.dto.BookingDto;
+import ru.modgy.booking.dto.BookingPageDto;
+import ru.modgy.booking.dto.BookingShortDto;
+import ru.modgy.booking.dto.NewBookingBatchDto;
 import ru.modgy.booking.dto.NewBookingDto;
+import ru.modgy.booking.dto.OccupancySpanDto;
+import ru.modgy.booking.dto.RoomOccupancyDto;
 import ru.modgy.booking.dto.UpdateBookingDto;
 import ru.modgy.booking.dto.mapper.BookingMapper;
 import ru.modgy.booking.model.Booking;
+import ru.modgy.booking.model.BookingBatchItemStatus;
+import ru.modgy.booking.model.BookingCursor;
+import ru.modgy.booking.model.BookingInterval;
+import ru.modgy.booking.model.BookingShortRow;
+import ru.modgy.booking.model.BookingSpan;
 import ru.modgy.booking.model.ReasonOfStopBooking;
 import ru.modgy.booking.model.StatusBooking;
 import ru.modgy.booking.model.TypesBooking;
 import ru.modgy.booking.repository.BookingRepository;
 import ru.modgy.exception.ConflictException;
 import ru.modgy.exception.NotFoundException;
+import ru.modgy.metrics.MetricsConfig;
+import ru.modgy.owner.dto.OwnerShortDto;
 import ru.modgy.owner.dto.mapper.OwnerMapper;
 import ru.modgy.owner.model.Owner;
-import ru.modgy.pet.dto.PetDto;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.pet.model.Pet;
+import ru.modgy.report.model.BookingContribution;
+import ru.modgy.report.service.DailyRoomStatsUpdater;
 import ru.modgy.room.model.Room;
+import ru.modgy.room.repository.RoomRepository;
 import ru.modgy.utility.EntityService;
+import ru.modgy.utility.EntityVersion;
 import ru.modgy.utility.UtilityService;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
     private final BookingMapper bookingMapper;
     private final OwnerMapper ownerMapper;
     private final EntityService entityService;
     private final UtilityService utilityService;
+    private final RoomOccupancyIndex roomOccupancyIndex;
+    private final DailyRoomStatsUpdater dailyRoomStatsUpdater;
 
     @Transactional
     @Override
@@ -49,32 +75,93 @@ public class BookingServiceImpl implements BookingService {
 
         Booking newBooking = bookingMapper.toBooking(newBookingDto);
 
-        Room room = entityService.getRoomIfExists(newBookingDto.getRoomId());
+        // номер блокируется до конца транзакции, бронирования одного номера создаются по очереди
+        Room room = getRoomForUpdate(newBookingDto.getRoomId());
         newBooking.setRoom(room);
         checkRoom(room, "add");
-
-        if (newBooking.getStatus() == null) {
-            if (newBooking.getIsPrepaid() || newBooking.getType().equals(TypesBooking.TYPE_CLOSING)) {
-                newBooking.setStatus(StatusBooking.STATUS_CONFIRMED);
-            } else {
-                newBooking.setStatus(StatusBooking.STATUS_INITIAL);
-            }
+        // индекс занятости обновляется после коммита, поэтому под блокировкой проверка идет по БД
+        if (bookingRepository.existsBookingsForRoomInDates(
+                room.getId(), newBookingDto.getCheckInDate(), newBookingDto.getCheckOutDate())) {
+            throw new ConflictException(
+                    String.format("Room with id=%d is not available for current dates", room.getId()));
         }
 
+        setDefaultStatus(newBooking);
+
         List<Pet> pets = entityService.getListOfPetsByIds(newBookingDto.getPetIds());
         checkPetsInBooking(pets, newBookingDto.getPetIds());
         newBooking.setPets(pets);
 
         Booking addedBooking = bookingRepository.save(newBooking);
+        roomOccupancyIndex.onBookingSaved(addedBooking);
+        dailyRoomStatsUpdater.onBookingChanged(null, BookingContribution.of(addedBooking));
 
         BookingDto bookingDto = bookingMapper.toBookingDto(addedBooking);
-        List<PetDto> petDtoList = addPetsDtoListForOwner(pets, bookingDto);
+        List<PetSummaryDto> petDtoList = addPetsDtoListForOwner(pets, bookingDto);
 
         bookingDto.setPets(petDtoList);
-        log.info("BookingService: addBooking, userId={}, bookingDto={}", userId, addedBooking);
+        log.info("BookingService: addBooking, userId={}, bookingId={}, roomId={}", userId, addedBooking.getId(),
+                newBookingDto.getRoomId());
         return bookingDto;
     }
 
+    @Transactional
+    @Override
+    public BookingBatchResultDto addBookings(Long userId, NewBookingBatchDto newBookingBatchDto) {
+        List<NewBookingDto> newBookings = newBookingBatchDto.getBookings();
+        boolean atomic = !Boolean.FALSE.equals(newBookingBatchDto.getAtomic());
+
+        Set<Long> roomIds = newBookings.stream()
+                .map(NewBookingDto::getRoomId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        // номера блокируются до конца транзакции, как при добавлении одного бронирования
+        Map<Long, Room> rooms = roomRepository.findAllByIdsForUpdate(roomIds).stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+        Map<Long, Pet> pets = getPetsOfBatch(newBookings);
+        Map<Long, List<BookingInterval>> occupiedByRoom = getOccupiedIntervals(roomIds, newBookings);
+
+        List<BookingBatchItemDto> items = new ArrayList<>(newBookings.size());
+        List<Booking> acceptedBookings = new ArrayList<>();
+        List<BookingBatchItemDto> acceptedItems = new ArrayList<>();
+        for (int i = 0; i < newBookings.size(); i++) {
+            BookingBatchItemDto item = BookingBatchItemDto.builder().index(i).build();
+            items.add(item);
+            try {
+                acceptedBookings.add(toCheckedBooking(newBookings.get(i), rooms, pets, occupiedByRoom));
+                acceptedItems.add(item);
+            } catch (ConflictException | NotFoundException e) {
+                item.setStatus(BookingBatchItemStatus.REJECTED);
+                item.setError(e.getMessage());
+            }
+        }
+        int rejected = items.size() - acceptedItems.size();
+
+        if (atomic && rejected > 0) {
+            acceptedItems.forEach(item -> item.setStatus(BookingBatchItemStatus.NOT_CREATED));
+            acceptedBookings.clear();
+        }
+        // id берутся из последовательности при сохранении, INSERT бронирований и питомцев уходят пакетами при flush
+        List<Booking> addedBookings = bookingRepository.saveAll(acceptedBookings);
+        List<BookingContribution> contributions = new ArrayList<>();
+        for (int i = 0; i < addedBookings.size(); i++) {
+            Booking addedBooking = addedBookings.get(i);
+            acceptedItems.get(i).setStatus(BookingBatchItemStatus.CREATED);
+            acceptedItems.get(i).setBookingId(addedBooking.getId());
+            roomOccupancyIndex.onBookingSaved(addedBooking);
+            Optional.ofNullable(BookingContribution.of(addedBooking)).ifPresent(contributions::add);
+        }
+        // дни всех бронирований пакета записываются вместе одним пакетом upsert
+        dailyRoomStatsUpdater.onBookingsChanged(List.of(), contributions);
+
+        log.info("BookingService: addBookings, userId={}, atomic={}, items={}, created={}, rejected={}",
+                userId, atomic, items.size(), addedBookings.size(), rejected);
+        return BookingBatchResultDto.builder()
+                .created(addedBookings.size())
+                .rejected(rejected)
+                .items(items)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     @Override
     public BookingDto getBookingById(Long userId, Long bookingId) {
@@ -87,109 +174,74 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     @Override
     public BookingDto updateBooking(Long userId, Long bookingId, UpdateBookingDto updateBookingDto) {
-        Booking oldBooking = entityService.getBookingIfExists(bookingId);
-        Booking newBooking = bookingMapper.toBooking(updateBookingDto);
-        newBooking.setId(oldBooking.getId());
-        newBooking.setType(oldBooking.getType());
-
-        if (Objects.isNull(newBooking.getCheckInDate())) {
-            newBooking.setCheckInDate(oldBooking.getCheckInDate());
-        }
-
-        if (Objects.isNull(newBooking.getCheckOutDate())) {
-            newBooking.setCheckOutDate(oldBooking.getCheckOutDate());
-        }
-
-        if (Objects.isNull(newBooking.getCheckInTime())) {
-            newBooking.setCheckInTime(oldBooking.getCheckInTime());
-        }
-
-        if (Objects.isNull(newBooking.getCheckOutTime())) {
-            newBooking.setCheckOutTime(oldBooking.getCheckOutTime());
-        }
-
-        if (Objects.isNull(newBooking.getStatus())) {
-            newBooking.setStatus(oldBooking.getStatus());
-        }
-
-        if (Objects.isNull(newBooking.getReasonOfStop())) {
-            newBooking.setReasonOfStop(oldBooking.getReasonOfStop());
-        }
-
-        if (Objects.isNull(newBooking.getReasonOfCancel())) {
-            newBooking.setReasonOfCancel(oldBooking.getReasonOfCancel());
-        }
-
-        if (Objects.isNull(newBooking.getPrice())) {
-            newBooking.setPrice(oldBooking.getPrice());
-        }
-
-        if (Objects.isNull(newBooking.getAmount())) {
-            newBooking.setAmount(oldBooking.getAmount());
-        }
-
-        if (Objects.isNull(newBooking.getPrepaymentAmount())) {
-            newBooking.setPrepaymentAmount(oldBooking.getPrepaymentAmount());
-        }
-
-        if (Objects.isNull(newBooking.getIsPrepaid())) {
-            newBooking.setIsPrepaid(oldBooking.getIsPrepaid());
-        }
+        Booking booking = entityService.getBookingIfExists(bookingId);
+        EntityVersion.checkVersion("Booking", bookingId, booking.getVersion(), updateBookingDto.getVersions());
+        // вклад в daily_room_stats запоминается до изменения сущности
+        BookingContribution contributionBefore = BookingContribution.of(booking);
+        Long roomId = Objects.requireNonNullElse(updateBookingDto.getRoomId(), booking.getRoom().getId());
+        LocalDate checkInDate = Objects.requireNonNullElse(updateBookingDto.getCheckInDate(), booking.getCheckInDate());
+        LocalDate checkOutDate = Objects.requireNonNullElse(updateBookingDto.getCheckOutDate(),
+                booking.getCheckOutDate());
+        utilityService.checkDatesOfBooking(checkInDate, checkOutDate);
 
-        if (Objects.isNull(newBooking.getComment())) {
-            newBooking.setComment(oldBooking.getComment());
+        Room room = null;
+        if (!roomId.equals(booking.getRoom().getId())
+            || !checkInDate.equals(booking.getCheckInDate())
+            || !checkOutDate.equals(booking.getCheckOutDate())) {
+            // как при создании: номер блокируется до конца транзакции, пересечения проверяются по БД
+            room = getRoomForUpdate(roomId);
+            checkRoom(room, "update");
+            if (bookingRepository.existsOtherBookingsForRoomInDates(roomId, bookingId, checkInDate, checkOutDate)) {
+                throw new ConflictException(
+                        String.format("Room with id=%d is not available for current dates", roomId));
+            }
         }
 
-        if (Objects.isNull(newBooking.getFileUrl())) {
-            newBooking.setFileUrl(oldBooking.getFileUrl());
-        }
+        // изменения вносятся прямо в управляемую сущность, UPDATE с измененными колонками выполнит flush
+        bookingMapper.updateBooking(updateBookingDto, booking);
 
         if (updateBookingDto.getRoomId() != null) {
-            Room room = entityService.getRoomIfExists(updateBookingDto.getRoomId());
-            checkRoom(room, "update");
-            newBooking.setRoom(room);
-        } else {
-            newBooking.setRoom(oldBooking.getRoom());
+            if (room == null) {
+                room = entityService.getRoomIfExists(updateBookingDto.getRoomId());
+                checkRoom(room, "update");
+            }
+            booking.setRoom(room);
         }
 
-        if (Objects.isNull(updateBookingDto.getPetIds())) {
-            newBooking.setPets(oldBooking.getPets());
-        } else {
+        if (updateBookingDto.getPetIds() != null) {
             List<Pet> pets = entityService.getListOfPetsByIds(updateBookingDto.getPetIds());
             checkPetsInBooking(pets, updateBookingDto.getPetIds());
-            newBooking.setPets(pets);
+            booking.setPets(pets);
         }
 
-        if (newBooking.getStatus().equals(StatusBooking.STATUS_INITIAL) && newBooking.getIsPrepaid()) {
-            newBooking.setStatus(StatusBooking.STATUS_CONFIRMED);
+        if (booking.getStatus().equals(StatusBooking.STATUS_INITIAL) && booking.getIsPrepaid()) {
+            booking.setStatus(StatusBooking.STATUS_CONFIRMED);
         }
 
-        utilityService.checkDatesOfBooking(newBooking.getCheckInDate(), newBooking.getCheckOutDate());
-
-        Booking updatedBooking = bookingRepository.save(newBooking);
+        // версия увеличивается при flush, а в ответ должна попасть уже новая
+        bookingRepository.flush();
+        roomOccupancyIndex.onBookingSaved(booking);
+        dailyRoomStatsUpdater.onBookingChanged(contributionBefore, BookingContribution.of(booking));
 
-        List<Long> petsIds = updatedBooking.getPets().stream().map(Pet::getId).toList();
-        List<Pet> pets = entityService.getListOfPetsByIds(petsIds);
-        checkPetsInBooking(pets, petsIds);
-        updatedBooking.setPets(pets);
-
-        BookingDto updatedBookingDto = bookingMapper.toBookingDto(updatedBooking);
-        List<PetDto> petDtoList = addPetsDtoListForOwner(pets, updatedBookingDto);
+        BookingDto updatedBookingDto = bookingMapper.toBookingDto(booking);
+        List<PetSummaryDto> petDtoList = addPetsDtoListForOwner(booking.getPets(), updatedBookingDto);
 
         updatedBookingDto.setPets(petDtoList);
-        log.info("BookingService: updateBooking, userId={}, bookingId={}, updateBookingDto={}",
-                userId, bookingId, updateBookingDto);
+        log.info("BookingService: updateBooking, userId={}, bookingId={}", userId, bookingId);
         return updatedBookingDto;
     }
 
     @Transactional
     @Override
     public void deleteBookingById(Long userId, Long bookingId) {
+        BookingContribution contribution = dailyRoomStatsUpdater.getContribution(bookingId);
         int result = bookingRepository.deleteBookingById(bookingId);
 
         if (result == 0) {
             throw new NotFoundException(String.format("booking with id=%d not found", bookingId));
         }
+        roomOccupancyIndex.onBookingDeleted(bookingId);
+        dailyRoomStatsUpdater.onBookingChanged(contribution, null);
 
         log.info("BookingService: deleteBookingById, userId={}, bookingId={}", userId, bookingId);
     }
@@ -259,38 +311,129 @@ public class BookingServiceImpl implements BookingService {
 
     @Transactional(readOnly = true)
     @Override
-    public List<BookingDto> findAllBookingsInDates(Long userId, LocalDate startDate, LocalDate endDate) {
+    public BookingPageDto findAllBookingsInDates(Long userId,
+                                                 LocalDate startDate,
+                                                 LocalDate endDate,
+                                                 String cursor,
+                                                 Integer size) {
         utilityService.checkDatesOfBooking(startDate, endDate);
-        List<Booking> foundBookings = bookingRepository.findAllBookingsInDates(startDate, endDate)
-                .orElse(Collections.emptyList());
+        BookingCursor after = BookingCursor.decode(cursor);
+        List<Long> foundIds = bookingRepository.findBookingIdsInDates(startDate, endDate,
+                cursorDate(after), cursorId(after), PageRequest.of(0, size + 1));
 
-        List<BookingDto> bookingDtoList = addOwnerShortDtoInPetDtoList(foundBookings);
+        BookingPageDto bookingPage = getBookingPage(foundIds, size);
 
-        log.info("BookingService: findAllBookingsInDates, userId={}, startDate={}, endDate={}",
-                userId, startDate, endDate);
-        return bookingDtoList;
+        log.info("BookingService: findAllBookingsInDates, userId={}, startDate={}, endDate={}, cursor={}, size={}",
+                userId, startDate, endDate, cursor, size);
+        return bookingPage;
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<BookingDto> findAllBookingsByPet(Long userId, Long petId) {
-        entityService.getPetIfExists(petId);
-        List<Booking> foundBookings = bookingRepository.findAllBookingsByPet(petId).orElse(Collections.emptyList());
-        List<BookingDto> bookingDtoList = addOwnerShortDtoInPetDtoList(foundBookings);
+    public List<BookingShortDto> findAllShortBookingsInDates(Long userId, LocalDate startDate, LocalDate endDate) {
+        utilityService.checkDatesOfBooking(startDate, endDate);
+        List<BookingShortRow> rows = bookingRepository.findAllBookingShortRowsInDates(startDate, endDate);
+
+        // строки отсортированы по бронированию, на каждого питомца бронирования приходится одна строка
+        Map<Long, BookingShortDto> bookings = new LinkedHashMap<>();
+        for (BookingShortRow row : rows) {
+            BookingShortDto bookingShortDto = bookings.computeIfAbsent(row.bookingId(),
+                    id -> bookingMapper.toBookingShortDto(row));
+            if (row.petId() != null) {
+                bookingShortDto.getPets().add(bookingMapper.toBookingPetShortDto(row));
+            }
+        }
 
-        log.info("BookingService: findAllBookingsByPet, userId={}, petId={}", userId, petId);
-        return bookingDtoList;
+        log.info("BookingService: findAllShortBookingsInDates, userId={}, startDate={}, endDate={}, bookings={}",
+                userId, startDate, endDate, bookings.size());
+        return new ArrayList<>(bookings.values());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingPageDto findAllBookingsByPet(Long userId, Long petId, String cursor, Integer size) {
+        entityService.getPetIfExists(petId);
+        BookingCursor after = BookingCursor.decode(cursor);
+        List<Long> foundIds = bookingRepository.findBookingIdsByPet(petId,
+                cursorDate(after), cursorId(after), PageRequest.of(0, size + 1));
+        BookingPageDto bookingPage = getBookingPage(foundIds, size);
+
+        log.info("BookingService: findAllBookingsByPet, userId={}, petId={}, cursor={}, size={}",
+                userId, petId, cursor, size);
+        return bookingPage;
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<BookingDto> findAllBookingsByOwner(Long userId, Long ownerId) {
+    public BookingPageDto findAllBookingsByOwner(Long userId, Long ownerId, String cursor, Integer size) {
         entityService.getOwnerIfExists(ownerId);
-        List<Booking> foundBookings = bookingRepository.findAllBookingsByOwner(ownerId).orElse(Collections.emptyList());
-        List<BookingDto> bookingDtoList = addOwnerShortDtoInPetDtoList(foundBookings);
+        BookingCursor after = BookingCursor.decode(cursor);
+        List<Long> foundIds = bookingRepository.findBookingIdsByOwner(ownerId,
+                cursorDate(after), cursorId(after), PageRequest.of(0, size + 1));
+        BookingPageDto bookingPage = getBookingPage(foundIds, size);
+
+        log.info("BookingService: findAllBookingsByOwner, userId={}, ownerId={}, cursor={}, size={}",
+                userId, ownerId, cursor, size);
+        return bookingPage;
+    }
 
-        log.info("BookingService: findAllBookingsByOwner, userId={}, petId={}", userId, ownerId);
-        return bookingDtoList;
+    @Transactional(readOnly = true)
+    @Override
+    public AvailabilityMatrixDto getAvailabilityMatrix(Long userId,
+                                                       LocalDate startDate,
+                                                       LocalDate endDate,
+                                                       Long categoryId) {
+        utilityService.checkDatesOfBooking(startDate, endDate);
+        List<Room> rooms = roomRepository.getAllRooms(true).orElse(Collections.emptyList());
+        Map<Long, List<OccupancySpanDto>> spansByRoom = new HashMap<>();
+        for (BookingSpan span : bookingRepository.findBookingSpansInDates(startDate, endDate, categoryId)) {
+            spansByRoom.computeIfAbsent(span.roomId(), id -> new ArrayList<>())
+                    .add(bookingMapper.toOccupancySpanDto(span));
+        }
+
+        List<RoomOccupancyDto> roomOccupancyList = new ArrayList<>();
+        for (Room room : rooms) {
+            Long roomCategoryId = room.getCategory() == null ? null : room.getCategory().getId();
+            if (categoryId != null && !categoryId.equals(roomCategoryId)) {
+                continue;
+            }
+            roomOccupancyList.add(RoomOccupancyDto.builder()
+                    .roomId(room.getId())
+                    .roomNumber(room.getNumber())
+                    .categoryId(roomCategoryId)
+                    .occupancy(spansByRoom.getOrDefault(room.getId(), Collections.emptyList()))
+                    .build());
+        }
+
+        log.info("BookingService: getAvailabilityMatrix, userId={}, startDate={}, endDate={}, categoryId={}, rooms={}",
+                userId, startDate, endDate, categoryId, roomOccupancyList.size());
+        return AvailabilityMatrixDto.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .rooms(roomOccupancyList)
+                .build();
+    }
+
+    private BookingPageDto getBookingPage(List<Long> foundIds, Integer size) {
+        // запрашивается на одно бронирование больше размера страницы, чтобы узнать, есть ли следующая
+        boolean hasNext = foundIds.size() > size;
+        List<Long> pageIds = hasNext ? foundIds.subList(0, size) : foundIds;
+        List<Booking> foundBookings = pageIds.isEmpty() ?
+                Collections.emptyList() : bookingRepository.findAllBookingsByIds(pageIds);
+
+        String nextCursor = hasNext ? BookingCursor.of(foundBookings.get(foundBookings.size() - 1)).encode() : null;
+        return BookingPageDto.builder()
+                .bookings(addOwnerShortDtoInPetDtoList(foundBookings))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private LocalDate cursorDate(BookingCursor cursor) {
+        return cursor == null ? null : cursor.checkInDate();
+    }
+
+    private Long cursorId(BookingCursor cursor) {
+        return cursor == null ? null : cursor.id();
     }
 
     private List<Booking> findBookingsForRoomInDates(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
@@ -302,23 +445,113 @@ public class BookingServiceImpl implements BookingService {
     private void checkRoomAvailabilityByDates(Long roomId,
                                               LocalDate checkInDate,
                                               LocalDate checkOutDate) {
-        List<Booking> blockingBookings = findBookingsForRoomInDates(roomId, checkInDate, checkOutDate);
-        if (!blockingBookings.isEmpty()) {
-            throw new ConflictException(String.format("Room with id=%d is not available for current dates", roomId));
+        // индекс не видит изменений других экземпляров приложения, поэтому "занят" подтверждается по БД
+        if (roomOccupancyIndex.isRoomOccupied(roomId, checkInDate, checkOutDate)) {
+            if (bookingRepository.existsBookingsForRoomInDates(roomId, checkInDate, checkOutDate)) {
+                throw new ConflictException(
+                        String.format("Room with id=%d is not available for current dates", roomId));
+            }
+            roomOccupancyIndex.evictRoom(roomId);
+        }
+    }
+
+    private void setDefaultStatus(Booking booking) {
+        if (booking.getStatus() == null) {
+            if (booking.getIsPrepaid() || booking.getType().equals(TypesBooking.TYPE_CLOSING)) {
+                booking.setStatus(StatusBooking.STATUS_CONFIRMED);
+            } else {
+                booking.setStatus(StatusBooking.STATUS_INITIAL);
+            }
         }
     }
 
+    private Map<Long, Pet> getPetsOfBatch(List<NewBookingDto> newBookings) {
+        List<Long> petIds = newBookings.stream()
+                .map(NewBookingDto::getPetIds)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .distinct()
+                .toList();
+        if (petIds.isEmpty()) {
+            return Map.of();
+        }
+        return entityService.getListOfPetsByIds(petIds).stream()
+                .collect(Collectors.toMap(Pet::getId, Function.identity()));
+    }
+
+    /**
+     * Занятые интервалы всех номеров пакета одним запросом за период от самого раннего заезда
+     * до самого позднего выезда
+     */
+    private Map<Long, List<BookingInterval>> getOccupiedIntervals(Set<Long> roomIds, List<NewBookingDto> newBookings) {
+        LocalDate startDate = newBookings.stream().map(NewBookingDto::getCheckInDate)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate endDate = newBookings.stream().map(NewBookingDto::getCheckOutDate)
+                .max(Comparator.naturalOrder()).orElseThrow();
+        Map<Long, List<BookingInterval>> occupiedByRoom = new HashMap<>();
+        for (BookingSpan span : bookingRepository.findActiveBookingSpansForRooms(roomIds, startDate, endDate)) {
+            occupiedByRoom.computeIfAbsent(span.roomId(), id -> new ArrayList<>())
+                    .add(new BookingInterval(span.bookingId(), span.checkInDate(), span.checkOutDate()));
+        }
+        return occupiedByRoom;
+    }
+
+    /**
+     * Те же проверки, что в addBooking, но по заранее загруженным номерам, питомцам и занятым интервалам.
+     * Принятое бронирование сразу занимает номер для следующих позиций пакета
+     */
+    private Booking toCheckedBooking(NewBookingDto newBookingDto,
+                                     Map<Long, Room> rooms,
+                                     Map<Long, Pet> pets,
+                                     Map<Long, List<BookingInterval>> occupiedByRoom) {
+        LocalDate checkInDate = newBookingDto.getCheckInDate();
+        LocalDate checkOutDate = newBookingDto.getCheckOutDate();
+        utilityService.checkDatesOfBooking(checkInDate, checkOutDate);
+        checkReasonWhenTypeClosing(newBookingDto.getType(), newBookingDto.getReasonOfStop());
+
+        Room room = rooms.get(newBookingDto.getRoomId());
+        if (room == null) {
+            throw new NotFoundException(String.format("Room with id=%d is not found", newBookingDto.getRoomId()));
+        }
+        checkRoom(room, "add");
+        List<BookingInterval> occupied = occupiedByRoom.computeIfAbsent(room.getId(), id -> new ArrayList<>());
+        if (occupied.stream().anyMatch(interval -> interval.overlaps(checkInDate, checkOutDate))) {
+            throw new ConflictException(
+                    String.format("Room with id=%d is not available for current dates", room.getId()));
+        }
+
+        List<Pet> bookingPets = new ArrayList<>();
+        for (Long petId : Objects.requireNonNullElse(newBookingDto.getPetIds(), List.<Long>of())) {
+            Pet pet = pets.get(petId);
+            if (pet == null) {
+                throw new NotFoundException(String.format("Pet with id=%d is not found", petId));
+            }
+            bookingPets.add(pet);
+        }
+
+        Booking booking = bookingMapper.toBooking(newBookingDto);
+        booking.setRoom(room);
+        booking.setPets(bookingPets);
+        setDefaultStatus(booking);
+        occupied.add(new BookingInterval(null, checkInDate, checkOutDate));
+        return booking;
+    }
+
+    private Room getRoomForUpdate(Long roomId) {
+        return roomRepository.findByIdForUpdate(roomId).orElseThrow(() ->
+                new NotFoundException(String.format("Room with id=%d is not found", roomId)));
+    }
+
     private void checkUpdateBookingRoomAvailableInDates(Long roomId,
                                                         Long bookingId,
                                                         LocalDate checkInDate,
                                                         LocalDate checkOutDate) {
-        List<Booking> filteredBookings = findBookingsForRoomInDates(roomId, checkInDate, checkOutDate)
-                .stream()
-                .filter(booking -> !booking.getId().equals(bookingId))
-                .toList();
-
-        if (!filteredBookings.isEmpty()) {
-            throw new ConflictException(String.format("Room with id=%d is not available for current dates", roomId));
+        if (roomOccupancyIndex.isRoomOccupied(roomId, checkInDate, checkOutDate, bookingId)) {
+            if (bookingRepository.existsOtherBookingsForRoomInDates(roomId, bookingId, checkInDate, checkOutDate)) {
+                throw new ConflictException(
+                        String.format("Room with id=%d is not available for current dates", roomId));
+            }
+            roomOccupancyIndex.evictRoom(roomId);
         }
     }
 
@@ -352,37 +585,41 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private BookingDto addOwnerShortDtoInPetDto(Booking booking) {
-        List<Long> petsIds = booking.getPets().stream().map(Pet::getId).toList();
-        List<Pet> pets = entityService.getListOfPetsByIds(petsIds);
-        checkPetsInBooking(pets, petsIds);
+        return addOwnerShortDtoInPetDto(booking, new HashMap<>());
+    }
 
-        Map<Long, Owner> owners = pets.stream()
+    private BookingDto addOwnerShortDtoInPetDto(Booking booking, Map<Long, OwnerShortDto> ownerShortDtos) {
+        Map<Long, Owner> owners = booking.getPets().stream()
                 .collect(Collectors.toMap(Pet::getId, Pet::getOwner));
 
         BookingDto bookingDto = bookingMapper.toBookingDto(booking);
-        List<PetDto> petsDto = bookingDto.getPets();
-        for (PetDto petDto : petsDto) {
-            petDto.setOwnerShortDto(ownerMapper.toOwnerShortDto(owners.get(petDto.getId())));
+        List<PetSummaryDto> petsDto = bookingDto.getPets();
+        for (PetSummaryDto petDto : petsDto) {
+            Owner owner = owners.get(petDto.getId());
+            petDto.setOwnerShortDto(ownerShortDtos.computeIfAbsent(owner.getId(),
+                    id -> ownerMapper.toOwnerShortDto(owner)));
         }
         bookingDto.setPets(petsDto);
         return bookingDto;
     }
 
     private List<BookingDto> addOwnerShortDtoInPetDtoList(List<Booking> bookings) {
-        List<BookingDto> bookingDtoList = new ArrayList<>();
+        // питомцы, их владельцы и номера уже загружены запросом с EntityGraph, владельцы маппятся один раз
+        Map<Long, OwnerShortDto> ownerShortDtos = new HashMap<>();
+        List<BookingDto> bookingDtoList = new ArrayList<>(bookings.size());
         for (Booking booking : bookings) {
-            BookingDto bookingDto = addOwnerShortDtoInPetDto(booking);
+            BookingDto bookingDto = addOwnerShortDtoInPetDto(booking, ownerShortDtos);
             bookingDtoList.add(bookingDto);
         }
         return bookingDtoList;
     }
 
-    private List<PetDto> addPetsDtoListForOwner(List<Pet> pets, BookingDto bookingDto) {
+    private List<PetSummaryDto> addPetsDtoListForOwner(List<Pet> pets, BookingDto bookingDto) {
         Map<Long, Owner> owners = pets.stream()
                 .collect(Collectors.toMap(Pet::getId, Pet::getOwner));
 
-        List<PetDto> petsDto = bookingDto.getPets();
-        for (PetDto petDto : petsDto) {
+        List<PetSummaryDto> petsDto = bookingDto.getPets();
+        for (PetSummaryDto petDto : petsDto) {
             petDto.setOwnerShortDto(ownerMapper.toOwnerShortDto(owners.get(petDto.getId())));
         }
         return petsDto;
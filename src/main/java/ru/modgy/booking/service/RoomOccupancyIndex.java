@@ -0,0 +1,203 @@
+package ru.modgy.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.modgy.booking.model.Booking;
+import ru.modgy.booking.model.BookingInterval;
+import ru.modgy.booking.model.StatusBooking;
+import ru.modgy.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Индекс занятости номеров: для каждого номера хранит отсортированные по дате заезда
+ * интервалы неотмененных бронирований. Номер загружается из БД при первом обращении,
+ * дальше индекс поддерживается изменениями бронирований после коммита транзакции.
+ * Изменения, сделанные другими экземплярами приложения, сюда не попадают, поэтому номер
+ * перечитывается по истечении ttl, а ответ "занят" считается подсказкой и проверяется по БД.
+ */
+@Slf4j
+@Component
+public class RoomOccupancyIndex {
+    private final BookingRepository bookingRepository;
+    private final Duration ttl;
+    private final Map<Long, RoomIntervals> rooms = new ConcurrentHashMap<>();
+    private final Map<Long, Long> roomsOfBookings = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public RoomOccupancyIndex(BookingRepository bookingRepository,
+                              @Value("${booking.occupancy-index.ttl:PT5M}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.ttl = ttl;
+    }
+
+    public boolean isRoomOccupied(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        return isRoomOccupied(roomId, checkInDate, checkOutDate, null);
+    }
+
+    public boolean isRoomOccupied(Long roomId,
+                                  LocalDate checkInDate,
+                                  LocalDate checkOutDate,
+                                  Long excludedBookingId) {
+        RoomIntervals intervals = rooms.get(roomId);
+        if (intervals == null || System.nanoTime() - intervals.loadedAt >= ttl.toNanos()) {
+            intervals = loadRoom(roomId, intervals);
+        }
+        return intervals.hasOverlap(checkInDate, checkOutDate, excludedBookingId);
+    }
+
+    /**
+     * Сбрасывает номер, если индекс разошелся с БД: при следующем обращении номер загрузится заново
+     */
+    public synchronized void evictRoom(Long roomId) {
+        generation.incrementAndGet();
+        RoomIntervals intervals = rooms.remove(roomId);
+        if (intervals != null) {
+            intervals.bookingIds().forEach(bookingId -> roomsOfBookings.remove(bookingId, roomId));
+        }
+        log.debug("RoomOccupancyIndex: evictRoom, roomId={}", roomId);
+    }
+
+    public void onBookingSaved(Booking booking) {
+        Long roomId = booking.getRoom() == null ? null : booking.getRoom().getId();
+        BookingInterval interval = new BookingInterval(
+                booking.getId(), booking.getCheckInDate(), booking.getCheckOutDate());
+        boolean isActive = booking.getStatus() != StatusBooking.STATUS_CANCELLED;
+        afterCommit(() -> {
+            remove(interval.bookingId());
+            if (isActive && roomId != null) {
+                put(roomId, interval);
+            }
+        });
+    }
+
+    public void onBookingDeleted(Long bookingId) {
+        afterCommit(() -> remove(bookingId));
+    }
+
+    private RoomIntervals loadRoom(Long roomId, RoomIntervals expired) {
+        long loadGeneration = generation.get();
+        List<BookingInterval> intervals = bookingRepository.findActiveBookingIntervalsForRoom(roomId);
+        RoomIntervals loaded = new RoomIntervals(intervals);
+        log.debug("RoomOccupancyIndex: loadRoom, roomId={}, intervals={}", roomId, intervals.size());
+        // выборка может содержать незакоммиченные изменения текущей транзакции, поэтому кешируется только после коммита
+        afterCommit(() -> cacheRoom(roomId, expired, loaded, loadGeneration));
+        return loaded;
+    }
+
+    private synchronized void cacheRoom(Long roomId,
+                                        RoomIntervals expired,
+                                        RoomIntervals loaded,
+                                        long loadGeneration) {
+        // изменения, закоммиченные во время загрузки, могли не попасть в выборку,
+        // а номер мог быть уже перечитан другим запросом
+        if (loadGeneration != generation.get() || rooms.get(roomId) != expired) {
+            return;
+        }
+        if (expired != null) {
+            expired.bookingIds().forEach(bookingId -> roomsOfBookings.remove(bookingId, roomId));
+        }
+        rooms.put(roomId, loaded);
+        loaded.bookingIds().forEach(bookingId -> roomsOfBookings.put(bookingId, roomId));
+    }
+
+    private synchronized void put(Long roomId, BookingInterval interval) {
+        generation.incrementAndGet();
+        RoomIntervals intervals = rooms.get(roomId);
+        if (intervals != null) {
+            intervals.add(interval);
+            roomsOfBookings.put(interval.bookingId(), roomId);
+        }
+    }
+
+    private synchronized void remove(Long bookingId) {
+        generation.incrementAndGet();
+        Long roomId = roomsOfBookings.remove(bookingId);
+        if (roomId != null) {
+            RoomIntervals intervals = rooms.get(roomId);
+            if (intervals != null) {
+                intervals.remove(bookingId);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static class RoomIntervals {
+        private final NavigableMap<LocalDate, List<BookingInterval>> byCheckInDate = new TreeMap<>();
+        private final Map<Long, BookingInterval> byBookingId = new HashMap<>();
+        private final long loadedAt = System.nanoTime();
+        private long maxLengthInDays;
+
+        RoomIntervals(Collection<BookingInterval> intervals) {
+            intervals.forEach(this::add);
+        }
+
+        synchronized List<Long> bookingIds() {
+            return List.copyOf(byBookingId.keySet());
+        }
+
+        synchronized void add(BookingInterval interval) {
+            BookingInterval previous = byBookingId.put(interval.bookingId(), interval);
+            if (previous != null) {
+                removeFromDates(previous);
+            }
+            byCheckInDate.computeIfAbsent(interval.checkInDate(), date -> new ArrayList<>()).add(interval);
+            maxLengthInDays = Math.max(maxLengthInDays,
+                    ChronoUnit.DAYS.between(interval.checkInDate(), interval.checkOutDate()));
+        }
+
+        synchronized void remove(Long bookingId) {
+            BookingInterval interval = byBookingId.remove(bookingId);
+            if (interval != null) {
+                removeFromDates(interval);
+            }
+        }
+
+        synchronized boolean hasOverlap(LocalDate checkInDate, LocalDate checkOutDate, Long excludedBookingId) {
+            // пересекаться могут только интервалы, начавшиеся не раньше, чем за самую длинную бронь до checkInDate
+            LocalDate from = checkInDate.minusDays(maxLengthInDays);
+            if (from.isAfter(checkOutDate)) {
+                return false;
+            }
+            for (List<BookingInterval> intervals : byCheckInDate.subMap(from, true, checkOutDate, true).values()) {
+                for (BookingInterval interval : intervals) {
+                    if (!interval.bookingId().equals(excludedBookingId) &&
+                        interval.overlaps(checkInDate, checkOutDate)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void removeFromDates(BookingInterval interval) {
+            List<BookingInterval> intervals = byCheckInDate.get(interval.checkInDate());
+            if (intervals != null) {
+                intervals.removeIf(i -> i.bookingId().equals(interval.bookingId()));
+                if (intervals.isEmpty()) {
+                    byCheckInDate.remove(interval.checkInDate());
+                }
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ru.modgy.exception.handler;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageConversionException;
 import org.springframework.validation.FieldError;
@@ -180,6 +181,18 @@ public class ErrorHandler {
                 now());
     }
 
+    @ExceptionHandler({PreconditionFailedException.class, OptimisticLockingFailureException.class})
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public Error handlePreconditionFailedException(final RuntimeException ex) {
+        log.error("EH: PreconditionFailedException: {}", ex.getMessage());
+        return new Error(
+                new ArrayList<>(),
+                ex.getMessage(),
+                "The object was changed by another request.",
+                HttpStatus.PRECONDITION_FAILED,
+                now());
+    }
+
     @ExceptionHandler(BadRequestException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Error handleBadRequestException(final BadRequestException ex) {
@@ -0,0 +1,70 @@
+package ru.modgy.export.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.modgy.export.service.ExportService;
+import ru.modgy.export.writer.ExportFormat;
+import ru.modgy.utility.UtilityService;
+
+import java.time.LocalDate;
+
+/**
+ * Выгрузки пишутся в ответ в отдельном потоке после возврата из метода контроллера,
+ * поэтому права доступа и параметры проверяются заранее
+ */
+@CrossOrigin
+@Slf4j
+@Validated
+@RestController
+@RequestMapping(path = "/export")
+@RequiredArgsConstructor
+public class ExportController {
+    private final ExportService exportService;
+    private final UtilityService utilityService;
+
+    @GetMapping("/owners")
+    public ResponseEntity<StreamingResponseBody> exportOwners(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                                              @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format) {
+        log.info("ExportController: GET/exportOwners, requesterId={}, format={}", requesterId, format);
+        utilityService.checkBossAdminAccess(requesterId);
+        return export("owners", format, out -> exportService.exportOwners(requesterId, format, out));
+    }
+
+    @GetMapping("/pets")
+    public ResponseEntity<StreamingResponseBody> exportPets(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                                            @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format) {
+        log.info("ExportController: GET/exportPets, requesterId={}, format={}", requesterId, format);
+        utilityService.checkBossAdminAccess(requesterId);
+        return export("pets", format, out -> exportService.exportPets(requesterId, format, out));
+    }
+
+    @GetMapping("/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                                                @RequestParam("startDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate startDate,
+                                                                @RequestParam("endDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate endDate,
+                                                                @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format) {
+        log.info("ExportController: GET/exportBookings, requesterId={}, startDate={}, endDate={}, format={}",
+                requesterId, startDate, endDate, format);
+        utilityService.checkBossAdminFinancialAccess(requesterId);
+        utilityService.checkDatesOfBooking(startDate, endDate);
+        return export("bookings", format,
+                out -> exportService.exportBookings(requesterId, startDate, endDate, format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, ExportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.modgy.export.service;
+
+import ru.modgy.export.writer.ExportFormat;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ExportService {
+    /**
+     * Выгрузка всех владельцев
+     *
+     * @param userId - id пользователя, направляющего запрос
+     * @param format - формат выгрузки
+     * @param out    - поток, в который пишутся строки
+     */
+    void exportOwners(Long userId, ExportFormat format, OutputStream out);
+
+    /**
+     * Выгрузка всех питомцев без анкетных данных
+     *
+     * @param userId - id пользователя, направляющего запрос
+     * @param format - формат выгрузки
+     * @param out    - поток, в который пишутся строки
+     */
+    void exportPets(Long userId, ExportFormat format, OutputStream out);
+
+    /**
+     * Выгрузка бронирований, пересекающих период, включая отмененные
+     *
+     * @param userId    - id пользователя, направляющего запрос
+     * @param startDate - начало периода
+     * @param endDate   - конец периода
+     * @param format    - формат выгрузки
+     * @param out       - поток, в который пишутся строки
+     */
+    void exportBookings(Long userId, LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream out);
+}
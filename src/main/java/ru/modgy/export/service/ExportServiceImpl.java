@@ -0,0 +1,75 @@
+package ru.modgy.export.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.modgy.booking.model.BookingExportRow;
+import ru.modgy.booking.repository.BookingRepository;
+import ru.modgy.export.writer.ExportFormat;
+import ru.modgy.export.writer.ExportWriter;
+import ru.modgy.metrics.MetricsConfig;
+import ru.modgy.owner.model.OwnerExportRow;
+import ru.modgy.owner.repository.OwnerRepository;
+import ru.modgy.pet.model.PetExportRow;
+import ru.modgy.pet.repository.PetRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Строки читаются курсором БД и сразу пишутся в поток ответа, поэтому память не зависит
+ * от объема выгрузки. Запросы возвращают записи, а не сущности, и контекст персистентности
+ * не растет. Транзакция нужна PostgreSQL: без нее драйвер игнорирует fetch size и читает результат целиком
+ */
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+    private final OwnerRepository ownerRepository;
+    private final PetRepository petRepository;
+    private final BookingRepository bookingRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportOwners(Long userId, ExportFormat format, OutputStream out) {
+        long rows = export(ownerRepository.streamAllExportRows(), OwnerExportRow.class, format, out);
+        log.info("ExportService: exportOwners, userId={}, format={}, rows={}", userId, format, rows);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportPets(Long userId, ExportFormat format, OutputStream out) {
+        long rows = export(petRepository.streamAllExportRows(), PetExportRow.class, format, out);
+        log.info("ExportService: exportPets, userId={}, format={}, rows={}", userId, format, rows);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportBookings(Long userId,
+                               LocalDate startDate,
+                               LocalDate endDate,
+                               ExportFormat format,
+                               OutputStream out) {
+        long rows = export(bookingRepository.streamExportRowsInDates(startDate, endDate), BookingExportRow.class,
+                format, out);
+        log.info("ExportService: exportBookings, userId={}, startDate={}, endDate={}, format={}, rows={}",
+                userId, startDate, endDate, format, rows);
+    }
+
+    private <T extends Record> long export(Stream<T> rows, Class<T> rowType, ExportFormat format, OutputStream out) {
+        try (rows; ExportWriter writer = ExportWriter.of(format, rowType, out, objectMapper)) {
+            rows.forEach(writer::write);
+            return writer.getRows();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.modgy.export.writer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV в UTF-8 с BOM, чтобы Excel правильно открывал кириллицу. Заголовок - имена полей записи,
+ * значения с разделителем, кавычками или переводом строки заключаются в кавычки
+ */
+public class CsvExportWriter extends ExportWriter {
+    private static final char SEPARATOR = ',';
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final RecordComponent[] columns;
+    private final Writer writer;
+
+    public CsvExportWriter(Class<? extends Record> rowType, OutputStream out) throws IOException {
+        this.columns = rowType.getRecordComponents();
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write('\uFEFF');
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writer.write(columns[i].getName());
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    protected void writeRow(Record row) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writer.write(escape(format(value(row, columns[i]))));
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    static String escape(String value) {
+        if (value.indexOf(SEPARATOR) < 0 && value.indexOf('"') < 0 &&
+            value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        // Double.toString дает экспоненту для больших сумм
+        if (value instanceof Double number) {
+            return BigDecimal.valueOf(number).toPlainString();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+
+    private static Object value(Record row, RecordComponent column) {
+        try {
+            return column.getAccessor().invoke(row);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot read " + column.getName() + " of " + row.getClass(), e);
+        }
+    }
+}
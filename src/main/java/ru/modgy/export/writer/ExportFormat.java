@@ -0,0 +1,17 @@
+package ru.modgy.export.writer;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+    JSON(MediaType.APPLICATION_JSON, "json");
+
+    private final MediaType mediaType;
+    private final String extension;
+}
@@ -0,0 +1,41 @@
+package ru.modgy.export.writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Построчная запись выгрузки в поток ответа. Строки не накапливаются: каждая записывается
+ * в буфер потока сразу после чтения из курсора БД
+ */
+public abstract class ExportWriter implements Closeable {
+    private long rows;
+
+    public static ExportWriter of(ExportFormat format,
+                                  Class<? extends Record> rowType,
+                                  OutputStream out,
+                                  ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvExportWriter(rowType, out);
+            case JSON -> new JsonExportWriter(out, objectMapper);
+        };
+    }
+
+    public void write(Record row) {
+        try {
+            writeRow(row);
+            rows++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    protected abstract void writeRow(Record row) throws IOException;
+}
@@ -0,0 +1,36 @@
+package ru.modgy.export.writer;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * JSON-массив строк. Сброс буфера после каждой строки отключен, генератор отдает данные
+ * в поток по заполнении своего буфера
+ */
+public class JsonExportWriter extends ExportWriter {
+    private final JsonGenerator generator;
+    private final ObjectWriter rowWriter;
+
+    public JsonExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        generator.writeStartArray();
+    }
+
+    @Override
+    protected void writeRow(Record row) throws IOException {
+        rowWriter.writeValue(generator, row);
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+}
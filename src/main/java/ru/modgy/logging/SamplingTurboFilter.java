@@ -0,0 +1,43 @@
+package ru.modgy.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Пропускает в журнал только каждое rate-е событие уровня INFO и ниже от логгеров loggerPrefix.
+ * События считаются отдельно для каждого шаблона сообщения, то есть для каждого метода
+ * контроллера и сервиса, поэтому редкие эндпоинты не теряются на фоне частых.
+ * WARN и ERROR пишутся всегда
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private int rate = 1;
+    private String loggerPrefix = "ru.modgy";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        // проверки isInfoEnabled() приходят без шаблона
+        if (rate <= 1 || format == null || level == null || level.isGreaterOrEqual(Level.WARN) ||
+            !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        long count = counters.computeIfAbsent(format, key -> new AtomicLong()).getAndIncrement();
+        return count % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+}
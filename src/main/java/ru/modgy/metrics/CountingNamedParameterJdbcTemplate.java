@@ -0,0 +1,25 @@
+package ru.modgy.metrics;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * NamedParameterJdbcTemplate, запросы которого попадают в SqlStatementCounter вместе с запросами Hibernate.
+ * Пакет batchUpdate считается одним запросом, как и пакетная вставка Hibernate
+ */
+public class CountingNamedParameterJdbcTemplate extends NamedParameterJdbcTemplate {
+    public CountingNamedParameterJdbcTemplate(JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate);
+    }
+
+    @Override
+    protected PreparedStatementCreatorFactory getPreparedStatementCreatorFactory(ParsedSql parsedSql,
+                                                                                 SqlParameterSource paramSource) {
+        PreparedStatementCreatorFactory factory = super.getPreparedStatementCreatorFactory(parsedSql, paramSource);
+        SqlStatementCounter.record(factory.getSql());
+        return factory;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.modgy.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Метрики приложения для /actuator/prometheus.
+ * <p>
+ * Методы сервисов с @Timed(SERVICE_TIMER) измеряются таймером pethotel.service с тегами class, method
+ * и exception; вызовы репозиториев Spring Boot измеряет сам (spring.data.repository.invocations),
+ * а статистику Hibernate (hibernate.*) публикует hibernate-micrometer при generate_statistics=true.
+ * Запросы через NamedParameterJdbcTemplate учитываются в числе SQL-запросов наравне с запросами Hibernate
+ */
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_TIMER = "pethotel.service";
+
+    @Bean
+    public NamedParameterJdbcTemplate namedParameterJdbcTemplate(JdbcTemplate jdbcTemplate) {
+        return new CountingNamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
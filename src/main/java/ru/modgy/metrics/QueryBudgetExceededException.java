@@ -0,0 +1,7 @@
+package ru.modgy.metrics;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(int maxStatements, String sql) {
+        super(String.format("More than %d SQL statements in one scope, next statement: %s", maxStatements, sql));
+    }
+}
@@ -0,0 +1,82 @@
+package ru.modgy.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Бюджет SQL-запросов на HTTP-запрос: число запросов по каждому эндпоинту публикуется
+ * в pethotel.http.queries, превышение query-budget.max-statements и повторы одного запроса
+ * (возможный N+1) пишутся в журнал. С query-budget.fail-on-exceed=true запрос сверх бюджета
+ * не выполняется, а клиент получает ошибку
+ */
+@Slf4j
+@Component
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+    public static final String QUERIES_SUMMARY = "pethotel.http.queries";
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int maxStatements;
+    private final boolean failOnExceed;
+    private final int repeatThreshold;
+
+    public QueryBudgetInterceptor(ObjectProvider<MeterRegistry> meterRegistry,
+                                  @Value("${query-budget.max-statements:30}") int maxStatements,
+                                  @Value("${query-budget.fail-on-exceed:false}") boolean failOnExceed,
+                                  @Value("${query-budget.repeat-threshold:5}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.failOnExceed = failOnExceed;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.open(failOnExceed ? maxStatements : 0);
+        return true;
+    }
+
+    /**
+     * При асинхронной обработке, например при выгрузках, запрос завершается в другом потоке и afterCompletion
+     * здесь не вызывается, поэтому область закрывается сразу
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        SqlStatementCounter.close();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        QueryScope scope = SqlStatementCounter.close();
+        if (scope == null) {
+            return;
+        }
+        String uri = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        // в срезах @WebMvcTest реестра метрик нет
+        meterRegistry.ifAvailable(registry -> DistributionSummary.builder(QUERIES_SUMMARY)
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(scope.getCount()));
+
+        if (scope.getCount() > maxStatements) {
+            log.warn("QueryBudgetInterceptor: {} {} issued {} SQL statements, budget={}",
+                    request.getMethod(), uri, scope.getCount(), maxStatements);
+        }
+        for (Map.Entry<String, Integer> repeated : scope.getRepeatedStatements(repeatThreshold).entrySet()) {
+            log.warn("QueryBudgetInterceptor: possible N+1 in {} {}, statement repeated {} times: {}",
+                    request.getMethod(), uri, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.modgy.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * SQL-запросы, выполненные в пределах одного HTTP-запроса или проверки в тесте
+ */
+public class QueryScope {
+    private final int maxStatements;
+    private final Map<String, Integer> statements = new HashMap<>();
+    private int count;
+
+    QueryScope(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    void record(String sql) {
+        count++;
+        statements.merge(sql, 1, Integer::sum);
+        if (maxStatements > 0 && count > maxStatements) {
+            throw new QueryBudgetExceededException(maxStatements, sql);
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Одинаковые запросы, выполненные не меньше threshold раз (признак N+1), с числом повторов
+     */
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        return statements.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
@@ -0,0 +1,49 @@
+package ru.modgy.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает SQL-запросы Hibernate и NamedParameterJdbcTemplate текущего потока, пока открыт QueryScope.
+ * Вне области счетчик ничего не делает
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<QueryScope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Открывает область подсчета для текущего потока
+     *
+     * @param maxStatements после скольких запросов бросать QueryBudgetExceededException, 0 - не ограничивать
+     */
+    public static QueryScope open(int maxStatements) {
+        QueryScope scope = new QueryScope(maxStatements);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Закрывает область подсчета текущего потока
+     *
+     * @return закрытая область или null, если она не была открыта
+     */
+    public static QueryScope close() {
+        QueryScope scope = CURRENT.get();
+        CURRENT.remove();
+        return scope;
+    }
+
+    /**
+     * Учитывает запрос, выполненный в обход Hibernate
+     */
+    static void record(String sql) {
+        QueryScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(sql);
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        record(sql);
+        return sql;
+    }
+}
@@ -1,18 +1,29 @@
 package ru.modgy.owner.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.modgy.exception.BadRequestException;
 import ru.modgy.owner.dto.*;
 import ru.modgy.owner.service.OwnerService;
 import ru.modgy.user.model.Roles;
+import ru.modgy.utility.EntityVersion;
 import ru.modgy.utility.UtilityService;
 
+import java.time.LocalDate;
 import java.util.Collection;
 
 @Slf4j
@@ -22,6 +33,8 @@ import java.util.Collection;
 @RequiredArgsConstructor
 @Validated
 public class OwnerController {
+    private static final String EXPAND_PETS = "pets";
+    private static final int MAX_PAGE_SIZE = 100;
     private final OwnerService ownerService;
     private final UtilityService utilityService;
 
@@ -31,20 +44,22 @@ public class OwnerController {
             @RequestHeader(value = UtilityService.REQUESTER_ID_HEADER) Long requesterId,
             @RequestBody @Valid NewOwnerDto newOwnerDto
     ) {
-        log.info("OwnerController: requesterId={} POST/addOwner body={}",
-                requesterId, newOwnerDto);
+        log.info("OwnerController: requesterId={} POST/addOwner", requesterId);
         utilityService.checkHigherOrdinalRoleAccess(requesterId, Roles.ROLE_ADMIN);
         return ownerService.addOwner(requesterId, newOwnerDto);
     }
 
     @GetMapping("/{id}")
-    public OwnerDto getOwnerById(
+    public ResponseEntity<OwnerDto> getOwnerById(
             @RequestHeader(value = UtilityService.REQUESTER_ID_HEADER) Long requesterId,
-            @PathVariable(value = "id") Long id
+            @PathVariable(value = "id") Long id,
+            @RequestParam(value = "expand", required = false) String expand
     ) {
-        log.info("OwnerController: requesterId={} GET/getOwnerByIdForAdmin id={}", requesterId, id);
+        log.info("OwnerController: requesterId={} GET/getOwnerByIdForAdmin id={}, expand={}", requesterId, id, expand);
+        boolean expandPets = isPetsExpanded(expand);
         utilityService.checkHigherOrdinalRoleAccess(requesterId, Roles.ROLE_ADMIN);
-        return ownerService.getOwnerById(requesterId, id);
+        OwnerDto ownerDto = ownerService.getOwnerById(requesterId, id, expandPets);
+        return ResponseEntity.ok().eTag(EntityVersion.toETag(ownerDto.getVersion())).body(ownerDto);
     }
 
     @GetMapping("/short/{id}")
@@ -68,24 +83,54 @@ public class OwnerController {
     }
 
     @PatchMapping("/{id}")
-    public OwnerDto updateOwner(
+    public ResponseEntity<OwnerDto> updateOwner(
             @RequestHeader(value = UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid UpdateOwnerDto updateOwnerDto,
             @PathVariable(value = "id") Long ownerId
     ) {
-        log.info("OwnerController: requesterId={} PATCH/updateOwner id={}, updateBody={}",
-                requesterId, ownerId, updateOwnerDto);
+        log.info("OwnerController: requesterId={} PATCH/updateOwner id={}, ifMatch={}", requesterId, ownerId, ifMatch);
         utilityService.checkHigherOrdinalRoleAccess(requesterId, Roles.ROLE_ADMIN);
-        return ownerService.updateOwner(requesterId, ownerId, updateOwnerDto);
+        if (ifMatch != null) {
+            updateOwnerDto.setVersions(EntityVersion.fromIfMatch(ifMatch));
+        }
+        OwnerDto ownerDto = ownerService.updateOwner(requesterId, ownerId, updateOwnerDto);
+        return ResponseEntity.ok().eTag(EntityVersion.toETag(ownerDto.getVersion())).body(ownerDto);
     }
 
     @GetMapping
-    public Collection<OwnerDto> getAllOwners(
-            @RequestHeader(value = UtilityService.REQUESTER_ID_HEADER) Long requesterId
+    public Slice<OwnerShortDto> getOwners(
+            @RequestHeader(value = UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+            @RequestParam(value = "page", defaultValue = "0") @PositiveOrZero int page,
+            @RequestParam(value = "size", defaultValue = "20") @Positive @Max(MAX_PAGE_SIZE) int size,
+            @RequestParam(value = "sort", defaultValue = "registrationDate") String sortString,
+            @RequestParam(value = "order", defaultValue = "desc") String orderString,
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam(value = "count", defaultValue = "true") boolean withCount,
+            @RequestParam(value = "registeredFrom", required = false) @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate registeredFrom,
+            @RequestParam(value = "registeredTo", required = false) @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate registeredTo,
+            @RequestParam(value = "ratingFrom", required = false) Integer ratingFrom,
+            @RequestParam(value = "ratingTo", required = false) Integer ratingTo,
+            @RequestParam(value = "source", required = false) String source
     ) {
-        log.info("OwnerController: requesterId={} GET/getAllOwners", requesterId);
+        OwnerSort ownerSort = OwnerSort.fromString(sortString);
+        if (ownerSort == null) {
+            throw new BadRequestException("RequestParam sort error");
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(orderString)
+                .orElseThrow(() -> new BadRequestException("RequestParam order error"));
+        log.info("OwnerController: requesterId={} GET/getOwners page={}, size={}, sort={}, order={}, afterId={}",
+                requesterId, page, size, ownerSort, direction, afterId);
         utilityService.checkHigherOrdinalRoleAccess(requesterId, Roles.ROLE_ADMIN);
-        return ownerService.getAllOwners(requesterId);
+        OwnerFilterParams params = OwnerFilterParams.builder()
+                .registeredFrom(registeredFrom)
+                .registeredTo(registeredTo)
+                .ratingFrom(ratingFrom)
+                .ratingTo(ratingTo)
+                .source(source)
+                .build();
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, ownerSort.getTitle()));
+        return ownerService.getOwners(requesterId, params, pageable, afterId, withCount);
     }
 
     @DeleteMapping("/{id}")
@@ -104,8 +149,7 @@ public class OwnerController {
             @RequestHeader(value = UtilityService.REQUESTER_ID_HEADER) Long requesterId,
             @RequestBody @Valid CheckOwnerDto checkOwnerDto
     ) {
-        log.info("OwnerController: requesterId={} GET/checkOwnerPhoneNumber checkOwnerDto={}",
-                requesterId, checkOwnerDto);
+        log.info("OwnerController: requesterId={} GET/checkOwnerPhoneNumber", requesterId);
         utilityService.checkHigherOrdinalRoleAccess(requesterId, Roles.ROLE_ADMIN);
         return ownerService.checkOwnerPhoneNumber(requesterId, checkOwnerDto);
     }
@@ -114,15 +158,30 @@ public class OwnerController {
     public Collection<OwnerDto> searchOwner(
             @RequestHeader(value = UtilityService.REQUESTER_ID_HEADER) Long requesterId,
             @RequestBody SearchOwnerDto searchOwnerDto,
-            @RequestParam(value = "direction") String directionString
+            @RequestParam(value = "direction") String directionString,
+            @RequestParam(value = "expand", required = false) String expand
     ) {
         SearchDirection searchDirection = SearchDirection.fromString(directionString);
         if (searchDirection == null) {
             throw new BadRequestException("RequestParam direction error");
         }
-        log.info("OwnerController: requesterId={} GET/searchOwner searchOwnerDto={}, direction={}",
-                requesterId, searchOwnerDto, searchDirection);
+        boolean expandPets = isPetsExpanded(expand);
+        log.info("OwnerController: requesterId={} GET/searchOwner direction={}, expand={}", requesterId,
+                searchDirection, expand);
         utilityService.checkHigherOrdinalRoleAccess(requesterId, Roles.ROLE_ADMIN);
-        return ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection);
+        return ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection, expandPets);
+    }
+
+    /**
+     * Карточки питомцев отдаются только с expand=pets, по умолчанию лишь их число, клички и виды
+     */
+    private static boolean isPetsExpanded(String expand) {
+        if (expand == null) {
+            return false;
+        }
+        if (!EXPAND_PETS.equalsIgnoreCase(expand)) {
+            throw new BadRequestException("RequestParam expand error");
+        }
+        return true;
     }
 }
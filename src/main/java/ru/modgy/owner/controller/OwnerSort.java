@@ -0,0 +1,25 @@
+package ru.modgy.owner.controller;
+
+public enum OwnerSort {
+    REGISTRATION_DATE("registrationDate"),
+    ID("id");
+
+    private final String title;
+
+    OwnerSort(String title) {
+        this.title = title;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public static OwnerSort fromString(String title) {
+        for (var s : OwnerSort.values()) {
+            if (s.title.equalsIgnoreCase(title)) {
+                return s;
+            }
+        }
+        return null;
+    }
+}
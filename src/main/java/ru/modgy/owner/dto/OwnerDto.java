@@ -4,7 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import ru.modgy.pet.dto.PetDtoForOwner;
+import ru.modgy.pet.dto.PetSummaryDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,5 +27,8 @@ public class OwnerDto {
     private String source;
     private Integer rating;
     private LocalDateTime registrationDate;
-    private List<PetDtoForOwner> petsDto;
+    private Integer petsCount;
+    private List<OwnerPetDto> petsSummary;
+    private List<PetSummaryDto> petsDto; // заполняется только с expand=pets
+    private Long version;
 }
@@ -0,0 +1,16 @@
+package ru.modgy.owner.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+public class OwnerFilterParams {
+    private LocalDate registeredFrom;
+    private LocalDate registeredTo;
+    private Integer ratingFrom;
+    private Integer ratingTo;
+    private String source;
+}
@@ -0,0 +1,22 @@
+package ru.modgy.owner.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.modgy.pet.model.TypeOfPet;
+
+/**
+ * Кличка и вид питомца в списках клиентов без полной карточки питомца
+ */
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OwnerPetDto {
+    private Long id;
+    private String name;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private TypeOfPet type;
+}
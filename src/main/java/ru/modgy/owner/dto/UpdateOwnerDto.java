@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Builder
 @Data
 @AllArgsConstructor
@@ -57,4 +59,5 @@ public class UpdateOwnerDto {
     @Max(value = 10, message = "Значение 'рейтинг' должно быть не больше {value}")
     @PositiveOrZero(message = "В нашей компании не применяется отрицательный рейтинг")
     private Integer rating;
+    private List<Long> versions; // версии, которые изменяет клиент (ETag из If-Match), подходит любая
 }
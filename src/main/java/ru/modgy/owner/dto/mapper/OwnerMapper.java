@@ -1,13 +1,20 @@
 package ru.modgy.owner.dto.mapper;
 
+import org.mapstruct.BeanMapping;
+import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.ReportingPolicy;
 import ru.modgy.owner.dto.NewOwnerDto;
 import ru.modgy.owner.dto.OwnerDto;
+import ru.modgy.owner.dto.OwnerPetDto;
 import ru.modgy.owner.dto.OwnerShortDto;
 import ru.modgy.owner.dto.UpdateOwnerDto;
 import ru.modgy.owner.model.Owner;
+import ru.modgy.owner.model.OwnerPetRow;
 import ru.modgy.pet.mapper.PetMapper;
 import ru.modgy.utility.PhoneFormatMapper;
 
@@ -20,17 +27,33 @@ public interface OwnerMapper {
     @Mapping(source = "optionalPhone", target = "optionalPhone", qualifiedByName = "formatPhoneNumber")
     Owner toOwner(NewOwnerDto newOwnerDto);
 
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(source = "mainPhone", target = "mainPhone", qualifiedByName = "formatPhoneNumber")
     @Mapping(source = "optionalPhone", target = "optionalPhone", qualifiedByName = "formatPhoneNumber")
     @Mapping(target = "id", ignore = true)
-    Owner toOwner(UpdateOwnerDto updateOwnerDto);
+    @Mapping(target = "registrationDate", ignore = true)
+    @Mapping(target = "pets", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateOwner(UpdateOwnerDto updateOwnerDto, @MappingTarget Owner owner);
 
     @Mapping(source = "pets", target = "petsDto")
     OwnerDto toOwnerDto(Owner owner);
 
+    /**
+     * Клиент без питомцев: коллекция pets не читается, сводка по питомцам заполняется отдельно
+     */
+    @Named("compact")
+    @Mapping(target = "petsDto", ignore = true)
+    OwnerDto toCompactOwnerDto(Owner owner);
+
+    OwnerPetDto toOwnerPetDto(OwnerPetRow ownerPetRow);
+
     OwnerShortDto toOwnerShortDto(Owner owner);
 
     List<OwnerShortDto> shortMap(Collection<Owner> owners);
 
     List<OwnerDto> map(List<Owner> owners);
+
+    @IterableMapping(qualifiedByName = "compact")
+    List<OwnerDto> mapCompact(List<Owner> owners);
 }
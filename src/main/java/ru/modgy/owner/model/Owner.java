@@ -2,6 +2,7 @@ package ru.modgy.owner.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import ru.modgy.pet.model.Pet;
 
 import java.time.LocalDateTime;
@@ -13,12 +14,14 @@ import java.util.List;
 @Setter
 @ToString
 @Entity
+@DynamicUpdate
 @Table(name = "owners")
 @NoArgsConstructor
 @AllArgsConstructor
 public class Owner {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "owners_seq")
+    @SequenceGenerator(name = "owners_seq", sequenceName = "owners_seq", allocationSize = 50)
     @Column(name = "id_owners")
     private Long id;
     @Column(name = "last_name_owners")
@@ -49,4 +52,7 @@ public class Owner {
             fetch = FetchType.LAZY,
             cascade = CascadeType.ALL)
     List<Pet> pets = new ArrayList<>();
+    @Version
+    @Column(name = "version_owners")
+    private Long version;
 }
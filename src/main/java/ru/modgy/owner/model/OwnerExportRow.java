@@ -0,0 +1,18 @@
+package ru.modgy.owner.model;
+
+import java.time.LocalDateTime;
+
+public record OwnerExportRow(Long id,
+                             String lastName,
+                             String firstName,
+                             String middleName,
+                             String mainPhone,
+                             String optionalPhone,
+                             String otherContacts,
+                             String actualAddress,
+                             String trustedMan,
+                             String source,
+                             String comment,
+                             Integer rating,
+                             LocalDateTime registrationDate) {
+}
@@ -0,0 +1,9 @@
+package ru.modgy.owner.model;
+
+import ru.modgy.pet.model.TypeOfPet;
+
+public record OwnerPetRow(Long ownerId,
+                          Long id,
+                          String name,
+                          TypeOfPet type) {
+}
@@ -0,0 +1,44 @@
+package ru.modgy.owner.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ru.modgy.utility.PhoneFormatMapper;
+
+/**
+ * Нормализованный номер телефона клиента для поиска по индексу:
+ * по полному номеру и по последним цифрам номера
+ */
+@Builder
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "owner_phones")
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerPhone {
+    public static final int SUFFIX_LENGTH = 4;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "owner_phones_seq")
+    @SequenceGenerator(name = "owner_phones_seq", sequenceName = "owner_phones_seq", allocationSize = 50)
+    @Column(name = "id_owner_phones")
+    private Long id;
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id_owner_phones", nullable = false)
+    private Owner owner;
+    @Column(name = "number_owner_phones", nullable = false)
+    private String number;
+    @Column(name = "suffix_owner_phones", nullable = false)
+    private String suffix;
+
+    public static OwnerPhone of(Owner owner, String phoneNumber) {
+        String number = PhoneFormatMapper.formatPhoneNumber(phoneNumber);
+        return OwnerPhone.builder()
+                .owner(owner)
+                .number(number)
+                .suffix(number.substring(number.length() - SUFFIX_LENGTH))
+                .build();
+    }
+}
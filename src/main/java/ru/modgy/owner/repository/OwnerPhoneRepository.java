@@ -0,0 +1,29 @@
+package ru.modgy.owner.repository;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.modgy.owner.model.Owner;
+import ru.modgy.owner.model.OwnerPhone;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface OwnerPhoneRepository extends JpaRepository<OwnerPhone, Long> {
+    @EntityGraph(attributePaths = {"owner"})
+    Optional<OwnerPhone> findFirstByNumberOrderByIdAsc(String number);
+
+    @Query("SELECT o FROM Owner o WHERE o.id IN " +
+           "(SELECT p.owner.id FROM OwnerPhone p WHERE p.number = :number) ORDER BY o.id")
+    List<Owner> findOwnersByNumber(@Param("number") String number);
+
+    @Query("SELECT o FROM Owner o WHERE o.id IN " +
+           "(SELECT p.owner.id FROM OwnerPhone p WHERE p.suffix = :suffix) ORDER BY o.id")
+    List<Owner> findOwnersBySuffix(@Param("suffix") String suffix);
+
+    @Modifying
+    @Query("DELETE FROM OwnerPhone p WHERE p.owner.id = :ownerId")
+    void deleteAllByOwnerId(@Param("ownerId") Long ownerId);
+}
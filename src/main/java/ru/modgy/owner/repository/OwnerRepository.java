@@ -1,27 +1,42 @@
 package ru.modgy.owner.repository;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.modgy.owner.model.Owner;
+import ru.modgy.owner.model.OwnerExportRow;
+import ru.modgy.owner.model.OwnerPetRow;
+import ru.modgy.search.SearchDocument;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
-
-public interface OwnerRepository extends JpaRepository<Owner, Long> {
-    Optional<Owner> findByMainPhoneOrOptionalPhone(String mainPhoneNumber, String optionalPhoneNumber);
-
-    @Query(value = "select owner from Owner as owner where :direction = 'name'" +
-                   " and (owner.firstName like concat ('%', :searchLine, '%')" +
-                   " or owner.middleName like concat ('%', :searchLine, '%')" +
-                   " or owner.lastName like concat ('%', :searchLine, '%'))" +
-                   " or :direction ='phone'" +
-                   " and (owner.mainPhone like concat ('%', :searchLine, '%')" +
-                   " or owner.optionalPhone like concat ('%', :searchLine, '%'))")
-    List<Owner> searchOwner(
-            @Param("searchLine") String searchLine,
-            @Param("direction") String direction
-    );
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface OwnerRepository extends JpaRepository<Owner, Long>, SearchOwnerRepository {
+    @Query("SELECT new ru.modgy.search.SearchDocument(o.id, " +
+           "concat(coalesce(o.lastName, ''), ' ', o.firstName, ' ', coalesce(o.middleName, ''))) FROM Owner o")
+    List<SearchDocument> findAllNameSearchDocuments();
+
+    @Query("SELECT new ru.modgy.search.SearchDocument(o.id, " +
+           "concat(o.mainPhone, ' ', coalesce(o.optionalPhone, ''))) FROM Owner o")
+    List<SearchDocument> findAllPhoneSearchDocuments();
 
     Integer deleteOwnerById(Long ownerId);
+
+    /**
+     * Клички и виды питомцев перечисленных клиентов одним запросом, без загрузки сущностей питомцев
+     */
+    @Query("SELECT new ru.modgy.owner.model.OwnerPetRow(p.owner.id, p.id, p.name, p.type) FROM Pet p " +
+           "WHERE p.owner.id IN :ownerIds ORDER BY p.owner.id, p.name, p.id")
+    List<OwnerPetRow> findPetRowsByOwnerIds(@Param("ownerIds") Collection<Long> ownerIds);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new ru.modgy.owner.model.OwnerExportRow(o.id, o.lastName, o.firstName, o.middleName, " +
+           "o.mainPhone, o.optionalPhone, o.otherContacts, o.actualAddress, o.trustedMan, o.source, o.comment, " +
+           "o.rating, o.registrationDate) FROM Owner o ORDER BY o.id")
+    Stream<OwnerExportRow> streamAllExportRows();
 }
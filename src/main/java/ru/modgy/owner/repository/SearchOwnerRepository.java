@@ -0,0 +1,15 @@
+package ru.modgy.owner.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.modgy.owner.dto.OwnerFilterParams;
+import ru.modgy.owner.model.Owner;
+
+public interface SearchOwnerRepository {
+    /**
+     * Страница клиентов по фильтрам. Сортировка по одному полю из pageable, при равенстве по id.
+     * С afterId страница начинается сразу за этим клиентом (keyset), номер страницы из pageable не учитывается.
+     * С withCount возвращается Page с общим числом клиентов, без него - Slice, где известно только hasNext
+     */
+    Slice<Owner> findOwnersByParams(OwnerFilterParams params, Pageable pageable, Long afterId, boolean withCount);
+}
@@ -0,0 +1,137 @@
+package ru.modgy.owner.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import ru.modgy.owner.dto.OwnerFilterParams;
+import ru.modgy.owner.model.Owner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchOwnerRepositoryImpl implements SearchOwnerRepository {
+    private static final String ID = "id";
+    private static final Sort.Order DEFAULT_ORDER = Sort.Order.desc("registrationDate");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Owner> findOwnersByParams(OwnerFilterParams params, Pageable pageable, Long afterId, boolean withCount) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(DEFAULT_ORDER);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Owner> cq = cb.createQuery(Owner.class);
+        Root<Owner> ownerRoot = cq.from(Owner.class);
+
+        List<Predicate> predicates = getPredicates(cb, ownerRoot, params);
+        if (afterId != null) {
+            predicates.add(getKeysetPredicate(cb, cq, ownerRoot, order, afterId));
+        }
+        Path<?> sortPath = ownerRoot.get(order.getProperty());
+        Path<Long> idPath = ownerRoot.get(ID);
+        cq.select(ownerRoot)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(order.isAscending() ? cb.asc(sortPath) : cb.desc(sortPath),
+                        order.isAscending() ? cb.asc(idPath) : cb.desc(idPath));
+
+        // с keyset смещение не нужно: условие на ключ уже отсекает предыдущие страницы
+        long offset = afterId == null ? pageable.getOffset() : 0;
+        int size = pageable.getPageSize();
+        // лишняя строка показывает, есть ли следующая страница, без запроса количества
+        List<Owner> owners = entityManager.createQuery(cq)
+                .setFirstResult((int) offset)
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = owners.size() > size;
+        List<Owner> content = hasNext ? owners.subList(0, size) : owners;
+
+        if (!withCount) {
+            Pageable slice = afterId == null ? pageable : PageRequest.of(0, size, pageable.getSort());
+            return new SliceImpl<>(content, slice, hasNext);
+        }
+        if (afterId == null) {
+            long total = hasNext || offset > 0 && content.isEmpty() ?
+                    countOwnersByParams(params, order, null) : offset + content.size();
+            return new PageImpl<>(content, pageable, total);
+        }
+        // номер страницы определяется числом клиентов до курсора включительно, чтобы number и totalPages
+        // согласовывались с общим числом; страницы считаются при неизменном размере
+        long preceding = countOwnersByParams(params, order, afterId);
+        long total = hasNext ? countOwnersByParams(params, order, null) : preceding + content.size();
+        return new PageImpl<>(content, PageRequest.of((int) (preceding / size), size, pageable.getSort()), total);
+    }
+
+    /**
+     * Число клиентов по фильтрам, с afterId - только клиента-курсора и клиентов перед ним
+     */
+    private long countOwnersByParams(OwnerFilterParams params, Sort.Order order, Long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Owner> ownerRoot = cq.from(Owner.class);
+
+        List<Predicate> predicates = getPredicates(cb, ownerRoot, params);
+        if (afterId != null) {
+            predicates.add(cb.not(getKeysetPredicate(cb, cq, ownerRoot, order, afterId)));
+        }
+        cq.select(cb.count(ownerRoot)).where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+
+    private List<Predicate> getPredicates(CriteriaBuilder cb, Root<Owner> ownerRoot, OwnerFilterParams params) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (params.getRegisteredFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(ownerRoot.get("registrationDate"),
+                    params.getRegisteredFrom().atStartOfDay()));
+        }
+        if (params.getRegisteredTo() != null) {
+            predicates.add(cb.lessThan(ownerRoot.get("registrationDate"),
+                    params.getRegisteredTo().plusDays(1).atStartOfDay()));
+        }
+        if (params.getRatingFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(ownerRoot.get("rating"), params.getRatingFrom()));
+        }
+        if (params.getRatingTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(ownerRoot.get("rating"), params.getRatingTo()));
+        }
+        if (params.getSource() != null) {
+            predicates.add(cb.equal(cb.lower(ownerRoot.get("source")), params.getSource().toLowerCase()));
+        }
+        return predicates;
+    }
+
+    /**
+     * Клиенты после afterId в порядке сортировки: значение поля сортировки берется подзапросом,
+     * поэтому отдельного чтения клиента-курсора нет
+     */
+    private <T extends Comparable<? super T>> Predicate getKeysetPredicate(CriteriaBuilder cb, CriteriaQuery<?> cq,
+                                                                          Root<Owner> ownerRoot, Sort.Order order,
+                                                                          Long afterId) {
+        Path<Long> idPath = ownerRoot.get(ID);
+        if (ID.equals(order.getProperty())) {
+            return order.isAscending() ? cb.greaterThan(idPath, afterId) : cb.lessThan(idPath, afterId);
+        }
+        Path<T> sortPath = ownerRoot.get(order.getProperty());
+        @SuppressWarnings("unchecked")
+        Subquery<T> cursor = cq.subquery((Class<T>) sortPath.getJavaType());
+        Root<Owner> cursorRoot = cursor.from(Owner.class);
+        cursor.select(cursorRoot.get(order.getProperty())).where(cb.equal(cursorRoot.get(ID), afterId));
+
+        if (order.isAscending()) {
+            return cb.or(cb.greaterThan(sortPath, cursor),
+                    cb.and(cb.equal(sortPath, cursor), cb.greaterThan(idPath, afterId)));
+        }
+        return cb.or(cb.lessThan(sortPath, cursor),
+                cb.and(cb.equal(sortPath, cursor), cb.lessThan(idPath, afterId)));
+    }
+}
@@ -1,5 +1,7 @@
 package ru.modgy.owner.service;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import ru.modgy.owner.controller.SearchDirection;
 import ru.modgy.owner.dto.*;
 
@@ -39,9 +41,10 @@ public interface OwnerService {
      *
      * @param requesterId - id пользователя, направляющего запрос
      * @param ownerId     - id запрашиваемого клиента (хозяина питомца)
+     * @param expandPets  - true, если нужны карточки питомцев, иначе только их число, клички и виды
      * @return данные клиента (хозяина питомца)
      */
-    OwnerDto getOwnerById(Long requesterId, Long ownerId);
+    OwnerDto getOwnerById(Long requesterId, Long ownerId, boolean expandPets);
 
     /**
      * Обновление информации о клиенте (хозяине питомца)
@@ -54,12 +57,17 @@ public interface OwnerService {
     OwnerDto updateOwner(Long requesterId, Long ownerId, UpdateOwnerDto updateOwnerDto);
 
     /**
-     * Получение списка всех клиентов (хозяев питомцев)
+     * Получение страницы клиентов (хозяев питомцев) с фильтрами
      *
      * @param requesterId - id пользователя, направляющего запрос
-     * @return список всех клиентов (хозяев питомцев)
+     * @param params      - фильтры по дате регистрации, рейтингу и источнику
+     * @param pageable    - номер и размер страницы, сортировка по одному полю
+     * @param afterId     - id последнего клиента предыдущей страницы для продолжения по ключу, может быть null
+     * @param withCount   - false, если общее число клиентов не нужно и его подсчет можно пропустить
+     * @return страница краткой информации о клиентах: Page с общим числом при withCount, иначе Slice
      */
-    Collection<OwnerDto> getAllOwners(Long requesterId);
+    Slice<OwnerShortDto> getOwners(Long requesterId, OwnerFilterParams params, Pageable pageable, Long afterId,
+                                   boolean withCount);
 
     /**
      * Удаление по id информации о клиенте (хозяине питомца)
@@ -84,7 +92,9 @@ public interface OwnerService {
      * @param requesterId    - id пользователя, направляющего запрос
      * @param searchOwnerDto - искомые данные
      * @param searchDirection - направление поиска: Direction.name - ФИО, Direction.phone - номер телефона
-     * @return список найденных клиентов(хозяев питомцев )
+     * @param expandPets      - true, если нужны карточки питомцев, иначе только их число, клички и виды
+     * @return список найденных клиентов(хозяев питомцев), упорядоченный по убыванию сходства (не более 50)
      */
-    Collection<OwnerDto> searchOwner(Long requesterId, SearchOwnerDto searchOwnerDto, SearchDirection searchDirection);
+    Collection<OwnerDto> searchOwner(Long requesterId, SearchOwnerDto searchOwnerDto, SearchDirection searchDirection,
+                                     boolean expandPets);
 }
@@ -1,35 +1,53 @@
 package ru.modgy.owner.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.modgy.exception.BadRequestException;
 import ru.modgy.exception.NotFoundException;
+import ru.modgy.metrics.MetricsConfig;
 import ru.modgy.owner.controller.SearchDirection;
 import ru.modgy.owner.dto.*;
 import ru.modgy.owner.dto.mapper.OwnerMapper;
 import ru.modgy.owner.model.Owner;
+import ru.modgy.owner.model.OwnerPetRow;
+import ru.modgy.owner.model.OwnerPhone;
+import ru.modgy.owner.repository.OwnerPhoneRepository;
 import ru.modgy.owner.repository.OwnerRepository;
+import ru.modgy.search.FuzzySearchService;
 import ru.modgy.utility.EntityService;
+import ru.modgy.utility.EntityVersion;
 import ru.modgy.utility.PhoneFormatMapper;
-import ru.modgy.utility.UpdateField;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.time.LocalDateTime.now;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class OwnerServiceImpl implements OwnerService {
+    private static final int SEARCH_LIMIT = 50;
+    private static final int FULL_PHONE_LENGTH = 10;
     private final OwnerRepository ownerRepository;
+    private final OwnerPhoneRepository ownerPhoneRepository;
     private final OwnerMapper ownerMapper;
     private final EntityService entityService;
+    private final FuzzySearchService fuzzySearchService;
 
     @Transactional()
     @Override
@@ -37,8 +55,12 @@ public class OwnerServiceImpl implements OwnerService {
         Owner newOwner = ownerMapper.toOwner(newOwnerDto);
         newOwner.setRegistrationDate(now());
         Owner addedOwner = ownerRepository.save(newOwner);
-        log.info("ownerService: addOwner, requesterId={}, owner={}", requesterId, addedOwner);
-        return ownerMapper.toOwnerDto(addedOwner);
+        savePhones(addedOwner);
+        log.info("ownerService: addOwner, requesterId={}, ownerId={}", requesterId, addedOwner.getId());
+        OwnerDto addedOwnerDto = ownerMapper.toCompactOwnerDto(addedOwner);
+        // у нового клиента питомцев еще нет
+        fillPetsSummary(List.of(addedOwnerDto), List.of());
+        return addedOwnerDto;
     }
 
     @Transactional(readOnly = true)
@@ -55,53 +77,52 @@ public class OwnerServiceImpl implements OwnerService {
     @Override
     public OwnerShortDto getShortOwnerById(Long requesterId, Long ownerId) {
         Owner owner = entityService.getOwnerIfExists(ownerId);
-        log.info("ownerService: getShortOwnerById, requesterId={}, ownerShortDto={}, ownerId={}",
-                requesterId, owner, ownerId);
+        log.info("ownerService: getShortOwnerById, requesterId={}, ownerId={}", requesterId, ownerId);
         return ownerMapper.toOwnerShortDto(owner);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public OwnerDto getOwnerById(Long requesterId, Long ownerId) {
+    public OwnerDto getOwnerById(Long requesterId, Long ownerId, boolean expandPets) {
         Owner owner = entityService.getOwnerIfExists(ownerId);
-        log.info("ownerService: getOwnerById, requesterId={}, ownerDto={}, ownerId={}", requesterId, owner, ownerId);
-        return ownerMapper.toOwnerDto(owner);
+        OwnerDto ownerDto = expandPets ? ownerMapper.toOwnerDto(owner) : ownerMapper.toCompactOwnerDto(owner);
+        fillPetsSummary(List.of(ownerDto), ownerRepository.findPetRowsByOwnerIds(List.of(ownerId)));
+        log.info("ownerService: getOwnerById, requesterId={}, ownerId={}, expandPets={}", requesterId, ownerId,
+                expandPets);
+        return ownerDto;
     }
 
     @Transactional
     @Override
     public OwnerDto updateOwner(Long requesterId, Long ownerId, UpdateOwnerDto updateOwnerDto) {
-        Owner oldOwner = entityService.getOwnerIfExists(ownerId);
-        Owner newOwner = ownerMapper.toOwner(updateOwnerDto);
-        newOwner.setId(ownerId);
-        newOwner.setRegistrationDate(oldOwner.getRegistrationDate());
-
-        newOwner.setLastName(UpdateField.stringField(oldOwner.getLastName(), newOwner.getLastName()));
-        newOwner.setFirstName(UpdateField.stringField(oldOwner.getFirstName(), newOwner.getFirstName()));
-        newOwner.setMiddleName(UpdateField.stringField(oldOwner.getMiddleName(), newOwner.getMiddleName()));
-        newOwner.setMainPhone(UpdateField.stringField(oldOwner.getMainPhone(), newOwner.getMainPhone()));
-        newOwner.setOptionalPhone(UpdateField.stringField(oldOwner.getOptionalPhone(), newOwner.getOptionalPhone()));
-        newOwner.setOtherContacts(UpdateField.stringField(oldOwner.getOtherContacts(), newOwner.getOtherContacts()));
-        newOwner.setActualAddress(UpdateField.stringField(oldOwner.getActualAddress(), newOwner.getActualAddress()));
-        newOwner.setTrustedMan(UpdateField.stringField(oldOwner.getTrustedMan(), newOwner.getTrustedMan()));
-        newOwner.setSource(UpdateField.stringField(oldOwner.getSource(), newOwner.getSource()));
-        newOwner.setComment(UpdateField.stringField(oldOwner.getComment(), newOwner.getComment()));
-        newOwner.setRating(UpdateField.intField(oldOwner.getRating(), newOwner.getRating()));
-
-        Owner updatedOwner = ownerRepository.save(newOwner);
-        log.info("ownerService: updateOwner, requesterId={}, old owner={}, updatedOwner={}",
-                requesterId, oldOwner, updatedOwner);
-
-        return ownerMapper.toOwnerDto(updatedOwner);
+        Owner owner = entityService.getOwnerIfExists(ownerId);
+        EntityVersion.checkVersion("Owner", ownerId, owner.getVersion(), updateOwnerDto.getVersions());
+        String oldMainPhone = owner.getMainPhone();
+        String oldOptionalPhone = owner.getOptionalPhone();
+        // изменения вносятся прямо в управляемую сущность, UPDATE с измененными колонками выполнит flush
+        ownerMapper.updateOwner(updateOwnerDto, owner);
+        ownerRepository.flush();
+
+        if (!Objects.equals(oldMainPhone, owner.getMainPhone()) ||
+            !Objects.equals(oldOptionalPhone, owner.getOptionalPhone())) {
+            ownerPhoneRepository.deleteAllByOwnerId(ownerId);
+            savePhones(owner);
+        }
+        log.info("ownerService: updateOwner, requesterId={}, ownerId={}", requesterId, ownerId);
+
+        return toCompactOwnerDto(owner);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<OwnerDto> getAllOwners(Long requesterId) {
-        List<Owner> allOwners = ownerRepository.findAll();
-
-        log.info("ownerService: getAllOwners, requesterId={}, num of owners={}", requesterId, allOwners.size());
-        return ownerMapper.map(allOwners);
+    public Slice<OwnerShortDto> getOwners(Long requesterId, OwnerFilterParams params, Pageable pageable, Long afterId,
+                                          boolean withCount) {
+        checkFilterParams(params);
+        Slice<Owner> owners = ownerRepository.findOwnersByParams(params, pageable, afterId, withCount);
+
+        log.info("ownerService: getOwners, requesterId={}, page={}, size={}, afterId={}, num of owners={}",
+                requesterId, pageable.getPageNumber(), pageable.getPageSize(), afterId, owners.getNumberOfElements());
+        return owners.map(ownerMapper::toOwnerShortDto);
     }
 
     @Transactional
@@ -119,21 +140,99 @@ public class OwnerServiceImpl implements OwnerService {
     @Override
     public OwnerDto checkOwnerPhoneNumber(Long requesterId, CheckOwnerDto checkOwnerDto) {
         String phoneNumber = PhoneFormatMapper.formatPhoneNumber(checkOwnerDto.getMainPhone());
-        Owner owner = ownerRepository.findByMainPhoneOrOptionalPhone(phoneNumber, phoneNumber).orElseGet(Owner::new);
-        log.info("ownerService: checkOwnerPhoneNumber, requesterId={}, checkOwnerDto={}, phoneNumber={}, owner={}",
-                requesterId, checkOwnerDto, phoneNumber, owner);
-        return ownerMapper.toOwnerDto(owner);
+        Owner owner = ownerPhoneRepository.findFirstByNumberOrderByIdAsc(phoneNumber)
+                .map(OwnerPhone::getOwner)
+                .orElse(null);
+        log.info("ownerService: checkOwnerPhoneNumber, requesterId={}, ownerId={}", requesterId,
+                owner == null ? null : owner.getId());
+        // для незнакомого номера возвращается пустой клиент
+        return owner == null ? new OwnerDto() : toCompactOwnerDto(owner);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public Collection<OwnerDto> searchOwner(Long requesterId, SearchOwnerDto searchOwnerDto, SearchDirection searchDirection) {
+    public Collection<OwnerDto> searchOwner(Long requesterId, SearchOwnerDto searchOwnerDto, SearchDirection searchDirection,
+                                            boolean expandPets) {
         String searchLine = searchOwnerDto.getWanted();
-        List<Owner> foundOwners = ownerRepository.searchOwner(searchLine, searchDirection.getTitle());
+        String digits = searchLine.replaceAll("\\D", "");
+        List<Owner> foundOwners;
+        if (searchDirection == SearchDirection.PHONE && digits.length() == OwnerPhone.SUFFIX_LENGTH) {
+            foundOwners = ownerPhoneRepository.findOwnersBySuffix(digits);
+        } else if (searchDirection == SearchDirection.PHONE && digits.length() >= FULL_PHONE_LENGTH) {
+            foundOwners = ownerPhoneRepository.findOwnersByNumber(PhoneFormatMapper.formatPhoneNumber(digits));
+        } else {
+            foundOwners = findOwnersByFuzzySearch(searchLine, searchDirection);
+        }
+
+        List<OwnerDto> ownerDtos = toOwnerDtos(foundOwners, expandPets);
+        if (!ownerDtos.isEmpty()) {
+            List<Long> ownerIds = foundOwners.stream().map(Owner::getId).toList();
+            fillPetsSummary(ownerDtos, ownerRepository.findPetRowsByOwnerIds(ownerIds));
+        }
+
+        log.info("ownerService: searchOwner, requesterId={}, direction={}, num foundOwners={}, expandPets={}",
+                requesterId, searchDirection, foundOwners.size(), expandPets);
+
+        return ownerDtos;
+    }
+
+    private void checkFilterParams(OwnerFilterParams params) {
+        if (params.getRegisteredFrom() != null && params.getRegisteredTo() != null &&
+            params.getRegisteredFrom().isAfter(params.getRegisteredTo())) {
+            throw new BadRequestException(String.format("registeredFrom=%s is after registeredTo=%s",
+                    params.getRegisteredFrom(), params.getRegisteredTo()));
+        }
+        if (params.getRatingFrom() != null && params.getRatingTo() != null &&
+            params.getRatingFrom() > params.getRatingTo()) {
+            throw new BadRequestException(String.format("ratingFrom=%d is greater than ratingTo=%d",
+                    params.getRatingFrom(), params.getRatingTo()));
+        }
+    }
 
-        log.info("ownerService: searchOwner, requesterId={}, searchOwnerDto={}, direction={}, num foundOwners={}",
-                requesterId,searchOwnerDto, searchDirection, foundOwners.size());
+    private List<OwnerDto> toOwnerDtos(List<Owner> owners, boolean expandPets) {
+        return expandPets ? ownerMapper.map(owners) : ownerMapper.mapCompact(owners);
+    }
+
+    private OwnerDto toCompactOwnerDto(Owner owner) {
+        OwnerDto ownerDto = ownerMapper.toCompactOwnerDto(owner);
+        fillPetsSummary(List.of(ownerDto), ownerRepository.findPetRowsByOwnerIds(List.of(owner.getId())));
+        return ownerDto;
+    }
+
+    /**
+     * Число питомцев, клички и виды берутся из одного запроса по всем клиентам списка,
+     * коллекция pets клиентов при этом не загружается
+     */
+    private void fillPetsSummary(List<OwnerDto> ownerDtos, List<OwnerPetRow> petRows) {
+        Map<Long, List<OwnerPetDto>> petsByOwnerId = petRows.stream()
+                .collect(Collectors.groupingBy(OwnerPetRow::ownerId,
+                        Collectors.mapping(ownerMapper::toOwnerPetDto, Collectors.toList())));
+        for (OwnerDto ownerDto : ownerDtos) {
+            List<OwnerPetDto> pets = petsByOwnerId.getOrDefault(ownerDto.getId(), List.of());
+            ownerDto.setPetsCount(pets.size());
+            ownerDto.setPetsSummary(pets);
+        }
+    }
+
+    private List<Owner> findOwnersByFuzzySearch(String searchLine, SearchDirection searchDirection) {
+        List<Long> foundIds = searchDirection == SearchDirection.PHONE ?
+                fuzzySearchService.findOwnerIdsByPhone(searchLine, SEARCH_LIMIT) :
+                fuzzySearchService.findOwnerIdsByName(searchLine, SEARCH_LIMIT);
+
+        // findAllById не сохраняет порядок, а id отсортированы по убыванию сходства
+        Map<Long, Owner> ownersById = ownerRepository.findAllById(foundIds).stream()
+                .collect(Collectors.toMap(Owner::getId, Function.identity()));
+        return foundIds.stream()
+                .map(ownersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 
-        return ownerMapper.map(foundOwners);
+    private void savePhones(Owner owner) {
+        List<OwnerPhone> phones = Stream.of(owner.getMainPhone(), owner.getOptionalPhone())
+                .filter(Objects::nonNull)
+                .map(phone -> OwnerPhone.of(owner, phone))
+                .toList();
+        ownerPhoneRepository.saveAll(phones);
     }
 }
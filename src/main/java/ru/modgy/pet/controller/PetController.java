@@ -6,14 +6,20 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.modgy.pet.dto.NewPetDto;
 import ru.modgy.pet.dto.PetDto;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.pet.dto.UpdatePetDto;
 import ru.modgy.pet.service.PetService;
+import ru.modgy.utility.EntityVersion;
 import ru.modgy.utility.UtilityService;
 
+import java.util.List;
+
 
 @CrossOrigin
 @RestController
@@ -34,14 +40,15 @@ public class PetController {
     }
 
     @GetMapping("/{id}")
-    public PetDto getPetById(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
-                             @PathVariable(value = "id") Long petId) {
+    public ResponseEntity<PetDto> getPetById(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                             @PathVariable(value = "id") Long petId) {
         log.info("PetController: GET/getPetById, requesterId={}, petId={}", requesterId, petId);
-        return petService.getPetById(requesterId, petId);
+        PetDto petDto = petService.getPetById(requesterId, petId);
+        return ResponseEntity.ok().eTag(EntityVersion.toETag(petDto.getVersion())).body(petDto);
     }
 
     @GetMapping("/search")
-    public Page<PetDto> getPetsBySearch(
+    public Page<PetSummaryDto> getPetsBySearch(
             @RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
             @RequestParam(required = false) String text,
             @PositiveOrZero
@@ -58,13 +65,30 @@ public class PetController {
                 size);
     }
 
+    @GetMapping("/search/fuzzy")
+    public List<PetSummaryDto> getPetsByFuzzySearch(
+            @RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+            @RequestParam String text,
+            @Positive
+            @RequestParam(defaultValue = "10") Integer size) {
+        utilityService.checkBossAdminAccess(requesterId);
+        log.info("PetController: GET/getPetsByFuzzySearch, requesterId={}, text={}, size={}", requesterId,
+                text, size);
+        return petService.getPetsByFuzzySearch(requesterId, text, size);
+    }
+
     @PatchMapping("/{id}")
-    public PetDto updatePet(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
-                            @RequestBody @Valid UpdatePetDto updatePetDto,
-                            @PathVariable(value = "id") Long petId) {
+    public ResponseEntity<PetDto> updatePet(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                            @RequestBody @Valid UpdatePetDto updatePetDto,
+                                            @PathVariable(value = "id") Long petId) {
         utilityService.checkBossAdminAccess(requesterId);
-        log.info("PetController: PATCH/updatePet, requesterId={}, petId={}", requesterId, petId);
-        return petService.updatePet(requesterId, petId, updatePetDto);
+        log.info("PetController: PATCH/updatePet, requesterId={}, petId={}, ifMatch={}", requesterId, petId, ifMatch);
+        if (ifMatch != null) {
+            updatePetDto.setVersions(EntityVersion.fromIfMatch(ifMatch));
+        }
+        PetDto petDto = petService.updatePet(requesterId, petId, updatePetDto);
+        return ResponseEntity.ok().eTag(EntityVersion.toETag(petDto.getVersion())).body(petDto);
     }
 
     @DeleteMapping("/{id}")
@@ -85,6 +85,7 @@ public class PetDto {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm:ss")
     private LocalDateTime registrationDate;
     private List<BookingForPetDto> bookings;
+    private Long version;
 
 
     public static final Comparator<PetDto> PET_COMPARATOR =
@@ -101,5 +102,4 @@ public class PetDto {
     public int compareTo(PetDto other) {
         return this.name.compareTo(other.name);
     }
-
-}
\ No newline at end of file
+}
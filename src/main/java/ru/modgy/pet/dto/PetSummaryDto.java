@@ -0,0 +1,50 @@
+package ru.modgy.pet.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+import ru.modgy.owner.dto.OwnerShortDto;
+import ru.modgy.pet.model.Sex;
+import ru.modgy.pet.model.TypeOfPet;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Питомец без анкеты: для поиска, списков бронирований и карточки владельца.
+ * Полная анкета отдается только GET /pets/{id}
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class PetSummaryDto {
+    private long id;
+    private OwnerShortDto ownerShortDto;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private TypeOfPet type; // вид животного
+    private String name;
+    private String breed; // порода
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy")
+    private LocalDate birthDate;
+    private String age;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Sex sex;
+    private String color;
+    private String sign;
+    private Boolean isExhibition;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm:ss")
+    private LocalDateTime registrationDate;
+
+    public static final Comparator<PetSummaryDto> PET_COMPARATOR =
+            Comparator.comparing((PetSummaryDto::getName))
+                    .thenComparing((PetSummaryDto::getType))
+                    .thenComparing((PetSummaryDto::getBreed))
+                    .thenComparing((PetSummaryDto::getRegistrationDate));
+
+    public static Comparator<PetSummaryDto> getComparator() {
+        return PET_COMPARATOR;
+    }
+}
@@ -8,6 +8,7 @@ import ru.modgy.pet.model.Sex;
 import ru.modgy.pet.model.TypeOfPet;
 
 import java.time.LocalDate;
+import java.util.List;
 
 
 @Builder
@@ -120,4 +121,5 @@ public class UpdatePetDto {
     private String medicineRegimen;
     @Length(max = 1000, message = "Запись о дополнительных особенностях не больше {max} символов.")
     private String additionalData;
+    private List<Long> versions; // версии, которые изменяет клиент (ETag из If-Match), подходит любая
 }
@@ -5,9 +5,12 @@ import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 import ru.modgy.pet.dto.NewPetDto;
 import ru.modgy.pet.dto.PetDto;
-import ru.modgy.pet.dto.PetDtoForOwner;
-import ru.modgy.pet.dto.UpdatePetDto;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.PetBehaviour;
+import ru.modgy.pet.model.PetCare;
+import ru.modgy.pet.model.PetHealth;
+import ru.modgy.pet.model.PetQuestionnaire;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -19,9 +22,18 @@ import java.util.Set;
 public interface PetMapper {
 
     @Mapping(target = "ownerShortDto", ignore = true)
+    @Mapping(source = "pet.id", target = "id")
     @Mapping(source = "pet.birthDate", target = "age", qualifiedByName = "calculateAge")
-    @Mapping(target = "bookings", conditionQualifiedByName = {"BookingMapper"})
-    PetDto toPetDto(Pet pet);
+    @Mapping(source = "pet.bookings", target = "bookings", conditionQualifiedByName = {"BookingMapper"})
+    PetDto toPetDto(Pet pet, PetHealth health, PetBehaviour behaviour, PetCare care);
+
+    default PetDto toPetDto(Pet pet, PetQuestionnaire questionnaire) {
+        return toPetDto(pet, questionnaire.health(), questionnaire.behaviour(), questionnaire.care());
+    }
+
+    @Mapping(target = "ownerShortDto", ignore = true)
+    @Mapping(source = "birthDate", target = "age", qualifiedByName = "calculateAge")
+    PetSummaryDto toPetSummaryDto(Pet pet);
 
     @Named("calculateAge")
     default String calculateAge(LocalDate birthDate) {
@@ -48,13 +60,19 @@ public interface PetMapper {
     Pet toPet(NewPetDto newPetDto);
 
     @Mapping(target = "id", ignore = true)
-    @Mapping(target = "bookings", ignore = true)
-    Pet toPet(UpdatePetDto updatePetDto);
+    @Mapping(target = "pet", ignore = true)
+    PetHealth toPetHealth(NewPetDto newPetDto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "pet", ignore = true)
+    PetBehaviour toPetBehaviour(NewPetDto newPetDto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "pet", ignore = true)
+    PetCare toPetCare(NewPetDto newPetDto);
 
     @Mapping(target = "bookings", ignore = true)
     Set<Pet> toPet(Collection<PetDto> pets);
 
-    List<PetDto> toListPetDto(List<Pet> pets);
-
-    List<PetDtoForOwner> toListPetDtoForOwner(List<Pet> pets);
+    List<PetSummaryDto> toListPetSummaryDto(List<Pet> pets);
 }
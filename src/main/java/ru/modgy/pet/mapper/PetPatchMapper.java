@@ -0,0 +1,47 @@
+package ru.modgy.pet.mapper;
+
+import org.mapstruct.Condition;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import ru.modgy.pet.dto.UpdatePetDto;
+import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.PetBehaviour;
+import ru.modgy.pet.model.PetCare;
+import ru.modgy.pet.model.PetHealth;
+
+/**
+ * Частичное обновление питомца на месте: в сущность переносятся только заполненные поля UpdatePetDto.
+ * Вынесено из PetMapper, потому что условие на пустые строки действует на все методы маппера
+ */
+@Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+public interface PetPatchMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "owner", ignore = true)
+    @Mapping(target = "registrationDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "bookings", ignore = true)
+    void updatePet(UpdatePetDto updatePetDto, @MappingTarget Pet pet);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "pet", ignore = true)
+    void updateHealth(UpdatePetDto updatePetDto, @MappingTarget PetHealth health);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "pet", ignore = true)
+    void updateBehaviour(UpdatePetDto updatePetDto, @MappingTarget PetBehaviour behaviour);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "pet", ignore = true)
+    void updateCare(UpdatePetDto updatePetDto, @MappingTarget PetCare care);
+
+    /**
+     * Пустая строка, как и null, означает, что поле не меняется
+     */
+    @Condition
+    default boolean isNotBlank(String value) {
+        return value != null && !value.isBlank();
+    }
+}
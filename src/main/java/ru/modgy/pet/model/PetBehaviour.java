@@ -0,0 +1,66 @@
+package ru.modgy.pet.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Раздел анкеты о поведении питомца, id совпадает с id питомца
+ */
+@Builder
+@Getter
+@Setter
+@Entity
+@DynamicUpdate
+@ToString
+@Table(name = "pet_behaviour")
+@NoArgsConstructor
+@AllArgsConstructor
+public class PetBehaviour {
+    @Id
+    private Long id;
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_pet_behaviour")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Pet pet;
+    @Column(name = "stay_without_master_pet_behaviour", nullable = true, length = 500)
+    private String stayWithoutMaster;
+    @Column(name = "stay_alone_pet_behaviour", nullable = true, length = 250)
+    private String stayAlone;
+    @Column(name = "special_care_pet_behaviour", nullable = true, length = 500)
+    private String specialCare;
+    @Column(name = "bark_howl_pet_behaviour", nullable = true, length = 250)
+    private String barkHowl;
+    @Column(name = "furniture_damage_pet_behaviour", nullable = true, length = 250)
+    private String furnitureDamage;
+    @Column(name = "food_from_table_pet_behaviour", nullable = true, length = 250)
+    private String foodFromTable;
+    @Column(name = "defecate_at_home_pet_behaviour", nullable = true, length = 250)
+    private String defecateAtHome;
+    @Column(name = "mark_at_home_pet_behaviour", nullable = true, length = 250)
+    private String markAtHome;
+    @Column(name = "new_people_pet_behaviour", nullable = true, length = 500)
+    private String newPeople;
+    @Column(name = "bite_people_pet_behaviour", nullable = true)
+    private Boolean isBitePeople;
+    @Column(name = "reason_of_bite_pet_behaviour", nullable = true, length = 250)
+    private String reasonOfBite;
+    @Column(name = "play_with_dogs_pet_behaviour", nullable = true, length = 500)
+    private String playWithDogs;
+    @Column(name = "dog_training_pet_behaviour", nullable = true)
+    private Boolean isDogTraining;
+    @Column(name = "training_name_pet_behaviour", nullable = true, length = 500)
+    private String trainingName;
+    @Column(name = "like_pet_behaviour", nullable = true, length = 500)
+    private String like;
+    @Column(name = "not_like_pet_behaviour", nullable = true, length = 500)
+    private String notLike;
+    @Column(name = "toys_pet_behaviour", nullable = true, length = 500)
+    private String toys;
+    @Column(name = "bad_habit_pet_behaviour", nullable = true, length = 250)
+    private String badHabit;
+}
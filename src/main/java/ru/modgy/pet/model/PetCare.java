@@ -0,0 +1,54 @@
+package ru.modgy.pet.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Раздел анкеты об уходе: прогулки, кормление и дополнительные сведения, id совпадает с id питомца
+ */
+@Builder
+@Getter
+@Setter
+@Entity
+@DynamicUpdate
+@ToString
+@Table(name = "pet_care")
+@NoArgsConstructor
+@AllArgsConstructor
+public class PetCare {
+    @Id
+    private Long id;
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_pet_care")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Pet pet;
+    @Column(name = "walking_pet_care", nullable = true, length = 250)
+    private String walking;
+    @Column(name = "morning_walking_pet_care", nullable = true, length = 150)
+    private String morningWalking;
+    @Column(name = "day_walking_pet_care", nullable = true, length = 150)
+    private String dayWalking;
+    @Column(name = "evening_walking_pet_care", nullable = true, length = 150)
+    private String eveningWalking;
+    @Column(name = "feeding_quantity_pet_care", nullable = true)
+    private Integer feedingQuantity;
+    @Column(name = "feed_type_pet_care", nullable = true, length = 250)
+    private String feedType;
+    @Column(name = "feed_name_pet_care", nullable = true, length = 250)
+    private String feedName;
+    @Column(name = "feed_composition_pet_care", nullable = true, length = 250)
+    private String feedComposition;
+    @Column(name = "feeding_rate_pet_care", nullable = true, length = 250)
+    private String feedingRate;
+    @Column(name = "feeding_practice_pet_care", nullable = true, length = 500)
+    private String feedingPractice;
+    @Column(name = "treat_pet_care", nullable = true, length = 250)
+    private String treat;
+    @Column(name = "additional_data_pet_care", nullable = true, length = 1000)
+    private String additionalData;
+}
@@ -0,0 +1,16 @@
+package ru.modgy.pet.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record PetExportRow(Long id,
+                           Long ownerId,
+                           TypeOfPet type,
+                           String name,
+                           String breed,
+                           LocalDate birthDate,
+                           Sex sex,
+                           String color,
+                           String sign,
+                           LocalDateTime registrationDate) {
+}
@@ -0,0 +1,67 @@
+package ru.modgy.pet.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * Медицинский раздел анкеты питомца. Разделы анкеты хранятся в отдельных таблицах с тем же id, что у питомца,
+ * и читаются только для полной карточки: поиск, бронирования и владельцы обходятся основной таблицей pets
+ */
+@Builder
+@Getter
+@Setter
+@Entity
+@DynamicUpdate
+@ToString
+@Table(name = "pet_health")
+@NoArgsConstructor
+@AllArgsConstructor
+public class PetHealth {
+    @Id
+    private Long id;
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_pet_health")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Pet pet;
+    @Column(name = "vet_visit_pet_health", nullable = true)
+    private LocalDate vetVisitDate;
+    @Column(name = "reason_vet_visit_pet_health", nullable = true, length = 250)
+    private String vetVisitReason;
+    @Column(name = "vaccine_pet_health", nullable = true, length = 250)
+    private String vaccine;
+    @Column(name = "parasites_pet_health", nullable = true, length = 250)
+    private String parasites;
+    @Column(name = "flea_mite_pet_health", nullable = true, length = 250)
+    private String fleaMite;
+    @Column(name = "surgery_pet_health", nullable = true, length = 250)
+    private String surgery;
+    @Column(name = "past_disease_pet_health", nullable = true, length = 500)
+    private String pastDisease;
+    @Column(name = "health_characteristic_pet_health", nullable = true, length = 500)
+    private String healthCharacteristic;
+    @Column(name = "urine_analysis_pet_health", nullable = true, length = 250)
+    private String urineAnalysis;
+    @Column(name = "allergy_pet_health", nullable = true)
+    private Boolean isAllergy;
+    @Column(name = "allergy_type_pet_health", nullable = true, length = 250)
+    private String allergyType;
+    @Column(name = "chronic_disease_pet_health", nullable = true)
+    private Boolean isChronicDisease;
+    @Column(name = "chronic_disease_type_pet_health", nullable = true, length = 500)
+    private String chronicDiseaseType;
+    @Column(name = "heat_date_pet_health", nullable = true)
+    private LocalDate heatDate;
+    @Column(name = "vet_data_pet_health", nullable = true, length = 500)
+    private String vetData;
+    @Column(name = "medicine_pet_health", nullable = true)
+    private Boolean isMedicine;
+    @Column(name = "medicine_regimen_pet_health", nullable = true, length = 500)
+    private String medicineRegimen;
+}
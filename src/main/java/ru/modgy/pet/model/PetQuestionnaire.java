@@ -0,0 +1,8 @@
+package ru.modgy.pet.model;
+
+/**
+ * Разделы анкеты одного питомца, любой из них может отсутствовать
+ */
+public record PetQuestionnaire(PetHealth health, PetBehaviour behaviour, PetCare care) {
+    public static final PetQuestionnaire EMPTY = new PetQuestionnaire(null, null, null);
+}
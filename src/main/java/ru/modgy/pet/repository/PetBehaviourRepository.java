@@ -0,0 +1,7 @@
+package ru.modgy.pet.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.modgy.pet.model.PetBehaviour;
+
+public interface PetBehaviourRepository extends JpaRepository<PetBehaviour, Long> {
+}
@@ -0,0 +1,7 @@
+package ru.modgy.pet.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.modgy.pet.model.PetCare;
+
+public interface PetCareRepository extends JpaRepository<PetCare, Long> {
+}
@@ -0,0 +1,7 @@
+package ru.modgy.pet.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.modgy.pet.model.PetHealth;
+
+public interface PetHealthRepository extends JpaRepository<PetHealth, Long> {
+}
@@ -1,10 +1,20 @@
 package ru.modgy.pet.repository;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.PetExportRow;
+import ru.modgy.pet.model.PetQuestionnaire;
+import ru.modgy.search.SearchDocument;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface PetRepository extends JpaRepository<Pet, Long>, SearchPetRepository {
     Pet findByOwnerIdAndName(long ownerId, String namePet);
@@ -12,4 +22,22 @@ public interface PetRepository extends JpaRepository<Pet, Long>, SearchPetReposi
     Integer deletePetById(Long id);
 
     Optional<List<Pet>> findAllByIdIn(List<Long> petIds);
+
+    /**
+     * Все разделы анкеты одним запросом, отсутствующий раздел приходит как null
+     */
+    @Query("SELECT new ru.modgy.pet.model.PetQuestionnaire(h, b, c) FROM Pet p " +
+           "LEFT JOIN PetHealth h ON h.id = p.id " +
+           "LEFT JOIN PetBehaviour b ON b.id = p.id " +
+           "LEFT JOIN PetCare c ON c.id = p.id " +
+           "WHERE p.id = :petId")
+    Optional<PetQuestionnaire> findQuestionnaire(@Param("petId") Long petId);
+
+    @Query("SELECT new ru.modgy.search.SearchDocument(p.id, concat(p.name, ' ', p.breed)) FROM Pet p")
+    List<SearchDocument> findAllSearchDocuments();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new ru.modgy.pet.model.PetExportRow(p.id, p.owner.id, p.type, p.name, p.breed, p.birthDate, " +
+           "p.sex, p.color, p.sign, p.registrationDate) FROM Pet p ORDER BY p.id")
+    Stream<PetExportRow> streamAllExportRows();
 }
@@ -1,10 +1,10 @@
 package ru.modgy.pet.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import ru.modgy.pet.dto.PetFilterParams;
 import ru.modgy.pet.model.Pet;
 
-import java.util.List;
-
 public interface SearchPetRepository {
-    List<Pet> findAllPetsByParams(PetFilterParams params);
+    Page<Pet> findPetsByParams(PetFilterParams params, Pageable pageable);
 }
@@ -2,12 +2,16 @@ package ru.modgy.pet.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import ru.modgy.pet.dto.PetFilterParams;
-import ru.modgy.pet.model.Pet;
-
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import ru.modgy.pet.dto.PetFilterParams;
+import ru.modgy.pet.model.Pet;
 
 import java.util.List;
 
@@ -16,17 +20,39 @@ public class SearchPetRepositoryImpl implements SearchPetRepository {
     private EntityManager entityManager;
 
     @Override
-    public List<Pet> findAllPetsByParams(PetFilterParams params) {
+    public Page<Pet> findPetsByParams(PetFilterParams params, Pageable pageable) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Pet> cq = cb.createQuery(Pet.class);
         Root<Pet> petRoot = cq.from(Pet.class);
-
-        String searchValue = ("%" + params.getName() + "%").toLowerCase();
-
-        cq.select(petRoot).where(cb.like(cb.lower(petRoot.get("name")), searchValue));
-        return entityManager.createQuery(cq)
+        petRoot.fetch("owner", JoinType.LEFT);
+
+        cq.select(petRoot)
+                .where(getPredicate(cb, petRoot, params))
+                .orderBy(cb.asc(petRoot.get("name")),
+                        cb.asc(petRoot.get("type")),
+                        cb.asc(petRoot.get("breed")),
+                        cb.asc(petRoot.get("registrationDate")),
+                        cb.asc(petRoot.get("id")));
+        List<Pet> pets = entityManager.createQuery(cq)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
                 .getResultList();
+
+        // запрос количества выполняется, только если его нельзя вычислить по размеру страницы
+        return PageableExecutionUtils.getPage(pets, pageable, () -> countPetsByParams(params));
     }
 
+    private long countPetsByParams(PetFilterParams params) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Pet> petRoot = cq.from(Pet.class);
 
+        cq.select(cb.count(petRoot)).where(getPredicate(cb, petRoot, params));
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+
+    private Predicate getPredicate(CriteriaBuilder cb, Root<Pet> petRoot, PetFilterParams params) {
+        String searchValue = ("%" + params.getName() + "%").toLowerCase();
+        return cb.like(cb.lower(petRoot.get("name")), searchValue);
+    }
 }
@@ -0,0 +1,80 @@
+package ru.modgy.pet.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import ru.modgy.pet.dto.NewPetDto;
+import ru.modgy.pet.dto.UpdatePetDto;
+import ru.modgy.pet.mapper.PetMapper;
+import ru.modgy.pet.mapper.PetPatchMapper;
+import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.PetBehaviour;
+import ru.modgy.pet.model.PetCare;
+import ru.modgy.pet.model.PetHealth;
+import ru.modgy.pet.model.PetQuestionnaire;
+import ru.modgy.pet.repository.PetBehaviourRepository;
+import ru.modgy.pet.repository.PetCareRepository;
+import ru.modgy.pet.repository.PetHealthRepository;
+import ru.modgy.pet.repository.PetRepository;
+
+import java.util.Objects;
+
+/**
+ * Чтение и запись разделов анкеты питомца. Вызывается внутри транзакции PetService,
+ * питомец к этому моменту уже сохранен
+ */
+@Component
+@RequiredArgsConstructor
+public class PetQuestionnaireStore {
+    private final PetRepository petRepository;
+    private final PetHealthRepository petHealthRepository;
+    private final PetBehaviourRepository petBehaviourRepository;
+    private final PetCareRepository petCareRepository;
+    private final PetMapper petMapper;
+    private final PetPatchMapper petPatchMapper;
+    private final EntityManager entityManager;
+
+    public PetQuestionnaire getQuestionnaire(Long petId) {
+        return petRepository.findQuestionnaire(petId).orElse(PetQuestionnaire.EMPTY);
+    }
+
+    public PetQuestionnaire addQuestionnaire(Pet pet, NewPetDto newPetDto) {
+        PetHealth health = petMapper.toPetHealth(newPetDto);
+        health.setPet(pet);
+        PetBehaviour behaviour = petMapper.toPetBehaviour(newPetDto);
+        behaviour.setPet(pet);
+        PetCare care = petMapper.toPetCare(newPetDto);
+        care.setPet(pet);
+        return new PetQuestionnaire(petHealthRepository.save(health), petBehaviourRepository.save(behaviour),
+                petCareRepository.save(care));
+    }
+
+    /**
+     * Переносит заполненные поля анкеты в разделы и выполняет flush вместе с уже измененным питомцем.
+     * Версия хранится только у питомца, поэтому если изменились одни разделы, она увеличивается принудительно:
+     * ETag карточки должен меняться при любой правке
+     */
+    public PetQuestionnaire updateQuestionnaire(Pet pet, UpdatePetDto updatePetDto) {
+        PetQuestionnaire questionnaire = getQuestionnaire(pet.getId());
+        // разделы могли не создаваться для питомцев, заведенных до разделения анкеты
+        PetHealth health = Objects.requireNonNullElseGet(questionnaire.health(),
+                () -> petHealthRepository.save(PetHealth.builder().pet(pet).build()));
+        PetBehaviour behaviour = Objects.requireNonNullElseGet(questionnaire.behaviour(),
+                () -> petBehaviourRepository.save(PetBehaviour.builder().pet(pet).build()));
+        PetCare care = Objects.requireNonNullElseGet(questionnaire.care(),
+                () -> petCareRepository.save(PetCare.builder().pet(pet).build()));
+        petPatchMapper.updateHealth(updatePetDto, health);
+        petPatchMapper.updateBehaviour(updatePetDto, behaviour);
+        petPatchMapper.updateCare(updatePetDto, care);
+
+        Long versionBefore = pet.getVersion();
+        boolean changed = entityManager.unwrap(Session.class).isDirty();
+        petRepository.flush();
+        if (changed && Objects.equals(versionBefore, pet.getVersion())) {
+            entityManager.lock(pet, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        }
+        return new PetQuestionnaire(health, behaviour, care);
+    }
+}
@@ -2,10 +2,13 @@ package ru.modgy.pet.service;
 
 import ru.modgy.pet.dto.NewPetDto;
 import ru.modgy.pet.dto.PetDto;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.pet.dto.UpdatePetDto;
 
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 public interface PetService {
     PetDto addPet(Long requesterId, NewPetDto newPetDto);
 
@@ -15,5 +18,7 @@ public interface PetService {
 
     void deletePetById(Long requesterId, Long petId);
 
-    Page<PetDto> getPetsBySearch(Long requesterId, String text, Integer page, Integer size);
+    Page<PetSummaryDto> getPetsBySearch(Long requesterId, String text, Integer page, Integer size);
+
+    List<PetSummaryDto> getPetsByFuzzySearch(Long requesterId, String text, Integer size);
 }
\ No newline at end of file
@@ -1,53 +1,68 @@
 package ru.modgy.pet.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.support.PagedListHolder;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.modgy.exception.ConflictException;
 import ru.modgy.exception.NotFoundException;
+import ru.modgy.metrics.MetricsConfig;
 import ru.modgy.owner.dto.OwnerShortDto;
 import ru.modgy.owner.dto.mapper.OwnerMapper;
 import ru.modgy.owner.model.Owner;
 import ru.modgy.pet.dto.NewPetDto;
 import ru.modgy.pet.dto.PetDto;
 import ru.modgy.pet.dto.PetFilterParams;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.pet.dto.UpdatePetDto;
 import ru.modgy.pet.mapper.PetMapper;
+import ru.modgy.pet.mapper.PetPatchMapper;
 import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.PetQuestionnaire;
 import ru.modgy.pet.repository.PetRepository;
+import ru.modgy.search.FuzzySearchService;
 import ru.modgy.utility.EntityService;
+import ru.modgy.utility.EntityVersion;
+import ru.modgy.utility.RequesterContext;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static ru.modgy.pet.dto.PetDto.getComparator;
+import static ru.modgy.pet.dto.PetSummaryDto.getComparator;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 public class PetServiceImpl implements PetService {
     private final PetRepository petRepository;
     private final PetMapper petMapper;
+    private final PetPatchMapper petPatchMapper;
     private final OwnerMapper ownerMapper;
     private final EntityService entityService;
+    private final RequesterContext requesterContext;
+    private final FuzzySearchService fuzzySearchService;
+    private final PetQuestionnaireStore petQuestionnaireStore;
 
     @Override
     @Transactional
     public PetDto addPet(Long requesterId, NewPetDto newPetDto) {
-        entityService.getUserIfExists(requesterId);
+        requesterContext.getActiveRequester(requesterId);
         Owner owner = entityService.getOwnerIfExists(newPetDto.getOwnerId());
         checkPet(newPetDto);
         Pet newPet = petMapper.toPet(newPetDto);
         newPet.setOwner(owner);
         Pet savedPet = petRepository.save(newPet);
+        PetQuestionnaire questionnaire = petQuestionnaireStore.addQuestionnaire(savedPet, newPetDto);
         log.info("PetService: addPet, requesterId={}, petId={}", requesterId, savedPet.getId());
         OwnerShortDto ownerShortDto = ownerMapper.toOwnerShortDto(owner);
-        PetDto petDto = petMapper.toPetDto(savedPet);
+        PetDto petDto = petMapper.toPetDto(savedPet, questionnaire);
         petDto.setOwnerShortDto(ownerShortDto);
         return petDto;
     }
@@ -55,9 +70,9 @@ public class PetServiceImpl implements PetService {
     @Override
     @Transactional(readOnly = true)
     public PetDto getPetById(Long requesterId, Long petId) {
-        entityService.getUserIfExists(requesterId);
+        requesterContext.getActiveRequester(requesterId);
         Pet pet = entityService.getPetIfExists(petId);
-        PetDto petDto = petMapper.toPetDto(pet);
+        PetDto petDto = petMapper.toPetDto(pet, petQuestionnaireStore.getQuestionnaire(petId));
         petDto.setOwnerShortDto(ownerMapper.toOwnerShortDto(pet.getOwner()));
         log.info("PetService: getPetById, requesterId={}, petId={}", requesterId, petId);
         return petDto;
@@ -66,186 +81,16 @@ public class PetServiceImpl implements PetService {
     @Override
     @Transactional
     public PetDto updatePet(Long requesterId, Long petId, UpdatePetDto updatePetDto) {
-        Pet oldPet = entityService.getPetIfExists(petId);
-        Pet newPet = petMapper.toPet(updatePetDto);
-        newPet.setId(oldPet.getId());
-        newPet.setOwner(oldPet.getOwner());
-        checkPet(oldPet, updatePetDto);
-        if (Objects.isNull(updatePetDto.getType())) {
-            newPet.setType(oldPet.getType());
-        }
-        if (Objects.isNull(updatePetDto.getName()) || updatePetDto.getName().isBlank()) {
-            newPet.setName(oldPet.getName());
-        }
-        if (Objects.isNull(updatePetDto.getBreed()) || updatePetDto.getBreed().isBlank()) {
-            newPet.setBreed(oldPet.getBreed());
-        }
-        if (Objects.isNull(updatePetDto.getBirthDate())) {
-            newPet.setBirthDate(oldPet.getBirthDate());
-        }
-        if (Objects.isNull(updatePetDto.getSex())) {
-            newPet.setSex(oldPet.getSex());
-        }
-        if (Objects.isNull(updatePetDto.getColor()) || updatePetDto.getColor().isBlank()) {
-            newPet.setColor(oldPet.getColor());
-        }
-        if (Objects.isNull(updatePetDto.getSign()) || updatePetDto.getSign().isBlank()) {
-            newPet.setSign(oldPet.getSign());
-        }
-        if (Objects.isNull(updatePetDto.getIsExhibition())) {
-            newPet.setIsExhibition(oldPet.getIsExhibition());
-        }
-        if (Objects.isNull(updatePetDto.getVetVisitDate())) {
-            newPet.setVetVisitDate(oldPet.getVetVisitDate());
-        }
-        if (Objects.isNull(updatePetDto.getVetVisitReason()) || updatePetDto.getVetVisitReason().isBlank()) {
-            newPet.setVetVisitReason(oldPet.getVetVisitReason());
-        }
-        if (Objects.isNull(updatePetDto.getVaccine()) || updatePetDto.getVaccine().isBlank()) {
-            newPet.setVaccine(oldPet.getVaccine());
-        }
-        if (Objects.isNull(updatePetDto.getParasites()) || updatePetDto.getParasites().isBlank()) {
-            newPet.setParasites(oldPet.getParasites());
-        }
-        if (Objects.isNull(updatePetDto.getFleaMite()) || updatePetDto.getFleaMite().isBlank()) {
-            newPet.setFleaMite(oldPet.getFleaMite());
-        }
-        if (Objects.isNull(updatePetDto.getSurgery()) || updatePetDto.getSurgery().isBlank()) {
-            newPet.setSurgery(oldPet.getSurgery());
-        }
-        if (Objects.isNull(updatePetDto.getPastDisease()) || updatePetDto.getPastDisease().isBlank()) {
-            newPet.setPastDisease(oldPet.getPastDisease());
-        }
-        if (Objects.isNull(updatePetDto.getHealthCharacteristic()) || updatePetDto.getHealthCharacteristic().isBlank()) {
-            newPet.setHealthCharacteristic(oldPet.getHealthCharacteristic());
-        }
-        if (Objects.isNull(updatePetDto.getUrineAnalysis()) || updatePetDto.getUrineAnalysis().isBlank()) {
-            newPet.setUrineAnalysis(oldPet.getUrineAnalysis());
-        }
-        if (Objects.isNull(updatePetDto.getIsAllergy())) {
-            newPet.setIsAllergy(oldPet.getIsAllergy());
-        }
-        if (Objects.isNull(updatePetDto.getAllergyType()) || updatePetDto.getAllergyType().isBlank()) {
-            newPet.setAllergyType(oldPet.getAllergyType());
-        }
-        if (Objects.isNull(updatePetDto.getIsChronicDisease())) {
-            newPet.setIsChronicDisease(oldPet.getIsChronicDisease());
-        }
-        if (Objects.isNull(updatePetDto.getChronicDiseaseType()) || updatePetDto.getChronicDiseaseType().isBlank()) {
-            newPet.setChronicDiseaseType(oldPet.getChronicDiseaseType());
-        }
-        if (Objects.isNull(updatePetDto.getHeatDate())) {
-            newPet.setHeatDate(oldPet.getHeatDate());
-        }
-        if (Objects.isNull(updatePetDto.getVetData()) || updatePetDto.getVetData().isBlank()) {
-            newPet.setVetData(oldPet.getVetData());
-        }
-        if (Objects.isNull(updatePetDto.getStayWithoutMaster()) || updatePetDto.getStayWithoutMaster().isBlank()) {
-            newPet.setStayWithoutMaster(oldPet.getStayWithoutMaster());
-        }
-        if (Objects.isNull(updatePetDto.getStayAlone()) || updatePetDto.getStayAlone().isBlank()) {
-            newPet.setStayAlone(oldPet.getStayAlone());
-        }
-        if (Objects.isNull(updatePetDto.getSpecialCare()) || updatePetDto.getSpecialCare().isBlank()) {
-            newPet.setSpecialCare(oldPet.getSpecialCare());
-        }
-        if (Objects.isNull(updatePetDto.getBarkHowl()) || updatePetDto.getBarkHowl().isBlank()) {
-            newPet.setBarkHowl(oldPet.getBarkHowl());
-        }
-        if (Objects.isNull(updatePetDto.getFurnitureDamage()) || updatePetDto.getFurnitureDamage().isBlank()) {
-            newPet.setFurnitureDamage(oldPet.getFurnitureDamage());
-        }
-        if (Objects.isNull(updatePetDto.getFoodFromTable()) || updatePetDto.getFoodFromTable().isBlank()) {
-            newPet.setFoodFromTable(oldPet.getFoodFromTable());
-        }
-        if (Objects.isNull(updatePetDto.getDefecateAtHome()) || updatePetDto.getDefecateAtHome().isBlank()) {
-            newPet.setDefecateAtHome(oldPet.getDefecateAtHome());
-        }
-        if (Objects.isNull(updatePetDto.getAllergyType()) || updatePetDto.getAllergyType().isBlank()) {
-            newPet.setAllergyType(oldPet.getAllergyType());
-        }
-        if (Objects.isNull(updatePetDto.getMarkAtHome()) || updatePetDto.getMarkAtHome().isBlank()) {
-            newPet.setMarkAtHome(oldPet.getMarkAtHome());
-        }
-        if (Objects.isNull(updatePetDto.getNewPeople()) || updatePetDto.getNewPeople().isBlank()) {
-            newPet.setNewPeople(oldPet.getNewPeople());
-        }
-        if (Objects.isNull(updatePetDto.getIsBitePeople())) {
-            newPet.setIsBitePeople(oldPet.getIsBitePeople());
-        }
-        if (Objects.isNull(updatePetDto.getReasonOfBite()) || updatePetDto.getReasonOfBite().isBlank()) {
-            newPet.setReasonOfBite(oldPet.getReasonOfBite());
-        }
-        if (Objects.isNull(updatePetDto.getPlayWithDogs()) || updatePetDto.getPlayWithDogs().isBlank()) {
-            newPet.setPlayWithDogs(oldPet.getPlayWithDogs());
-        }
-        if (Objects.isNull(updatePetDto.getIsDogTraining())) {
-            newPet.setIsDogTraining(oldPet.getIsDogTraining());
-        }
-        if (Objects.isNull(updatePetDto.getTrainingName()) || updatePetDto.getTrainingName().isBlank()) {
-            newPet.setTrainingName(oldPet.getTrainingName());
-        }
-        if (Objects.isNull(updatePetDto.getLike()) || updatePetDto.getLike().isBlank()) {
-            newPet.setLike(oldPet.getLike());
-        }
-        if (Objects.isNull(updatePetDto.getNotLike()) || updatePetDto.getNotLike().isBlank()) {
-            newPet.setNotLike(oldPet.getNotLike());
-        }
-        if (Objects.isNull(updatePetDto.getToys()) || updatePetDto.getToys().isBlank()) {
-            newPet.setToys(oldPet.getToys());
-        }
-        if (Objects.isNull(updatePetDto.getBadHabit()) || updatePetDto.getBadHabit().isBlank()) {
-            newPet.setBadHabit(oldPet.getBadHabit());
-        }
-        if (Objects.isNull(updatePetDto.getWalking()) || updatePetDto.getWalking().isBlank()) {
-            newPet.setWalking(oldPet.getWalking());
-        }
-        if (Objects.isNull(updatePetDto.getMorningWalking()) || updatePetDto.getMorningWalking().isBlank()) {
-            newPet.setMorningWalking(oldPet.getMorningWalking());
-        }
-        if (Objects.isNull(updatePetDto.getDayWalking()) || updatePetDto.getDayWalking().isBlank()) {
-            newPet.setDayWalking(oldPet.getDayWalking());
-        }
-        if (Objects.isNull(updatePetDto.getEveningWalking()) || updatePetDto.getEveningWalking().isBlank()) {
-            newPet.setEveningWalking(oldPet.getEveningWalking());
-        }
-        if (Objects.isNull(updatePetDto.getFeedingQuantity())) {
-            newPet.setFeedingQuantity(oldPet.getFeedingQuantity());
-        }
-        if (Objects.isNull(updatePetDto.getFeedType()) || updatePetDto.getFeedType().isBlank()) {
-            newPet.setFeedType(oldPet.getFeedType());
-        }
-        if (Objects.isNull(updatePetDto.getFeedName()) || updatePetDto.getFeedName().isBlank()) {
-            newPet.setFeedName(oldPet.getFeedName());
-        }
-        if (Objects.isNull(updatePetDto.getFeedComposition()) || updatePetDto.getFeedComposition().isBlank()) {
-            newPet.setFeedComposition(oldPet.getFeedComposition());
-        }
-        if (Objects.isNull(updatePetDto.getFeedingRate()) || updatePetDto.getFeedingRate().isBlank()) {
-            newPet.setFeedingRate(oldPet.getFeedingRate());
-        }
-        if (Objects.isNull(updatePetDto.getFeedingPractice()) || updatePetDto.getFeedingPractice().isBlank()) {
-            newPet.setFeedingPractice(oldPet.getFeedingPractice());
-        }
-        if (Objects.isNull(updatePetDto.getTreat()) || updatePetDto.getTreat().isBlank()) {
-            newPet.setTreat(oldPet.getTreat());
-        }
-        if (Objects.isNull(updatePetDto.getIsMedicine())) {
-            newPet.setIsMedicine(oldPet.getIsMedicine());
-        }
-        if (Objects.isNull(updatePetDto.getMedicineRegimen()) || updatePetDto.getMedicineRegimen().isBlank()) {
-            newPet.setMedicineRegimen(oldPet.getMedicineRegimen());
-        }
-        if (Objects.isNull(updatePetDto.getAdditionalData()) || updatePetDto.getAdditionalData().isBlank()) {
-            newPet.setAdditionalData(oldPet.getAdditionalData());
-        }
-        newPet.setRegistrationDate(oldPet.getRegistrationDate());
-        Pet savedPet = petRepository.save(newPet);
-        log.info("PetService: updatePet, requesterId={}, petId={}, updatePetDto={}", requesterId, petId, updatePetDto);
-        PetDto petDto = petMapper.toPetDto(savedPet);
-        petDto.setOwnerShortDto(ownerMapper.toOwnerShortDto(oldPet.getOwner()));
+        Pet pet = entityService.getPetIfExists(petId);
+        EntityVersion.checkVersion("Pet", petId, pet.getVersion(), updatePetDto.getVersions());
+        checkPet(pet, updatePetDto);
+        // изменения вносятся прямо в управляемую сущность, UPDATE с измененными колонками выполнит flush
+        petPatchMapper.updatePet(updatePetDto, pet);
+        PetQuestionnaire questionnaire = petQuestionnaireStore.updateQuestionnaire(pet, updatePetDto);
+        log.info("PetService: updatePet, requesterId={}, petId={}", requesterId, petId);
+        PetDto petDto = petMapper.toPetDto(pet, questionnaire);
+        petDto.setOwnerShortDto(ownerMapper.toOwnerShortDto(pet.getOwner()));
         return petDto;
-
     }
 
     @Override
@@ -261,8 +106,8 @@ public class PetServiceImpl implements PetService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<PetDto> getPetsBySearch(Long requesterId, String text, Integer page, Integer size) {
-        entityService.getUserIfExists(requesterId);
+    public Page<PetSummaryDto> getPetsBySearch(Long requesterId, String text, Integer page, Integer size) {
+        requesterContext.getActiveRequester(requesterId);
 
         Pageable pageable = PageRequest.of(page, size);
 
@@ -274,12 +119,12 @@ public class PetServiceImpl implements PetService {
             Map<Long, Owner> owners = pets.stream()
                     .collect(Collectors.toMap(Pet::getId, Pet::getOwner));
 
-            List<PetDto> petsDto = petMapper.toListPetDto(pets.getContent());
-            for (PetDto petDto : petsDto) {
+            List<PetSummaryDto> petsDto = petMapper.toListPetSummaryDto(pets.getContent());
+            for (PetSummaryDto petDto : petsDto) {
                 petDto.setOwnerShortDto(ownerMapper.toOwnerShortDto(owners.get(petDto.getId())));
             }
 
-            List<PetDto> answer = petsDto
+            List<PetSummaryDto> answer = petsDto
                     .stream()
                     .sorted(getComparator())
                     .toList();
@@ -291,30 +136,45 @@ public class PetServiceImpl implements PetService {
                     .name(text)
                     .build();
 
-            List<Pet> pets = petRepository.findAllPetsByParams(params);
+            Page<Pet> pets = petRepository.findPetsByParams(params, pageable);
             Map<Long, Owner> owners = pets.stream()
                     .collect(Collectors.toMap(Pet::getId, Pet::getOwner));
 
-            List<PetDto> petsDto = petMapper.toListPetDto(pets);
-            for (PetDto petDto : petsDto) {
+            List<PetSummaryDto> petsDto = petMapper.toListPetSummaryDto(pets.getContent());
+            for (PetSummaryDto petDto : petsDto) {
                 petDto.setOwnerShortDto(ownerMapper.toOwnerShortDto(owners.get(petDto.getId())));
             }
 
-            List<PetDto> answer = petsDto
-                    .stream()
-                    .sorted(getComparator())
-                    .toList();
-
-            PagedListHolder<PetDto> pagedListHolder = new PagedListHolder<>(answer);
-            pagedListHolder.setPageSize(size);
-            pagedListHolder.setPage(page);
-
             log.info("PetService: getPetsBySearch, requesterId={}, text={}, page={}, size={}", requesterId, text, page, size);
-            return new PageImpl<>(pagedListHolder.getPageList(), pageable, pets.size());
+            return new PageImpl<>(petsDto, pageable, pets.getTotalElements());
         }
 
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<PetSummaryDto> getPetsByFuzzySearch(Long requesterId, String text, Integer size) {
+        requesterContext.getActiveRequester(requesterId);
+
+        List<Long> foundIds = fuzzySearchService.findPetIds(text, size);
+        Map<Long, Pet> petsById = petRepository.findAllByIdIn(foundIds).orElse(Collections.emptyList()).stream()
+                .collect(Collectors.toMap(Pet::getId, Function.identity()));
+        // порядок id задан сходством с искомым текстом
+        List<Pet> pets = foundIds.stream()
+                .map(petsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        List<PetSummaryDto> petsDto = petMapper.toListPetSummaryDto(pets);
+        for (int i = 0; i < petsDto.size(); i++) {
+            petsDto.get(i).setOwnerShortDto(ownerMapper.toOwnerShortDto(pets.get(i).getOwner()));
+        }
+
+        log.info("PetService: getPetsByFuzzySearch, requesterId={}, text={}, size={}, found={}",
+                requesterId, text, size, petsDto.size());
+        return petsDto;
+    }
+
     private void checkPet(NewPetDto newPetDto) {
         try {
             Pet pet = petRepository.findByOwnerIdAndName(newPetDto.getOwnerId(), newPetDto.getName());
@@ -328,14 +188,14 @@ public class PetServiceImpl implements PetService {
     }
 
     private void checkPet(Pet oldPet, UpdatePetDto updatePetDto) {
-        try {
-            Pet pet = petRepository.findByOwnerIdAndName(oldPet.getOwner().getId(), updatePetDto.getName());
-            if (pet != null) {
-                throw new ConflictException(String.format("The client with id = %d already has a pet with name = %s.", oldPet.getOwner().getId(), updatePetDto.getName()));
-            }
-
-        } catch (NullPointerException exception) {
+        String name = updatePetDto.getName();
+        // кличка проверяется, только если действительно меняется
+        if (name == null || name.isBlank() || name.equals(oldPet.getName())) {
             return;
         }
+        Pet pet = petRepository.findByOwnerIdAndName(oldPet.getOwner().getId(), name);
+        if (pet != null) {
+            throw new ConflictException(String.format("The client with id = %d already has a pet with name = %s.", oldPet.getOwner().getId(), name));
+        }
     }
 }
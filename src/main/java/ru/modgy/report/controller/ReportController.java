@@ -0,0 +1,55 @@
+package ru.modgy.report.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.modgy.report.dto.OccupancyReportDto;
+import ru.modgy.report.dto.RevenueReportDto;
+import ru.modgy.report.service.ReportService;
+import ru.modgy.utility.UtilityService;
+
+import java.time.LocalDate;
+
+@CrossOrigin
+@Slf4j
+@Validated
+@RestController
+@RequestMapping(path = "/reports")
+@RequiredArgsConstructor
+public class ReportController {
+    private final ReportService reportService;
+    private final UtilityService utilityService;
+
+    @GetMapping("/occupancy")
+    public OccupancyReportDto getOccupancyReport(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                                 @RequestParam("startDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate startDate,
+                                                 @RequestParam("endDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate endDate,
+                                                 @RequestParam(value = "categoryId", required = false) Long categoryId) {
+        log.info("ReportController: GET/getOccupancyReport, requesterId={}, startDate={}, endDate={}, categoryId={}",
+                requesterId, startDate, endDate, categoryId);
+        utilityService.checkBossAdminAccess(requesterId);
+        return reportService.getOccupancyReport(requesterId, startDate, endDate, categoryId);
+    }
+
+    @GetMapping("/revenue")
+    public RevenueReportDto getRevenueReport(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
+                                             @RequestParam("startDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate startDate,
+                                             @RequestParam("endDate") @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate endDate,
+                                             @RequestParam(value = "categoryId", required = false) Long categoryId) {
+        log.info("ReportController: GET/getRevenueReport, requesterId={}, startDate={}, endDate={}, categoryId={}",
+                requesterId, startDate, endDate, categoryId);
+        utilityService.checkBossAdminFinancialAccess(requesterId);
+        return reportService.getRevenueReport(requesterId, startDate, endDate, categoryId);
+    }
+
+    @PostMapping("/daily-room-stats/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuildDailyRoomStats(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId) {
+        log.info("ReportController: POST/rebuildDailyRoomStats, requesterId={}", requesterId);
+        utilityService.checkBossAccess(requesterId);
+        reportService.rebuildDailyRoomStats(requesterId);
+    }
+}
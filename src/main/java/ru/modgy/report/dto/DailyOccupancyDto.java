@@ -0,0 +1,19 @@
+package ru.modgy.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyOccupancyDto {
+    private LocalDate date;
+    private Long occupiedRooms;
+    private Long pets;
+    private Double occupancy;
+}
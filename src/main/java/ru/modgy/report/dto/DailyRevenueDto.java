@@ -0,0 +1,19 @@
+package ru.modgy.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyRevenueDto {
+    private LocalDate date;
+    private BigDecimal revenue;
+    private BigDecimal prepayments;
+}
@@ -0,0 +1,21 @@
+package ru.modgy.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OccupancyReportDto {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long categoryId;
+    private Long totalRooms;
+    private List<DailyOccupancyDto> days;
+}
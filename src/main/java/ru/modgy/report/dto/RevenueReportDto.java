@@ -0,0 +1,23 @@
+package ru.modgy.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevenueReportDto {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long categoryId;
+    private BigDecimal revenue;
+    private BigDecimal prepayments;
+    private List<DailyRevenueDto> days;
+}
@@ -0,0 +1,78 @@
+package ru.modgy.report.model;
+
+import ru.modgy.booking.model.Booking;
+import ru.modgy.booking.model.StatusBooking;
+import ru.modgy.booking.model.TypesBooking;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Вклад бронирования в daily_room_stats. Номер занят с даты заезда до дня выезда, сам день выезда
+ * свободен, как и в проверке доступности; бронирование с выездом в день заезда занимает один день.
+ * Сумма и предоплата делятся по дням поровну с точностью до 4 знаков, остаток от деления
+ * приходится на первый день, поэтому итог по дням совпадает с суммой бронирования
+ */
+public record BookingContribution(Long categoryId,
+                                  LocalDate firstDay,
+                                  LocalDate lastDay,
+                                  int pets,
+                                  BigDecimal revenue,
+                                  BigDecimal prepayments) {
+    public static final int SCALE = 4;
+
+    /**
+     * @return вклад или null, если бронирование не учитывается: закрытие номера, отмена, номер без категории
+     */
+    public static BookingContribution of(Booking booking) {
+        Long categoryId = booking.getRoom() == null || booking.getRoom().getCategory() == null ?
+                null : booking.getRoom().getCategory().getId();
+        int pets = booking.getPets() == null ? 0 : booking.getPets().size();
+        return of(booking.getType(), booking.getStatus(), booking.getCheckInDate(), booking.getCheckOutDate(),
+                booking.getAmount(), booking.getPrepaymentAmount(), categoryId, pets);
+    }
+
+    public static BookingContribution of(BookingStatsRow row) {
+        if (row == null) {
+            return null;
+        }
+        return of(row.type(), row.status(), row.checkInDate(), row.checkOutDate(), row.amount(),
+                row.prepaymentAmount(), row.categoryId(), row.pets() == null ? 0 : row.pets());
+    }
+
+    private static BookingContribution of(TypesBooking type,
+                                          StatusBooking status,
+                                          LocalDate checkInDate,
+                                          LocalDate checkOutDate,
+                                          Double amount,
+                                          Double prepaymentAmount,
+                                          Long categoryId,
+                                          int pets) {
+        if (type != TypesBooking.TYPE_BOOKING || status == StatusBooking.STATUS_CANCELLED || categoryId == null ||
+            checkInDate == null || checkOutDate == null) {
+            return null;
+        }
+        LocalDate lastDay = checkOutDate.isAfter(checkInDate) ? checkOutDate.minusDays(1) : checkInDate;
+        return new BookingContribution(categoryId, checkInDate, lastDay, pets, toMoney(amount),
+                toMoney(prepaymentAmount));
+    }
+
+    public long days() {
+        return ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+    }
+
+    public BigDecimal perDay(BigDecimal total) {
+        return total.divide(BigDecimal.valueOf(days()), SCALE, RoundingMode.DOWN);
+    }
+
+    public BigDecimal remainder(BigDecimal total) {
+        return total.subtract(perDay(total).multiply(BigDecimal.valueOf(days())));
+    }
+
+    private static BigDecimal toMoney(Double value) {
+        return value == null ? BigDecimal.ZERO.setScale(SCALE) :
+                BigDecimal.valueOf(value).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
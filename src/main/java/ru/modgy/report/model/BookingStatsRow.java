@@ -0,0 +1,19 @@
+package ru.modgy.report.model;
+
+import ru.modgy.booking.model.StatusBooking;
+import ru.modgy.booking.model.TypesBooking;
+
+import java.time.LocalDate;
+
+public record BookingStatsRow(TypesBooking type,
+                              StatusBooking status,
+                              LocalDate checkInDate,
+                              LocalDate checkOutDate,
+                              Double amount,
+                              Double prepaymentAmount,
+                              Long categoryId,
+                              Integer pets) {
+    public BookingStatsRow withCategoryId(Long categoryId) {
+        return new BookingStatsRow(type, status, checkInDate, checkOutDate, amount, prepaymentAmount, categoryId, pets);
+    }
+}
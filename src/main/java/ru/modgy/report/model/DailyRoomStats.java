@@ -0,0 +1,37 @@
+package ru.modgy.report.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Итоги дня по категории номеров: занятые номера, питомцы, выручка и предоплаты.
+ * Строки меняет только DailyRoomStatsUpdater, сущность используется для чтения отчетов
+ */
+@Builder
+@Getter
+@Setter
+@ToString
+@Entity
+@IdClass(DailyRoomStatsId.class)
+@Table(name = "daily_room_stats")
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRoomStats {
+    @Id
+    @Column(name = "date_daily_room_stats")
+    private LocalDate date;
+    @Id
+    @Column(name = "category_id_daily_room_stats")
+    private Long categoryId;
+    @Column(name = "occupied_rooms_daily_room_stats")
+    private Integer occupiedRooms;
+    @Column(name = "pets_daily_room_stats")
+    private Integer pets;
+    @Column(name = "revenue_daily_room_stats", precision = 16, scale = 4)
+    private BigDecimal revenue;
+    @Column(name = "prepayments_daily_room_stats", precision = 16, scale = 4)
+    private BigDecimal prepayments;
+}
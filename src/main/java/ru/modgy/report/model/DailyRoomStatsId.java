@@ -0,0 +1,20 @@
+package ru.modgy.report.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRoomStatsId implements Serializable {
+    private LocalDate date;
+    private Long categoryId;
+}
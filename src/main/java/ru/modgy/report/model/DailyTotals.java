@@ -0,0 +1,11 @@
+package ru.modgy.report.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyTotals(LocalDate date,
+                          Long occupiedRooms,
+                          Long pets,
+                          BigDecimal revenue,
+                          BigDecimal prepayments) {
+}
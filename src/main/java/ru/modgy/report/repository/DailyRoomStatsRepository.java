@@ -0,0 +1,49 @@
+package ru.modgy.report.repository;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.modgy.report.model.BookingStatsRow;
+import ru.modgy.report.model.DailyRoomStats;
+import ru.modgy.report.model.DailyRoomStatsId;
+import ru.modgy.report.model.DailyTotals;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface DailyRoomStatsRepository extends JpaRepository<DailyRoomStats, DailyRoomStatsId> {
+    String BOOKING_STATS_ROW = "SELECT new ru.modgy.report.model.BookingStatsRow(" +
+                               "b.type, b.status, b.checkInDate, b.checkOutDate, b.amount, b.prepaymentAmount, " +
+                               "c.id, SIZE(b.pets)) " +
+                               "FROM Booking b LEFT JOIN b.room r LEFT JOIN r.category c ";
+
+    @Query("SELECT new ru.modgy.report.model.DailyTotals(" +
+           "s.date, SUM(s.occupiedRooms), SUM(s.pets), SUM(s.revenue), SUM(s.prepayments)) " +
+           "FROM DailyRoomStats s WHERE s.date BETWEEN :startDate AND :endDate " +
+           "AND (:categoryId IS NULL OR s.categoryId = :categoryId) " +
+           "GROUP BY s.date ORDER BY s.date")
+    List<DailyTotals> findDailyTotals(@Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate,
+                                      @Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("DELETE FROM DailyRoomStats s")
+    int deleteAllStats();
+
+    @Query(BOOKING_STATS_ROW + "WHERE b.id = :bookingId")
+    Optional<BookingStatsRow> findBookingStatsRow(@Param("bookingId") Long bookingId);
+
+    @Query(BOOKING_STATS_ROW + "WHERE r.id = :roomId AND b.type = 'TYPE_BOOKING' AND b.status <> 'STATUS_CANCELLED'")
+    List<BookingStatsRow> findActiveBookingStatsRowsByRoomId(@Param("roomId") Long roomId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(BOOKING_STATS_ROW + "WHERE b.type = 'TYPE_BOOKING' AND b.status <> 'STATUS_CANCELLED'")
+    Stream<BookingStatsRow> streamActiveBookingStatsRows();
+}
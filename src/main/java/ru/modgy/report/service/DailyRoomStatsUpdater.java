@@ -0,0 +1,224 @@
+package ru.modgy.report.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import ru.modgy.report.model.BookingContribution;
+import ru.modgy.report.model.BookingStatsRow;
+import ru.modgy.report.model.DailyRoomStats;
+import ru.modgy.report.model.DailyRoomStatsId;
+import ru.modgy.report.repository.DailyRoomStatsRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Поддерживает daily_room_stats в актуальном состоянии в той же транзакции, что и изменение бронирования:
+ * старый вклад бронирования вычитается, новый прибавляется. Каждый день пишется одним upsert с приращением,
+ * поэтому блокируются только затронутые строки дней, а бронирования разных номеров одной категории
+ * не ждут друг друга. Дни записываются по возрастанию категории и даты, чтобы транзакции с пересекающимися
+ * днями не взаимоблокировались. Запись идет через JDBC: управляемые сущности строк дней не создаются,
+ * а NUMERIC-приращения передаются без округления до масштаба по умолчанию
+ */
+@Component
+public class DailyRoomStatsUpdater {
+    static final String INSERT_DAY = "INSERT INTO daily_room_stats (date_daily_room_stats, " +
+                                     "category_id_daily_room_stats, occupied_rooms_daily_room_stats, " +
+                                     "pets_daily_room_stats, revenue_daily_room_stats, prepayments_daily_room_stats) " +
+                                     "VALUES (:date, :categoryId, :occupiedRooms, :pets, :revenue, :prepayments)";
+    static final String ADD_TO_DAY_POSTGRESQL = INSERT_DAY + " ON CONFLICT (date_daily_room_stats, " +
+                                                "category_id_daily_room_stats) DO UPDATE SET " +
+                                                "occupied_rooms_daily_room_stats = " +
+                                                "daily_room_stats.occupied_rooms_daily_room_stats + " +
+                                                "EXCLUDED.occupied_rooms_daily_room_stats, " +
+                                                "pets_daily_room_stats = daily_room_stats.pets_daily_room_stats + " +
+                                                "EXCLUDED.pets_daily_room_stats, " +
+                                                "revenue_daily_room_stats = " +
+                                                "daily_room_stats.revenue_daily_room_stats + " +
+                                                "EXCLUDED.revenue_daily_room_stats, " +
+                                                "prepayments_daily_room_stats = " +
+                                                "daily_room_stats.prepayments_daily_room_stats + " +
+                                                "EXCLUDED.prepayments_daily_room_stats";
+    static final String ADD_TO_DAY_H2 = "MERGE INTO daily_room_stats s USING (VALUES (CAST(:date AS DATE), " +
+                                        "CAST(:categoryId AS BIGINT), CAST(:occupiedRooms AS INTEGER), " +
+                                        "CAST(:pets AS INTEGER), CAST(:revenue AS NUMERIC(16, 4)), " +
+                                        "CAST(:prepayments AS NUMERIC(16, 4)))) " +
+                                        "AS d (day_date, category_id, occupied_rooms, pets, revenue, prepayments) " +
+                                        "ON s.date_daily_room_stats = d.day_date " +
+                                        "AND s.category_id_daily_room_stats = d.category_id " +
+                                        "WHEN MATCHED THEN UPDATE SET " +
+                                        "occupied_rooms_daily_room_stats = " +
+                                        "s.occupied_rooms_daily_room_stats + d.occupied_rooms, " +
+                                        "pets_daily_room_stats = s.pets_daily_room_stats + d.pets, " +
+                                        "revenue_daily_room_stats = s.revenue_daily_room_stats + d.revenue, " +
+                                        "prepayments_daily_room_stats = " +
+                                        "s.prepayments_daily_room_stats + d.prepayments " +
+                                        "WHEN NOT MATCHED THEN INSERT (date_daily_room_stats, " +
+                                        "category_id_daily_room_stats, occupied_rooms_daily_room_stats, " +
+                                        "pets_daily_room_stats, revenue_daily_room_stats, " +
+                                        "prepayments_daily_room_stats) " +
+                                        "VALUES (d.day_date, d.category_id, d.occupied_rooms, d.pets, d.revenue, " +
+                                        "d.prepayments)";
+    private static final String POSTGRESQL = "postgresql";
+    private static final Comparator<DailyRoomStats> DAY_ORDER = Comparator.comparing(DailyRoomStats::getCategoryId)
+            .thenComparing(DailyRoomStats::getDate);
+
+    private final DailyRoomStatsRepository dailyRoomStatsRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean postgresql;
+
+    /**
+     * @param platform платформа БД из spring.sql.init.platform: на PostgreSQL upsert пишется через ON CONFLICT,
+     *                 на H2 (профили ci и test) - через MERGE
+     */
+    public DailyRoomStatsUpdater(DailyRoomStatsRepository dailyRoomStatsRepository,
+                                 NamedParameterJdbcTemplate jdbcTemplate,
+                                 @Value("${spring.sql.init.platform:" + POSTGRESQL + "}") String platform) {
+        this.dailyRoomStatsRepository = dailyRoomStatsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgresql = POSTGRESQL.equalsIgnoreCase(platform);
+    }
+
+    /**
+     * Вклад бронирования по данным БД, вызывается до удаления бронирования
+     */
+    public BookingContribution getContribution(Long bookingId) {
+        return BookingContribution.of(dailyRoomStatsRepository.findBookingStatsRow(bookingId).orElse(null));
+    }
+
+    /**
+     * @param before вклад до изменения, null для нового или неучитываемого бронирования
+     * @param after  вклад после изменения, null для удаленного или неучитываемого бронирования
+     */
+    public void onBookingChanged(BookingContribution before, BookingContribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        onBookingsChanged(Stream.ofNullable(before).toList(), Stream.ofNullable(after).toList());
+    }
+
+    /**
+     * Изменение нескольких бронирований за раз: приращения по дням суммируются в памяти
+     * и записываются одним пакетом upsert
+     *
+     * @param before вклады до изменения
+     * @param after  вклады после изменения
+     */
+    public void onBookingsChanged(Collection<BookingContribution> before, Collection<BookingContribution> after) {
+        Map<DailyRoomStatsId, DailyRoomStats> deltas = new HashMap<>();
+        before.forEach(contribution -> accumulate(deltas, contribution, -1));
+        after.forEach(contribution -> accumulate(deltas, contribution, 1));
+        addToDays(deltas.values().stream().filter(day -> !isEmpty(day)).sorted(DAY_ORDER).toList());
+    }
+
+    /**
+     * Переносит вклад неотмененных бронирований номера в новую категорию.
+     * Вызывается до смены категории номера: старая категория читается из БД
+     */
+    public void onRoomCategoryChanged(Long roomId, Long categoryId) {
+        List<BookingStatsRow> rows = dailyRoomStatsRepository.findActiveBookingStatsRowsByRoomId(roomId);
+        List<BookingContribution> before = rows.stream()
+                .map(BookingContribution::of)
+                .filter(Objects::nonNull)
+                .toList();
+        List<BookingContribution> after = rows.stream()
+                .map(row -> BookingContribution.of(row.withCategoryId(categoryId)))
+                .filter(Objects::nonNull)
+                .toList();
+        onBookingsChanged(before, after);
+    }
+
+    /**
+     * Пересчитывает всю таблицу по бронированиям, нужен после загрузки бронирований в обход API
+     * и для первоначального заполнения. На PostgreSQL таблица блокируется до конца транзакции:
+     * изменения бронирований, начатые до блокировки, успевают записаться, а начатые после
+     * дождутся пересчета и прибавят свой вклад к нему
+     *
+     * @return число строк дней
+     */
+    public int rebuild() {
+        if (postgresql) {
+            jdbcTemplate.getJdbcOperations().execute("LOCK TABLE daily_room_stats IN EXCLUSIVE MODE");
+        }
+        dailyRoomStatsRepository.deleteAllStats();
+
+        Map<DailyRoomStatsId, DailyRoomStats> days = new HashMap<>();
+        try (Stream<BookingStatsRow> rows = dailyRoomStatsRepository.streamActiveBookingStatsRows()) {
+            rows.map(BookingContribution::of)
+                    .filter(Objects::nonNull)
+                    .forEach(contribution -> accumulate(days, contribution, 1));
+        }
+        insertDays(days.values());
+        return days.size();
+    }
+
+    private void addToDays(List<DailyRoomStats> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(postgresql ? ADD_TO_DAY_POSTGRESQL : ADD_TO_DAY_H2,
+                deltas.stream().map(DailyRoomStatsUpdater::toParameters).toArray(SqlParameterSource[]::new));
+    }
+
+    private void insertDays(Collection<DailyRoomStats> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = days.stream()
+                .map(DailyRoomStatsUpdater::toParameters)
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_DAY, batch);
+    }
+
+    private static void accumulate(Map<DailyRoomStatsId, DailyRoomStats> days,
+                                   BookingContribution contribution,
+                                   int sign) {
+        BigDecimal multiplier = BigDecimal.valueOf(sign);
+        BigDecimal revenuePerDay = contribution.perDay(contribution.revenue()).multiply(multiplier);
+        BigDecimal prepaymentsPerDay = contribution.perDay(contribution.prepayments()).multiply(multiplier);
+        contribution.firstDay().datesUntil(contribution.lastDay().plusDays(1)).forEach(date -> {
+            DailyRoomStats day = days.computeIfAbsent(new DailyRoomStatsId(date, contribution.categoryId()),
+                    id -> emptyDay(id.getDate(), id.getCategoryId()));
+            day.setOccupiedRooms(day.getOccupiedRooms() + sign);
+            day.setPets(day.getPets() + sign * contribution.pets());
+            day.setRevenue(day.getRevenue().add(revenuePerDay));
+            day.setPrepayments(day.getPrepayments().add(prepaymentsPerDay));
+            if (date.equals(contribution.firstDay())) {
+                day.setRevenue(day.getRevenue()
+                        .add(contribution.remainder(contribution.revenue()).multiply(multiplier)));
+                day.setPrepayments(day.getPrepayments()
+                        .add(contribution.remainder(contribution.prepayments()).multiply(multiplier)));
+            }
+        });
+    }
+
+    private static boolean isEmpty(DailyRoomStats day) {
+        return day.getOccupiedRooms() == 0 && day.getPets() == 0 &&
+               day.getRevenue().signum() == 0 && day.getPrepayments().signum() == 0;
+    }
+
+    private static SqlParameterSource toParameters(DailyRoomStats day) {
+        return new MapSqlParameterSource()
+                .addValue("date", day.getDate())
+                .addValue("categoryId", day.getCategoryId())
+                .addValue("occupiedRooms", day.getOccupiedRooms())
+                .addValue("pets", day.getPets())
+                .addValue("revenue", day.getRevenue())
+                .addValue("prepayments", day.getPrepayments());
+    }
+
+    private static DailyRoomStats emptyDay(LocalDate date, Long categoryId) {
+        return DailyRoomStats.builder()
+                .date(date)
+                .categoryId(categoryId)
+                .occupiedRooms(0)
+                .pets(0)
+                .revenue(BigDecimal.ZERO.setScale(BookingContribution.SCALE))
+                .prepayments(BigDecimal.ZERO.setScale(BookingContribution.SCALE))
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package ru.modgy.report.service;
+
+import ru.modgy.report.dto.OccupancyReportDto;
+import ru.modgy.report.dto.RevenueReportDto;
+
+import java.time.LocalDate;
+
+public interface ReportService {
+    /**
+     * Загрузка номеров по дням
+     *
+     * @param userId     - id пользователя, направляющего запрос
+     * @param startDate  - первый день отчета
+     * @param endDate    - последний день отчета
+     * @param categoryId - id категории номеров, null для всех категорий
+     * @return число видимых номеров и занятые номера, питомцы и доля занятых номеров за каждый день
+     */
+    OccupancyReportDto getOccupancyReport(Long userId, LocalDate startDate, LocalDate endDate, Long categoryId);
+
+    /**
+     * Выручка и предоплаты по дням
+     *
+     * @param userId     - id пользователя, направляющего запрос
+     * @param startDate  - первый день отчета
+     * @param endDate    - последний день отчета
+     * @param categoryId - id категории номеров, null для всех категорий
+     * @return итоги за период и за каждый день
+     */
+    RevenueReportDto getRevenueReport(Long userId, LocalDate startDate, LocalDate endDate, Long categoryId);
+
+    /**
+     * Пересчет таблицы daily_room_stats по всем бронированиям
+     *
+     * @param userId - id пользователя, направляющего запрос
+     */
+    void rebuildDailyRoomStats(Long userId);
+}
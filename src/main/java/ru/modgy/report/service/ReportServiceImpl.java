@@ -0,0 +1,120 @@
+package ru.modgy.report.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.modgy.exception.BadRequestException;
+import ru.modgy.metrics.MetricsConfig;
+import ru.modgy.report.dto.DailyOccupancyDto;
+import ru.modgy.report.dto.DailyRevenueDto;
+import ru.modgy.report.dto.OccupancyReportDto;
+import ru.modgy.report.dto.RevenueReportDto;
+import ru.modgy.report.model.BookingContribution;
+import ru.modgy.report.model.DailyTotals;
+import ru.modgy.report.repository.DailyRoomStatsRepository;
+import ru.modgy.room.repository.RoomRepository;
+import ru.modgy.utility.UtilityService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class ReportServiceImpl implements ReportService {
+    static final long MAX_REPORT_DAYS = 3 * 366;
+    private static final BigDecimal ZERO = BigDecimal.ZERO.setScale(BookingContribution.SCALE);
+
+    private final DailyRoomStatsRepository dailyRoomStatsRepository;
+    private final RoomRepository roomRepository;
+    private final DailyRoomStatsUpdater dailyRoomStatsUpdater;
+    private final UtilityService utilityService;
+
+    @Transactional(readOnly = true)
+    @Override
+    public OccupancyReportDto getOccupancyReport(Long userId, LocalDate startDate, LocalDate endDate, Long categoryId) {
+        checkReportDates(startDate, endDate);
+        long totalRooms = roomRepository.countVisibleRooms(categoryId);
+        Map<LocalDate, DailyTotals> totals = getDailyTotals(startDate, endDate, categoryId);
+
+        List<DailyOccupancyDto> days = startDate.datesUntil(endDate.plusDays(1))
+                .map(date -> {
+                    DailyTotals dayTotals = totals.get(date);
+                    long occupiedRooms = dayTotals == null ? 0 : dayTotals.occupiedRooms();
+                    return DailyOccupancyDto.builder()
+                            .date(date)
+                            .occupiedRooms(occupiedRooms)
+                            .pets(dayTotals == null ? 0 : dayTotals.pets())
+                            .occupancy(totalRooms == 0 ? 0.0 : (double) occupiedRooms / totalRooms)
+                            .build();
+                })
+                .toList();
+
+        log.info("ReportService: getOccupancyReport, userId={}, startDate={}, endDate={}, categoryId={}",
+                userId, startDate, endDate, categoryId);
+        return OccupancyReportDto.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .categoryId(categoryId)
+                .totalRooms(totalRooms)
+                .days(days)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public RevenueReportDto getRevenueReport(Long userId, LocalDate startDate, LocalDate endDate, Long categoryId) {
+        checkReportDates(startDate, endDate);
+        Map<LocalDate, DailyTotals> totals = getDailyTotals(startDate, endDate, categoryId);
+
+        List<DailyRevenueDto> days = startDate.datesUntil(endDate.plusDays(1))
+                .map(date -> {
+                    DailyTotals dayTotals = totals.get(date);
+                    return DailyRevenueDto.builder()
+                            .date(date)
+                            .revenue(dayTotals == null ? ZERO : dayTotals.revenue())
+                            .prepayments(dayTotals == null ? ZERO : dayTotals.prepayments())
+                            .build();
+                })
+                .toList();
+
+        log.info("ReportService: getRevenueReport, userId={}, startDate={}, endDate={}, categoryId={}",
+                userId, startDate, endDate, categoryId);
+        return RevenueReportDto.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .categoryId(categoryId)
+                .revenue(days.stream().map(DailyRevenueDto::getRevenue).reduce(ZERO, BigDecimal::add))
+                .prepayments(days.stream().map(DailyRevenueDto::getPrepayments).reduce(ZERO, BigDecimal::add))
+                .days(days)
+                .build();
+    }
+
+    @Transactional
+    @Override
+    public void rebuildDailyRoomStats(Long userId) {
+        int rows = dailyRoomStatsUpdater.rebuild();
+        log.info("ReportService: rebuildDailyRoomStats, userId={}, rows={}", userId, rows);
+    }
+
+    private Map<LocalDate, DailyTotals> getDailyTotals(LocalDate startDate, LocalDate endDate, Long categoryId) {
+        return dailyRoomStatsRepository.findDailyTotals(startDate, endDate, categoryId).stream()
+                .collect(Collectors.toMap(DailyTotals::date, Function.identity()));
+    }
+
+    private void checkReportDates(LocalDate startDate, LocalDate endDate) {
+        utilityService.checkDatesOfBooking(startDate, endDate);
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_REPORT_DAYS) {
+            throw new BadRequestException(String.format("Report period from %s to %s is longer than %d days",
+                    startDate, endDate, MAX_REPORT_DAYS));
+        }
+    }
+}
@@ -30,7 +30,7 @@ public class RoomController {
     public RoomDto addRoom(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
                            @RequestBody @Valid NewRoomDto newRoomDto) {
         utilityService.checkBossAdminAccess(requesterId);
-        log.info("RoomController: POST/addRoom, requesterId={}, room={}", requesterId, newRoomDto);
+        log.info("RoomController: POST/addRoom, requesterId={}", requesterId);
         utilityService.checkBossAdminAccess(requesterId);
         return roomService.addRoom(requesterId, newRoomDto);
     }
@@ -49,8 +49,7 @@ public class RoomController {
                               @RequestBody @Valid UpdateRoomDto roomDto,
                               @PathVariable("id") Long roomId) {
         utilityService.checkBossAdminAccess(requesterId);
-        log.info("RoomController: PATCH/updateRoom, requesterId={}, roomId={}, requestBody={}",
-                requesterId, roomId, roomDto);
+        log.info("RoomController: PATCH/updateRoom, requesterId={}, roomId={}", requesterId, roomId);
         utilityService.checkBossAdminAccess(requesterId);
         return roomService.updateRoom(requesterId, roomId, roomDto);
     }
@@ -27,7 +27,7 @@ public class CategoryController {
     public CategoryDto addCategory(@RequestHeader(UtilityService.REQUESTER_ID_HEADER) Long requesterId,
                                    @RequestBody @Valid NewCategoryDto newCategoryDto) {
         utilityService.checkBossAdminAccess(requesterId);
-        log.info("CategoryController: POST/addCategory, requesterId={}, Category={}", requesterId, newCategoryDto);
+        log.info("CategoryController: POST/addCategory, requesterId={}", requesterId);
         return categoryService.addCategory(requesterId, newCategoryDto);
     }
 
@@ -44,8 +44,7 @@ public class CategoryController {
                                           @RequestBody @Valid UpdateCategoryDto updateCategoryDto,
                                           @PathVariable("id") Long catId) {
         utilityService.checkBossAdminAccess(requesterId);
-        log.info("CategoryController: PATCH/updateCategoryById, requesterId={}, catId={}, requestBody={}",
-                requesterId, catId, updateCategoryDto);
+        log.info("CategoryController: PATCH/updateCategoryById, requesterId={}, catId={}", requesterId, catId);
         return categoryService.updateCategoryById(requesterId, catId, updateCategoryDto);
     }
 
@@ -1,16 +1,22 @@
 package ru.modgy.room.category.repository;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.modgy.room.category.model.Category;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     int deleteCategoryById(Long id);
 
     int countAllByName(String name);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Category c " +
             "ORDER BY c.name")
     Optional<List<Category>> findAllOrderByNameAsc();
@@ -1,10 +1,12 @@
 package ru.modgy.room.category.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.modgy.exception.NotFoundException;
+import ru.modgy.metrics.MetricsConfig;
 import ru.modgy.room.category.dto.CategoryDto;
 import ru.modgy.room.category.dto.NewCategoryDto;
 import ru.modgy.room.category.dto.UpdateCategoryDto;
@@ -20,6 +22,7 @@ import java.util.Objects;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
@@ -31,7 +34,7 @@ public class CategoryServiceImpl implements CategoryService {
     public CategoryDto addCategory(Long userId, NewCategoryDto newCategoryDto) {
         Category newCategory = categoryMapper.toCategory(newCategoryDto);
         Category addedCategory = categoryRepository.save(newCategory);
-        log.info("CategoryService: addCategory, userId={}, newCategoryDto={}", userId, newCategoryDto);
+        log.info("CategoryService: addCategory, userId={}, catId={}", userId, addedCategory.getId());
         return categoryMapper.toCategoryDto(addedCategory);
     }
 
@@ -51,8 +54,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         Category updatedCategory = categoryRepository.save(newCategory);
-        log.info("CategoryService: updateCategoryById, userId={}, catId={}, updateCategoryDto={}",
-                userId, catId, updateCategoryDto);
+        log.info("CategoryService: updateCategoryById, userId={}, catId={}", userId, catId);
 
         return categoryMapper.toCategoryDto(updatedCategory);
     }
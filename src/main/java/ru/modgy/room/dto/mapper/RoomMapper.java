@@ -1,7 +1,10 @@
 package ru.modgy.room.dto.mapper;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.modgy.room.category.dto.mapper.CategoryMapper;
 import ru.modgy.room.dto.NewRoomDto;
 import ru.modgy.room.dto.RoomDto;
@@ -23,10 +26,11 @@ public interface RoomMapper {
     @Mapping(target = "category", ignore = true)
     Room toRoom(NewRoomDto newRoomDto);
 
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "isVisible", ignore = true)
-    Room toRoom(UpdateRoomDto roomDto);
+    void updateRoom(UpdateRoomDto updateRoomDto, @MappingTarget Room room);
 
     List<RoomDto> toListRoomDto(List<Room> rooms);
 }
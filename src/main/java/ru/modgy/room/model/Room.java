@@ -2,6 +2,8 @@ package ru.modgy.room.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.modgy.room.category.model.Category;
 
 @Builder
@@ -9,12 +11,15 @@ import ru.modgy.room.category.model.Category;
 @Setter
 @ToString
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rooms")
 @Table(name = "rooms")
 @NoArgsConstructor
 @AllArgsConstructor
 public class Room {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rooms_seq")
+    @SequenceGenerator(name = "rooms_seq", sequenceName = "rooms_seq", allocationSize = 50)
     @Column(name = "id_rooms")
     private Long id;
     @Column(name = "number_rooms", nullable = false)
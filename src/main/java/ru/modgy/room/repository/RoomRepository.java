@@ -1,15 +1,21 @@
 package ru.modgy.room.repository;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.modgy.room.model.Room;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 public interface RoomRepository extends JpaRepository<Room, Long> {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Room r " +
             "WHERE (r.isVisible = :isVisible) " +
             "ORDER BY r.category.name, r.number")
@@ -26,6 +32,23 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
                                                              @Param("checkInDate") LocalDate checkInDate,
                                                              @Param("checkOutDate") LocalDate checkOutDate);
 
+    /**
+     * Блокирует строку номера до конца транзакции. FOR UPDATE одинаково поддерживается PostgreSQL и H2,
+     * в отличие от FOR NO KEY UPDATE, который генерирует PostgreSQL-диалект для PESSIMISTIC_WRITE
+     */
+    @Query(value = "SELECT * FROM rooms WHERE id_rooms = :roomId FOR UPDATE", nativeQuery = true)
+    Optional<Room> findByIdForUpdate(@Param("roomId") Long roomId);
+
+    /**
+     * Блокирует строки номеров по возрастанию id, чтобы пакеты с общими номерами не блокировали друг друга
+     */
+    @Query(value = "SELECT * FROM rooms WHERE id_rooms IN (:roomIds) ORDER BY id_rooms FOR UPDATE", nativeQuery = true)
+    List<Room> findAllByIdsForUpdate(@Param("roomIds") Collection<Long> roomIds);
+
+    @Query("SELECT COUNT(r) FROM Room r WHERE r.isVisible = true " +
+            "AND (:categoryId IS NULL OR r.category.id = :categoryId)")
+    long countVisibleRooms(@Param("categoryId") Long categoryId);
+
     Integer deleteRoomById(Long id);
 
     int countAllByNumber(String number);
@@ -1,5 +1,6 @@
 package ru.modgy.room.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -8,6 +9,8 @@ import ru.modgy.booking.model.Booking;
 import ru.modgy.booking.repository.BookingRepository;
 import ru.modgy.exception.ConflictException;
 import ru.modgy.exception.NotFoundException;
+import ru.modgy.metrics.MetricsConfig;
+import ru.modgy.report.service.DailyRoomStatsUpdater;
 import ru.modgy.room.category.model.Category;
 import ru.modgy.room.dto.NewRoomDto;
 import ru.modgy.room.dto.RoomDto;
@@ -22,12 +25,14 @@ import java.util.*;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class RoomServiceImpl implements RoomService {
     private final RoomRepository roomRepository;
     private final RoomMapper roomMapper;
     private final BookingRepository bookingRepository;
     private final EntityService entityService;
+    private final DailyRoomStatsUpdater dailyRoomStatsUpdater;
 
     @Transactional
     @Override
@@ -37,7 +42,7 @@ public class RoomServiceImpl implements RoomService {
         newRoom.setCategory(category);
         Room addedRoom = roomRepository.save(newRoom);
         RoomDto addedRoomDto = roomMapper.toRoomDto(addedRoom);
-        log.info("RoomService: addRoom, userId={}, roomDto={}", userId, addedRoom);
+        log.info("RoomService: addRoom, userId={}, roomId={}", userId, addedRoom.getId());
         return addedRoomDto;
     }
 
@@ -53,34 +58,20 @@ public class RoomServiceImpl implements RoomService {
     @Transactional
     @Override
     public RoomDto updateRoom(Long userId, Long roomId, UpdateRoomDto updateRoomDto) {
-        Room oldRoom = entityService.getRoomIfExists(roomId);
-        Room newRoom = roomMapper.toRoom(updateRoomDto);
-        Category category;
+        Room room = entityService.getRoomIfExists(roomId);
         if (updateRoomDto.getCategoryId() != null) {
-            category = entityService.getCategoryIfExists(updateRoomDto.getCategoryId());
-        } else {
-            category = oldRoom.getCategory();
-        }
-        newRoom.setId(roomId);
-        newRoom.setCategory(category);
-        newRoom.setIsVisible(oldRoom.getIsVisible());
-
-        if (Objects.isNull(newRoom.getCategory())) {
-            newRoom.setCategory(oldRoom.getCategory());
-        }
-
-        if (Objects.isNull(newRoom.getArea())) {
-            newRoom.setArea(oldRoom.getArea());
-        }
-
-        if (Objects.isNull(newRoom.getNumber())) {
-            newRoom.setNumber(oldRoom.getNumber());
+            Category category = entityService.getCategoryIfExists(updateRoomDto.getCategoryId());
+            if (room.getCategory() == null || !Objects.equals(room.getCategory().getId(), category.getId())) {
+                // бронирования номера учитываются в отчетах по категории, поэтому их вклад переносится
+                dailyRoomStatsUpdater.onRoomCategoryChanged(roomId, category.getId());
+            }
+            room.setCategory(category);
         }
+        roomMapper.updateRoom(updateRoomDto, room);
 
-        Room updatedRoom = roomRepository.save(newRoom);
-        RoomDto updatedRoomDto = roomMapper.toRoomDto(updatedRoom);
+        RoomDto updatedRoomDto = roomMapper.toRoomDto(room);
 
-        log.info("RoomService: updateRoom, userId={}, roomId={}, roomDto={}", userId, roomId, updateRoomDto);
+        log.info("RoomService: updateRoom, userId={}, roomId={}", userId, roomId);
 
         return updatedRoomDto;
     }
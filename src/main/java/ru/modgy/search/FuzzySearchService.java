@@ -0,0 +1,38 @@
+package ru.modgy.search;
+
+import java.util.List;
+
+public interface FuzzySearchService {
+    /**
+     * Минимальная доля триграмм запроса, которая должна встретиться в тексте, чтобы он считался найденным
+     */
+    double SIMILARITY_THRESHOLD = 0.4;
+
+    /**
+     * Нечеткий поиск питомцев по кличке и породе
+     *
+     * @param text  - искомый текст
+     * @param limit - максимальное количество результатов
+     * @return id найденных питомцев в порядке убывания сходства
+     */
+    List<Long> findPetIds(String text, int limit);
+
+    /**
+     * Нечеткий поиск клиентов (хозяев питомцев) по ФИО
+     *
+     * @param text  - искомый текст
+     * @param limit - максимальное количество результатов
+     * @return id найденных клиентов в порядке убывания сходства
+     */
+    List<Long> findOwnerIdsByName(String text, int limit);
+
+    /**
+     * Поиск клиентов (хозяев питомцев) по основному и дополнительному номерам телефона.
+     * Сравниваются только цифры номера.
+     *
+     * @param text  - искомый номер или его часть
+     * @param limit - максимальное количество результатов
+     * @return id найденных клиентов в порядке убывания сходства
+     */
+    List<Long> findOwnerIdsByPhone(String text, int limit);
+}
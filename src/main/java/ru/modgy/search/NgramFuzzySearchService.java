@@ -0,0 +1,46 @@
+package ru.modgy.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.modgy.owner.repository.OwnerRepository;
+import ru.modgy.pet.repository.PetRepository;
+
+import java.util.List;
+
+/**
+ * Реализация нечеткого поиска для H2 (профили ci и test), где нет pg_trgm.
+ * Индекс строится по текущим данным при каждом запросе, поэтому видит и незакоммиченные
+ * изменения текущей транзакции; объем тестовых данных это позволяет.
+ */
+@Slf4j
+@Service
+@Profile({"ci", "test"})
+@RequiredArgsConstructor
+public class NgramFuzzySearchService implements FuzzySearchService {
+    private final PetRepository petRepository;
+    private final OwnerRepository ownerRepository;
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Long> findPetIds(String text, int limit) {
+        NgramIndex index = new NgramIndex(petRepository.findAllSearchDocuments());
+        return index.search(text, SIMILARITY_THRESHOLD, limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Long> findOwnerIdsByName(String text, int limit) {
+        NgramIndex index = new NgramIndex(ownerRepository.findAllNameSearchDocuments());
+        return index.search(text, SIMILARITY_THRESHOLD, limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Long> findOwnerIdsByPhone(String text, int limit) {
+        NgramIndex index = new NgramIndex(ownerRepository.findAllPhoneSearchDocuments());
+        return index.search(text.replaceAll("\\D", ""), SIMILARITY_THRESHOLD, limit);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.modgy.search;
+
+import java.util.*;
+
+/**
+ * Инвертированный индекс триграмм. Триграммы строятся так же, как в pg_trgm:
+ * текст приводится к нижнему регистру, делится на слова из букв и цифр,
+ * каждое слово дополняется двумя пробелами в начале и одним в конце.
+ */
+public class NgramIndex {
+    private final Map<String, List<Long>> idsByTrigram = new HashMap<>();
+    private final Map<Long, String> textsById = new HashMap<>();
+
+    public NgramIndex(Collection<SearchDocument> documents) {
+        for (SearchDocument document : documents) {
+            String text = normalize(document.text());
+            textsById.put(document.id(), text);
+            for (String trigram : trigrams(text)) {
+                idsByTrigram.computeIfAbsent(trigram, t -> new ArrayList<>()).add(document.id());
+            }
+        }
+    }
+
+    /**
+     * Поиск документов, содержащих запрос целиком или не меньше threshold его триграмм
+     *
+     * @return id документов в порядке убывания сходства, при равном сходстве - по возрастанию id
+     */
+    public List<Long> search(String query, double threshold, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        Set<String> queryTrigrams = trigrams(normalizedQuery);
+        Map<Long, Integer> hits = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (Long id : idsByTrigram.getOrDefault(trigram, Collections.emptyList())) {
+                hits.merge(id, 1, Integer::sum);
+            }
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        hits.forEach((id, count) -> {
+            double score = (double) count / queryTrigrams.size();
+            if (score >= threshold) {
+                scores.put(id, score);
+            }
+        });
+        // короткие запросы и части слов могут не набрать нужной доли триграмм, но должны находиться как подстрока
+        textsById.forEach((id, text) -> {
+            if (text.contains(normalizedQuery)) {
+                scores.put(id, 1.0);
+            }
+        });
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+}
@@ -0,0 +1,4 @@
+package ru.modgy.search;
+
+public record SearchDocument(Long id, String text) {
+}
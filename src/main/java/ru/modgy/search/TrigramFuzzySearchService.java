@@ -0,0 +1,65 @@
+package ru.modgy.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Нечеткий поиск в PostgreSQL на основе pg_trgm. Выражения в запросах совпадают с выражениями
+ * GIN-индексов из schema-postgresql.sql, иначе индексы не используются.
+ */
+@Service
+@Profile("!ci & !test")
+@RequiredArgsConstructor
+public class TrigramFuzzySearchService implements FuzzySearchService {
+    static final String PET_TEXT = "lower(name_pets || ' ' || breed_pets)";
+    static final String OWNER_NAME_TEXT = "lower(coalesce(last_name_owners, '') || ' ' || first_name_owners || ' ' || " +
+                                          "coalesce(middle_name_owners, ''))";
+    static final String OWNER_PHONE_TEXT = "(main_phone_owners || ' ' || coalesce(optional_phone_owners, ''))";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Long> findPetIds(String text, int limit) {
+        return search("pets", "id_pets", PET_TEXT, text.toLowerCase(), limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Long> findOwnerIdsByName(String text, int limit) {
+        return search("owners", "id_owners", OWNER_NAME_TEXT, text.toLowerCase(), limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Long> findOwnerIdsByPhone(String text, int limit) {
+        return search("owners", "id_owners", OWNER_PHONE_TEXT, text.replaceAll("\\D", ""), limit);
+    }
+
+    private List<Long> search(String table, String idColumn, String textExpression, String query, int limit) {
+        if (query.isBlank()) {
+            return Collections.emptyList();
+        }
+        // порог действует до конца транзакции и используется оператором <%
+        jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)",
+                new MapSqlParameterSource("threshold", String.valueOf(SIMILARITY_THRESHOLD)), String.class);
+
+        String sql = "SELECT " + idColumn + " FROM " + table +
+                     " WHERE :query <% " + textExpression + " OR " + textExpression + " LIKE :pattern" +
+                     " ORDER BY (" + textExpression + " LIKE :pattern) DESC, " +
+                     "word_similarity(:query, " + textExpression + ") DESC, " + idColumn +
+                     " LIMIT :limit";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("pattern", "%" + query.replace("%", "\\%").replace("_", "\\_") + "%")
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(sql, params, Long.class);
+    }
+}
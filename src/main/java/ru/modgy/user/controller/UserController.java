@@ -30,7 +30,7 @@ public class UserController {
 
     ) {
         utilityService.checkHigherOrdinalRoleAccessForUsers(requesterId, userDto.getRole());
-        log.info("UserController: POST/addUser, requesterId={}, user={}", requesterId, userDto);
+        log.info("UserController: POST/addUser, requesterId={}", requesterId);
         return userService.addUser(requesterId, userDto);
     }
 
@@ -73,8 +73,7 @@ public class UserController {
         if (!utilityService.checkRequesterRequestsHimself(requesterId, userId)) {
             utilityService.checkHigherOrEqualOrdinalRoleAccessForUsers(requesterId, userId);
         }
-        log.info("UserController: PATCH/updateUser, requesterId={}, userId={}, requestBody={}",
-                requesterId, userId, updateUserDto);
+        log.info("UserController: PATCH/updateUser, requesterId={}, userId={}", requesterId, userId);
         return userService.updateUser(requesterId, userId, updateUserDto);
     }
 
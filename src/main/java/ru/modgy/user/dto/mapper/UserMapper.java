@@ -1,7 +1,10 @@
 package ru.modgy.user.dto.mapper;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.modgy.user.dto.NewUserDto;
 import ru.modgy.user.dto.UpdateUserDto;
 import ru.modgy.user.dto.UserDto;
@@ -16,8 +19,10 @@ public interface UserMapper {
     @Mapping(target = "id", ignore = true)
     User toUser(NewUserDto newUserDto);
 
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
-    User toUser(UpdateUserDto updateUserDto);
+    @Mapping(target = "isActive", ignore = true)
+    void updateUser(UpdateUserDto updateUserDto, @MappingTarget User user);
 
     List<UserDto> map(List<User> users);
 }
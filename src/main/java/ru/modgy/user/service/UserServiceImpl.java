@@ -1,11 +1,13 @@
 package ru.modgy.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.modgy.exception.AccessDeniedException;
 import ru.modgy.exception.NotFoundException;
+import ru.modgy.metrics.MetricsConfig;
 import ru.modgy.user.dto.NewUserDto;
 import ru.modgy.user.dto.UpdateUserDto;
 import ru.modgy.user.dto.UserDto;
@@ -14,6 +16,7 @@ import ru.modgy.user.model.Roles;
 import ru.modgy.user.model.User;
 import ru.modgy.user.repository.UserRepository;
 import ru.modgy.utility.EntityService;
+import ru.modgy.utility.RequesterContext;
 import ru.modgy.utility.UtilityService;
 
 import java.util.Arrays;
@@ -24,20 +27,22 @@ import java.util.Objects;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final EntityService entityService;
     private final UtilityService utilityService;
+    private final RequesterContext requesterContext;
 
     @Transactional(readOnly = true)
     @Override
     public List<UserDto> getAllUsers(Long requesterId, Boolean isActive) {
-        User requester = entityService.getUserIfExists(requesterId);
+        Roles requesterRole = requesterContext.getActiveRequester(requesterId).role();
 
         List<Roles> roles =
-                Arrays.asList(Roles.values()).subList(requester.getRole().ordinal(), Roles.values().length);
+                Arrays.asList(Roles.values()).subList(requesterRole.ordinal(), Roles.values().length);
 
         List<User> allUsers;
         if (Objects.isNull(isActive)) {
@@ -55,8 +60,7 @@ public class UserServiceImpl implements UserService {
     public UserDto addUser(Long requesterId, NewUserDto newUserDto) {
         User newUser = userMapper.toUser(newUserDto);
         User addedUser = userRepository.save(newUser);
-        log.info("userService: addUser, requesterId={}, newUserDto={},  newUser={}",
-                requesterId, newUserDto, addedUser);
+        log.info("userService: addUser, requesterId={}, userId={}", requesterId, addedUser.getId());
         return userMapper.toUserDto(addedUser);
     }
 
@@ -81,7 +85,8 @@ public class UserServiceImpl implements UserService {
         if (result == 0) {
             throw new NotFoundException(String.format("user with id=%d not found", userId));
         }
-        log.info("UserService: deleteUserById, requesterId={} userId={}", requesterId, user);
+        requesterContext.evict(userId);
+        log.info("UserService: deleteUserById, requesterId={} userId={}", requesterId, userId);
     }
 
     @Transactional
@@ -89,44 +94,28 @@ public class UserServiceImpl implements UserService {
     public UserDto updateUser(Long requesterId, Long userId, UpdateUserDto updateUserDto) {
         boolean updateBySelf = utilityService.checkRequesterRequestsHimself(requesterId, userId);
         User requester = entityService.getUserIfExists(requesterId);
-
-        User newUser = userMapper.toUser(updateUserDto);
-        newUser.setId(userId);
-        User oldUser;
+        User user;
 
         if (updateBySelf) {
-            oldUser = requester;
+            user = requester;
         } else {
-            utilityService.checkHigherOrdinalRoleAccessForUsers(requester, newUser);
-            oldUser = entityService.getUserIfExists(userId);
+            user = entityService.getUserIfExists(userId);
+            // изменять можно только пользователя младше по роли и назначать только роль младше своей
+            utilityService.checkHigherOrdinalRoleAccessForUsers(requester, user);
+            utilityService.checkHigherOrdinalRoleAccessForUsers(requester, updateUserDto.getRole());
         }
 
-        if (Objects.isNull(newUser.getLastName())) {
-            newUser.setLastName(oldUser.getLastName());
-        }
-        if (Objects.isNull(newUser.getFirstName())) {
-            newUser.setFirstName(oldUser.getFirstName());
-        }
-        if (Objects.isNull(newUser.getMiddleName())) {
-            newUser.setMiddleName(oldUser.getMiddleName());
-        }
-        if (Objects.isNull(newUser.getPassword())) {
-            newUser.setPassword(oldUser.getPassword());
-        }
-        if (Objects.isNull(newUser.getEmail())) {
-            newUser.setEmail(oldUser.getEmail());
-        }
-        if (Objects.isNull(newUser.getRole()) || updateBySelf) {
-            newUser.setRole(oldUser.getRole());
-        }
-        if (Objects.isNull(newUser.getIsActive()) || updateBySelf) {
-            newUser.setIsActive(oldUser.getIsActive());
+        Roles role = user.getRole();
+        // изменения вносятся прямо в управляемую сущность, UPDATE выполнит flush при коммите
+        userMapper.updateUser(updateUserDto, user);
+        if (updateBySelf) {
+            // свою роль пользователь не меняет, isActive маппер не трогает вовсе
+            user.setRole(role);
         }
-        User updatedUser = userRepository.save(newUser);
-        log.info("UserService: updateUser, requesterId={}, userId={}, to updateUserDto={}",
-                requesterId, userId, updateUserDto);
+        requesterContext.evict(userId);
+        log.info("UserService: updateUser, requesterId={}, userId={}", requesterId, userId);
 
-        return userMapper.toUserDto(updatedUser);
+        return userMapper.toUserDto(user);
     }
 
     @Override
@@ -136,6 +125,7 @@ public class UserServiceImpl implements UserService {
         user.setIsActive(isActive);
 
         User updatedUser = userRepository.save(user);
+        requesterContext.evict(userId);
         return userMapper.toUserDto(updatedUser);
     }
 }
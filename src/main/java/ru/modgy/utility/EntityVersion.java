@@ -0,0 +1,66 @@
+package ru.modgy.utility;
+
+import ru.modgy.exception.BadRequestException;
+import ru.modgy.exception.PreconditionFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Версии сущностей (@Version) в виде ETag и проверка условия If-Match при обновлении
+ */
+public final class EntityVersion {
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private EntityVersion() {
+    }
+
+    public static String toETag(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Разбирает If-Match по тегам. Слабые теги (W/"3") при сравнении If-Match не совпадают никогда
+     *
+     * @param ifMatch значение заголовка If-Match, например "3" или "3", "4"
+     * @return версии из сильных тегов или null, если заголовок не передан или равен "*"
+     */
+    public static List<Long> fromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String part : ifMatch.split(",")) {
+            String tag = part.trim();
+            if (tag.isEmpty() || tag.startsWith(WEAK_PREFIX)) {
+                continue;
+            }
+            try {
+                versions.add(Long.parseLong(tag.replace("\"", "")));
+            } catch (NumberFormatException e) {
+                throw new BadRequestException(String.format("If-Match=%s is not a valid version", ifMatch));
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException(String.format("If-Match=%s has no strong entity tags", ifMatch));
+        }
+        return versions;
+    }
+
+    /**
+     * Проверяет, что клиент изменяет ту версию объекта, которую прочитал
+     *
+     * @param entityName      имя сущности для сообщения об ошибке
+     * @param id              id сущности
+     * @param currentVersion  текущая версия в БД
+     * @param expectedVersions версии из If-Match, подходит любая из них, null - без проверки
+     */
+    public static void checkVersion(String entityName, Long id, Long currentVersion, List<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(currentVersion)) {
+            throw new PreconditionFailedException(String.format(
+                    "%s with id=%d has version=%d, expected versions=%s", entityName, id, currentVersion,
+                    expectedVersions));
+        }
+    }
+}
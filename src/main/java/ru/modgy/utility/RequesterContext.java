@@ -0,0 +1,120 @@
+package ru.modgy.utility;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.modgy.exception.AccessDeniedException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Роль и активность пользователей, от имени которых выполняются запросы.
+ * В пределах HTTP-запроса пользователь загружается один раз, между запросами
+ * данные хранятся в кеше не дольше requester.cache.ttl. При изменении или удалении
+ * пользователя запись нужно сбросить методом evict.
+ */
+@Slf4j
+@Component
+public class RequesterContext {
+    private static final String REQUEST_ATTRIBUTE_PREFIX = RequesterContext.class.getName() + ".";
+    private final EntityService entityService;
+    private final Duration ttl;
+    private final Map<Long, CachedRequester> requesters = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public RequesterContext(EntityService entityService,
+                            @Value("${requester.cache.ttl:PT1M}") Duration ttl) {
+        this.entityService = entityService;
+        this.ttl = ttl;
+    }
+
+    public RequesterInfo getRequester(Long userId) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        String attribute = REQUEST_ATTRIBUTE_PREFIX + userId;
+        if (request != null && request.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST) instanceof
+                RequesterInfo requester) {
+            return requester;
+        }
+
+        RequesterInfo requester = getCachedOrLoad(userId);
+        if (request != null) {
+            request.setAttribute(attribute, requester, RequestAttributes.SCOPE_REQUEST);
+        }
+        return requester;
+    }
+
+    /**
+     * То же, что getRequester, но запросы от деактивированного пользователя отклоняются
+     */
+    public RequesterInfo getActiveRequester(Long requesterId) {
+        RequesterInfo requester = getRequester(requesterId);
+        if (Boolean.FALSE.equals(requester.isActive())) {
+            throw new AccessDeniedException(String.format("User with id=%d is not active", requesterId));
+        }
+        return requester;
+    }
+
+    public void evict(Long userId) {
+        remove(userId);
+        // до коммита другой запрос может успеть закешировать прежние данные
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(userId);
+                }
+            });
+        }
+    }
+
+    private RequesterInfo getCachedOrLoad(Long userId) {
+        long now = System.nanoTime();
+        CachedRequester cached = requesters.get(userId);
+        if (cached != null && now - cached.loadedAt() < ttl.toNanos()) {
+            return cached.requester();
+        }
+
+        long loadGeneration = generation.get();
+        RequesterInfo requester = RequesterInfo.of(entityService.getUserIfExists(userId));
+        log.debug("RequesterContext: getRequester, loaded requester={}", requester);
+        CachedRequester loaded = new CachedRequester(requester, now);
+        // данные незакоммиченной транзакции в кеш не попадают
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache(userId, loaded, loadGeneration);
+                }
+            });
+        } else {
+            cache(userId, loaded, loadGeneration);
+        }
+        return requester;
+    }
+
+    private synchronized void cache(Long userId, CachedRequester loaded, long loadGeneration) {
+        // пользователь мог измениться, пока шла загрузка
+        if (loadGeneration == generation.get()) {
+            requesters.put(userId, loaded);
+        }
+    }
+
+    private synchronized void remove(Long userId) {
+        generation.incrementAndGet();
+        requesters.remove(userId);
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.removeAttribute(REQUEST_ATTRIBUTE_PREFIX + userId, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private record CachedRequester(RequesterInfo requester, long loadedAt) {
+    }
+}
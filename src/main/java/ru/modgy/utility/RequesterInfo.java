@@ -0,0 +1,11 @@
+package ru.modgy.utility;
+
+import ru.modgy.user.model.Roles;
+import ru.modgy.user.model.User;
+
+public record RequesterInfo(Long id, Roles role, Boolean isActive) {
+
+    public static RequesterInfo of(User user) {
+        return new RequesterInfo(user.getId(), user.getRole(), user.getIsActive());
+    }
+}
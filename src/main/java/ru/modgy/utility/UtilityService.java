@@ -2,7 +2,6 @@ package ru.modgy.utility;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import ru.modgy.exception.AccessDeniedException;
 import ru.modgy.user.model.Roles;
 import ru.modgy.user.model.User;
@@ -13,68 +12,44 @@ import java.time.LocalDate;
 
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class UtilityService {
     public static final String REQUESTER_ID_HEADER = "X-PetHotel-User-Id";
-    private final EntityService entityService;
+    private final RequesterContext requesterContext;
 
     public void checkBossAdminAccess(User user) {
-        if (user.getRole().ordinal() >= 2) {
-            throw new AccessDeniedException(String.format("User with role=%s, can't access for this action",
-                    user.getRole()));
-        }
+        checkBossAdminAccess(user.getRole());
     }
 
     public void checkBossAdminAccess(Long userId) {
-        User user = entityService.getUserIfExists(userId);
-        checkBossAdminAccess(user);
+        checkBossAdminAccess(requesterContext.getActiveRequester(userId).role());
     }
 
     public void checkBossAdminFinancialAccess(User user) {
-        if (user.getRole().ordinal() == 2) {
-            throw new AccessDeniedException(String.format("User with role=%s, can't access for this action",
-                    user.getRole()));
-        }
+        checkBossAdminFinancialAccess(user.getRole());
     }
 
     public void checkBossAdminFinancialAccess(Long userId) {
-        User user = entityService.getUserIfExists(userId);
-        checkBossAdminFinancialAccess(user);
+        checkBossAdminFinancialAccess(requesterContext.getActiveRequester(userId).role());
     }
 
     public void checkBossAccess(User user) {
-        if (user.getRole() != Roles.ROLE_BOSS) {
-            throw new AccessDeniedException(String.format("User with role=%s, can't access for this action",
-                    user.getRole()));
-        }
+        checkBossAccess(user.getRole());
     }
 
     public void checkBossAccess(Long userId) {
-        User user = entityService.getUserIfExists(userId);
-        checkBossAccess(user);
+        checkBossAccess(requesterContext.getActiveRequester(userId).role());
     }
 
     public void checkHigherOrdinalRoleAccess(User requester, Roles role) {
-        if (requester.getRole().ordinal() > role.ordinal()) {
-            throw new AccessDeniedException(String.format("User with role=%s, can't access for this action",
-                    requester.getRole()));
-        }
+        checkHigherOrdinalRoleAccess(requester.getRole(), role);
     }
 
     public void checkHigherOrdinalRoleAccess(Long requesterId, Roles role) {
-        User requester = entityService.getUserIfExists(requesterId);
-        checkHigherOrdinalRoleAccess(requester, role);
+        checkHigherOrdinalRoleAccess(requesterContext.getActiveRequester(requesterId).role(), role);
     }
 
     public void checkHigherOrdinalRoleAccessForUsers(User requester, Roles role) {
-        if (requester.getRole().ordinal() < 2 &&
-            (role == null ||
-             (requester.getRole().ordinal() < role.ordinal()))
-        ) {
-            return;
-        }
-        throw new AccessDeniedException(String.format("User with role=%s, can't access for this action",
-                requester.getRole()));
+        checkHigherOrdinalRoleAccessForUsers(requester.getRole(), role);
     }
 
     public void checkHigherOrdinalRoleAccessForUsers(User requester, User user) {
@@ -82,28 +57,20 @@ public class UtilityService {
     }
 
     public void checkHigherOrdinalRoleAccessForUsers(Long requesterId, User user) {
-        User requester = entityService.getUserIfExists(requesterId);
-        checkHigherOrdinalRoleAccessForUsers(requester, user.getRole());
+        checkHigherOrdinalRoleAccessForUsers(requesterContext.getActiveRequester(requesterId).role(), user.getRole());
     }
 
     public void checkHigherOrdinalRoleAccessForUsers(Long requesterId, Roles role) {
-        User requester = entityService.getUserIfExists(requesterId);
-        checkHigherOrdinalRoleAccessForUsers(requester, role);
+        checkHigherOrdinalRoleAccessForUsers(requesterContext.getActiveRequester(requesterId).role(), role);
     }
 
     public void checkHigherOrdinalRoleAccessForUsers(Long requesterId, Long userId) {
-        User requester = entityService.getUserIfExists(requesterId);
-        User user = entityService.getUserIfExists(userId);
-        checkHigherOrdinalRoleAccessForUsers(requester, user);
+        checkHigherOrdinalRoleAccessForUsers(requesterContext.getActiveRequester(requesterId).role(),
+                requesterContext.getRequester(userId).role());
     }
 
     public void checkHigherOrEqualOrdinalRoleAccessForUsers(User requester, Roles role) {
-        if (requester.getRole().ordinal() < 2 &&
-            requester.getRole().ordinal() <= role.ordinal()) {
-            return;
-        }
-        throw new AccessDeniedException(String.format("User with role=%s, can't access for this action",
-                requester.getRole()));
+        checkHigherOrEqualOrdinalRoleAccessForUsers(requester.getRole(), role);
     }
 
     public void checkHigherOrEqualOrdinalRoleAccessForUsers(User requester, User user) {
@@ -111,23 +78,26 @@ public class UtilityService {
     }
 
     public void checkHigherOrEqualOrdinalRoleAccessForUsers(Long requesterId, User user) {
-        User requester = entityService.getUserIfExists(requesterId);
-        checkHigherOrEqualOrdinalRoleAccessForUsers(requester, user.getRole());
+        checkHigherOrEqualOrdinalRoleAccessForUsers(requesterContext.getActiveRequester(requesterId).role(),
+                user.getRole());
     }
 
     public void checkHigherOrEqualOrdinalRoleAccessForUsers(Long requesterId, Roles role) {
-        User requester = entityService.getUserIfExists(requesterId);
-        checkHigherOrEqualOrdinalRoleAccessForUsers(requester, role);
+        checkHigherOrEqualOrdinalRoleAccessForUsers(requesterContext.getActiveRequester(requesterId).role(), role);
     }
 
     public void checkHigherOrEqualOrdinalRoleAccessForUsers(Long requesterId, Long userId) {
-        User requester = entityService.getUserIfExists(requesterId);
-        User user = entityService.getUserIfExists(userId);
-        checkHigherOrEqualOrdinalRoleAccessForUsers(requester, user);
+        checkHigherOrEqualOrdinalRoleAccessForUsers(requesterContext.getActiveRequester(requesterId).role(),
+                requesterContext.getRequester(userId).role());
     }
 
     public boolean checkRequesterRequestsHimself(Long requesterId, Long userId) {
-        return userId.equals(requesterId);
+        if (!userId.equals(requesterId)) {
+            return false;
+        }
+        // к своим данным тоже обращается только активный пользователь
+        requesterContext.getActiveRequester(requesterId);
+        return true;
     }
 
     public void checkDatesOfBooking(LocalDate checkInDate, LocalDate checkOutDate) {
@@ -136,4 +106,51 @@ public class UtilityService {
                     checkInDate, checkOutDate));
         }
     }
+
+    private void checkBossAdminAccess(Roles requesterRole) {
+        if (requesterRole.ordinal() >= 2) {
+            throw accessDenied(requesterRole);
+        }
+    }
+
+    private void checkBossAdminFinancialAccess(Roles requesterRole) {
+        if (requesterRole.ordinal() == 2) {
+            throw accessDenied(requesterRole);
+        }
+    }
+
+    private void checkBossAccess(Roles requesterRole) {
+        if (requesterRole != Roles.ROLE_BOSS) {
+            throw accessDenied(requesterRole);
+        }
+    }
+
+    private void checkHigherOrdinalRoleAccess(Roles requesterRole, Roles role) {
+        if (requesterRole.ordinal() > role.ordinal()) {
+            throw accessDenied(requesterRole);
+        }
+    }
+
+    private void checkHigherOrdinalRoleAccessForUsers(Roles requesterRole, Roles role) {
+        if (requesterRole.ordinal() < 2 &&
+            (role == null ||
+             (requesterRole.ordinal() < role.ordinal()))
+        ) {
+            return;
+        }
+        throw accessDenied(requesterRole);
+    }
+
+    private void checkHigherOrEqualOrdinalRoleAccessForUsers(Roles requesterRole, Roles role) {
+        if (requesterRole.ordinal() < 2 &&
+            requesterRole.ordinal() <= role.ordinal()) {
+            return;
+        }
+        throw accessDenied(requesterRole);
+    }
+
+    private AccessDeniedException accessDenied(Roles requesterRole) {
+        return new AccessDeniedException(String.format("User with role=%s, can't access for this action",
+                requesterRole));
+    }
 }
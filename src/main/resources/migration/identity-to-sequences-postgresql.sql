@@ -0,0 +1,41 @@
+-- Перевод существующей БД с IDENTITY-колонок на последовательности с шагом 50 (pooled-lo в Hibernate).
+-- Выполняется один раз вручную на БД, созданной прежней schema.sql без пересоздания таблиц.
+-- Последовательность продолжается после максимального id, поэтому новые id не пересекаются с уже выданными.
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE users ALTER COLUMN id_users DROP IDENTITY IF EXISTS;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id_users) FROM users), 0) + 1, false);
+ALTER TABLE users ALTER COLUMN id_users SET DEFAULT nextval('users_seq');
+
+CREATE SEQUENCE IF NOT EXISTS owners_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE owners ALTER COLUMN id_owners DROP IDENTITY IF EXISTS;
+SELECT setval('owners_seq', COALESCE((SELECT MAX(id_owners) FROM owners), 0) + 1, false);
+ALTER TABLE owners ALTER COLUMN id_owners SET DEFAULT nextval('owners_seq');
+
+CREATE SEQUENCE IF NOT EXISTS owner_phones_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE owner_phones ALTER COLUMN id_owner_phones DROP IDENTITY IF EXISTS;
+SELECT setval('owner_phones_seq', COALESCE((SELECT MAX(id_owner_phones) FROM owner_phones), 0) + 1, false);
+ALTER TABLE owner_phones ALTER COLUMN id_owner_phones SET DEFAULT nextval('owner_phones_seq');
+
+CREATE SEQUENCE IF NOT EXISTS pets_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE pets ALTER COLUMN id_pets DROP IDENTITY IF EXISTS;
+SELECT setval('pets_seq', COALESCE((SELECT MAX(id_pets) FROM pets), 0) + 1, false);
+ALTER TABLE pets ALTER COLUMN id_pets SET DEFAULT nextval('pets_seq');
+
+CREATE SEQUENCE IF NOT EXISTS categories_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE categories ALTER COLUMN id_categories DROP IDENTITY IF EXISTS;
+SELECT setval('categories_seq', COALESCE((SELECT MAX(id_categories) FROM categories), 0) + 1, false);
+ALTER TABLE categories ALTER COLUMN id_categories SET DEFAULT nextval('categories_seq');
+
+CREATE SEQUENCE IF NOT EXISTS rooms_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE rooms ALTER COLUMN id_rooms DROP IDENTITY IF EXISTS;
+SELECT setval('rooms_seq', COALESCE((SELECT MAX(id_rooms) FROM rooms), 0) + 1, false);
+ALTER TABLE rooms ALTER COLUMN id_rooms SET DEFAULT nextval('rooms_seq');
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE bookings ALTER COLUMN id_bookings DROP IDENTITY IF EXISTS;
+SELECT setval('bookings_seq', COALESCE((SELECT MAX(id_bookings) FROM bookings), 0) + 1, false);
+ALTER TABLE bookings ALTER COLUMN id_bookings SET DEFAULT nextval('bookings_seq');
+
+COMMIT;
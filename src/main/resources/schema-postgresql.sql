@@ -0,0 +1,14 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_pets_search_trgm ON pets
+    USING gin (lower(name_pets || ' ' || breed_pets) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_owners_name_search_trgm ON owners
+    USING gin (lower(coalesce(last_name_owners, '') || ' ' || first_name_owners || ' ' ||
+                     coalesce(middle_name_owners, '')) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_owners_phone_search_trgm ON owners
+    USING gin ((main_phone_owners || ' ' || coalesce(optional_phone_owners, '')) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_pets_name_trgm ON pets
+    USING gin (lower(name_pets) gin_trgm_ops);
@@ -1,14 +1,30 @@
 DROP TABLE IF EXISTS users CASCADE;
+DROP TABLE IF EXISTS pet_health;
+DROP TABLE IF EXISTS pet_behaviour;
+DROP TABLE IF EXISTS pet_care;
 DROP TABLE IF EXISTS pets CASCADE;
 DROP TABLE IF EXISTS rooms CASCADE;
 DROP TABLE IF EXISTS categories CASCADE;
 DROP TABLE IF EXISTS bookings CASCADE;
 DROP TABLE IF EXISTS pets_in_bookings CASCADE;
+DROP TABLE IF EXISTS daily_room_stats CASCADE;
+DROP TABLE IF EXISTS owner_phones;
 DROP TABLE IF EXISTS owners;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS owners_seq;
+DROP SEQUENCE IF EXISTS owner_phones_seq;
+DROP SEQUENCE IF EXISTS pets_seq;
+DROP SEQUENCE IF EXISTS categories_seq;
+DROP SEQUENCE IF EXISTS rooms_seq;
+DROP SEQUENCE IF EXISTS bookings_seq;
+
+-- шаг последовательностей равен allocationSize сущностей: Hibernate (pooled-lo) берет блок из 50 id
+-- за одно обращение, вставки в обход Hibernate получают id из DEFAULT
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users
 (
-    id_users          BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id_users          BIGINT DEFAULT nextval('users_seq')     NOT NULL,
     last_name_users   VARCHAR(30),
     first_name_users  VARCHAR(15)                             NOT NULL,
     middle_name_users VARCHAR(15),
@@ -24,9 +40,11 @@ INSERT INTO users (first_name_users, email_users, password_users, role_users)
 values ('boss', 'boss@mail.ru', 'boss_pwd', 'ROLE_BOSS');
 
 
+CREATE SEQUENCE IF NOT EXISTS owners_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS owners
 (
-    id_owners                BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id_owners                BIGINT DEFAULT nextval('owners_seq')    NOT NULL,
     last_name_owners         VARCHAR(30),
     first_name_owners        VARCHAR(15)                             NOT NULL,
     middle_name_owners       VARCHAR(15),
@@ -39,17 +57,41 @@ CREATE TABLE IF NOT EXISTS owners
     source_owners            VARCHAR(100),
     rating_owners            INTEGER,
     registration_date_owners TIMESTAMP                               NOT NULL,
+    version_owners           BIGINT  DEFAULT 0                       NOT NULL,
 
     CONSTRAINT pk_owner PRIMARY KEY (id_owners),
     CONSTRAINT UQ_OWNER_MAIN_PHONE UNIQUE (main_phone_owners)
 );
 
+CREATE INDEX IF NOT EXISTS idx_owners_registration_date ON owners (registration_date_owners, id_owners);
+
 INSERT INTO owners (first_name_owners, main_phone_owners, registration_date_owners)
 values ('Иван', '89000000000000', '2024-08-23T12:09:45.0037547');
 
+CREATE SEQUENCE IF NOT EXISTS owner_phones_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS owner_phones
+(
+    id_owner_phones       BIGINT DEFAULT nextval('owner_phones_seq') NOT NULL,
+    owner_id_owner_phones BIGINT                                  NOT NULL,
+    number_owner_phones   VARCHAR(12)                             NOT NULL,
+    suffix_owner_phones   VARCHAR(4)                              NOT NULL,
+
+    CONSTRAINT pk_owner_phone PRIMARY KEY (id_owner_phones),
+    CONSTRAINT fk_owner_to_owner_phones FOREIGN KEY (owner_id_owner_phones) REFERENCES owners (id_owners) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_owner_phones_number ON owner_phones (number_owner_phones);
+CREATE INDEX IF NOT EXISTS idx_owner_phones_suffix ON owner_phones (suffix_owner_phones);
+
+INSERT INTO owner_phones (owner_id_owner_phones, number_owner_phones, suffix_owner_phones)
+SELECT id_owners, '+70000000000', '0000' FROM owners WHERE main_phone_owners = '89000000000000';
+
+CREATE SEQUENCE IF NOT EXISTS pets_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS pets
 (
-    id_pets                    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id_pets                    BIGINT DEFAULT nextval('pets_seq')      NOT NULL,
     owner_id_pets              BIGINT                                  NOT NULL,
     type_pets                  VARCHAR(10)                             NOT NULL,
     name_pets                  VARCHAR(30)                             NOT NULL,
@@ -59,54 +101,8 @@ CREATE TABLE IF NOT EXISTS pets
     color_pets                 VARCHAR(30),
     sign_pets                  VARCHAR(150),
     exhibition_pets            BOOLEAN,
-    vet_visit_pets             TIMESTAMP WITHOUT TIME ZONE,
-    reason_vet_visit_pets      VARCHAR(250),
-    vaccine_pets               VARCHAR(250),
-    parasites_pets             VARCHAR(250),
-    flea_mite_pets             VARCHAR(250),
-    surgery_pets               VARCHAR(250),
-    past_disease_pets          VARCHAR(500),
-    health_characteristic_pets VARCHAR(500),
-    urine_analysis_pets        VARCHAR(250),
-    allergy_pets               BOOLEAN,
-    allergy_type_pets          VARCHAR(250),
-    chronic_disease_pets       BOOLEAN,
-    chronic_disease_type_pets  VARCHAR(500),
-    heat_date_pets             TIMESTAMP WITHOUT TIME ZONE,
-    vet_data_pets              VARCHAR(500),
-    stay_without_master_pets   VARCHAR(500),
-    stay_alone_pets            VARCHAR(250),
-    special_care_pets          VARCHAR(500),
-    bark_howl_pets             VARCHAR(250),
-    furniture_damage_pets      VARCHAR(250),
-    food_from_table_pets       VARCHAR(250),
-    defecate_at_home_pets      VARCHAR(250),
-    mark_at_home_pets          VARCHAR(250),
-    new_people_pets            VARCHAR(500),
-    bite_people_pets           BOOLEAN,
-    reason_of_bite_pets        VARCHAR(250),
-    play_with_dogs_pets        VARCHAR(500),
-    dog_training_pets          BOOLEAN,
-    training_name_pets         VARCHAR(500),
-    like_pets                  VARCHAR(500),
-    not_like_pets              VARCHAR(500),
-    toys_pets                  VARCHAR(500),
-    bad_habit_pets             VARCHAR(250),
-    walking_pets               VARCHAR(250),
-    morning_walking_pets       VARCHAR(150),
-    day_walking_pets           VARCHAR(150),
-    evening_walking_pets       VARCHAR(150),
-    feeding_quantity_pets      INTEGER,
-    feed_type_pets             VARCHAR(250),
-    feed_name_pets             VARCHAR(250),
-    feed_composition_pets      VARCHAR(250),
-    feeding_rate_pets          VARCHAR(250),
-    feeding_practice_pets      VARCHAR(500),
-    treat_pets                 VARCHAR(250),
-    medicine_pets              BOOLEAN,
-    medicine_regimen_pets      VARCHAR(500),
-    additional_data_pets       VARCHAR(1000),
     registration_date_pets     TIMESTAMP WITH TIME ZONE                NOT NULL DEFAULT NOW(),
+    version_pets               BIGINT                                  NOT NULL DEFAULT 0,
     CONSTRAINT pk_pet PRIMARY KEY (id_pets),
     CONSTRAINT fk_owner_to_pets FOREIGN KEY (owner_id_pets) REFERENCES owners (id_owners) ON DELETE RESTRICT
 );
@@ -114,9 +110,83 @@ CREATE TABLE IF NOT EXISTS pets
 INSERT INTO pets (owner_id_pets, birth_date_pets, breed_pets, name_pets, sex_pets, type_pets)
 VALUES (1, '2023-06-09', 'Спаниель', 'Барбос', 'FEMALE', 'DOG');
 
+CREATE TABLE IF NOT EXISTS pet_health
+(
+    id_pet_health                    BIGINT NOT NULL,
+    vet_visit_pet_health             TIMESTAMP WITHOUT TIME ZONE,
+    reason_vet_visit_pet_health      VARCHAR(250),
+    vaccine_pet_health               VARCHAR(250),
+    parasites_pet_health             VARCHAR(250),
+    flea_mite_pet_health             VARCHAR(250),
+    surgery_pet_health               VARCHAR(250),
+    past_disease_pet_health          VARCHAR(500),
+    health_characteristic_pet_health VARCHAR(500),
+    urine_analysis_pet_health        VARCHAR(250),
+    allergy_pet_health               BOOLEAN,
+    allergy_type_pet_health          VARCHAR(250),
+    chronic_disease_pet_health       BOOLEAN,
+    chronic_disease_type_pet_health  VARCHAR(500),
+    heat_date_pet_health             TIMESTAMP WITHOUT TIME ZONE,
+    vet_data_pet_health              VARCHAR(500),
+    medicine_pet_health              BOOLEAN,
+    medicine_regimen_pet_health      VARCHAR(500),
+    CONSTRAINT pk_pet_health PRIMARY KEY (id_pet_health),
+    CONSTRAINT fk_pets_to_pet_health FOREIGN KEY (id_pet_health) REFERENCES pets (id_pets) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS pet_behaviour
+(
+    id_pet_behaviour                  BIGINT NOT NULL,
+    stay_without_master_pet_behaviour VARCHAR(500),
+    stay_alone_pet_behaviour          VARCHAR(250),
+    special_care_pet_behaviour        VARCHAR(500),
+    bark_howl_pet_behaviour           VARCHAR(250),
+    furniture_damage_pet_behaviour    VARCHAR(250),
+    food_from_table_pet_behaviour     VARCHAR(250),
+    defecate_at_home_pet_behaviour    VARCHAR(250),
+    mark_at_home_pet_behaviour        VARCHAR(250),
+    new_people_pet_behaviour          VARCHAR(500),
+    bite_people_pet_behaviour         BOOLEAN,
+    reason_of_bite_pet_behaviour      VARCHAR(250),
+    play_with_dogs_pet_behaviour      VARCHAR(500),
+    dog_training_pet_behaviour        BOOLEAN,
+    training_name_pet_behaviour       VARCHAR(500),
+    like_pet_behaviour                VARCHAR(500),
+    not_like_pet_behaviour            VARCHAR(500),
+    toys_pet_behaviour                VARCHAR(500),
+    bad_habit_pet_behaviour           VARCHAR(250),
+    CONSTRAINT pk_pet_behaviour PRIMARY KEY (id_pet_behaviour),
+    CONSTRAINT fk_pets_to_pet_behaviour FOREIGN KEY (id_pet_behaviour) REFERENCES pets (id_pets) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS pet_care
+(
+    id_pet_care               BIGINT NOT NULL,
+    walking_pet_care          VARCHAR(250),
+    morning_walking_pet_care  VARCHAR(150),
+    day_walking_pet_care      VARCHAR(150),
+    evening_walking_pet_care  VARCHAR(150),
+    feeding_quantity_pet_care INTEGER,
+    feed_type_pet_care        VARCHAR(250),
+    feed_name_pet_care        VARCHAR(250),
+    feed_composition_pet_care VARCHAR(250),
+    feeding_rate_pet_care     VARCHAR(250),
+    feeding_practice_pet_care VARCHAR(500),
+    treat_pet_care            VARCHAR(250),
+    additional_data_pet_care  VARCHAR(1000),
+    CONSTRAINT pk_pet_care PRIMARY KEY (id_pet_care),
+    CONSTRAINT fk_pets_to_pet_care FOREIGN KEY (id_pet_care) REFERENCES pets (id_pets) ON DELETE CASCADE
+);
+
+INSERT INTO pet_health (id_pet_health) SELECT id_pets FROM pets;
+INSERT INTO pet_behaviour (id_pet_behaviour) SELECT id_pets FROM pets;
+INSERT INTO pet_care (id_pet_care) SELECT id_pets FROM pets;
+
+CREATE SEQUENCE IF NOT EXISTS categories_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS categories
 (
-    id_categories          BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id_categories          BIGINT DEFAULT nextval('categories_seq') NOT NULL,
     name_categories        VARCHAR(20)                             NOT NULL,
     description_categories VARCHAR(250),
     CONSTRAINT pk_categories PRIMARY KEY (id_categories),
@@ -126,9 +196,11 @@ CREATE TABLE IF NOT EXISTS categories
 INSERT INTO categories (name_categories)
 VALUES ('Room');
 
+CREATE SEQUENCE IF NOT EXISTS rooms_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS rooms
 (
-    id_rooms          BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id_rooms          BIGINT DEFAULT nextval('rooms_seq')     NOT NULL,
     number_rooms      VARCHAR(100)                            NOT NULL,
     area_rooms        REAL,
     category_id_rooms BIGINT,
@@ -143,9 +215,11 @@ CREATE TABLE IF NOT EXISTS rooms
 INSERT INTO rooms (number_rooms, area_rooms, category_id_rooms, description_rooms, visible_rooms)
 VALUES ('1F', 10, 1, 'Номер с отдельным входом', true);
 
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id_bookings                BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id_bookings                BIGINT DEFAULT nextval('bookings_seq')  NOT NULL,
     type_bookings              VARCHAR(150)      NOT NULL,
     check_in_date_bookings     DATE                                    NOT NULL,
     check_out_date_bookings    DATE                                    NOT NULL,
@@ -161,6 +235,7 @@ CREATE TABLE IF NOT EXISTS bookings
     comment_bookings           VARCHAR(150),
     file_bookings              VARCHAR(150),
     room_id_bookings           BIGINT,
+    version_bookings           BIGINT  DEFAULT 0 NOT NULL,
     CONSTRAINT pk_bookings PRIMARY KEY (id_bookings),
     CONSTRAINT fk_room_to_bookings FOREIGN KEY (room_id_bookings) REFERENCES rooms (id_rooms) ON DELETE RESTRICT,
     CONSTRAINT positive_price_bookings CHECK (price_bookings >= 0),
@@ -169,11 +244,14 @@ CREATE TABLE IF NOT EXISTS bookings
     CONSTRAINT check_out_later_than_in CHECK (check_out_date_bookings >= check_in_date_bookings)
 );
 
-INSERT INTO public.bookings (id_bookings, type_bookings, check_in_date_bookings, check_out_date_bookings,
+CREATE INDEX IF NOT EXISTS idx_bookings_room_dates
+    ON bookings (room_id_bookings, check_in_date_bookings, check_out_date_bookings);
+
+INSERT INTO public.bookings (type_bookings, check_in_date_bookings, check_out_date_bookings,
                              check_in_time_bookings, check_out_time_bookings, status_bookings, reason_of_stop_bookings,
                              reason_of_cancel_bookings, price_bookings, amount_bookings, prepayment_amount_bookings,
                              made_prepayment_bookings, comment_bookings, file_bookings, room_id_bookings)
-VALUES (1, 'TYPE_BOOKING', '2024-09-02', '2024-09-09', '11:43:31', '11:43:34', 'STATUS_CONFIRMED', null, null, 0, 0, 0,
+VALUES ('TYPE_BOOKING', '2024-09-02', '2024-09-09', '11:43:31', '11:43:34', 'STATUS_CONFIRMED', null, null, 0, 0, 0,
         false, null, null, 1);
 
 CREATE TABLE IF NOT EXISTS pets_in_bookings
@@ -186,4 +264,28 @@ CREATE TABLE IF NOT EXISTS pets_in_bookings
 );
 
 INSERT INTO public.pets_in_bookings (id_bookings, id_pets)
-VALUES (1, 1);
\ No newline at end of file
+VALUES (1, 1);
+
+CREATE TABLE IF NOT EXISTS daily_room_stats
+(
+    date_daily_room_stats           DATE                     NOT NULL,
+    category_id_daily_room_stats    BIGINT                   NOT NULL,
+    occupied_rooms_daily_room_stats INTEGER        DEFAULT 0 NOT NULL,
+    pets_daily_room_stats           INTEGER        DEFAULT 0 NOT NULL,
+    revenue_daily_room_stats        NUMERIC(16, 4) DEFAULT 0 NOT NULL,
+    prepayments_daily_room_stats    NUMERIC(16, 4) DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_daily_room_stats PRIMARY KEY (date_daily_room_stats, category_id_daily_room_stats),
+    CONSTRAINT fk_category_to_daily_room_stats FOREIGN KEY (category_id_daily_room_stats)
+        REFERENCES categories (id_categories) ON DELETE CASCADE
+);
+
+INSERT INTO public.daily_room_stats (date_daily_room_stats, category_id_daily_room_stats,
+                                     occupied_rooms_daily_room_stats, pets_daily_room_stats,
+                                     revenue_daily_room_stats, prepayments_daily_room_stats)
+VALUES ('2024-09-02', 1, 1, 1, 0, 0),
+       ('2024-09-03', 1, 1, 1, 0, 0),
+       ('2024-09-04', 1, 1, 1, 0, 0),
+       ('2024-09-05', 1, 1, 1, 0, 0),
+       ('2024-09-06', 1, 1, 1, 0, 0),
+       ('2024-09-07', 1, 1, 1, 0, 0),
+       ('2024-09-08', 1, 1, 1, 0, 0);
@@ -7,17 +7,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.modgy.booking.controller.BookingController;
+import ru.modgy.booking.dto.AvailabilityMatrixDto;
+import ru.modgy.booking.dto.BookingBatchItemDto;
+import ru.modgy.booking.dto.BookingBatchResultDto;
 import ru.modgy.booking.dto.BookingDto;
+import ru.modgy.booking.dto.BookingPageDto;
+import ru.modgy.booking.dto.BookingShortDto;
+import ru.modgy.booking.dto.NewBookingBatchDto;
 import ru.modgy.booking.dto.NewBookingDto;
 import ru.modgy.booking.dto.UpdateBookingDto;
+import ru.modgy.booking.model.BookingBatchItemStatus;
 import ru.modgy.booking.model.StatusBooking;
 import ru.modgy.booking.model.TypesBooking;
 import ru.modgy.booking.service.BookingService;
 import ru.modgy.exception.ConflictException;
 import ru.modgy.exception.NotFoundException;
+import ru.modgy.exception.PreconditionFailedException;
 import ru.modgy.room.category.dto.CategoryDto;
 import ru.modgy.room.dto.RoomDto;
 import ru.modgy.utility.UtilityService;
@@ -26,10 +35,13 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -123,6 +135,81 @@ class BookingControllerTest {
         verify(bookingService, times(1)).addBooking(anyLong(), any(NewBookingDto.class));
     }
 
+    @Test
+    @SneakyThrows
+    void addBookings_whenSomeCreated_thenCreated() {
+        NewBookingBatchDto batchDto = NewBookingBatchDto.builder()
+                .bookings(List.of(newBookingDto, newBookingDto))
+                .atomic(false)
+                .build();
+        BookingBatchResultDto result = BookingBatchResultDto.builder()
+                .created(1)
+                .rejected(1)
+                .items(List.of(
+                        BookingBatchItemDto.builder().index(0).status(BookingBatchItemStatus.CREATED)
+                                .bookingId(bookingId).build(),
+                        BookingBatchItemDto.builder().index(1).status(BookingBatchItemStatus.REJECTED)
+                                .error("Room with id=1 is not available for current dates").build()))
+                .build();
+        when(bookingService.addBookings(anyLong(), any(NewBookingBatchDto.class))).thenReturn(result);
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header(requesterHeader, requesterId)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(batchDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].bookingId", is(bookingId), Long.class))
+                .andExpect(jsonPath("$.items[1].status", is(BookingBatchItemStatus.REJECTED.toString())));
+    }
+
+    @Test
+    @SneakyThrows
+    void addBookings_whenNothingCreated_thenConflict() {
+        NewBookingBatchDto batchDto = NewBookingBatchDto.builder().bookings(List.of(newBookingDto)).build();
+        BookingBatchResultDto result = BookingBatchResultDto.builder()
+                .created(0)
+                .rejected(1)
+                .items(List.of(BookingBatchItemDto.builder().index(0).status(BookingBatchItemStatus.REJECTED)
+                        .error("Room with id=1 is not found").build()))
+                .build();
+        when(bookingService.addBookings(anyLong(), any(NewBookingBatchDto.class))).thenReturn(result);
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header(requesterHeader, requesterId)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(batchDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.created", is(0)))
+                .andExpect(jsonPath("$.items[0].error", is("Room with id=1 is not found")));
+    }
+
+    @Test
+    @SneakyThrows
+    void addBookings_whenBatchEmptyOrItemInvalid_thenBadRequest() {
+        mockMvc.perform(post("/bookings/batch")
+                        .header(requesterHeader, requesterId)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(
+                                NewBookingBatchDto.builder().bookings(List.of()).build())))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header(requesterHeader, requesterId)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(
+                                NewBookingBatchDto.builder().bookings(List.of(new NewBookingDto())).build())))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).addBookings(anyLong(), any(NewBookingBatchDto.class));
+    }
+
     @Test
     @SneakyThrows
     void getBookingById() {
@@ -186,6 +273,45 @@ class BookingControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @SneakyThrows
+    void updateBooking_whenIfMatchPassed_thenVersionCheckedAndNewETagReturned() {
+        BookingDto updatedBookingDto = BookingDto.builder().id(bookingId).version(4L).build();
+        when(bookingService.updateBooking(anyLong(), eq(bookingId), argThat(dto -> List.of(3L).equals(dto.getVersions()))))
+                .thenReturn(updatedBookingDto);
+
+        mockMvc.perform(patch("/bookings/{id}", bookingId)
+                        .header(requesterHeader, requesterId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(updateBookingDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+
+        when(bookingService.updateBooking(anyLong(), eq(bookingId), any(UpdateBookingDto.class)))
+                .thenThrow(new PreconditionFailedException("stale version"));
+
+        mockMvc.perform(patch("/bookings/{id}", bookingId)
+                        .header(requesterHeader, requesterId)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(updateBookingDto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @SneakyThrows
+    void updateBooking_whenIfMatchWeak_thenPreconditionFailed() {
+        mockMvc.perform(patch("/bookings/{id}", bookingId)
+                        .header(requesterHeader, requesterId)
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(updateBookingDto)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(bookingService, never()).updateBooking(anyLong(), anyLong(), any(UpdateBookingDto.class));
+    }
+
     @Test
     @SneakyThrows
     void deleteBookingById() {
@@ -307,50 +433,142 @@ class BookingControllerTest {
     @SneakyThrows
     @DateTimeFormat(iso= DateTimeFormat.ISO.DATE)
     void findAllBookingsInDates() {
-        when(bookingService.findAllBookingsInDates(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(List.of(bookingDto));
+        when(bookingService.findAllBookingsInDates(anyLong(), any(LocalDate.class), any(LocalDate.class), any(), anyInt()))
+                .thenReturn(BookingPageDto.builder().bookings(List.of(bookingDto)).build());
 
         mockMvc.perform(get("/bookings/inDates")
                         .header(requesterHeader, requesterId)
                         .accept(MediaType.ALL_VALUE)
                         .param("startDate", "01.01.2024" )
                         .param("endDate", "02.01.2024"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings", hasSize(1)));
 
-        verify(bookingService).findAllBookingsInDates(requesterId, checkIn, checkOut);
         verify(bookingService, times(1))
-                .findAllBookingsInDates(requesterId, checkIn, checkOut);
+                .findAllBookingsInDates(requesterId, checkIn, checkOut, null, 20);
     }
 
     @Test
     @SneakyThrows
     void findAllBookingsByPet() {
-        when(bookingService.findAllBookingsByPet(anyLong(), anyLong()))
-                .thenReturn(List.of(bookingDto));
+        when(bookingService.findAllBookingsByPet(anyLong(), anyLong(), any(), anyInt()))
+                .thenReturn(BookingPageDto.builder().bookings(List.of(bookingDto)).nextCursor("next").build());
 
         mockMvc.perform(get("/bookings/allByPet/pets/{petId}", petId)
                         .header(requesterHeader, requesterId)
-                        .accept(MediaType.ALL_VALUE))
-                .andExpect(status().isOk());
+                        .accept(MediaType.ALL_VALUE)
+                        .param("cursor", "current")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor", is("next")));
 
-        verify(bookingService).findAllBookingsByPet(requesterId, petId);
         verify(bookingService, times(1))
-                .findAllBookingsByPet(requesterId, petId);
+                .findAllBookingsByPet(requesterId, petId, "current", 1);
     }
 
     @Test
     @SneakyThrows
     void findAllBookingsByOwner() {
-        when(bookingService.findAllBookingsByOwner(anyLong(), anyLong()))
-                .thenReturn(List.of(bookingDto));
+        when(bookingService.findAllBookingsByOwner(anyLong(), anyLong(), any(), anyInt()))
+                .thenReturn(BookingPageDto.builder().bookings(List.of(bookingDto)).build());
 
         mockMvc.perform(get("/bookings/allByOwner/owners/{ownerId}", ownerId)
                         .header(requesterHeader, requesterId)
                         .accept(MediaType.ALL_VALUE))
                 .andExpect(status().isOk());
 
-        verify(bookingService).findAllBookingsByOwner(requesterId, ownerId);
         verify(bookingService, times(1))
-                .findAllBookingsByOwner(requesterId, ownerId);
+                .findAllBookingsByOwner(requesterId, ownerId, null, 20);
+    }
+
+    @Test
+    @SneakyThrows
+    void findAllBookingsByOwner_whenSizeNotPositive_thenBadRequest() {
+        mockMvc.perform(get("/bookings/allByOwner/owners/{ownerId}", ownerId)
+                        .header(requesterHeader, requesterId)
+                        .accept(MediaType.ALL_VALUE)
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).findAllBookingsByOwner(anyLong(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void findAllBookingsByOwner_whenSizeTooLarge_thenBadRequest() {
+        mockMvc.perform(get("/bookings/allByOwner/owners/{ownerId}", ownerId)
+                        .header(requesterHeader, requesterId)
+                        .accept(MediaType.ALL_VALUE)
+                        .param("size", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).findAllBookingsByOwner(anyLong(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void findAllBookingsInDates_whenSizeTooLarge_thenBadRequest() {
+        mockMvc.perform(get("/bookings/inDates")
+                        .header(requesterHeader, requesterId)
+                        .accept(MediaType.ALL_VALUE)
+                        .param("startDate", "01.01.2024")
+                        .param("endDate", "02.01.2024")
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).findAllBookingsInDates(anyLong(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void findAllBookingsByPet_whenSizeTooLarge_thenBadRequest() {
+        mockMvc.perform(get("/bookings/allByPet/pets/{petId}", petId)
+                        .header(requesterHeader, requesterId)
+                        .accept(MediaType.ALL_VALUE)
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).findAllBookingsByPet(anyLong(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void getAvailabilityMatrix() {
+        AvailabilityMatrixDto matrixDto = AvailabilityMatrixDto.builder()
+                .startDate(checkIn)
+                .endDate(checkOut)
+                .rooms(List.of())
+                .build();
+        when(bookingService.getAvailabilityMatrix(anyLong(), any(LocalDate.class), any(LocalDate.class), any()))
+                .thenReturn(matrixDto);
+
+        mockMvc.perform(get("/bookings/availability-matrix")
+                        .header(requesterHeader, requesterId)
+                        .accept(MediaType.ALL_VALUE)
+                        .param("startDate", "01.01.2024")
+                        .param("endDate", "02.01.2024")
+                        .param("categoryId", "1"))
+                .andExpect(status().isOk());
+
+        verify(bookingService, times(1))
+                .getAvailabilityMatrix(requesterId, checkIn, checkOut, 1L);
+    }
+
+    @Test
+    @SneakyThrows
+    void findAllShortBookingsInDates() {
+        when(bookingService.findAllShortBookingsInDates(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(BookingShortDto.builder().id(1L).pets(List.of()).build()));
+
+        mockMvc.perform(get("/bookings/inDates/short")
+                        .header(requesterHeader, requesterId)
+                        .accept(MediaType.ALL_VALUE)
+                        .param("startDate", "01.01.2024")
+                        .param("endDate", "02.01.2024"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)));
+
+        verify(bookingService, times(1))
+                .findAllShortBookingsInDates(requesterId, checkIn, checkOut);
     }
 }
@@ -0,0 +1,199 @@
+package ru.modgy.booking.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.modgy.booking.dto.BookingDto;
+import ru.modgy.booking.dto.NewBookingDto;
+import ru.modgy.booking.dto.UpdateBookingDto;
+import ru.modgy.booking.model.Booking;
+import ru.modgy.booking.model.TypesBooking;
+import ru.modgy.booking.repository.BookingRepository;
+import ru.modgy.exception.ConflictException;
+import ru.modgy.owner.model.Owner;
+import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.Sex;
+import ru.modgy.pet.model.TypeOfPet;
+import ru.modgy.room.category.model.Category;
+import ru.modgy.room.model.Room;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Параллельные транзакции должны видеть коммиты друг друга, поэтому тест работает без @Transactional
+ * и удаляет свои данные сам
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingConcurrencyIntegrationTest {
+    private static final int THREADS = 16;
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final LocalDate checkIn = LocalDate.of(2030, 1, 10);
+    private Long categoryId;
+    private Long roomId;
+    private Long ownerId;
+    private Long petId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Category category = Category.builder().name("concurrent category").description("description").build();
+            em.persist(category);
+            Room room = Room.builder()
+                    .number("concurrent room")
+                    .area(10.0)
+                    .category(category)
+                    .isVisible(true)
+                    .build();
+            em.persist(room);
+            Owner owner = Owner.builder()
+                    .lastName("Petrov")
+                    .firstName("Petr")
+                    .mainPhone("89000000099")
+                    .registrationDate(LocalDateTime.now())
+                    .build();
+            em.persist(owner);
+            Pet pet = Pet.builder()
+                    .owner(owner)
+                    .type(TypeOfPet.DOG)
+                    .name("Бобик")
+                    .breed("Spaniel")
+                    .birthDate(LocalDate.of(2023, 1, 1))
+                    .sex(Sex.MALE)
+                    .build();
+            em.persist(pet);
+            categoryId = category.getId();
+            roomId = room.getId();
+            ownerId = owner.getId();
+            petId = pet.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingRepository.findAll().stream()
+                    .filter(booking -> booking.getRoom().getId().equals(roomId))
+                    .forEach(em::remove);
+            em.remove(em.find(Pet.class, petId));
+            em.remove(em.find(Owner.class, ownerId));
+            em.remove(em.find(Room.class, roomId));
+            em.remove(em.find(Category.class, categoryId));
+        });
+    }
+
+    @Test
+    void addBooking_whenOverlappingBookingsAddedConcurrently_thenOnlyOneBookingAdded() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            // все интервалы пересекаются с checkIn + 3 дня
+            NewBookingDto newBookingDto = NewBookingDto.builder()
+                    .type(TypesBooking.TYPE_BOOKING)
+                    .roomId(roomId)
+                    .checkInDate(checkIn.plusDays(i % 4))
+                    .checkOutDate(checkIn.plusDays(4 + i % 3))
+                    .isPrepaid(false)
+                    .petIds(List.of(petId))
+                    .build();
+            results.add(executor.submit(() -> {
+                start.await();
+                return bookingService.addBooking(1L, newBookingDto);
+            }));
+        }
+
+        start.countDown();
+        int added = 0;
+        int conflicts = 0;
+        for (Future<?> result : results) {
+            try {
+                result.get(30, TimeUnit.SECONDS);
+                added++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(ConflictException.class, e.getCause());
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, added);
+        assertEquals(THREADS - 1, conflicts);
+        List<Booking> bookings = transactionTemplate.execute(status -> bookingRepository.findAll().stream()
+                .filter(booking -> booking.getRoom().getId().equals(roomId))
+                .toList());
+        assertNotNull(bookings);
+        assertEquals(1, bookings.size());
+    }
+
+    @Test
+    void updateBooking_whenBookingsMovedToSameDatesConcurrently_thenOnlyOneBookingMoved() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            // исходные бронирования не пересекаются ни друг с другом, ни с целевыми датами
+            NewBookingDto newBookingDto = NewBookingDto.builder()
+                    .type(TypesBooking.TYPE_BOOKING)
+                    .roomId(roomId)
+                    .checkInDate(checkIn.plusDays(10 + i * 3L))
+                    .checkOutDate(checkIn.plusDays(11 + i * 3L))
+                    .isPrepaid(false)
+                    .petIds(List.of(petId))
+                    .build();
+            BookingDto bookingDto = bookingService.addBooking(1L, newBookingDto);
+            bookingIds.add(bookingDto.getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            UpdateBookingDto updateBookingDto = UpdateBookingDto.builder()
+                    .checkInDate(checkIn)
+                    .checkOutDate(checkIn.plusDays(3))
+                    .build();
+            results.add(executor.submit(() -> {
+                start.await();
+                return bookingService.updateBooking(1L, bookingId, updateBookingDto);
+            }));
+        }
+
+        start.countDown();
+        int moved = 0;
+        int conflicts = 0;
+        for (Future<?> result : results) {
+            try {
+                result.get(30, TimeUnit.SECONDS);
+                moved++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(ConflictException.class, e.getCause());
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, moved);
+        assertEquals(THREADS - 1, conflicts);
+        List<Booking> bookings = transactionTemplate.execute(status -> bookingRepository.findAll().stream()
+                .filter(booking -> booking.getRoom().getId().equals(roomId))
+                .filter(booking -> booking.getCheckInDate().equals(checkIn))
+                .toList());
+        assertNotNull(bookings);
+        assertEquals(1, bookings.size());
+    }
+}
@@ -8,40 +8,57 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import ru.modgy.exception.BadRequestException;
 import ru.modgy.exception.ConflictException;
 import ru.modgy.owner.dto.OwnerShortDto;
 import ru.modgy.owner.dto.mapper.OwnerMapper;
 import ru.modgy.owner.model.Owner;
 import ru.modgy.utility.EntityService;
+import ru.modgy.booking.dto.AvailabilityMatrixDto;
+import ru.modgy.booking.dto.BookingBatchResultDto;
 import ru.modgy.booking.dto.BookingDto;
+import ru.modgy.booking.dto.BookingPageDto;
+import ru.modgy.booking.dto.BookingPetShortDto;
+import ru.modgy.booking.dto.BookingShortDto;
+import ru.modgy.booking.dto.NewBookingBatchDto;
 import ru.modgy.booking.dto.NewBookingDto;
 import ru.modgy.booking.dto.UpdateBookingDto;
 import ru.modgy.booking.dto.mapper.BookingMapper;
+import ru.modgy.booking.dto.OccupancySpanDto;
 import ru.modgy.booking.model.Booking;
+import ru.modgy.booking.model.BookingBatchItemStatus;
+import ru.modgy.booking.model.BookingCursor;
+import ru.modgy.booking.model.BookingShortRow;
+import ru.modgy.booking.model.BookingSpan;
 import ru.modgy.booking.model.StatusBooking;
 import ru.modgy.booking.model.TypesBooking;
 import ru.modgy.booking.repository.BookingRepository;
 import ru.modgy.exception.NotFoundException;
-import ru.modgy.pet.dto.PetDto;
+import ru.modgy.exception.PreconditionFailedException;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.pet.model.Pet;
 import ru.modgy.pet.model.Sex;
 import ru.modgy.pet.model.TypeOfPet;
+import ru.modgy.report.service.DailyRoomStatsUpdater;
 import ru.modgy.room.category.dto.CategoryDto;
 import ru.modgy.room.category.model.Category;
 import ru.modgy.room.dto.RoomDto;
 import ru.modgy.room.model.Room;
+import ru.modgy.room.repository.RoomRepository;
 import ru.modgy.user.model.Roles;
 import ru.modgy.user.model.User;
 import ru.modgy.utility.UtilityService;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -73,7 +90,7 @@ class BookingServiceImplTest {
             .mainPhone("89000000000")
             .optionalPhone("89000000001")
             .build();
-    private final PetDto petDto = PetDto.builder()
+    private final PetSummaryDto petDto = PetSummaryDto.builder()
             .id(1L)
             .type(TypeOfPet.DOG)
             .name("Шарик")
@@ -173,30 +190,13 @@ class BookingServiceImplTest {
             .room(roomDto)
             .pets(List.of(petDto))
             .build();
-    private final Booking newBooking = Booking.builder()
-            .price(1000.00)
-            .amount(7000.00)
-            .prepaymentAmount(1000.00)
-            .isPrepaid(true)
-            .build();
-    private final Booking updatedBooking = Booking.builder()
-            .id(bookingId)
-            .type(TypesBooking.TYPE_BOOKING)
-            .checkInDate(checkIn)
-            .checkOutDate(checkOut)
-            .status(StatusBooking.STATUS_INITIAL)
-            .price(1000.00)
-            .amount(7000.00)
-            .prepaymentAmount(1000.00)
-            .isPrepaid(true)
-            .room(room)
-            .pets(List.of(pet))
-            .build();
     @InjectMocks
     private BookingServiceImpl bookingService;
     @Mock
     private BookingRepository bookingRepository;
     @Mock
+    private RoomRepository roomRepository;
+    @Mock
     private EntityService entityService;
     @Mock
     private UtilityService utilityService;
@@ -204,12 +204,16 @@ class BookingServiceImplTest {
     private BookingMapper bookingMapper;
     @Mock
     private OwnerMapper ownerMapper;
+    @Mock
+    private RoomOccupancyIndex roomOccupancyIndex;
+    @Mock
+    private DailyRoomStatsUpdater dailyRoomStatsUpdater;
 
     @Test
     void addBooking_whenAddBookingByBoss_thenBookingAdded() {
         when(entityService.getUserIfExists(anyLong())).thenReturn(boss);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
-        when(entityService.getRoomIfExists(anyLong())).thenReturn(room);
+        when(roomRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(room));
         when(entityService.getListOfPetsByIds(any())).thenReturn(List.of(pet));
         when(bookingMapper.toBooking(any(NewBookingDto.class))).thenReturn(booking);
         when(bookingMapper.toBookingDto(any(Booking.class))).thenReturn(bookingDto);
@@ -236,13 +240,90 @@ class BookingServiceImplTest {
 
     @Test
     void addBooking_whenAddBookingAndRoomNotFound_thenNotFoundException() {
-        doThrow(new NotFoundException(String.format("Room with id=%d is not found", user.getId())))
-                .when(entityService).getRoomIfExists(anyLong());
+        when(roomRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
                 () -> bookingService.addBooking(user.getId(), newBookingDto));
     }
 
+    @Test
+    void addBooking_whenRoomBookedByConcurrentTransaction_thenConflictException() {
+        when(roomOccupancyIndex.isRoomOccupied(anyLong(), any(), any())).thenReturn(false);
+        when(bookingMapper.toBooking(any(NewBookingDto.class))).thenReturn(booking);
+        when(roomRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(room));
+        when(bookingRepository.existsBookingsForRoomInDates(room.getId(), newBookingDto.getCheckInDate(),
+                newBookingDto.getCheckOutDate())).thenReturn(true);
+
+        assertThrows(ConflictException.class,
+                () -> bookingService.addBooking(user.getId(), newBookingDto));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void addBookings_whenAtomicAndRoomNotFound_thenNothingInserted() {
+        NewBookingDto unknownRoom = NewBookingDto.builder()
+                .type(TypesBooking.TYPE_BOOKING)
+                .roomId(2L)
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .build();
+        when(roomRepository.findAllByIdsForUpdate(any())).thenReturn(List.of(room));
+        when(entityService.getListOfPetsByIds(any())).thenReturn(List.of(pet));
+        when(bookingMapper.toBooking(any(NewBookingDto.class))).thenReturn(booking);
+
+        BookingBatchResultDto result = bookingService.addBookings(boss.getId(),
+                NewBookingBatchDto.builder().bookings(List.of(newBookingDto, unknownRoom)).build());
+
+        Assertions.assertEquals(0, result.getCreated());
+        Assertions.assertEquals(1, result.getRejected());
+        Assertions.assertEquals(BookingBatchItemStatus.NOT_CREATED, result.getItems().get(0).getStatus());
+        Assertions.assertEquals(BookingBatchItemStatus.REJECTED, result.getItems().get(1).getStatus());
+        verify(bookingRepository).saveAll(List.of());
+        verify(dailyRoomStatsUpdater).onBookingsChanged(List.of(), List.of());
+    }
+
+    @Test
+    void addBookings_whenRoomsChecked_thenLockedAndReadOnce() {
+        NewBookingDto nextBooking = NewBookingDto.builder()
+                .type(TypesBooking.TYPE_BOOKING)
+                .roomId(1L)
+                .checkInDate(checkOut.plusDays(1))
+                .checkOutDate(checkOut.plusDays(2))
+                .petIds(List.of(1L))
+                .build();
+        when(roomRepository.findAllByIdsForUpdate(any())).thenReturn(List.of(room));
+        when(entityService.getListOfPetsByIds(any())).thenReturn(List.of(pet));
+        when(bookingMapper.toBooking(any(NewBookingDto.class))).thenAnswer(invocation -> {
+            NewBookingDto item = invocation.getArgument(0);
+            return Booking.builder()
+                    .type(TypesBooking.TYPE_BOOKING)
+                    .checkInDate(item.getCheckInDate())
+                    .checkOutDate(item.getCheckOutDate())
+                    .isPrepaid(false)
+                    .build();
+        });
+        when(bookingRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            for (int i = 0; i < bookings.size(); i++) {
+                bookings.get(i).setId(10L + i);
+            }
+            return bookings;
+        });
+
+        BookingBatchResultDto result = bookingService.addBookings(boss.getId(),
+                NewBookingBatchDto.builder().bookings(List.of(newBookingDto, nextBooking)).atomic(false).build());
+
+        Assertions.assertEquals(2, result.getCreated());
+        Assertions.assertEquals(11L, result.getItems().get(1).getBookingId());
+        verify(roomRepository, times(1)).findAllByIdsForUpdate(any());
+        verify(entityService, times(1)).getListOfPetsByIds(List.of(1L));
+        verify(bookingRepository, times(1)).findActiveBookingSpansForRooms(any(), eq(checkIn), eq(checkOut.plusDays(2)));
+        verify(roomRepository, never()).findByIdForUpdate(anyLong());
+        verify(dailyRoomStatsUpdater).onBookingsChanged(eq(List.of()),
+                argThat(contributions -> contributions.size() == 2));
+        verify(dailyRoomStatsUpdater, never()).onBookingChanged(any(), any());
+    }
+
     @Test
     void getBookingById_whenGetBookingByBoss_thenReturnedBooking() {
         when(entityService.getUserIfExists(anyLong())).thenReturn(boss);
@@ -281,12 +362,10 @@ class BookingServiceImplTest {
     void updateBookingById_whenRequesterBossAndBookingFound_thenUpdateAllFields() {
         when(entityService.getUserIfExists(anyLong())).thenReturn(boss);
         when(entityService.getBookingIfExists(anyLong())).thenReturn(booking);
-        when(bookingMapper.toBooking(any(UpdateBookingDto.class))).thenReturn(newBooking);
         when(entityService.getRoomIfExists(anyLong())).thenReturn(room);
         when(entityService.getPetIfExists(anyLong())).thenReturn(pet);
         when(entityService.getListOfPetsByIds(any())).thenReturn(List.of(pet));
         when(bookingMapper.toBookingDto(any(Booking.class))).thenReturn(updatedBookingDto);
-        when(bookingRepository.save(any(Booking.class))).thenReturn(updatedBooking);
 
         BookingDto result = bookingService.updateBooking(boss.getId(), bookingId, updateBookingDto);
 
@@ -304,10 +383,22 @@ class BookingServiceImplTest {
         Assertions.assertEquals(updatedBookingDto.getRoom(), result.getRoom());
         Assertions.assertEquals(updatedBookingDto.getPets(), result.getPets());
 
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingMapper).updateBooking(updateBookingDto, booking);
+        verify(bookingRepository, times(1)).flush();
         verifyNoMoreInteractions(bookingRepository);
     }
 
+    @Test
+    void updateBookingById_whenVersionIsStale_thenPreconditionFailedException() {
+        booking.setVersion(2L);
+        when(entityService.getBookingIfExists(anyLong())).thenReturn(booking);
+        updateBookingDto.setVersions(List.of(1L));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> bookingService.updateBooking(boss.getId(), bookingId, updateBookingDto));
+        verify(bookingMapper, never()).updateBooking(any(UpdateBookingDto.class), any(Booking.class));
+    }
+
     @Test
     void updateBookingById_whenRequesterFoundAndBookingNotFound_thenNotFoundException() {
         when(entityService.getUserIfExists(anyLong())).thenReturn(boss);
@@ -401,56 +492,68 @@ class BookingServiceImplTest {
 
     @Test
     void checkRoomAvailableInDates_whenOneBlockingBooking_thenConflictException() {
-        when(bookingRepository.findBookingsForRoomInDates(anyLong(), any(), any())).thenReturn(Optional.of(List.of(booking)));
+        when(roomOccupancyIndex.isRoomOccupied(anyLong(), any(), any())).thenReturn(true);
+        when(bookingRepository.existsBookingsForRoomInDates(room.getId(), checkIn, checkOut)).thenReturn(true);
 
         assertThrows(ConflictException.class,
                 () -> bookingService.checkRoomAvailableInDates(boss.getId(), room.getId(), checkIn, checkOut));
+        verify(roomOccupancyIndex, never()).evictRoom(anyLong());
+    }
+
+    @Test
+    void checkRoomAvailableInDates_whenIndexStaleAndNoBookingInDb_thenNoConflictAndRoomEvicted() {
+        when(roomOccupancyIndex.isRoomOccupied(anyLong(), any(), any())).thenReturn(true);
+        when(bookingRepository.existsBookingsForRoomInDates(room.getId(), checkIn, checkOut)).thenReturn(false);
+
+        Assertions.assertDoesNotThrow(() -> bookingService.checkRoomAvailableInDates(boss.getId(), room.getId(), checkIn, checkOut));
+        verify(roomOccupancyIndex).evictRoom(room.getId());
     }
 
     @Test
     void checkRoomAvailableInDates_whenNoBlockingBooking_thenNoConflictException() {
-        when(bookingRepository.findBookingsForRoomInDates(anyLong(), any(), any())).thenReturn(Optional.empty());
+        when(roomOccupancyIndex.isRoomOccupied(anyLong(), any(), any())).thenReturn(false);
 
         Assertions.assertDoesNotThrow(() -> bookingService.checkRoomAvailableInDates(boss.getId(), room.getId(), checkIn, checkOut));
     }
 
     @Test
     void checkUpdateBookingRoomAvailableInDates_whenOneUpdatingBookingAndNoBlocking_thenNoConflictException() {
-        when(bookingRepository.findBookingsForRoomInDates(anyLong(), any(), any())).thenReturn(Optional.of(List.of(booking)));
+        when(roomOccupancyIndex.isRoomOccupied(anyLong(), any(), any(), eq(bookingId))).thenReturn(false);
 
         Assertions.assertDoesNotThrow(() -> bookingService.checkUpdateBookingRoomAvailableInDates(boss.getId(), room.getId(), bookingId, checkIn, checkOut));
     }
 
     @Test
     void checkUpdateBookingRoomAvailableInDates_whenOneBlockingBooking_thenConflictException() {
-        Booking blockingBooking = Booking.builder()
-                .id(2L)
-                .type(TypesBooking.TYPE_BOOKING)
-                .checkInDate(checkIn)
-                .checkOutDate(checkOut)
-                .status(StatusBooking.STATUS_INITIAL)
-                .price(0.0)
-                .amount(0.0)
-                .prepaymentAmount(0.0)
-                .isPrepaid(false)
-                .room(room)
-                .pets(List.of(pet))
-                .build();
-        when(bookingRepository.findBookingsForRoomInDates(anyLong(), any(), any())).thenReturn(Optional.of(List.of(booking, blockingBooking)));
+        when(roomOccupancyIndex.isRoomOccupied(anyLong(), any(), any(), eq(bookingId))).thenReturn(true);
+        when(bookingRepository.existsOtherBookingsForRoomInDates(room.getId(), bookingId, checkIn, checkOut))
+                .thenReturn(true);
 
         assertThrows(ConflictException.class,
-                () -> bookingService.checkRoomAvailableInDates(boss.getId(), room.getId(), checkIn, checkOut));
+                () -> bookingService.checkUpdateBookingRoomAvailableInDates(boss.getId(), room.getId(), bookingId, checkIn, checkOut));
+    }
+
+    @Test
+    void checkUpdateBookingRoomAvailableInDates_whenIndexStaleAndNoBookingInDb_thenNoConflictAndRoomEvicted() {
+        when(roomOccupancyIndex.isRoomOccupied(anyLong(), any(), any(), eq(bookingId))).thenReturn(true);
+        when(bookingRepository.existsOtherBookingsForRoomInDates(room.getId(), bookingId, checkIn, checkOut))
+                .thenReturn(false);
+
+        Assertions.assertDoesNotThrow(() -> bookingService.checkUpdateBookingRoomAvailableInDates(boss.getId(), room.getId(), bookingId, checkIn, checkOut));
+        verify(roomOccupancyIndex).evictRoom(room.getId());
     }
 
     @Test
-    void findAllBookingsInDates_whenOneBooking_thenReturnedListOfBooking() {
-        when(bookingRepository.findAllBookingsInDates(any(), any())).thenReturn(Optional.of(List.of(booking)));
+    void findAllBookingsInDates_whenOneBooking_thenReturnedPageOfBooking() {
+        when(bookingRepository.findBookingIdsInDates(any(), any(), any(), any(), any())).thenReturn(List.of(booking.getId()));
+        when(bookingRepository.findAllBookingsByIds(List.of(booking.getId()))).thenReturn(List.of(booking));
         when(bookingMapper.toBookingDto(booking)).thenReturn(bookingDto);
-        when(entityService.getListOfPetsByIds(any())).thenReturn(List.of(pet));
 
-        List<BookingDto> result = bookingService.findAllBookingsInDates(boss.getId(), checkIn, checkOut);
+        BookingPageDto page = bookingService.findAllBookingsInDates(boss.getId(), checkIn, checkOut, null, 20);
+        List<BookingDto> result = page.getBookings();
 
         Assertions.assertNotNull(result);
+        Assertions.assertNull(page.getNextCursor());
         Assertions.assertEquals(1L, result.get(0).getId());
         Assertions.assertEquals(bookingDto.getType(), result.get(0).getType());
         Assertions.assertEquals(bookingDto.getCheckInDate(), result.get(0).getCheckInDate());
@@ -464,19 +567,22 @@ class BookingServiceImplTest {
         Assertions.assertEquals(bookingDto.getRoom(), result.get(0).getRoom());
         Assertions.assertEquals(bookingDto.getPets(), result.get(0).getPets());
 
-        verify(bookingRepository, times(1)).findAllBookingsInDates(any(), any());
+        verify(bookingRepository, times(1)).findBookingIdsInDates(any(), any(), any(), any(), any());
+        verify(bookingRepository, times(1)).findAllBookingsByIds(List.of(booking.getId()));
         verifyNoMoreInteractions(bookingRepository);
     }
 
     @Test
-    void findAllBookingsByPet_whenOneBooking_thenReturnedListOfBooking() {
-        when(bookingRepository.findAllBookingsByPet(any())).thenReturn(Optional.of(List.of(booking)));
+    void findAllBookingsByPet_whenOneBooking_thenReturnedPageOfBooking() {
+        when(bookingRepository.findBookingIdsByPet(any(), any(), any(), any())).thenReturn(List.of(booking.getId()));
+        when(bookingRepository.findAllBookingsByIds(List.of(booking.getId()))).thenReturn(List.of(booking));
         when(bookingMapper.toBookingDto(booking)).thenReturn(bookingDto);
-        when(entityService.getListOfPetsByIds(any())).thenReturn(List.of(pet));
 
-        List<BookingDto> result = bookingService.findAllBookingsByPet(boss.getId(), pet.getId());
+        BookingPageDto page = bookingService.findAllBookingsByPet(boss.getId(), pet.getId(), null, 20);
+        List<BookingDto> result = page.getBookings();
 
         Assertions.assertNotNull(result);
+        Assertions.assertNull(page.getNextCursor());
         Assertions.assertEquals(1L, result.get(0).getId());
         Assertions.assertEquals(bookingDto.getType(), result.get(0).getType());
         Assertions.assertEquals(bookingDto.getCheckInDate(), result.get(0).getCheckInDate());
@@ -490,19 +596,22 @@ class BookingServiceImplTest {
         Assertions.assertEquals(bookingDto.getRoom(), result.get(0).getRoom());
         Assertions.assertEquals(bookingDto.getPets(), result.get(0).getPets());
 
-        verify(bookingRepository, times(1)).findAllBookingsByPet(any());
+        verify(bookingRepository, times(1)).findBookingIdsByPet(any(), any(), any(), any());
+        verify(bookingRepository, times(1)).findAllBookingsByIds(List.of(booking.getId()));
         verifyNoMoreInteractions(bookingRepository);
     }
 
     @Test
-    void findAllBookingsByOwner_whenOneBooking_thenReturnedListOfBooking() {
-        when(bookingRepository.findAllBookingsByOwner(any())).thenReturn(Optional.of(List.of(booking)));
+    void findAllBookingsByOwner_whenOneBooking_thenReturnedPageOfBooking() {
+        when(bookingRepository.findBookingIdsByOwner(any(), any(), any(), any())).thenReturn(List.of(booking.getId()));
+        when(bookingRepository.findAllBookingsByIds(List.of(booking.getId()))).thenReturn(List.of(booking));
         when(bookingMapper.toBookingDto(booking)).thenReturn(bookingDto);
-        when(entityService.getListOfPetsByIds(any())).thenReturn(List.of(pet));
 
-        List<BookingDto> result = bookingService.findAllBookingsByOwner(boss.getId(), owner.getId());
+        BookingPageDto page = bookingService.findAllBookingsByOwner(boss.getId(), owner.getId(), null, 20);
+        List<BookingDto> result = page.getBookings();
 
         Assertions.assertNotNull(result);
+        Assertions.assertNull(page.getNextCursor());
         Assertions.assertEquals(1L, result.get(0).getId());
         Assertions.assertEquals(bookingDto.getType(), result.get(0).getType());
         Assertions.assertEquals(bookingDto.getCheckInDate(), result.get(0).getCheckInDate());
@@ -516,7 +625,92 @@ class BookingServiceImplTest {
         Assertions.assertEquals(bookingDto.getRoom(), result.get(0).getRoom());
         Assertions.assertEquals(bookingDto.getPets(), result.get(0).getPets());
 
-        verify(bookingRepository, times(1)).findAllBookingsByOwner(any());
+        verify(bookingRepository, times(1)).findBookingIdsByOwner(any(), any(), any(), any());
+        verify(bookingRepository, times(1)).findAllBookingsByIds(List.of(booking.getId()));
+        verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void findAllBookingsByOwner_whenMoreBookingsThanPageSize_thenReturnedNextCursor() {
+        BookingCursor cursor = new BookingCursor(checkIn.minusDays(1), 5L);
+        when(bookingRepository.findBookingIdsByOwner(eq(owner.getId()), eq(cursor.checkInDate()), eq(cursor.id()), any()))
+                .thenReturn(List.of(booking.getId(), booking.getId() + 1));
+        when(bookingRepository.findAllBookingsByIds(List.of(booking.getId()))).thenReturn(List.of(booking));
+        when(bookingMapper.toBookingDto(booking)).thenReturn(bookingDto);
+
+        BookingPageDto page = bookingService.findAllBookingsByOwner(boss.getId(), owner.getId(), cursor.encode(), 1);
+
+        Assertions.assertEquals(1, page.getBookings().size());
+        Assertions.assertEquals(BookingCursor.of(booking), BookingCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void findAllBookingsByOwner_whenCursorNotValid_thenBadRequestException() {
+        assertThrows(BadRequestException.class,
+                () -> bookingService.findAllBookingsByOwner(boss.getId(), owner.getId(), "not a cursor", 1));
+    }
+
+    @Test
+    void getAvailabilityMatrix_whenOneRoomWithBooking_thenReturnedRoomsWithSpans() {
+        Room emptyRoom = Room.builder()
+                .id(2L)
+                .number("empty room")
+                .category(room.getCategory())
+                .isVisible(true)
+                .build();
+        BookingSpan span = new BookingSpan(room.getId(), bookingId, TypesBooking.TYPE_BOOKING,
+                StatusBooking.STATUS_INITIAL, checkIn, checkOut);
+        OccupancySpanDto spanDto = OccupancySpanDto.builder()
+                .bookingId(bookingId)
+                .type(TypesBooking.TYPE_BOOKING)
+                .status(StatusBooking.STATUS_INITIAL)
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .build();
+        when(roomRepository.getAllRooms(true)).thenReturn(Optional.of(List.of(room, emptyRoom)));
+        when(bookingRepository.findBookingSpansInDates(checkIn, checkOut, null)).thenReturn(List.of(span));
+        when(bookingMapper.toOccupancySpanDto(span)).thenReturn(spanDto);
+
+        AvailabilityMatrixDto result = bookingService.getAvailabilityMatrix(boss.getId(), checkIn, checkOut, null);
+
+        Assertions.assertEquals(2, result.getRooms().size());
+        Assertions.assertEquals(room.getId(), result.getRooms().get(0).getRoomId());
+        Assertions.assertEquals(List.of(spanDto), result.getRooms().get(0).getOccupancy());
+        Assertions.assertEquals(emptyRoom.getId(), result.getRooms().get(1).getRoomId());
+        Assertions.assertTrue(result.getRooms().get(1).getOccupancy().isEmpty());
+
+        verify(bookingRepository, times(1)).findBookingSpansInDates(checkIn, checkOut, null);
+        verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void findAllShortBookingsInDates_whenBookingWithTwoPets_thenReturnedOneBookingWithTwoPets() {
+        BookingShortRow firstRow = new BookingShortRow(bookingId, TypesBooking.TYPE_BOOKING,
+                StatusBooking.STATUS_INITIAL, checkIn, checkOut, room.getId(), room.getNumber(),
+                1L, "first", 1L, "Ivanov", "Ivan");
+        BookingShortRow secondRow = new BookingShortRow(bookingId, TypesBooking.TYPE_BOOKING,
+                StatusBooking.STATUS_INITIAL, checkIn, checkOut, room.getId(), room.getNumber(),
+                2L, "second", 1L, "Ivanov", "Ivan");
+        when(bookingRepository.findAllBookingShortRowsInDates(checkIn, checkOut))
+                .thenReturn(List.of(firstRow, secondRow));
+        when(bookingMapper.toBookingShortDto(any(BookingShortRow.class)))
+                .thenAnswer(invocation -> BookingShortDto.builder()
+                        .id(bookingId)
+                        .pets(new ArrayList<>())
+                        .build());
+        when(bookingMapper.toBookingPetShortDto(any(BookingShortRow.class)))
+                .thenAnswer(invocation -> BookingPetShortDto.builder()
+                        .id(invocation.<BookingShortRow>getArgument(0).petId())
+                        .build());
+
+        List<BookingShortDto> result = bookingService.findAllShortBookingsInDates(boss.getId(), checkIn, checkOut);
+
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals(bookingId, result.get(0).getId());
+        Assertions.assertEquals(2, result.get(0).getPets().size());
+        Assertions.assertEquals(2L, result.get(0).getPets().get(1).getId());
+
+        verify(bookingRepository, times(1)).findAllBookingShortRowsInDates(checkIn, checkOut);
         verifyNoMoreInteractions(bookingRepository);
     }
 }
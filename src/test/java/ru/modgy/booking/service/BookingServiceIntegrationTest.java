@@ -8,16 +8,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.modgy.booking.dto.AvailabilityMatrixDto;
+import ru.modgy.booking.dto.BookingBatchItemDto;
+import ru.modgy.booking.dto.BookingBatchResultDto;
 import ru.modgy.booking.dto.BookingDto;
+import ru.modgy.booking.dto.BookingPageDto;
+import ru.modgy.booking.dto.BookingShortDto;
+import ru.modgy.booking.dto.RoomOccupancyDto;
+import ru.modgy.booking.dto.NewBookingBatchDto;
 import ru.modgy.booking.dto.NewBookingDto;
 import ru.modgy.booking.dto.UpdateBookingDto;
 import ru.modgy.booking.model.Booking;
+import ru.modgy.booking.model.BookingBatchItemStatus;
 import ru.modgy.booking.model.StatusBooking;
 import ru.modgy.booking.model.TypesBooking;
 import ru.modgy.exception.ConflictException;
 import ru.modgy.exception.NotFoundException;
+import ru.modgy.exception.PreconditionFailedException;
 import ru.modgy.owner.model.Owner;
-import ru.modgy.pet.dto.PetDto;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.pet.model.Pet;
 import ru.modgy.pet.model.Sex;
 import ru.modgy.pet.model.TypeOfPet;
@@ -34,11 +43,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.modgy.metrics.QueryAssertions.assertMaxQueries;
 
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -105,7 +116,7 @@ class BookingServiceIntegrationTest {
             .categoryDto(new CategoryDto(1L, "name", "description"))
             .isVisible(true)
             .build();
-    private final PetDto petDto = PetDto.builder()
+    private final PetSummaryDto petDto = PetSummaryDto.builder()
             .id(1L)
             .type(TypeOfPet.DOG)
             .name("Шарик")
@@ -168,6 +179,90 @@ class BookingServiceIntegrationTest {
         assertThat(result.getPets().size(), equalTo(1));
     }
 
+    @Test
+    void addBookings_whenAtomicAndItemsOverlap_thenNothingCreated() {
+        em.persist(requesterAdmin);
+        em.persist(category);
+        em.persist(room);
+        em.persist(owner);
+        em.persist(pet);
+        em.flush();
+        NewBookingBatchDto batchDto = NewBookingBatchDto.builder()
+                .bookings(List.of(newBatchItem(checkIn, checkOut), newBatchItem(checkIn, checkOut.plusDays(2))))
+                .build();
+
+        BookingBatchResultDto result = service.addBookings(requesterAdmin.getId(), batchDto);
+
+        assertThat(result.getCreated(), equalTo(0));
+        assertThat(result.getRejected(), equalTo(1));
+        assertThat(result.getItems().get(0).getStatus(), equalTo(BookingBatchItemStatus.NOT_CREATED));
+        assertThat(result.getItems().get(0).getBookingId(), nullValue());
+        assertThat(result.getItems().get(1).getStatus(), equalTo(BookingBatchItemStatus.REJECTED));
+        assertThat(result.getItems().get(1).getError(), notNullValue());
+        assertThat(em.createQuery("SELECT COUNT(b) FROM Booking b", Long.class).getSingleResult(), equalTo(0L));
+    }
+
+    @Test
+    void addBookings_whenNotAtomic_thenValidItemsCreated() {
+        em.persist(requesterAdmin);
+        em.persist(category);
+        em.persist(room);
+        em.persist(owner);
+        em.persist(pet);
+        em.persist(booking);
+        em.flush();
+        NewBookingDto unknownPet = newBatchItem(checkIn.plusDays(10), checkOut.plusDays(10));
+        unknownPet.setPetIds(List.of(pet.getId() + 1));
+        NewBookingBatchDto batchDto = NewBookingBatchDto.builder()
+                .bookings(List.of(
+                        newBatchItem(checkOut.plusDays(1), checkOut.plusDays(3)),
+                        newBatchItem(checkIn, checkOut),
+                        unknownPet,
+                        newBatchItem(checkOut.plusDays(4), checkOut.plusDays(5))))
+                .atomic(false)
+                .build();
+
+        BookingBatchResultDto result = service.addBookings(requesterAdmin.getId(), batchDto);
+
+        assertThat(result.getCreated(), equalTo(2));
+        assertThat(result.getRejected(), equalTo(2));
+        assertThat(result.getItems(), hasSize(4));
+        assertThat(result.getItems().get(1).getStatus(), equalTo(BookingBatchItemStatus.REJECTED));
+        assertThat(result.getItems().get(2).getStatus(), equalTo(BookingBatchItemStatus.REJECTED));
+        BookingBatchItemDto created = result.getItems().get(3);
+        assertThat(created.getStatus(), equalTo(BookingBatchItemStatus.CREATED));
+
+        BookingDto addedBooking = service.getBookingById(requesterAdmin.getId(), created.getBookingId());
+        assertThat(addedBooking.getCheckInDate(), equalTo(checkOut.plusDays(4)));
+        assertThat(addedBooking.getStatus(), equalTo(StatusBooking.STATUS_INITIAL));
+        assertThat(addedBooking.getRoom().getId(), equalTo(room.getId()));
+        assertThat(addedBooking.getPets(), hasSize(1));
+    }
+
+    @Test
+    void addBookings_whenSeveralItems_thenInsertsBatched() {
+        em.persist(requesterAdmin);
+        em.persist(category);
+        em.persist(room);
+        em.persist(owner);
+        em.persist(pet);
+        em.flush();
+        List<NewBookingDto> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(newBatchItem(checkIn.plusDays(2L * i), checkOut.plusDays(2L * i)));
+        }
+
+        // проверки пакета и daily_room_stats не зависят от числа бронирований: дни всех бронирований
+        // записываются одним пакетом upsert
+        BookingBatchResultDto result = assertMaxQueries(4, () -> service.addBookings(requesterAdmin.getId(),
+                NewBookingBatchDto.builder().bookings(items).build()));
+
+        assertThat(result.getCreated(), equalTo(5));
+        assertThat(result.getItems().stream().map(BookingBatchItemDto::getBookingId).distinct().count(), equalTo(5L));
+        // бронирования и строки pets_in_bookings вставляются двумя пакетами, а не по строке
+        assertMaxQueries(2, () -> em.flush());
+    }
+
     @Test
     void getBookingById() {
         em.persist(requesterAdmin);
@@ -193,6 +288,22 @@ class BookingServiceIntegrationTest {
         assertThat(result.getPets().size(), equalTo(1));
     }
 
+    @Test
+    void getBookingById_whenNotInPersistenceContext_thenQueriesBounded() {
+        em.persist(requesterAdmin);
+        em.persist(category);
+        em.persist(room);
+        em.persist(owner);
+        em.persist(pet);
+        em.persist(booking);
+        em.flush();
+        em.clear();
+
+        BookingDto result = assertMaxQueries(5, () -> service.getBookingById(requesterAdmin.getId(), booking.getId()));
+
+        assertThat(result.getPets().get(0).getOwnerShortDto(), notNullValue());
+    }
+
     @Test
     void updateBooking() {
         List<Pet> petList = new ArrayList<>();
@@ -222,6 +333,27 @@ class BookingServiceIntegrationTest {
         assertThat(result.getPets().size(), equalTo(1));
     }
 
+    @Test
+    void updateBooking_whenVersionPassed_thenVersionIncrementedAndStaleVersionRejected() {
+        booking.setPets(new ArrayList<>(List.of(pet)));
+        em.persist(requesterAdmin);
+        em.persist(category);
+        em.persist(room);
+        em.persist(owner);
+        em.persist(pet);
+        em.persist(booking);
+        em.flush();
+        Long version = booking.getVersion();
+
+        BookingDto result = service.updateBooking(requesterAdmin.getId(), booking.getId(),
+                UpdateBookingDto.builder().comment("first edit").versions(List.of(version)).build());
+
+        assertThat(result.getVersion(), equalTo(version + 1));
+        assertThrows(PreconditionFailedException.class,
+                () -> service.updateBooking(requesterAdmin.getId(), booking.getId(),
+                        UpdateBookingDto.builder().comment("second edit").versions(List.of(version)).build()));
+    }
+
     @Test
     void deleteBookingById() {
         em.persist(requesterAdmin);
@@ -370,7 +502,7 @@ class BookingServiceIntegrationTest {
         em.persist(booking);
 
         List<BookingDto> result = service.findAllBookingsInDates(
-                requesterAdmin.getId(), checkIn, checkOut);
+                requesterAdmin.getId(), checkIn, checkOut, null, 20).getBookings();
 
         assertThat(result, hasSize(1));
         assertThat(result.get(0).getId(), notNullValue());
@@ -387,6 +519,30 @@ class BookingServiceIntegrationTest {
         assertThat(result.get(0).getPets().size(), equalTo(1));
     }
 
+    @Test
+    void findAllShortBookingsInDates() {
+        em.persist(requesterAdmin);
+        em.persist(category);
+        em.persist(room);
+        em.persist(owner);
+        em.persist(pet);
+        em.persist(booking);
+
+        List<BookingShortDto> result = service.findAllShortBookingsInDates(
+                requesterAdmin.getId(), checkIn, checkOut);
+
+        assertThat(result, hasSize(1));
+        assertThat(result.get(0).getId(), equalTo(booking.getId()));
+        assertThat(result.get(0).getType(), equalTo(bookingDto.getType()));
+        assertThat(result.get(0).getCheckInDate(), equalTo(bookingDto.getCheckInDate()));
+        assertThat(result.get(0).getCheckOutDate(), equalTo(bookingDto.getCheckOutDate()));
+        assertThat(result.get(0).getStatus(), equalTo(bookingDto.getStatus()));
+        assertThat(result.get(0).getRoomNumber(), equalTo(room.getNumber()));
+        assertThat(result.get(0).getPets(), hasSize(1));
+        assertThat(result.get(0).getPets().get(0).getName(), equalTo(pet.getName()));
+        assertThat(result.get(0).getPets().get(0).getOwnerLastName(), equalTo(owner.getLastName()));
+    }
+
     @Test
     void findAllBookingsByPet() {
         em.persist(requesterAdmin);
@@ -397,7 +553,7 @@ class BookingServiceIntegrationTest {
         em.persist(booking);
 
         List<BookingDto> result = service.findAllBookingsByPet(
-                requesterAdmin.getId(), pet.getId());
+                requesterAdmin.getId(), pet.getId(), null, 20).getBookings();
 
         assertThat(result, hasSize(1));
         assertThat(result.get(0).getId(), notNullValue());
@@ -424,7 +580,7 @@ class BookingServiceIntegrationTest {
         em.persist(booking);
 
         List<BookingDto> result = service.findAllBookingsByOwner(
-                requesterAdmin.getId(), owner.getId());
+                requesterAdmin.getId(), owner.getId(), null, 20).getBookings();
 
         assertThat(result, hasSize(1));
         assertThat(result.get(0).getId(), notNullValue());
@@ -440,4 +596,90 @@ class BookingServiceIntegrationTest {
         assertThat(result.get(0).getRoom().getNumber(), equalTo(bookingDto.getRoom().getNumber()));
         assertThat(result.get(0).getPets().size(), equalTo(1));
     }
+
+    @Test
+    void findAllBookingsByOwner_whenNotInPersistenceContext_thenQueriesBounded() {
+        em.persist(requesterAdmin);
+        em.persist(category);
+        em.persist(room);
+        em.persist(owner);
+        em.persist(pet);
+        em.persist(booking);
+        em.flush();
+        em.clear();
+
+        BookingPageDto result = assertMaxQueries(4,
+                () -> service.findAllBookingsByOwner(requesterAdmin.getId(), owner.getId(), null, 20));
+
+        assertThat(result.getBookings(), hasSize(1));
+    }
+
+    @Test
+    void findAllBookingsByOwner_whenMoreBookingsThanPageSize_thenReturnedPagesByCursor() {
+        em.persist(requesterAdmin);
+        em.persist(category);
+        em.persist(room);
+        em.persist(owner);
+        em.persist(pet);
+        em.persist(booking);
+        List<Long> bookingIds = new ArrayList<>(List.of(booking.getId()));
+        for (int i = 1; i < 3; i++) {
+            Booking nextBooking = Booking.builder()
+                    .type(TypesBooking.TYPE_BOOKING)
+                    .checkInDate(checkIn.plusDays(i * 2L))
+                    .checkOutDate(checkOut.plusDays(i * 2L))
+                    .status(StatusBooking.STATUS_INITIAL)
+                    .price(0.0)
+                    .amount(0.0)
+                    .prepaymentAmount(0.0)
+                    .isPrepaid(false)
+                    .room(room)
+                    .pets(List.of(pet))
+                    .build();
+            em.persist(nextBooking);
+            bookingIds.add(nextBooking.getId());
+        }
+
+        BookingPageDto firstPage = service.findAllBookingsByOwner(requesterAdmin.getId(), owner.getId(), null, 2);
+        BookingPageDto secondPage = service.findAllBookingsByOwner(
+                requesterAdmin.getId(), owner.getId(), firstPage.getNextCursor(), 2);
+
+        assertThat(firstPage.getBookings().stream().map(BookingDto::getId).toList(),
+                equalTo(bookingIds.subList(0, 2)));
+        assertThat(firstPage.getNextCursor(), notNullValue());
+        assertThat(secondPage.getBookings().stream().map(BookingDto::getId).toList(),
+                equalTo(bookingIds.subList(2, 3)));
+        assertThat(secondPage.getNextCursor(), nullValue());
+    }
+
+    @Test
+    void getAvailabilityMatrix() {
+        em.persist(requesterAdmin);
+        em.persist(category);
+        em.persist(room);
+        em.persist(owner);
+        em.persist(pet);
+        em.persist(booking);
+
+        AvailabilityMatrixDto result = service.getAvailabilityMatrix(
+                requesterAdmin.getId(), checkIn, checkOut, category.getId());
+
+        assertThat(result.getRooms(), hasSize(1));
+        RoomOccupancyDto roomOccupancy = result.getRooms().get(0);
+        assertThat(roomOccupancy.getRoomId(), equalTo(room.getId()));
+        assertThat(roomOccupancy.getOccupancy(), hasSize(1));
+        assertThat(roomOccupancy.getOccupancy().get(0).getBookingId(), equalTo(booking.getId()));
+        assertThat(roomOccupancy.getOccupancy().get(0).getCheckInDate(), equalTo(checkIn));
+        assertThat(roomOccupancy.getOccupancy().get(0).getCheckOutDate(), equalTo(checkOut));
+    }
+
+    private NewBookingDto newBatchItem(LocalDate checkInDate, LocalDate checkOutDate) {
+        return NewBookingDto.builder()
+                .type(TypesBooking.TYPE_BOOKING)
+                .roomId(room.getId())
+                .checkInDate(checkInDate)
+                .checkOutDate(checkOutDate)
+                .petIds(List.of(pet.getId()))
+                .build();
+    }
 }
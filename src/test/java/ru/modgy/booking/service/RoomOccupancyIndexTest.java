@@ -0,0 +1,132 @@
+package ru.modgy.booking.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.modgy.booking.model.Booking;
+import ru.modgy.booking.model.BookingInterval;
+import ru.modgy.booking.model.StatusBooking;
+import ru.modgy.booking.repository.BookingRepository;
+import ru.modgy.room.model.Room;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomOccupancyIndexTest {
+    private final Long roomId = 1L;
+    private final LocalDate checkIn = LocalDate.of(2024, 1, 10);
+    private final LocalDate checkOut = LocalDate.of(2024, 1, 15);
+    private final Room room = Room.builder().id(roomId).build();
+    private RoomOccupancyIndex index;
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @BeforeEach
+    void setUp() {
+        index = new RoomOccupancyIndex(bookingRepository, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void isRoomOccupied_whenRoomNotLoaded_thenLoadedFromRepositoryOnce() {
+        when(bookingRepository.findActiveBookingIntervalsForRoom(roomId))
+                .thenReturn(List.of(new BookingInterval(1L, checkIn, checkOut)));
+
+        Assertions.assertTrue(index.isRoomOccupied(roomId, checkIn.plusDays(1), checkIn.plusDays(2)));
+        Assertions.assertFalse(index.isRoomOccupied(roomId, checkOut.plusDays(1), checkOut.plusDays(2)));
+
+        verify(bookingRepository, times(1)).findActiveBookingIntervalsForRoom(roomId);
+    }
+
+    @Test
+    void isRoomOccupied_whenDatesTouchExistingBooking_thenSameResultAsRepositoryQuery() {
+        when(bookingRepository.findActiveBookingIntervalsForRoom(roomId))
+                .thenReturn(List.of(new BookingInterval(1L, checkIn, checkOut)));
+
+        Assertions.assertFalse(index.isRoomOccupied(roomId, checkOut, checkOut.plusDays(3)));
+        Assertions.assertFalse(index.isRoomOccupied(roomId, checkIn.minusDays(3), checkIn));
+        Assertions.assertTrue(index.isRoomOccupied(roomId, checkIn, checkIn));
+        Assertions.assertTrue(index.isRoomOccupied(roomId, checkOut, checkOut));
+        Assertions.assertTrue(index.isRoomOccupied(roomId, checkIn.minusDays(1), checkOut.plusDays(1)));
+    }
+
+    @Test
+    void isRoomOccupied_whenBookingExcluded_thenRoomAvailable() {
+        when(bookingRepository.findActiveBookingIntervalsForRoom(roomId))
+                .thenReturn(List.of(new BookingInterval(1L, checkIn, checkOut)));
+
+        Assertions.assertFalse(index.isRoomOccupied(roomId, checkIn, checkOut, 1L));
+    }
+
+    @Test
+    void onBookingSaved_whenBookingAddedUpdatedAndCancelled_thenIndexUpdatedWithoutRepository() {
+        when(bookingRepository.findActiveBookingIntervalsForRoom(roomId)).thenReturn(List.of());
+        Assertions.assertFalse(index.isRoomOccupied(roomId, checkIn, checkOut));
+
+        Booking booking = Booking.builder()
+                .id(2L)
+                .room(room)
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .status(StatusBooking.STATUS_INITIAL)
+                .build();
+        index.onBookingSaved(booking);
+        Assertions.assertTrue(index.isRoomOccupied(roomId, checkIn, checkOut));
+
+        booking.setCheckInDate(checkOut.plusDays(10));
+        booking.setCheckOutDate(checkOut.plusDays(12));
+        index.onBookingSaved(booking);
+        Assertions.assertFalse(index.isRoomOccupied(roomId, checkIn, checkOut));
+        Assertions.assertTrue(index.isRoomOccupied(roomId, checkOut.plusDays(11), checkOut.plusDays(11)));
+
+        booking.setStatus(StatusBooking.STATUS_CANCELLED);
+        index.onBookingSaved(booking);
+        Assertions.assertFalse(index.isRoomOccupied(roomId, checkOut.plusDays(11), checkOut.plusDays(11)));
+
+        verify(bookingRepository, times(1)).findActiveBookingIntervalsForRoom(roomId);
+    }
+
+    @Test
+    void onBookingDeleted_whenBookingDeleted_thenRoomAvailable() {
+        when(bookingRepository.findActiveBookingIntervalsForRoom(roomId))
+                .thenReturn(List.of(new BookingInterval(1L, checkIn, checkOut)));
+        Assertions.assertTrue(index.isRoomOccupied(roomId, checkIn, checkOut));
+
+        index.onBookingDeleted(1L);
+
+        Assertions.assertFalse(index.isRoomOccupied(roomId, checkIn, checkOut));
+        verify(bookingRepository, times(1)).findActiveBookingIntervalsForRoom(roomId);
+    }
+
+    @Test
+    void isRoomOccupied_whenLoadedRoomExpired_thenReloadedFromRepository() {
+        index = new RoomOccupancyIndex(bookingRepository, Duration.ZERO);
+        when(bookingRepository.findActiveBookingIntervalsForRoom(roomId))
+                .thenReturn(List.of(new BookingInterval(1L, checkIn, checkOut)))
+                .thenReturn(List.of());
+
+        Assertions.assertTrue(index.isRoomOccupied(roomId, checkIn, checkOut));
+        Assertions.assertFalse(index.isRoomOccupied(roomId, checkIn, checkOut));
+
+        verify(bookingRepository, times(2)).findActiveBookingIntervalsForRoom(roomId);
+    }
+
+    @Test
+    void evictRoom_whenRoomEvicted_thenReloadedFromRepository() {
+        when(bookingRepository.findActiveBookingIntervalsForRoom(roomId))
+                .thenReturn(List.of(new BookingInterval(1L, checkIn, checkOut)))
+                .thenReturn(List.of());
+        Assertions.assertTrue(index.isRoomOccupied(roomId, checkIn, checkOut));
+
+        index.evictRoom(roomId);
+
+        Assertions.assertFalse(index.isRoomOccupied(roomId, checkIn, checkOut));
+        verify(bookingRepository, times(2)).findActiveBookingIntervalsForRoom(roomId);
+    }
+}
@@ -0,0 +1,137 @@
+package ru.modgy.export.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.modgy.booking.model.Booking;
+import ru.modgy.booking.model.StatusBooking;
+import ru.modgy.booking.model.TypesBooking;
+import ru.modgy.export.writer.ExportFormat;
+import ru.modgy.owner.model.Owner;
+import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.Sex;
+import ru.modgy.pet.model.TypeOfPet;
+import ru.modgy.room.category.model.Category;
+import ru.modgy.room.model.Room;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportServiceIntegrationTest {
+    private final LocalDate checkIn = LocalDate.of(2030, 3, 1);
+    private final LocalDate checkOut = LocalDate.of(2030, 3, 5);
+    private final Owner owner = Owner.builder()
+            .lastName("Ivanov")
+            .firstName("Ivan")
+            .mainPhone("89000000088")
+            .comment("comment, with \"quotes\"")
+            .registrationDate(LocalDateTime.of(2024, 1, 1, 10, 0))
+            .build();
+    private final Pet pet = Pet.builder()
+            .owner(owner)
+            .type(TypeOfPet.DOG)
+            .name("Шарик")
+            .breed("Spaniel")
+            .birthDate(LocalDate.of(2023, 1, 1))
+            .sex(Sex.FEMALE)
+            .build();
+    private final Category category = Category.builder()
+            .name("Export room")
+            .build();
+    private final Room room = Room.builder()
+            .area(5.0)
+            .number("export room")
+            .category(category)
+            .isVisible(true)
+            .build();
+    private final Booking booking = Booking.builder()
+            .type(TypesBooking.TYPE_BOOKING)
+            .checkInDate(checkIn)
+            .checkOutDate(checkOut)
+            .status(StatusBooking.STATUS_CONFIRMED)
+            .price(2500.0)
+            .amount(12500000.0)
+            .prepaymentAmount(0.0)
+            .isPrepaid(false)
+            .room(room)
+            .pets(List.of(pet))
+            .build();
+    private final EntityManager em;
+    private final ExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        em.persist(owner);
+        em.persist(pet);
+        em.persist(category);
+        em.persist(room);
+        em.persist(booking);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void exportOwners_whenCsv_thenHeaderAndEscapedValues() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportOwners(1L, ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertTrue(lines.get(0).startsWith("﻿id,lastName,firstName,middleName,mainPhone"));
+        assertTrue(lines.contains(owner.getId() + ",Ivanov,Ivan,,89000000088,,,,,,\"comment, with \"\"quotes\"\"\",," +
+                                  "2024-01-01T10:00"));
+    }
+
+    @Test
+    void exportPets_whenJson_thenArrayOfRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportPets(1L, ExportFormat.JSON, out);
+
+        JsonNode rows = objectMapper.readTree(out.toByteArray());
+        assertTrue(rows.isArray());
+        JsonNode row = rows.get(rows.size() - 1);
+        assertEquals(pet.getId(), row.get("id").asLong());
+        assertEquals(owner.getId(), row.get("ownerId").asLong());
+        assertEquals("Шарик", row.get("name").asText());
+    }
+
+    @Test
+    void exportBookings_whenInPeriod_thenAmountsWithoutExponent() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportBookings(1L, checkIn, checkIn, ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals(booking.getId() + ",TYPE_BOOKING,STATUS_CONFIRMED,2030-03-01,2030-03-05," + room.getId() +
+                     ",export room,1,2500.0,12500000,0.0,false", lines.get(1));
+    }
+
+    @Test
+    void exportBookings_whenOutsidePeriod_thenHeaderOnly() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportBookings(1L, checkOut.plusDays(1), checkOut.plusDays(10), ExportFormat.CSV, out);
+
+        assertEquals(1, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+}
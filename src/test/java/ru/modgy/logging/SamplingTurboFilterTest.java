@@ -0,0 +1,58 @@
+package ru.modgy.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SamplingTurboFilterTest {
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final Logger serviceLogger = loggerContext.getLogger("ru.modgy.booking.service.BookingServiceImpl");
+    private final SamplingTurboFilter filter = new SamplingTurboFilter();
+
+    @BeforeEach
+    void setUp() {
+        filter.setRate(10);
+    }
+
+    @Test
+    void decide_whenInfoFromService_thenEveryRateEventPassed() {
+        long passed = IntStream.range(0, 100)
+                .mapToObj(i -> filter.decide(null, serviceLogger, Level.INFO, "BookingService: getBookingById", null,
+                        null))
+                .filter(reply -> reply == FilterReply.NEUTRAL)
+                .count();
+
+        assertEquals(10, passed);
+    }
+
+    @Test
+    void decide_whenDifferentTemplates_thenSampledSeparately() {
+        filter.decide(null, serviceLogger, Level.INFO, "BookingService: getBookingById", null, null);
+
+        assertEquals(FilterReply.NEUTRAL,
+                filter.decide(null, serviceLogger, Level.INFO, "BookingService: addBooking", null, null));
+        assertEquals(FilterReply.DENY,
+                filter.decide(null, serviceLogger, Level.INFO, "BookingService: getBookingById", null, null));
+    }
+
+    @Test
+    void decide_whenWarn_thenNeverSampled() {
+        IntStream.range(0, 5).forEach(i -> assertEquals(FilterReply.NEUTRAL,
+                filter.decide(null, serviceLogger, Level.WARN, "BookingService: warning", null, null)));
+    }
+
+    @Test
+    void decide_whenLoggerOutsidePrefix_thenNeverSampled() {
+        Logger hibernateLogger = loggerContext.getLogger("org.hibernate.SQL");
+
+        IntStream.range(0, 5).forEach(i -> assertEquals(FilterReply.NEUTRAL,
+                filter.decide(null, hibernateLogger, Level.INFO, "statement", null, null)));
+    }
+}
@@ -0,0 +1,65 @@
+package ru.modgy.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.modgy.room.service.RoomService;
+import ru.modgy.utility.UtilityService;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+    private final RoomService roomService;
+
+    @Test
+    void getAllRooms_whenCalled_thenServiceAndRepositoryTimed() {
+        roomService.getAllRooms(1L, true);
+
+        Timer serviceTimer = meterRegistry.find(MetricsConfig.SERVICE_TIMER).tag("method", "getAllRooms").timer();
+        assertNotNull(serviceTimer);
+        assertTrue(serviceTimer.count() > 0);
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations").timer());
+        assertNotNull(meterRegistry.find("hibernate.query.executions").functionCounter());
+    }
+
+    @Test
+    void prometheus_whenScraped_thenServiceAndHibernateMetricsExposed() throws Exception {
+        roomService.getAllRooms(1L, true);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("pethotel_service_seconds_count")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests")));
+    }
+
+    @Test
+    void getRoomById_whenRequestHandled_thenStatementsRecordedPerEndpoint() throws Exception {
+        mockMvc.perform(get("/rooms/{id}", 1L).header(UtilityService.REQUESTER_ID_HEADER, 1L));
+
+        assertEquals(1, meterRegistry.find(QueryBudgetInterceptor.QUERIES_SUMMARY)
+                .tag("method", "GET")
+                .tag("uri", "/rooms/{id}")
+                .summary()
+                .count());
+    }
+}
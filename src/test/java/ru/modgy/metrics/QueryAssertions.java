@@ -0,0 +1,35 @@
+package ru.modgy.metrics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверки числа SQL-запросов Hibernate и NamedParameterJdbcTemplate. Перед проверкой в тестах с @Transactional
+ * нужно вызвать em.flush() и em.clear(), иначе в счет попадут отложенные вставки,
+ * а сущности будут взяты из контекста персистентности без запросов
+ */
+public final class QueryAssertions {
+    private QueryAssertions() {
+    }
+
+    public static <T> T assertMaxQueries(int maxQueries, Supplier<T> action) {
+        QueryScope scope = SqlStatementCounter.open(0);
+        try {
+            T result = action.get();
+            assertTrue(scope.getCount() <= maxQueries, () -> String.format(
+                    "Expected at most %d SQL statements, but was %d, repeated: %s",
+                    maxQueries, scope.getCount(), scope.getRepeatedStatements(2)));
+            return result;
+        } finally {
+            SqlStatementCounter.close();
+        }
+    }
+
+    public static void assertMaxQueries(int maxQueries, Runnable action) {
+        assertMaxQueries(maxQueries, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -3,9 +3,15 @@ package ru.modgy.owner;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.modgy.exception.NotFoundException;
@@ -13,16 +19,20 @@ import ru.modgy.owner.controller.SearchDirection;
 import ru.modgy.owner.controller.OwnerController;
 import ru.modgy.owner.dto.*;
 import ru.modgy.owner.service.OwnerService;
-import ru.modgy.pet.dto.PetDtoForOwner;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.TypeOfPet;
 import ru.modgy.utility.UtilityService;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static java.time.LocalDateTime.now;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -59,12 +69,12 @@ class OwnerControllerIntegrationTest {
     final int rating = 1;
     final LocalDateTime registrationDate = now().truncatedTo(ChronoUnit.SECONDS);
     final List<Pet> pets = List.of();
-    final List<PetDtoForOwner> petsDto = List.of();
+    final List<PetSummaryDto> petsDto = List.of();
 
     NewOwnerDto newOwnerDto = new NewOwnerDto(ownerLastName, ownerFirstName, ownerMiddleName, mainPhone, optionalPhone,
             otherContacts, actualAddress, trustedMan, source, comment, rating);
     OwnerDto ownerDto = new OwnerDto(ownerId, ownerLastName, ownerFirstName, ownerMiddleName, mainPhone, optionalPhone,
-            otherContacts, actualAddress, trustedMan, source, comment, rating, registrationDate, petsDto);
+            otherContacts, actualAddress, trustedMan, source, comment, rating, registrationDate, 0, List.of(), petsDto, null);
 
     OwnerShortDto ownerShortDto = new OwnerShortDto(ownerId, ownerLastName, ownerFirstName, ownerMiddleName, mainPhone,
             optionalPhone, registrationDate);
@@ -115,7 +125,7 @@ class OwnerControllerIntegrationTest {
     @Test
     @SneakyThrows
     void getOwnerById() {
-        when(ownerService.getOwnerById(anyLong(), anyLong())).thenReturn(ownerDto);
+        when(ownerService.getOwnerById(anyLong(), anyLong(), anyBoolean())).thenReturn(ownerDto);
 
         mockMvc.perform(get("/owners/{id}", ownerId)
                         .header(requesterHeader, requesterId)
@@ -135,14 +145,41 @@ class OwnerControllerIntegrationTest {
                 .andExpect(jsonPath("$.rating", is(ownerDto.getRating())))
                 .andExpect(jsonPath("$.registrationDate").value(ownerDto.getRegistrationDate().toString()));
 
-        verify(ownerService).getOwnerById(requesterId, ownerId);
+        verify(ownerService).getOwnerById(requesterId, ownerId, false);
 
-        when(ownerService.getOwnerById(anyLong(), anyLong())).thenThrow(NotFoundException.class);
+        when(ownerService.getOwnerById(anyLong(), anyLong(), anyBoolean())).thenThrow(NotFoundException.class);
         mockMvc.perform(get("/owners/{ownerId}", ownerId)
                         .header(requesterHeader, requesterId)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
-        verify(ownerService, times(2)).getOwnerById(requesterId, ownerId);
+        verify(ownerService, times(2)).getOwnerById(requesterId, ownerId, false);
+    }
+
+    @Test
+    @SneakyThrows
+    void getOwnerById_whenExpandPets_thenPetsRequested() {
+        when(ownerService.getOwnerById(anyLong(), anyLong(), anyBoolean())).thenReturn(ownerDto);
+
+        mockMvc.perform(get("/owners/{id}", ownerId)
+                        .header(requesterHeader, requesterId)
+                        .param("expand", "pets")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(ownerDto.getId()), Long.class));
+
+        verify(ownerService).getOwnerById(requesterId, ownerId, true);
+    }
+
+    @Test
+    @SneakyThrows
+    void getOwnerById_whenExpandIsWrong_then4xx() {
+        mockMvc.perform(get("/owners/{id}", ownerId)
+                        .header(requesterHeader, requesterId)
+                        .param("expand", "bookings")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(ownerService, never()).getOwnerById(anyLong(), anyLong(), anyBoolean());
     }
 
     @Test
@@ -258,7 +295,10 @@ class OwnerControllerIntegrationTest {
     @Test
     @SneakyThrows
     void updateOwner() {
-        when(ownerService.updateOwner(anyLong(), eq(ownerId), any(UpdateOwnerDto.class))).thenReturn(ownerDto);
+        OwnerDto compactOwnerDto = new OwnerDto(ownerId, ownerLastName, ownerFirstName, ownerMiddleName, mainPhone,
+                optionalPhone, otherContacts, actualAddress, trustedMan, source, comment, rating, registrationDate, 1,
+                List.of(new OwnerPetDto(5L, "Шарик", TypeOfPet.DOG)), null, null);
+        when(ownerService.updateOwner(anyLong(), eq(ownerId), any(UpdateOwnerDto.class))).thenReturn(compactOwnerDto);
 
         mockMvc.perform(patch("/owners/{id}", ownerId)
                         .header(requesterHeader, requesterId)
@@ -278,7 +318,12 @@ class OwnerControllerIntegrationTest {
                 .andExpect(jsonPath("$.source", is(ownerDto.getSource())))
                 .andExpect(jsonPath("$.comment", is(ownerDto.getComment())))
                 .andExpect(jsonPath("$.rating", is(ownerDto.getRating())))
-                .andExpect(jsonPath("$.registrationDate").value(ownerDto.getRegistrationDate().toString()));
+                .andExpect(jsonPath("$.registrationDate").value(ownerDto.getRegistrationDate().toString()))
+                .andExpect(jsonPath("$.petsCount", is(1)))
+                .andExpect(jsonPath("$.petsSummary[0].id", is(5L), Long.class))
+                .andExpect(jsonPath("$.petsSummary[0].name", is("Шарик")))
+                .andExpect(jsonPath("$.petsSummary[0].type", is("DOG")))
+                .andExpect(jsonPath("$.petsDto").doesNotExist());
 
 
         when(ownerService.updateOwner(anyLong(), eq(ownerId), any(UpdateOwnerDto.class)))
@@ -294,27 +339,80 @@ class OwnerControllerIntegrationTest {
 
     @Test
     @SneakyThrows
-    void getAllOwners() {
-        when(ownerService.getAllOwners(anyLong())).thenReturn(List.of(ownerDto));
+    void getOwners_whenParamsAbsent_thenFirstPageByRegistrationDateDesc() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "registrationDate"));
+        when(ownerService.getOwners(anyLong(), any(OwnerFilterParams.class), any(Pageable.class), any(), anyBoolean()))
+                .thenReturn(new PageImpl<>(List.of(ownerShortDto), pageable, 1));
 
         mockMvc.perform(get("/owners")
                         .header(requesterHeader, requesterId)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.[0].id", is(ownerDto.getId()), Long.class))
-                .andExpect(jsonPath("$.[0].lastName", is(ownerDto.getLastName())))
-                .andExpect(jsonPath("$.[0].firstName", is(ownerDto.getFirstName())))
-                .andExpect(jsonPath("$.[0].middleName", is(ownerDto.getMiddleName())))
-                .andExpect(jsonPath("$.[0].mainPhone", is(ownerDto.getMainPhone())))
-                .andExpect(jsonPath("$.[0].optionalPhone", is(ownerDto.getOptionalPhone())))
-                .andExpect(jsonPath("$.[0].otherContacts", is(ownerDto.getOtherContacts())))
-                .andExpect(jsonPath("$.[0].actualAddress", is(ownerDto.getActualAddress())))
-                .andExpect(jsonPath("$.[0].trustedMan", is(ownerDto.getTrustedMan())))
-                .andExpect(jsonPath("$.[0].source", is(ownerDto.getSource())))
-                .andExpect(jsonPath("$.[0].comment", is(ownerDto.getComment())))
-                .andExpect(jsonPath("$.[0].rating", is(ownerDto.getRating())))
-                .andExpect(jsonPath("$.[0].registrationDate")
-                        .value(ownerDto.getRegistrationDate().toString()));
+                .andExpect(jsonPath("$.content.[0].id", is(ownerShortDto.getId()), Long.class))
+                .andExpect(jsonPath("$.content.[0].lastName", is(ownerShortDto.getLastName())))
+                .andExpect(jsonPath("$.content.[0].firstName", is(ownerShortDto.getFirstName())))
+                .andExpect(jsonPath("$.content.[0].mainPhone", is(ownerShortDto.getMainPhone())))
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.totalPages", is(1)));
+
+        verify(ownerService).getOwners(eq(requesterId), any(OwnerFilterParams.class), eq(pageable), isNull(), eq(true));
+    }
+
+    @Test
+    @SneakyThrows
+    void getOwners_whenKeysetAndFilters_thenPassedToService() {
+        when(ownerService.getOwners(anyLong(), any(OwnerFilterParams.class), any(Pageable.class), any(), anyBoolean()))
+                .thenReturn(new SliceImpl<>(List.of(ownerShortDto), PageRequest.of(0, 50), true));
+
+        mockMvc.perform(get("/owners")
+                        .header(requesterHeader, requesterId)
+                        .param("size", "50")
+                        .param("sort", "id")
+                        .param("order", "asc")
+                        .param("afterId", "100")
+                        .param("count", "false")
+                        .param("registeredFrom", "01.02.2024")
+                        .param("registeredTo", "29.02.2024")
+                        .param("ratingFrom", "3")
+                        .param("source", "Авито")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.[0].id", is(ownerShortDto.getId()), Long.class))
+                .andExpect(jsonPath("$.last", is(false)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+
+        ArgumentCaptor<OwnerFilterParams> paramsCaptor = ArgumentCaptor.forClass(OwnerFilterParams.class);
+        verify(ownerService).getOwners(eq(requesterId), paramsCaptor.capture(),
+                eq(PageRequest.of(0, 50, Sort.by(Sort.Direction.ASC, "id"))), eq(100L), eq(false));
+        OwnerFilterParams params = paramsCaptor.getValue();
+        assertEquals(LocalDate.of(2024, 2, 1), params.getRegisteredFrom());
+        assertEquals(LocalDate.of(2024, 2, 29), params.getRegisteredTo());
+        assertEquals(3, params.getRatingFrom());
+        assertNull(params.getRatingTo());
+        assertEquals("Авито", params.getSource());
+    }
+
+    @Test
+    @SneakyThrows
+    void getOwners_whenSortOrSizeIsWrong_then4xx() {
+        mockMvc.perform(get("/owners")
+                        .header(requesterHeader, requesterId)
+                        .param("sort", "mainPhone")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/owners")
+                        .header(requesterHeader, requesterId)
+                        .param("order", "up")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/owners")
+                        .header(requesterHeader, requesterId)
+                        .param("size", "1000")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(ownerService, never()).getOwners(anyLong(), any(), any(), any(), anyBoolean());
     }
 
     @Test
@@ -427,7 +525,7 @@ class OwnerControllerIntegrationTest {
     void searchOwner_whenAllDataOk_thenOk() {
         SearchOwnerDto searchOwnerDto = new SearchOwnerDto("123");
         SearchDirection searchDirection = SearchDirection.PHONE;
-        when(ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection)).thenReturn(List.of(ownerDto));
+        when(ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection, false)).thenReturn(List.of(ownerDto));
 
         mockMvc.perform(post("/owners/search")
                         .header(requesterHeader, requesterId)
@@ -451,10 +549,10 @@ class OwnerControllerIntegrationTest {
                 .andExpect(jsonPath("$.[0].registrationDate")
                         .value(ownerDto.getRegistrationDate().toString()));
 
-        verify(ownerService).searchOwner(requesterId, searchOwnerDto, searchDirection);
+        verify(ownerService).searchOwner(requesterId, searchOwnerDto, searchDirection, false);
 
         searchDirection = SearchDirection.NAME;
-        when(ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection)).thenReturn(List.of(ownerDto));
+        when(ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection, false)).thenReturn(List.of(ownerDto));
 
         mockMvc.perform(post("/owners/search")
                         .header(requesterHeader, requesterId)
@@ -478,7 +576,7 @@ class OwnerControllerIntegrationTest {
                 .andExpect(jsonPath("$.[0].registrationDate")
                         .value(ownerDto.getRegistrationDate().toString()));
 
-        verify(ownerService).searchOwner(requesterId, searchOwnerDto, searchDirection);
+        verify(ownerService).searchOwner(requesterId, searchOwnerDto, searchDirection, false);
     }
 
     @Test
@@ -486,7 +584,7 @@ class OwnerControllerIntegrationTest {
     void searchOwner_whenWithoutBody_then4xx() {
         SearchOwnerDto searchOwnerDto = new SearchOwnerDto("123");
         SearchDirection searchDirection = SearchDirection.PHONE;
-        when(ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection)).thenReturn(List.of(ownerDto));
+        when(ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection, false)).thenReturn(List.of(ownerDto));
 
         mockMvc.perform(post("/owners/search")
                         .header(requesterHeader, requesterId)
@@ -494,7 +592,7 @@ class OwnerControllerIntegrationTest {
                         .param("direction", searchDirection.getTitle()))
                 .andExpect(status().is4xxClientError());
 
-        verify(ownerService, never()).searchOwner(requesterId, searchOwnerDto, searchDirection);
+        verify(ownerService, never()).searchOwner(requesterId, searchOwnerDto, searchDirection, false);
     }
 
     @Test
@@ -502,7 +600,7 @@ class OwnerControllerIntegrationTest {
     void searchOwner_whenWithoutDirectionParam_then4xx() {
         SearchOwnerDto searchOwnerDto = new SearchOwnerDto("123");
         SearchDirection searchDirection = SearchDirection.PHONE;
-        when(ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection)).thenReturn(List.of(ownerDto));
+        when(ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection, false)).thenReturn(List.of(ownerDto));
 
         mockMvc.perform(post("/owners/search")
                         .header(requesterHeader, requesterId)
@@ -511,7 +609,7 @@ class OwnerControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(searchOwnerDto)))
                 .andExpect(status().is4xxClientError());
 
-        verify(ownerService, never()).searchOwner(requesterId, searchOwnerDto, searchDirection);
+        verify(ownerService, never()).searchOwner(requesterId, searchOwnerDto, searchDirection, false);
     }
 
 
@@ -519,7 +617,7 @@ class OwnerControllerIntegrationTest {
     @SneakyThrows
     void searchOwner_whenDirectionParamIsWrong_then4xx() {
         SearchOwnerDto searchOwnerDto = new SearchOwnerDto("123");
-        when(ownerService.searchOwner(eq(requesterId), eq(searchOwnerDto), any())).thenReturn(List.of(ownerDto));
+        when(ownerService.searchOwner(eq(requesterId), eq(searchOwnerDto), any(), anyBoolean())).thenReturn(List.of(ownerDto));
 
         mockMvc.perform(post("/owners/search")
                         .header(requesterHeader, requesterId)
@@ -529,6 +627,6 @@ class OwnerControllerIntegrationTest {
                         .param("direction", "bla-bla"))
                 .andExpect(status().is4xxClientError());
 
-        verify(ownerService, never()).searchOwner(eq(requesterId), eq(searchOwnerDto), any());
+        verify(ownerService, never()).searchOwner(eq(requesterId), eq(searchOwnerDto), any(), anyBoolean());
     }
 }
\ No newline at end of file
@@ -10,15 +10,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.domain.*;
+import ru.modgy.exception.BadRequestException;
 import ru.modgy.owner.controller.SearchDirection;
 import ru.modgy.owner.dto.*;
 import ru.modgy.owner.dto.mapper.OwnerMapper;
 import ru.modgy.owner.model.Owner;
+import ru.modgy.owner.model.OwnerPetRow;
+import ru.modgy.owner.model.OwnerPhone;
+import ru.modgy.owner.repository.OwnerPhoneRepository;
 import ru.modgy.owner.repository.OwnerRepository;
-import ru.modgy.pet.dto.PetDtoForOwner;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.TypeOfPet;
+import ru.modgy.search.FuzzySearchService;
 import ru.modgy.utility.EntityService;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -26,8 +33,16 @@ import java.util.*;
 import static java.time.LocalDateTime.now;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,9 +53,13 @@ class OwnerServiceImplTest {
     @Mock
     private OwnerRepository ownerRepository;
     @Mock
+    private OwnerPhoneRepository ownerPhoneRepository;
+    @Mock
     private OwnerMapper ownerMapper;
     @Mock
     private EntityService entityService;
+    @Mock
+    private FuzzySearchService fuzzySearchService;
 
     final long requesterId = 1L;
     long ownerId = 2L;
@@ -57,29 +76,41 @@ class OwnerServiceImplTest {
     final int rating = 1;
     final LocalDateTime registrationDate = now().truncatedTo(ChronoUnit.SECONDS);
     final List<Pet> pets = List.of();
-    final List<PetDtoForOwner> petsDto = List.of();
+    final List<PetSummaryDto> petsDto = List.of();
 
     Owner owner = new Owner(ownerId, ownerLastName, ownerFirstName, ownerMiddleName, mainPhone, optionalPhone,
-            otherContacts, actualAddress, trustedMan, source, comment, rating, registrationDate, pets);
+            otherContacts, actualAddress, trustedMan, source, comment, rating, registrationDate, pets, null);
     NewOwnerDto newOwnerDto = new NewOwnerDto(ownerLastName, ownerFirstName, ownerMiddleName, mainPhone, optionalPhone,
             otherContacts, actualAddress, trustedMan, source, comment, rating);
     OwnerDto ownerDto = new OwnerDto(ownerId, ownerLastName, ownerFirstName, ownerMiddleName, mainPhone, optionalPhone,
-            otherContacts, actualAddress, trustedMan, source, comment, rating, registrationDate, petsDto);
+            otherContacts, actualAddress, trustedMan, source, comment, rating, registrationDate, 0, List.of(), petsDto, null);
 
     OwnerShortDto ownerShortDto = new OwnerShortDto(ownerId, ownerLastName, ownerFirstName, ownerMiddleName, mainPhone,
             optionalPhone, registrationDate);
 
-    @Captor
-    private ArgumentCaptor<Owner> ownerArgumentCaptor;
-
     @Captor
     private ArgumentCaptor<Long> longArgumentCaptor;
 
+    @Test
+    void addOwner_whenOwnerAdded_thenPhonesSaved() {
+        when(ownerMapper.toOwner(newOwnerDto)).thenReturn(owner);
+        when(ownerRepository.save(owner)).thenReturn(owner);
+        when(ownerMapper.toCompactOwnerDto(owner)).thenReturn(new OwnerDto());
+
+        ownerService.addOwner(requesterId, newOwnerDto);
+
+        verify(ownerPhoneRepository).saveAll(argThat(phones -> {
+            List<String> numbers = new ArrayList<>();
+            phones.forEach(phone -> numbers.add(phone.getNumber() + "/" + phone.getSuffix()));
+            return numbers.equals(List.of("+79123456789/6789", "+74951234567/4567"));
+        }));
+    }
+
     @Test
     void addOwner() {
         when(ownerMapper.toOwner(newOwnerDto)).thenReturn(owner);
         when(ownerRepository.save(owner)).thenReturn(owner);
-        when(ownerMapper.toOwnerDto(owner)).thenReturn(ownerDto);
+        when(ownerMapper.toCompactOwnerDto(owner)).thenReturn(ownerDto);
 
         OwnerDto addedOwnerDto = ownerService.addOwner(requesterId, newOwnerDto);
 
@@ -87,7 +118,7 @@ class OwnerServiceImplTest {
                 () -> assertEquals(addedOwnerDto, ownerDto),
                 () -> verify(ownerMapper).toOwner(newOwnerDto),
                 () -> verify(ownerRepository).save(owner),
-                () -> verify(ownerMapper).toOwnerDto(owner)
+                () -> verify(ownerMapper).toCompactOwnerDto(owner)
         );
     }
 
@@ -96,15 +127,15 @@ class OwnerServiceImplTest {
         Owner owner1 = new Owner(ownerId + 1, "1" + ownerLastName, "1" + ownerFirstName,
                 "1" + ownerMiddleName, "1" + mainPhone, "1" + optionalPhone,
                 "1" + otherContacts, "1" + actualAddress, "1" + trustedMan,
-                "1" + source, "1" + comment, 1 + rating, registrationDate.plusHours(1), pets);
+                "1" + source, "1" + comment, 1 + rating, registrationDate.plusHours(1), pets, null);
         Owner owner2 = new Owner(ownerId + 2, "2" + ownerLastName, "2" + ownerFirstName,
                 "2" + ownerMiddleName, "2" + mainPhone, "2" + optionalPhone,
                 "2" + otherContacts, "2" + actualAddress, "2" + trustedMan,
-                "2" + source, "2" + comment, 2 + rating, registrationDate.plusHours(2), pets);
+                "2" + source, "2" + comment, 2 + rating, registrationDate.plusHours(2), pets, null);
         Owner owner3 = new Owner(ownerId + 3, "3" + ownerLastName, "3" + ownerFirstName,
                 "3" + ownerMiddleName, "3" + mainPhone, "3" + optionalPhone,
                 "3" + otherContacts, "3" + actualAddress, "3" + trustedMan,
-                "3" + source, "3" + comment, 3 + rating, registrationDate.plusHours(3), pets);
+                "3" + source, "3" + comment, 3 + rating, registrationDate.plusHours(3), pets, null);
 
         Page<Owner> ownerList = new PageImpl<>(List.of(owner1, owner2, owner3));
 
@@ -151,7 +182,7 @@ class OwnerServiceImplTest {
         when(entityService.getOwnerIfExists(ownerId)).thenReturn(owner);
         when(ownerMapper.toOwnerDto(owner)).thenReturn(ownerDto);
 
-        OwnerDto resultOwnerDto = ownerService.getOwnerById(requesterId, ownerId);
+        OwnerDto resultOwnerDto = ownerService.getOwnerById(requesterId, ownerId, true);
 
         assertAll(
                 () -> assertEquals(ownerDto, resultOwnerDto),
@@ -160,75 +191,60 @@ class OwnerServiceImplTest {
         );
     }
 
+    @Test
+    void getOwnerById_whenPetsNotExpanded_thenPetsSummaryFilled() {
+        OwnerPetRow petRow = new OwnerPetRow(ownerId, 5L, "Шарик", TypeOfPet.DOG);
+        OwnerPetDto petDto = new OwnerPetDto(5L, "Шарик", TypeOfPet.DOG);
+        OwnerDto compactOwnerDto = OwnerDto.builder().id(ownerId).build();
+        when(entityService.getOwnerIfExists(ownerId)).thenReturn(owner);
+        when(ownerMapper.toCompactOwnerDto(owner)).thenReturn(compactOwnerDto);
+        when(ownerRepository.findPetRowsByOwnerIds(List.of(ownerId))).thenReturn(List.of(petRow));
+        when(ownerMapper.toOwnerPetDto(petRow)).thenReturn(petDto);
+
+        OwnerDto resultOwnerDto = ownerService.getOwnerById(requesterId, ownerId, false);
+
+        assertAll(
+                () -> assertEquals(1, resultOwnerDto.getPetsCount()),
+                () -> assertEquals(List.of(petDto), resultOwnerDto.getPetsSummary()),
+                () -> assertNull(resultOwnerDto.getPetsDto()),
+                () -> verify(ownerMapper, never()).toOwnerDto(any(Owner.class))
+        );
+    }
+
     @Test
     void updateUser_whenNewFieldsAllThenLastName_thenUpdateAllFieldsThanIdAndRegistrationDateAndLastName() {
         UpdateOwnerDto newOwnerDto = new UpdateOwnerDto(null, "upd " + ownerFirstName,
-                "upd " + ownerMiddleName, "upd " + mainPhone, "upd " + optionalPhone,
+                "upd " + ownerMiddleName, "89001112233", "89004445566",
                 "upd " + otherContacts, "upd" + actualAddress, "upd " + trustedMan,
-                "upd " + source, "upd " + comment, 1 + rating);
+                "upd " + source, "upd " + comment, 1 + rating, null);
 
         Owner oldOwner = owner;
 
-        Owner newOwner = new Owner(null, null, newOwnerDto.getFirstName(), newOwnerDto.getMiddleName(),
-                newOwnerDto.getMainPhone(), newOwnerDto.getOptionalPhone(), newOwnerDto.getOtherContacts(),
-                newOwnerDto.getActualAddress(), newOwnerDto.getTrustedMan(), newOwnerDto.getSource(),
-                newOwnerDto.getComment(), newOwnerDto.getRating(), null, pets);
-
-        Owner ownerAfter = new Owner(oldOwner.getId(), oldOwner.getFirstName(),
-                newOwner.getLastName(), newOwner.getMiddleName(), newOwner.getMainPhone(), newOwner.getOptionalPhone(),
-                newOwner.getOtherContacts(), newOwner.getActualAddress(), newOwner.getTrustedMan(),
-                newOwner.getSource(), newOwner.getComment(), newOwner.getRating(),
-                oldOwner.getRegistrationDate(), pets);
-
-        OwnerDto ownerDtoAfter = new OwnerDto(ownerAfter.getId(), ownerAfter.getFirstName(), ownerAfter.getLastName(),
-                ownerAfter.getMiddleName(), ownerAfter.getMainPhone(), ownerAfter.getOptionalPhone(),
-                ownerAfter.getOtherContacts(), ownerAfter.getActualAddress(), ownerAfter.getTrustedMan(),
-                ownerAfter.getSource(), ownerAfter.getComment(), ownerAfter.getRating(),
-                ownerAfter.getRegistrationDate(), petsDto);
+        OwnerDto ownerDtoAfter = new OwnerDto(oldOwner.getId(), oldOwner.getLastName(), newOwnerDto.getFirstName(),
+                newOwnerDto.getMiddleName(), newOwnerDto.getMainPhone(), newOwnerDto.getOptionalPhone(),
+                newOwnerDto.getOtherContacts(), newOwnerDto.getActualAddress(), newOwnerDto.getTrustedMan(),
+                newOwnerDto.getSource(), newOwnerDto.getComment(), newOwnerDto.getRating(),
+                oldOwner.getRegistrationDate(), 0, List.of(), petsDto, null);
 
         when(entityService.getOwnerIfExists(ownerId)).thenReturn(oldOwner);
-        when(ownerMapper.toOwner(newOwnerDto)).thenReturn(newOwner);
-        when(ownerRepository.save(newOwner)).thenReturn(ownerAfter);
-        when(ownerMapper.toOwnerDto(ownerAfter)).thenReturn(ownerDtoAfter);
+        doAnswer(invocation -> {
+            oldOwner.setMainPhone(newOwnerDto.getMainPhone());
+            oldOwner.setOptionalPhone(newOwnerDto.getOptionalPhone());
+            return null;
+        }).when(ownerMapper).updateOwner(newOwnerDto, oldOwner);
+        when(ownerMapper.toCompactOwnerDto(oldOwner)).thenReturn(ownerDtoAfter);
 
         OwnerDto resultOwnerDto = ownerService.updateOwner(requesterId, ownerId, newOwnerDto);
 
-        verify(ownerRepository).save(ownerArgumentCaptor.capture());
-        Owner ownerForSave = ownerArgumentCaptor.getValue();
-
         assertAll(
                 () -> assertEquals(ownerDtoAfter, resultOwnerDto, "entity test failed"),
-                () -> assertEquals(oldOwner.getId(), ownerForSave.getId(),
-                        "id field test failed"),
-                () -> assertEquals(oldOwner.getLastName(), ownerForSave.getLastName(),
-                        "LastName field test failed"),
-                () -> assertEquals(newOwnerDto.getFirstName(), ownerForSave.getFirstName(),
-                        "FirstName field test failed"),
-                () -> assertEquals(newOwnerDto.getMiddleName(), ownerForSave.getMiddleName(),
-                        "MiddleName field test failed"),
-                () -> assertEquals(newOwnerDto.getMainPhone(), ownerForSave.getMainPhone(),
-                        "MainPhone field test failed"),
-                () -> assertEquals(newOwnerDto.getOptionalPhone(), ownerForSave.getOptionalPhone(),
-                        "OptionalPhone field test failed"),
-                () -> assertEquals(newOwnerDto.getOtherContacts(), ownerForSave.getOtherContacts(),
-                        "OtherContacts field test failed"),
-                () -> assertEquals(newOwnerDto.getActualAddress(), ownerForSave.getActualAddress(),
-                        "ActualAddress field test failed"),
-                () -> assertEquals(newOwnerDto.getTrustedMan(), ownerForSave.getTrustedMan(),
-                        "TrustedMan field test failed"),
-                () -> assertEquals(newOwnerDto.getSource(), ownerForSave.getSource(),
-                        "Source field test failed"),
-                () -> assertEquals(newOwnerDto.getComment(), ownerForSave.getComment(),
-                        "Comment field test failed"),
-                () -> assertEquals(newOwnerDto.getRating(), ownerForSave.getRating(),
-                        "Rating field test failed"),
-                () -> assertEquals(oldOwner.getRegistrationDate(), ownerForSave.getRegistrationDate(),
-                        "RegistrationDate field test failed"),
-
                 () -> verify(entityService).getOwnerIfExists(ownerId),
-                () -> verify(ownerMapper).toOwner(newOwnerDto),
-                () -> verify(ownerRepository).save(newOwner),
-                () -> verify(ownerMapper).toOwnerDto(ownerAfter)
+                () -> verify(ownerMapper).updateOwner(newOwnerDto, oldOwner),
+                () -> verify(ownerRepository).flush(),
+                () -> verify(ownerRepository, never()).saveAndFlush(any(Owner.class)),
+                () -> verify(ownerPhoneRepository).deleteAllByOwnerId(ownerId),
+                () -> verify(ownerPhoneRepository).saveAll(anyList()),
+                () -> verify(ownerMapper).toCompactOwnerDto(oldOwner)
         );
     }
 
@@ -239,113 +255,77 @@ class OwnerServiceImplTest {
                 .build();
         Owner oldOwner = owner;
 
-        Owner newOwner = new Owner(null, newOwnerDto.getLastName(), newOwnerDto.getFirstName(),
-                newOwnerDto.getMiddleName(), newOwnerDto.getMainPhone(), newOwnerDto.getOptionalPhone(),
-                newOwnerDto.getOtherContacts(), newOwnerDto.getActualAddress(), newOwnerDto.getTrustedMan(),
-                newOwnerDto.getSource(), newOwnerDto.getComment(), newOwnerDto.getRating(), null, pets);
-
-        Owner ownerAfter = new Owner(oldOwner.getId(), oldOwner.getFirstName(),
-                newOwner.getLastName(), newOwner.getMiddleName(), newOwner.getMainPhone(), newOwner.getOptionalPhone(),
-                newOwner.getOtherContacts(), newOwner.getActualAddress(), newOwner.getTrustedMan(),
-                newOwner.getSource(), newOwner.getComment(), newOwner.getRating(),
-                oldOwner.getRegistrationDate(), pets);
-
-        OwnerDto ownerDtoAfter = new OwnerDto(ownerAfter.getId(), ownerAfter.getFirstName(), ownerAfter.getLastName(),
-                ownerAfter.getMiddleName(), ownerAfter.getMainPhone(), ownerAfter.getOptionalPhone(),
-                ownerAfter.getOtherContacts(), ownerAfter.getActualAddress(), ownerAfter.getTrustedMan(),
-                ownerAfter.getSource(), ownerAfter.getComment(), ownerAfter.getRating(),
-                ownerAfter.getRegistrationDate(), petsDto);
+        OwnerDto ownerDtoAfter = new OwnerDto(oldOwner.getId(), newOwnerDto.getLastName(), oldOwner.getFirstName(),
+                oldOwner.getMiddleName(), oldOwner.getMainPhone(), oldOwner.getOptionalPhone(),
+                oldOwner.getOtherContacts(), oldOwner.getActualAddress(), oldOwner.getTrustedMan(),
+                oldOwner.getSource(), oldOwner.getComment(), oldOwner.getRating(),
+                oldOwner.getRegistrationDate(), 0, List.of(), petsDto, null);
 
         when(entityService.getOwnerIfExists(ownerId)).thenReturn(oldOwner);
-        when(ownerMapper.toOwner(newOwnerDto)).thenReturn(newOwner);
-        when(ownerRepository.save(newOwner)).thenReturn(ownerAfter);
-        when(ownerMapper.toOwnerDto(ownerAfter)).thenReturn(ownerDtoAfter);
+        when(ownerMapper.toCompactOwnerDto(oldOwner)).thenReturn(ownerDtoAfter);
 
         OwnerDto resultOwnerDto = ownerService.updateOwner(requesterId, ownerId, newOwnerDto);
 
-        verify(ownerRepository).save(ownerArgumentCaptor.capture());
-        Owner ownerForSave = ownerArgumentCaptor.getValue();
-
         assertAll(
                 () -> assertEquals(ownerDtoAfter, resultOwnerDto, "entity test failed"),
-                () -> assertEquals(oldOwner.getId(), ownerForSave.getId(),
-                        "id field test failed"),
-                () -> assertEquals(newOwner.getLastName(), ownerForSave.getLastName(),
-                        "LastName field test failed"),
-                () -> assertEquals(oldOwner.getFirstName(), ownerForSave.getFirstName(),
-                        "FirstName field test failed"),
-                () -> assertEquals(oldOwner.getMiddleName(), ownerForSave.getMiddleName(),
-                        "MiddleName field test failed"),
-                () -> assertEquals(oldOwner.getMainPhone(), ownerForSave.getMainPhone(),
-                        "MainPhone field test failed"),
-                () -> assertEquals(oldOwner.getOptionalPhone(), ownerForSave.getOptionalPhone(),
-                        "OptionalPhone field test failed"),
-                () -> assertEquals(oldOwner.getOtherContacts(), ownerForSave.getOtherContacts(),
-                        "OtherContacts field test failed"),
-                () -> assertEquals(oldOwner.getActualAddress(), ownerForSave.getActualAddress(),
-                        "ActualAddress field test failed"),
-                () -> assertEquals(oldOwner.getTrustedMan(), ownerForSave.getTrustedMan(),
-                        "TrustedMan field test failed"),
-                () -> assertEquals(oldOwner.getSource(), ownerForSave.getSource(),
-                        "Source field test failed"),
-                () -> assertEquals(oldOwner.getComment(), ownerForSave.getComment(),
-                        "Comment field test failed"),
-                () -> assertEquals(oldOwner.getRating(), ownerForSave.getRating(),
-                        "ёRating field test failed"),
-                () -> assertEquals(oldOwner.getRegistrationDate(), ownerForSave.getRegistrationDate(),
-                        "RegistrationDate field test failed"),
-
                 () -> verify(entityService).getOwnerIfExists(ownerId),
-                () -> verify(ownerMapper).toOwner(newOwnerDto),
-                () -> verify(ownerRepository).save(newOwner),
-                () -> verify(ownerMapper).toOwnerDto(ownerAfter)
+                () -> verify(ownerMapper).updateOwner(newOwnerDto, oldOwner),
+                () -> verify(ownerRepository).flush(),
+                () -> verify(ownerPhoneRepository, never()).deleteAllByOwnerId(anyLong()),
+                () -> verify(ownerMapper).toCompactOwnerDto(oldOwner)
         );
     }
 
     @Test
-    void getAllOwners() {
-        Owner owner1 = new Owner(ownerId + 1, "1" + ownerLastName, "1" + ownerFirstName,
-                "1" + ownerMiddleName, "1" + mainPhone, "1" + optionalPhone,
-                "1" + otherContacts, "1" + actualAddress, "1" + trustedMan,
-                "1" + source, "1" + comment, 1 + rating, registrationDate.plusHours(1), pets);
-        Owner owner2 = new Owner(ownerId + 2, "2" + ownerLastName, "2" + ownerFirstName,
-                "2" + ownerMiddleName, "2" + mainPhone, "2" + optionalPhone,
-                "2" + otherContacts, "2" + actualAddress, "2" + trustedMan,
-                "2" + source, "2" + comment, 2 + rating, registrationDate.plusHours(2), pets);
-        Owner owner3 = new Owner(ownerId + 3, "3" + ownerLastName, "3" + ownerFirstName,
-                "3" + ownerMiddleName, "3" + mainPhone, "3" + optionalPhone,
-                "3" + otherContacts, "3" + actualAddress, "3" + trustedMan,
-                "3" + source, "3" + comment, 3 + rating, registrationDate.plusHours(3), pets);
-
-        List<Owner> ownerList = List.of(owner1, owner2, owner3);
+    void getOwners_whenParamsOk_thenPageMappedToShortDto() {
+        OwnerFilterParams params = OwnerFilterParams.builder().ratingFrom(1).ratingTo(5).source(source).build();
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "registrationDate"));
+        when(ownerRepository.findOwnersByParams(params, pageable, null, true))
+                .thenReturn(new PageImpl<>(List.of(owner), pageable, 1));
+        when(ownerMapper.toOwnerShortDto(owner)).thenReturn(ownerShortDto);
 
-        OwnerDto ownerDto1 = new OwnerDto(owner1.getId(), owner1.getLastName(), owner1.getFirstName(),
-                owner1.getMiddleName(), owner1.getMainPhone(), owner1.getOptionalPhone(), owner1.getOtherContacts(),
-                owner1.getActualAddress(), owner1.getTrustedMan(), owner1.getSource(), owner1.getComment(),
-                owner1.getRating(), owner1.getRegistrationDate(), petsDto);
-        OwnerDto ownerDto2 = new OwnerDto(owner2.getId(), owner2.getLastName(), owner2.getFirstName(),
-                owner2.getMiddleName(), owner2.getMainPhone(), owner2.getOptionalPhone(), owner2.getOtherContacts(),
-                owner2.getActualAddress(), owner2.getTrustedMan(), owner2.getSource(), owner2.getComment(),
-                owner2.getRating(), owner2.getRegistrationDate(), petsDto);
-        OwnerDto ownerDto3 = new OwnerDto(owner3.getId(), owner3.getLastName(), owner3.getFirstName(),
-                owner3.getMiddleName(), owner3.getMainPhone(), owner3.getOptionalPhone(), owner3.getOtherContacts(),
-                owner3.getActualAddress(), owner3.getTrustedMan(), owner3.getSource(), owner3.getComment(),
-                owner3.getRating(), owner3.getRegistrationDate(), petsDto);
+        Slice<OwnerShortDto> result = ownerService.getOwners(requesterId, params, pageable, null, true);
 
-        List<OwnerDto> ownerDtoList = List.of(ownerDto1, ownerDto2, ownerDto3);
+        assertAll(
+                () -> assertEquals(List.of(ownerShortDto), result.getContent()),
+                () -> assertEquals(1, assertInstanceOf(Page.class, result).getTotalElements()),
+                () -> verify(ownerRepository).findOwnersByParams(params, pageable, null, true),
+                () -> verify(ownerRepository, never()).findAll()
+        );
+    }
 
-        when(ownerRepository.findAll()).thenReturn(ownerList);
-        when(ownerMapper.map(ownerList)).thenReturn(ownerDtoList);
+    @Test
+    void getOwners_whenCountNotRequested_thenSliceMappedToShortDto() {
+        OwnerFilterParams params = OwnerFilterParams.builder().build();
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "registrationDate"));
+        when(ownerRepository.findOwnersByParams(params, pageable, null, false))
+                .thenReturn(new SliceImpl<>(List.of(owner), pageable, true));
+        when(ownerMapper.toOwnerShortDto(owner)).thenReturn(ownerShortDto);
 
-        List<OwnerDto> returnedOwnersDto = ownerService.getAllOwners(requesterId);
+        Slice<OwnerShortDto> result = ownerService.getOwners(requesterId, params, pageable, null, false);
 
         assertAll(
-                () -> assertEquals(ownerDtoList, returnedOwnersDto),
-                () -> verify(ownerRepository).findAll(),
-                () -> verify(ownerMapper).map(ownerList)
+                () -> assertEquals(List.of(ownerShortDto), result.getContent()),
+                () -> assertTrue(result.hasNext()),
+                () -> assertFalse(result instanceof Page),
+                () -> verify(ownerRepository).findOwnersByParams(params, pageable, null, false),
+                () -> verify(ownerRepository, never()).findAll()
         );
     }
 
+    @Test
+    void getOwners_whenRegistrationDatesReversed_thenBadRequestException() {
+        OwnerFilterParams params = OwnerFilterParams.builder()
+                .registeredFrom(LocalDate.of(2024, 3, 1))
+                .registeredTo(LocalDate.of(2024, 2, 1))
+                .build();
+        Pageable pageable = PageRequest.of(0, 20);
+
+        assertThrows(BadRequestException.class,
+                () -> ownerService.getOwners(requesterId, params, pageable, null, true));
+        verify(ownerRepository, never()).findOwnersByParams(any(), any(), any(), anyBoolean());
+    }
+
     @Test
     void deleteOwnerById() {
         when(ownerRepository.deleteOwnerById(ownerId)).thenReturn(1);
@@ -361,14 +341,15 @@ class OwnerServiceImplTest {
     @Test
     void checkOwnerPhoneNumber_whenOwnerAlreadyExist_thenReturnExistedOwner() {
         CheckOwnerDto checkOwnerDto = new CheckOwnerDto(mainPhone);
-        when(ownerRepository.findByMainPhoneOrOptionalPhone(mainPhone, mainPhone)).thenReturn(Optional.of(owner));
-        when(ownerMapper.toOwnerDto(owner)).thenReturn(ownerDto);
+        when(ownerPhoneRepository.findFirstByNumberOrderByIdAsc(mainPhone))
+                .thenReturn(Optional.of(OwnerPhone.of(owner, mainPhone)));
+        when(ownerMapper.toCompactOwnerDto(owner)).thenReturn(ownerDto);
 
         OwnerDto resultOwnerDto = ownerService.checkOwnerPhoneNumber(requesterId, checkOwnerDto);
 
         assertAll(
-                () -> verify(ownerRepository).findByMainPhoneOrOptionalPhone(mainPhone, mainPhone),
-                () -> verify(ownerMapper).toOwnerDto(owner),
+                () -> verify(ownerPhoneRepository).findFirstByNumberOrderByIdAsc(mainPhone),
+                () -> verify(ownerMapper).toCompactOwnerDto(owner),
                 () -> assertEquals(ownerDto, resultOwnerDto)
         );
     }
@@ -376,15 +357,14 @@ class OwnerServiceImplTest {
     @Test
     void checkOwnerPhoneNumber_whenOwnerNotyExist_thenReturnEmptyOwner() {
         CheckOwnerDto checkOwnerDto = new CheckOwnerDto(mainPhone);
-        when(ownerRepository.findByMainPhoneOrOptionalPhone(mainPhone, mainPhone)).thenReturn(Optional.empty());
-        when(ownerMapper.toOwnerDto(any(Owner.class))).thenReturn(new OwnerDto());
+        when(ownerPhoneRepository.findFirstByNumberOrderByIdAsc(mainPhone)).thenReturn(Optional.empty());
 
         OwnerDto resultOwnerDto = ownerService.checkOwnerPhoneNumber(requesterId, checkOwnerDto);
 
         assertAll(
                 () -> assertEquals(new OwnerDto(), resultOwnerDto),
-                () -> verify(ownerRepository).findByMainPhoneOrOptionalPhone(mainPhone, mainPhone),
-                () -> verify(ownerMapper).toOwnerDto(any(Owner.class))
+                () -> verify(ownerPhoneRepository).findFirstByNumberOrderByIdAsc(mainPhone),
+                () -> verifyNoInteractions(ownerMapper, ownerRepository)
         );
     }
 
@@ -393,14 +373,15 @@ class OwnerServiceImplTest {
         SearchOwnerDto searchOwnerDto = new SearchOwnerDto("123");
         SearchDirection searchDirection = SearchDirection.PHONE;
         List<Owner> foundOwners = List.of(owner);
-        when(ownerRepository.searchOwner(searchOwnerDto.getWanted(), searchDirection.getTitle())).thenReturn(foundOwners);
+        when(fuzzySearchService.findOwnerIdsByPhone(searchOwnerDto.getWanted(), 50)).thenReturn(List.of(ownerId));
+        when(ownerRepository.findAllById(List.of(ownerId))).thenReturn(foundOwners);
         when(ownerMapper.map(foundOwners)).thenReturn(List.of(ownerDto));
 
-        Collection<OwnerDto> resultOwnersDto = ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection);
+        Collection<OwnerDto> resultOwnersDto = ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection, true);
 
         assertAll(
                 () -> assertEquals(List.of(ownerDto), resultOwnersDto),
-                () -> verify(ownerRepository).searchOwner(searchOwnerDto.getWanted(), searchDirection.getTitle()),
+                () -> verify(fuzzySearchService).findOwnerIdsByPhone(searchOwnerDto.getWanted(), 50),
                 () -> verify(ownerMapper).map(foundOwners)
         );
     }
@@ -410,15 +391,90 @@ class OwnerServiceImplTest {
         SearchOwnerDto searchOwnerDto = new SearchOwnerDto("123");
         SearchDirection searchDirection = SearchDirection.PHONE;
         List<Owner> foundOwners = Collections.emptyList();
-        when(ownerRepository.searchOwner(searchOwnerDto.getWanted(), searchDirection.getTitle())).thenReturn(foundOwners);
+        when(fuzzySearchService.findOwnerIdsByPhone(searchOwnerDto.getWanted(), 50)).thenReturn(List.of());
+        when(ownerRepository.findAllById(List.of())).thenReturn(foundOwners);
         when(ownerMapper.map(foundOwners)).thenReturn(Collections.emptyList());
 
-        Collection<OwnerDto> resultOwnersDto = ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection);
+        Collection<OwnerDto> resultOwnersDto = ownerService.searchOwner(requesterId, searchOwnerDto, searchDirection, true);
 
         assertAll(
                 () -> assertEquals(Collections.emptyList(), resultOwnersDto),
-                () -> verify(ownerRepository).searchOwner(searchOwnerDto.getWanted(), searchDirection.getTitle()),
+                () -> verify(fuzzySearchService).findOwnerIdsByPhone(searchOwnerDto.getWanted(), 50),
                 () -> verify(ownerMapper).map(foundOwners)
         );
     }
+
+    @Test
+    void searchOwner_whenFoundSeveralOwners_thenReturnedInOrderOfSimilarity() {
+        Owner secondOwner = new Owner(ownerId + 1, ownerLastName, ownerFirstName, ownerMiddleName, mainPhone,
+                optionalPhone, otherContacts, actualAddress, trustedMan, source, comment, rating, registrationDate, pets, null);
+        when(fuzzySearchService.findOwnerIdsByPhone("123", 50)).thenReturn(List.of(secondOwner.getId(), ownerId));
+        when(ownerRepository.findAllById(List.of(secondOwner.getId(), ownerId))).thenReturn(List.of(owner, secondOwner));
+        when(ownerMapper.map(List.of(secondOwner, owner))).thenReturn(List.of(ownerDto));
+
+        Collection<OwnerDto> result = ownerService.searchOwner(requesterId, new SearchOwnerDto("123"),
+                SearchDirection.PHONE, true);
+
+        assertEquals(List.of(ownerDto), result);
+        verify(fuzzySearchService).findOwnerIdsByPhone("123", 50);
+        verify(ownerMapper).map(List.of(secondOwner, owner));
+    }
+
+    @Test
+    void searchOwner_whenLastFourDigitsOfPhone_thenSearchedBySuffix() {
+        when(ownerPhoneRepository.findOwnersBySuffix("6789")).thenReturn(List.of(owner));
+        when(ownerMapper.map(List.of(owner))).thenReturn(List.of(ownerDto));
+
+        Collection<OwnerDto> result = ownerService.searchOwner(requesterId, new SearchOwnerDto("67-89"),
+                SearchDirection.PHONE, true);
+
+        assertEquals(List.of(ownerDto), result);
+        verify(ownerPhoneRepository).findOwnersBySuffix("6789");
+        verify(fuzzySearchService, never()).findOwnerIdsByPhone(anyString(), anyInt());
+    }
+
+    @Test
+    void searchOwner_whenFullPhone_thenSearchedByNormalizedNumber() {
+        when(ownerPhoneRepository.findOwnersByNumber(mainPhone)).thenReturn(List.of(owner));
+        when(ownerMapper.map(List.of(owner))).thenReturn(List.of(ownerDto));
+
+        Collection<OwnerDto> result = ownerService.searchOwner(requesterId, new SearchOwnerDto("8 (912) 345-67-89"),
+                SearchDirection.PHONE, true);
+
+        assertEquals(List.of(ownerDto), result);
+        verify(ownerPhoneRepository).findOwnersByNumber(mainPhone);
+        verify(fuzzySearchService, never()).findOwnerIdsByPhone(anyString(), anyInt());
+    }
+
+    @Test
+    void searchOwner_whenPetsNotExpanded_thenPetsCountedByOneQuery() {
+        Owner secondOwner = new Owner(ownerId + 1, ownerLastName, ownerFirstName, ownerMiddleName, mainPhone,
+                optionalPhone, otherContacts, actualAddress, trustedMan, source, comment, rating, registrationDate, pets, null);
+        OwnerDto firstOwnerDto = OwnerDto.builder().id(ownerId).build();
+        OwnerDto secondOwnerDto = OwnerDto.builder().id(secondOwner.getId()).build();
+        List<OwnerPetRow> petRows = List.of(
+                new OwnerPetRow(ownerId, 5L, "Барсик", TypeOfPet.CAT),
+                new OwnerPetRow(ownerId, 6L, "Шарик", TypeOfPet.DOG));
+        when(ownerPhoneRepository.findOwnersBySuffix("6789")).thenReturn(List.of(owner, secondOwner));
+        when(ownerMapper.mapCompact(List.of(owner, secondOwner))).thenReturn(List.of(firstOwnerDto, secondOwnerDto));
+        when(ownerRepository.findPetRowsByOwnerIds(List.of(ownerId, secondOwner.getId()))).thenReturn(petRows);
+        when(ownerMapper.toOwnerPetDto(any(OwnerPetRow.class)))
+                .thenAnswer(invocation -> {
+                    OwnerPetRow row = invocation.getArgument(0);
+                    return new OwnerPetDto(row.id(), row.name(), row.type());
+                });
+
+        List<OwnerDto> result = List.copyOf(ownerService.searchOwner(requesterId, new SearchOwnerDto("6789"),
+                SearchDirection.PHONE, false));
+
+        assertAll(
+                () -> assertEquals(2, result.get(0).getPetsCount()),
+                () -> assertEquals(List.of("Барсик", "Шарик"),
+                        result.get(0).getPetsSummary().stream().map(OwnerPetDto::getName).toList()),
+                () -> assertEquals(0, result.get(1).getPetsCount()),
+                () -> assertEquals(List.of(), result.get(1).getPetsSummary()),
+                () -> verify(ownerRepository).findPetRowsByOwnerIds(anyCollection()),
+                () -> verify(ownerMapper, never()).map(anyList())
+        );
+    }
 }
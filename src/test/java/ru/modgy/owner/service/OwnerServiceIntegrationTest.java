@@ -3,14 +3,40 @@ package ru.modgy.owner.service;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.modgy.owner.controller.SearchDirection;
+import ru.modgy.owner.dto.*;
+import ru.modgy.owner.model.Owner;
+import ru.modgy.pet.dto.PetSummaryDto;
+import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.Sex;
+import ru.modgy.pet.model.TypeOfPet;
 import ru.modgy.user.model.Roles;
 import ru.modgy.user.model.User;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.modgy.metrics.QueryAssertions.assertMaxQueries;
+
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @SpringBootTest
@@ -248,5 +274,199 @@ class OwnerServiceIntegrationTest {
 //                () -> assertThat(allOwnersAfterDelete, hasItem(addedOwnerDto3))
 //        );
 //    }
-}
 
+    @Test
+    void checkOwnerPhoneNumber_whenOptionalPhoneInOtherFormat_thenOwnerFound() {
+        OwnerDto addedOwner = ownerService.addOwner(requesterId, newOwnerDto("89123456789", "84951234567"));
+
+        OwnerDto foundOwner = ownerService.checkOwnerPhoneNumber(requesterId, new CheckOwnerDto("+74951234567"));
+
+        assertEquals(addedOwner.getId(), foundOwner.getId());
+    }
+
+    @Test
+    void searchOwner_whenLastFourDigitsOfUpdatedPhone_thenFoundByNewPhoneOnly() {
+        OwnerDto addedOwner = ownerService.addOwner(requesterId, newOwnerDto("89123450001", null));
+        UpdateOwnerDto updateOwnerDto = UpdateOwnerDto.builder().mainPhone("89123450002").build();
+        ownerService.updateOwner(requesterId, addedOwner.getId(), updateOwnerDto);
+        em.flush();
+
+        Collection<OwnerDto> byOldSuffix = ownerService.searchOwner(requesterId, new SearchOwnerDto("0001"),
+                SearchDirection.PHONE, false);
+        Collection<OwnerDto> byNewSuffix = ownerService.searchOwner(requesterId, new SearchOwnerDto("0002"),
+                SearchDirection.PHONE, false);
+
+        assertTrue(byOldSuffix.isEmpty());
+        assertEquals(List.of(addedOwner.getId()), byNewSuffix.stream().map(OwnerDto::getId).toList());
+    }
+
+    @Test
+    void getOwnerById_whenNotInPersistenceContext_thenQueriesBounded() {
+        OwnerDto addedOwner = ownerService.addOwner(requesterId, newOwnerDto("89123450003", "84951230003"));
+        em.flush();
+        em.clear();
+
+        OwnerDto foundOwner = assertMaxQueries(2, () -> ownerService.getOwnerById(requesterId, addedOwner.getId(), false));
+
+        assertEquals(addedOwner.getId(), foundOwner.getId());
+    }
+
+    @Test
+    void searchOwner_whenPetsNotExpanded_thenPetsSummarizedWithoutLoadingPets() {
+        OwnerDto firstOwner = ownerService.addOwner(requesterId, newOwnerDto("89123450004", null));
+        OwnerDto secondOwner = ownerService.addOwner(requesterId, newOwnerDto("89123460004", null));
+        persistPet(firstOwner.getId(), "Шарик", TypeOfPet.DOG);
+        persistPet(firstOwner.getId(), "Барсик", TypeOfPet.CAT);
+        em.flush();
+        em.clear();
+
+        Map<Long, OwnerDto> foundOwners = assertMaxQueries(2, () -> ownerService.searchOwner(requesterId,
+                        new SearchOwnerDto("0004"), SearchDirection.PHONE, false)).stream()
+                .collect(Collectors.toMap(OwnerDto::getId, Function.identity()));
+
+        OwnerDto first = foundOwners.get(firstOwner.getId());
+        OwnerDto second = foundOwners.get(secondOwner.getId());
+        assertEquals(2, first.getPetsCount());
+        assertEquals(List.of("Барсик", "Шарик"), first.getPetsSummary().stream().map(OwnerPetDto::getName).toList());
+        assertEquals(TypeOfPet.CAT, first.getPetsSummary().get(0).getType());
+        assertNull(first.getPetsDto());
+        assertEquals(0, second.getPetsCount());
+    }
+
+    @Test
+    void getOwnerById_whenPetsExpanded_thenPetsMapped() {
+        OwnerDto addedOwner = ownerService.addOwner(requesterId, newOwnerDto("89123450005", null));
+        persistPet(addedOwner.getId(), "Шарик", TypeOfPet.DOG);
+        em.flush();
+        em.clear();
+
+        OwnerDto foundOwner = ownerService.getOwnerById(requesterId, addedOwner.getId(), true);
+
+        assertEquals(1, foundOwner.getPetsCount());
+        assertEquals(List.of("Шарик"), foundOwner.getPetsDto().stream().map(PetSummaryDto::getName).toList());
+    }
+
+    @Test
+    void updateOwner_whenOwnerHasPets_thenPetsSummarizedWithoutLoadingPets() {
+        OwnerDto addedOwner = ownerService.addOwner(requesterId, newOwnerDto("89123450006", null));
+        persistPet(addedOwner.getId(), "Шарик", TypeOfPet.DOG);
+        em.flush();
+        em.clear();
+        UpdateOwnerDto updateOwnerDto = UpdateOwnerDto.builder().comment("Постоянный клиент").build();
+
+        OwnerDto updatedOwner = ownerService.updateOwner(requesterId, addedOwner.getId(), updateOwnerDto);
+
+        assertEquals(0, addedOwner.getPetsCount());
+        assertEquals(List.of(), addedOwner.getPetsSummary());
+        assertEquals("Постоянный клиент", updatedOwner.getComment());
+        assertEquals(1, updatedOwner.getPetsCount());
+        assertEquals(List.of("Шарик"), updatedOwner.getPetsSummary().stream().map(OwnerPetDto::getName).toList());
+        assertNull(updatedOwner.getPetsDto());
+    }
+
+    @Test
+    void getOwners_whenContinuedByKeyset_thenAllFilteredOwnersReturnedOnce() {
+        List<Long> ownerIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            ownerIds.add(ownerService.addOwner(requesterId, newOwnerDto("8912345001" + i, "Авито", i)).getId());
+        }
+        ownerService.addOwner(requesterId, newOwnerDto("89123450020", "Сайт", 3));
+        em.flush();
+        OwnerFilterParams params = OwnerFilterParams.builder().source("авито").ratingFrom(1).build();
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "registrationDate"));
+
+        Page<OwnerShortDto> firstPage = (Page<OwnerShortDto>) ownerService.getOwners(requesterId, params, pageable,
+                null, true);
+        Slice<OwnerShortDto> secondPage = ownerService.getOwners(requesterId, params, pageable,
+                firstPage.getContent().get(1).getId(), false);
+        Slice<OwnerShortDto> lastPage = assertMaxQueries(1, () -> ownerService.getOwners(requesterId, params, pageable,
+                secondPage.getContent().get(1).getId(), false));
+
+        List<Long> foundIds = Stream.of(firstPage, secondPage, lastPage)
+                .flatMap(page -> page.getContent().stream())
+                .map(OwnerShortDto::getId)
+                .toList();
+        assertEquals(5, firstPage.getTotalElements());
+        assertTrue(firstPage.hasNext());
+        assertTrue(secondPage.hasNext());
+        assertFalse(lastPage.hasNext());
+        assertEquals(1, lastPage.getNumberOfElements());
+        assertEquals(5, foundIds.size());
+        assertEquals(Set.copyOf(ownerIds.subList(1, 6)), Set.copyOf(foundIds));
+        assertFalse(secondPage instanceof Page);
+        assertFalse(lastPage instanceof Page);
+    }
+
+    @Test
+    void getOwners_whenContinuedByKeysetWithCount_thenPageNumberMatchesTotal() {
+        List<Long> ownerIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ownerIds.add(ownerService.addOwner(requesterId, newOwnerDto("8912345004" + i, "Сарафанное радио", 0))
+                    .getId());
+        }
+        em.flush();
+        OwnerFilterParams params = OwnerFilterParams.builder().source("Сарафанное радио").build();
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "id"));
+
+        Page<OwnerShortDto> secondPage = (Page<OwnerShortDto>) ownerService.getOwners(requesterId, params, pageable,
+                ownerIds.get(1), true);
+        Page<OwnerShortDto> lastPage = (Page<OwnerShortDto>) ownerService.getOwners(requesterId, params, pageable,
+                ownerIds.get(3), true);
+
+        assertEquals(ownerIds.subList(2, 4), secondPage.getContent().stream().map(OwnerShortDto::getId).toList());
+        assertEquals(1, secondPage.getNumber());
+        assertEquals(5, secondPage.getTotalElements());
+        assertEquals(3, secondPage.getTotalPages());
+        assertTrue(secondPage.hasNext());
+        assertEquals(2, lastPage.getNumber());
+        assertEquals(5, lastPage.getTotalElements());
+        assertTrue(lastPage.isLast());
+    }
+
+    @Test
+    void getOwners_whenSortedByIdWithOffset_thenPageAndTotalReturned() {
+        List<Long> ownerIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ownerIds.add(ownerService.addOwner(requesterId, newOwnerDto("8912345003" + i, "Радио", 0)).getId());
+        }
+        em.flush();
+        OwnerFilterParams params = OwnerFilterParams.builder()
+                .source("Радио")
+                .registeredFrom(LocalDate.now())
+                .registeredTo(LocalDate.now())
+                .build();
+
+        Page<OwnerShortDto> page = (Page<OwnerShortDto>) ownerService.getOwners(requesterId, params,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.ASC, "id")), null, true);
+
+        assertEquals(List.of(ownerIds.get(2)), page.getContent().stream().map(OwnerShortDto::getId).toList());
+        assertEquals(3, page.getTotalElements());
+        assertFalse(page.hasNext());
+    }
+
+    private void persistPet(Long ownerId, String name, TypeOfPet type) {
+        em.persist(Pet.builder()
+                .owner(em.getReference(Owner.class, ownerId))
+                .type(type)
+                .name(name)
+                .breed("Дворняжка")
+                .birthDate(LocalDate.of(2020, 1, 1))
+                .sex(Sex.MALE)
+                .build());
+    }
+
+    private NewOwnerDto newOwnerDto(String mainPhone, String optionalPhone) {
+        return NewOwnerDto.builder()
+                .firstName(ownerName)
+                .mainPhone(mainPhone)
+                .optionalPhone(optionalPhone)
+                .build();
+    }
+
+    private NewOwnerDto newOwnerDto(String mainPhone, String source, int rating) {
+        NewOwnerDto newOwnerDto = newOwnerDto(mainPhone, null);
+        newOwnerDto.setSource(source);
+        newOwnerDto.setRating(rating);
+        return newOwnerDto;
+    }
+}
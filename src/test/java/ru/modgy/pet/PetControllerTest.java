@@ -17,6 +17,7 @@ import ru.modgy.exception.NotFoundException;
 import ru.modgy.pet.controller.PetController;
 import ru.modgy.pet.dto.NewPetDto;
 import ru.modgy.pet.dto.PetDto;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.pet.dto.UpdatePetDto;
 import ru.modgy.pet.model.Sex;
 import ru.modgy.pet.model.TypeOfPet;
@@ -34,7 +35,9 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -866,4 +869,23 @@ public class PetControllerTest {
 
         verify(petService, times(4)).deletePetById(anyLong(), anyLong());
     }
+
+    @Test
+    @SneakyThrows
+    void getPetsByFuzzySearch() {
+        PetSummaryDto petSummaryDto = PetSummaryDto.builder()
+                .id(petDto.getId())
+                .name(petDto.getName())
+                .build();
+        when(petService.getPetsByFuzzySearch(anyLong(), anyString(), anyInt())).thenReturn(List.of(petSummaryDto));
+
+        mockMvc.perform(get("/pets/search/fuzzy")
+                        .header(requesterHeader, requesterAdmin.getId())
+                        .param("text", "шарек")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is(petDto.getName())));
+
+        verify(petService, times(1)).getPetsByFuzzySearch(requesterAdmin.getId(), "шарек", 10);
+    }
 }
@@ -0,0 +1,136 @@
+package ru.modgy.pet.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import ru.modgy.pet.dto.UpdatePetDto;
+import ru.modgy.pet.mapper.PetMapper;
+import ru.modgy.pet.mapper.PetPatchMapper;
+import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.PetBehaviour;
+import ru.modgy.pet.model.PetCare;
+import ru.modgy.pet.model.PetHealth;
+import ru.modgy.pet.model.PetQuestionnaire;
+import ru.modgy.pet.repository.PetBehaviourRepository;
+import ru.modgy.pet.repository.PetCareRepository;
+import ru.modgy.pet.repository.PetHealthRepository;
+import ru.modgy.pet.repository.PetRepository;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PetQuestionnaireStoreTest {
+    @InjectMocks
+    private PetQuestionnaireStore petQuestionnaireStore;
+
+    @Mock
+    private PetRepository petRepository;
+    @Mock
+    private PetHealthRepository petHealthRepository;
+    @Mock
+    private PetBehaviourRepository petBehaviourRepository;
+    @Mock
+    private PetCareRepository petCareRepository;
+    @Mock
+    private PetMapper petMapper;
+    @Spy
+    private PetPatchMapper petPatchMapper = Mappers.getMapper(PetPatchMapper.class);
+    @Mock
+    private EntityManager entityManager;
+    // Session тоже EntityManager: мок создается после внедрения, иначе он может попасть в конструктор
+    private Session session;
+
+    private final Pet pet = Pet.builder()
+            .id(1L)
+            .name("Шарик")
+            .version(3L)
+            .build();
+
+    private final PetHealth health = PetHealth.builder().id(1L).pet(pet).vaccine("22.11.2023").build();
+    private final PetBehaviour behaviour = PetBehaviour.builder().id(1L).pet(pet).toys("Мячик").build();
+    private final PetCare care = PetCare.builder().id(1L).pet(pet).additionalData("Любит морковку").build();
+
+    private final UpdatePetDto updatePetDto = UpdatePetDto.builder()
+            .vaccine("")
+            .additionalData("Любит, чтоб чесали за ушком")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(petRepository.findQuestionnaire(pet.getId()))
+                .thenReturn(Optional.of(new PetQuestionnaire(health, behaviour, care)));
+    }
+
+    @Test
+    void updateQuestionnaire_whenOnlySectionChanged_thenVersionIncremented() {
+        when(session.isDirty()).thenReturn(true);
+
+        PetQuestionnaire result = petQuestionnaireStore.updateQuestionnaire(pet, updatePetDto);
+
+        assertThat(result.care().getAdditionalData(), equalTo(updatePetDto.getAdditionalData()));
+        assertThat(result.health().getVaccine(), equalTo("22.11.2023"));
+        assertThat(result.behaviour().getToys(), equalTo("Мячик"));
+        verify(petRepository).flush();
+        verify(entityManager).lock(pet, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
+
+    @Test
+    void updateQuestionnaire_whenPetVersionIncrementedByFlush_thenNotIncrementedAgain() {
+        when(session.isDirty()).thenReturn(true);
+        doAnswer(invocation -> {
+            pet.setVersion(pet.getVersion() + 1);
+            return null;
+        }).when(petRepository).flush();
+
+        petQuestionnaireStore.updateQuestionnaire(pet, updatePetDto);
+
+        assertThat(pet.getVersion(), equalTo(4L));
+        verify(entityManager, never()).lock(any(), any());
+    }
+
+    @Test
+    void updateQuestionnaire_whenNothingChanged_thenVersionNotIncremented() {
+        when(session.isDirty()).thenReturn(false);
+
+        petQuestionnaireStore.updateQuestionnaire(pet, UpdatePetDto.builder().build());
+
+        verify(entityManager, never()).lock(any(), any());
+    }
+
+    @Test
+    void updateQuestionnaire_whenSectionsMissing_thenSectionsCreated() {
+        when(petRepository.findQuestionnaire(pet.getId())).thenReturn(Optional.of(PetQuestionnaire.EMPTY));
+        when(petHealthRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(petBehaviourRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(petCareRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        PetQuestionnaire result = petQuestionnaireStore.updateQuestionnaire(pet, updatePetDto);
+
+        assertThat(result.health().getPet(), sameInstance(pet));
+        assertThat(result.behaviour().getPet(), sameInstance(pet));
+        assertThat(result.care().getPet(), sameInstance(pet));
+        assertThat(result.care().getAdditionalData(), equalTo(updatePetDto.getAdditionalData()));
+        verify(petHealthRepository).save(any());
+        verify(petBehaviourRepository).save(any());
+        verify(petCareRepository).save(any());
+    }
+}
@@ -2,34 +2,50 @@ package ru.modgy.pet.service;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import ru.modgy.exception.NotFoundException;
 import ru.modgy.owner.dto.OwnerShortDto;
 import ru.modgy.owner.dto.mapper.OwnerMapper;
 import ru.modgy.owner.model.Owner;
 import ru.modgy.pet.dto.NewPetDto;
 import ru.modgy.pet.dto.PetDto;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.pet.dto.UpdatePetDto;
 import ru.modgy.pet.mapper.PetMapper;
+import ru.modgy.pet.mapper.PetPatchMapper;
 import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.PetBehaviour;
+import ru.modgy.pet.model.PetCare;
+import ru.modgy.pet.model.PetHealth;
+import ru.modgy.pet.model.PetQuestionnaire;
 import ru.modgy.pet.model.Sex;
 import ru.modgy.pet.model.TypeOfPet;
 import ru.modgy.pet.repository.PetRepository;
+import ru.modgy.search.FuzzySearchService;
 import ru.modgy.user.model.Roles;
 import ru.modgy.user.model.User;
 import ru.modgy.utility.EntityService;
+import ru.modgy.utility.RequesterContext;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,13 +65,23 @@ public class PetServiceImplTest {
 
     @Mock
     private PetMapper mockPetMapper;
+    @Spy
+    private PetPatchMapper petPatchMapper = Mappers.getMapper(PetPatchMapper.class);
 
     @Mock
     private EntityService entityService;
+    @Mock
+    private RequesterContext requesterContext;
 
     @Mock
     private OwnerMapper ownerMapper;
 
+    @Mock
+    private FuzzySearchService fuzzySearchService;
+
+    @Mock
+    private PetQuestionnaireStore petQuestionnaireStore;
+
     private final Owner owner = Owner.builder()
             .id(1L)
             .firstName("Ivan")
@@ -230,6 +256,11 @@ public class PetServiceImplTest {
             .color("black")
             .sign("Клеймо")
             .isExhibition(true)
+            .build();
+
+    final PetHealth health = PetHealth.builder()
+            .id(pet.getId())
+            .pet(pet)
             .vetVisitDate(VET_VISIT_DATE)
             .vetVisitReason("Ушиб")
             .vaccine("22.11.2023 антиклещ")
@@ -245,6 +276,13 @@ public class PetServiceImplTest {
             .chronicDiseaseType("Пиелонефрит")
             .heatDate(HEAT_DATE)
             .vetData("89000000000 Иван Иваныч Иванов")
+            .isMedicine(true)
+            .medicineRegimen("Здоровая собака")
+            .build();
+
+    final PetBehaviour behaviour = PetBehaviour.builder()
+            .id(pet.getId())
+            .pet(pet)
             .stayWithoutMaster("Да, разлучается спокойно")
             .stayAlone("нет, воет, когда остаётся один")
             .specialCare("да, нужно расчёсывать шерсть два раза в день")
@@ -263,6 +301,11 @@ public class PetServiceImplTest {
             .notLike("Когда трогают хвост")
             .toys("Мячик")
             .badHabit("Разбрасывает еду из миски")
+            .build();
+
+    final PetCare care = PetCare.builder()
+            .id(pet.getId())
+            .pet(pet)
             .walking("3 раза")
             .morningWalking("В 6 утра")
             .dayWalking("В 2 часа дня")
@@ -274,11 +317,24 @@ public class PetServiceImplTest {
             .feedingRate("100 г")
             .feedingPractice("без особенностей")
             .treat("сахар")
-            .isMedicine(true)
-            .medicineRegimen("Здоровая собака")
             .additionalData("Любит, чтоб чесали животик")
             .build();
 
+    final PetQuestionnaire questionnaire = new PetQuestionnaire(health, behaviour, care);
+
+    final PetSummaryDto petSummaryDto = PetSummaryDto.builder()
+            .id(1L)
+            .type(TypeOfPet.DOG)
+            .name("Шарик")
+            .breed("Spaniel")
+            .birthDate(BIRTH_DATE)
+            .sex(Sex.FEMALE)
+            .color("black")
+            .sign("Клеймо")
+            .isExhibition(true)
+            .registrationDate(registrationDate)
+            .build();
+
     final UpdatePetDto updatePetDto = UpdatePetDto.builder()
             .type(TypeOfPet.CAT)
             .name("Шар")
@@ -347,6 +403,11 @@ public class PetServiceImplTest {
             .color("red")
             .sign("Чип")
             .isExhibition(false)
+            .build();
+
+    final PetHealth updateHealth = PetHealth.builder()
+            .id(updatePet.getId())
+            .pet(updatePet)
             .vetVisitDate(VET_VISIT_DATE.minusMonths(1))
             .vetVisitReason("Укус")
             .vaccine("22.09.2023 антиклещ")
@@ -362,6 +423,13 @@ public class PetServiceImplTest {
             .chronicDiseaseType("Гломерулонефрит")
             .heatDate(HEAT_DATE.plusDays(10))
             .vetData("89000000015 Иван Иваныч Иванов")
+            .isMedicine(true)
+            .medicineRegimen("Здоровая кошка")
+            .build();
+
+    final PetBehaviour updateBehaviour = PetBehaviour.builder()
+            .id(updatePet.getId())
+            .pet(updatePet)
             .stayWithoutMaster("разлучается неспокойно")
             .stayAlone("да, ведёт себя спокойно, когда остаётся один")
             .specialCare("нет")
@@ -380,6 +448,11 @@ public class PetServiceImplTest {
             .notLike("Когда трогают уши")
             .toys("Мышка")
             .badHabit("Разбрасывает наполнитель из лотка")
+            .build();
+
+    final PetCare updateCare = PetCare.builder()
+            .id(updatePet.getId())
+            .pet(updatePet)
             .walking("4 раз")
             .morningWalking("В 7 утра")
             .dayWalking("В 2 и 4 часа дня")
@@ -391,8 +464,6 @@ public class PetServiceImplTest {
             .feedingRate("10 г")
             .feedingPractice("нужно погреть корм")
             .treat("сметана")
-            .isMedicine(true)
-            .medicineRegimen("Здоровая кошка")
             .additionalData("Любит, чтоб чесали за ушком")
             .build();
 
@@ -459,8 +530,9 @@ public class PetServiceImplTest {
     void addPet_whenAddPetByAdmin_thenPetAdded() {
         when(entityService.getUserIfExists(requesterAdmin.getId())).thenReturn(requesterAdmin);
         when(mockPetMapper.toPet(newPetDto)).thenReturn(pet);
+        when(petQuestionnaireStore.addQuestionnaire(pet, newPetDto)).thenReturn(questionnaire);
         when(mockPetRepository.save(any())).thenReturn(pet);
-        when(mockPetMapper.toPetDto(pet)).thenReturn(petDto);
+        when(mockPetMapper.toPetDto(pet, questionnaire)).thenReturn(petDto);
         when(ownerMapper.toOwnerShortDto(any(Owner.class))).thenReturn(ownerShortDto);
 
         PetDto actualPetDto = petService.addPet(requesterAdmin.getId(), newPetDto);
@@ -529,8 +601,9 @@ public class PetServiceImplTest {
     void addPet_whenAddPetByBoss_thenPetAdded() {
         when(entityService.getUserIfExists(requesterBoss.getId())).thenReturn(requesterBoss);
         when(mockPetMapper.toPet(newPetDto)).thenReturn(pet);
+        when(petQuestionnaireStore.addQuestionnaire(pet, newPetDto)).thenReturn(questionnaire);
         when(mockPetRepository.save(any())).thenReturn(pet);
-        when(mockPetMapper.toPetDto(pet)).thenReturn(petDto);
+        when(mockPetMapper.toPetDto(pet, questionnaire)).thenReturn(petDto);
 
         PetDto actualPetDto = petService.addPet(requesterBoss.getId(), newPetDto);
 
@@ -598,7 +671,8 @@ public class PetServiceImplTest {
     void getPetById_whenGetPetByUser_thenReturnPetDto() {
         when(entityService.getUserIfExists(requesterUser.getId())).thenReturn(requesterUser);
         when(entityService.getPetIfExists(anyLong())).thenReturn(pet);
-        when(mockPetMapper.toPetDto(pet)).thenReturn(petDto);
+        when(petQuestionnaireStore.getQuestionnaire(pet.getId())).thenReturn(questionnaire);
+        when(mockPetMapper.toPetDto(pet, questionnaire)).thenReturn(petDto);
 
         PetDto actualPetDto = petService.getPetById(requesterUser.getId(), pet.getId());
 
@@ -707,7 +781,7 @@ public class PetServiceImplTest {
     void getPetById_whenUserNotFound_thenNotFoundExceptionThrown() {
         long userNotFoundId = 0L;
         String error = String.format("User with id = %d not found", userNotFoundId);
-        when(entityService.getUserIfExists(userNotFoundId)).thenThrow(new NotFoundException(error));
+        when(requesterContext.getActiveRequester(userNotFoundId)).thenThrow(new NotFoundException(error));
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
@@ -722,13 +796,16 @@ public class PetServiceImplTest {
     void updatePet_whenUpdatePetByBoss_thenReturnUpdatePetDto() {
         when(entityService.getUserIfExists(requesterBoss.getId())).thenReturn(requesterBoss);
         when(entityService.getPetIfExists(any())).thenReturn(pet);
-        when(mockPetRepository.save(any())).thenReturn(updatePet);
-        when(mockPetMapper.toPetDto(updatePet)).thenReturn(updatedPetDto);
-        when(mockPetMapper.toPet(updatePetDto)).thenReturn(updatePet);
+        when(petQuestionnaireStore.updateQuestionnaire(pet, updatePetDto)).thenReturn(questionnaire);
+        when(mockPetMapper.toPetDto(pet, questionnaire)).thenReturn(updatedPetDto);
 
         PetDto actualPetDto = petService.updatePet(requesterBoss.getId(), pet.getId(), updatePetDto);
 
         assertNotNull(actualPetDto);
+        assertThat(pet.getName(), equalTo(updatePetDto.getName()));
+        assertThat(pet.getBreed(), equalTo(updatePetDto.getBreed()));
+        verify(petQuestionnaireStore).updateQuestionnaire(pet, updatePetDto);
+        verify(mockPetRepository, never()).save(any());
         assertThat(actualPetDto.getId(), equalTo(pet.getId()));
         assertThat(actualPetDto.getType(), equalTo(updatePet.getType()));
         assertThat(actualPetDto.getName(), equalTo(updatePet.getName()));
@@ -739,65 +816,68 @@ public class PetServiceImplTest {
         assertThat(actualPetDto.getColor(), equalTo(updatePet.getColor()));
         assertThat(actualPetDto.getSign(), equalTo(updatePet.getSign()));
         assertThat(actualPetDto.getIsExhibition(), equalTo(updatePet.getIsExhibition()));
-        assertThat(actualPetDto.getVetVisitReason(), equalTo(updatePet.getVetVisitReason()));
-        assertThat(actualPetDto.getVaccine(), equalTo(updatePet.getVaccine()));
-        assertThat(actualPetDto.getParasites(), equalTo(updatePet.getParasites()));
-        assertThat(actualPetDto.getFleaMite(), equalTo(updatePet.getFleaMite()));
-        assertThat(actualPetDto.getSurgery(), equalTo(updatePet.getSurgery()));
-        assertThat(actualPetDto.getPastDisease(), equalTo(updatePet.getPastDisease()));
-        assertThat(actualPetDto.getHealthCharacteristic(), equalTo(updatePet.getHealthCharacteristic()));
-        assertThat(actualPetDto.getUrineAnalysis(), equalTo(updatePet.getUrineAnalysis()));
-        assertThat(actualPetDto.getIsAllergy(), equalTo(updatePet.getIsAllergy()));
-        assertThat(actualPetDto.getAllergyType(), equalTo(updatePet.getAllergyType()));
-        assertThat(actualPetDto.getIsChronicDisease(), equalTo(updatePet.getIsChronicDisease()));
-        assertThat(actualPetDto.getChronicDiseaseType(), equalTo(updatePet.getChronicDiseaseType()));
-        assertThat(actualPetDto.getHeatDate(), equalTo(updatePet.getHeatDate()));
-        assertThat(actualPetDto.getVetData(), equalTo(updatePet.getVetData()));
-        assertThat(actualPetDto.getStayWithoutMaster(), equalTo(updatePet.getStayWithoutMaster()));
-        assertThat(actualPetDto.getStayAlone(), equalTo(updatePet.getStayAlone()));
-        assertThat(actualPetDto.getSpecialCare(), equalTo(updatePet.getSpecialCare()));
-        assertThat(actualPetDto.getBarkHowl(), equalTo(updatePet.getBarkHowl()));
-        assertThat(actualPetDto.getFurnitureDamage(), equalTo(updatePet.getFurnitureDamage()));
-        assertThat(actualPetDto.getFoodFromTable(), equalTo(updatePet.getFoodFromTable()));
-        assertThat(actualPetDto.getDefecateAtHome(), equalTo(updatePet.getDefecateAtHome()));
-        assertThat(actualPetDto.getMarkAtHome(), equalTo(updatePet.getMarkAtHome()));
-        assertThat(actualPetDto.getNewPeople(), equalTo(updatePet.getNewPeople()));
-        assertThat(actualPetDto.getIsBitePeople(), equalTo(updatePet.getIsBitePeople()));
-        assertThat(actualPetDto.getReasonOfBite(), equalTo(updatePet.getReasonOfBite()));
-        assertThat(actualPetDto.getPlayWithDogs(), equalTo(updatePet.getPlayWithDogs()));
-        assertThat(actualPetDto.getIsDogTraining(), equalTo(updatePet.getIsDogTraining()));
-        assertThat(actualPetDto.getTrainingName(), equalTo(updatePet.getTrainingName()));
-        assertThat(actualPetDto.getLike(), equalTo(updatePet.getLike()));
-        assertThat(actualPetDto.getNotLike(), equalTo(updatePet.getNotLike()));
-        assertThat(actualPetDto.getToys(), equalTo(updatePet.getToys()));
-        assertThat(actualPetDto.getBadHabit(), equalTo(updatePet.getBadHabit()));
-        assertThat(actualPetDto.getWalking(), equalTo(updatePet.getWalking()));
-        assertThat(actualPetDto.getMorningWalking(), equalTo(updatePet.getMorningWalking()));
-        assertThat(actualPetDto.getDayWalking(), equalTo(updatePet.getDayWalking()));
-        assertThat(actualPetDto.getEveningWalking(), equalTo(updatePet.getEveningWalking()));
-        assertThat(actualPetDto.getFeedingQuantity(), equalTo(updatePet.getFeedingQuantity()));
-        assertThat(actualPetDto.getFeedType(), equalTo(updatePet.getFeedType()));
-        assertThat(actualPetDto.getFeedName(), equalTo(updatePet.getFeedName()));
-        assertThat(actualPetDto.getFeedComposition(), equalTo(updatePet.getFeedComposition()));
-        assertThat(actualPetDto.getFeedingRate(), equalTo(updatePet.getFeedingRate()));
-        assertThat(actualPetDto.getFeedingPractice(), equalTo(updatePet.getFeedingPractice()));
-        assertThat(actualPetDto.getTreat(), equalTo(updatePet.getTreat()));
-        assertThat(actualPetDto.getIsMedicine(), equalTo(updatePet.getIsMedicine()));
-        assertThat(actualPetDto.getMedicineRegimen(), equalTo(updatePet.getMedicineRegimen()));
-        assertThat(actualPetDto.getAdditionalData(), equalTo(updatePet.getAdditionalData()));
+        assertThat(actualPetDto.getVetVisitReason(), equalTo(updateHealth.getVetVisitReason()));
+        assertThat(actualPetDto.getVaccine(), equalTo(updateHealth.getVaccine()));
+        assertThat(actualPetDto.getParasites(), equalTo(updateHealth.getParasites()));
+        assertThat(actualPetDto.getFleaMite(), equalTo(updateHealth.getFleaMite()));
+        assertThat(actualPetDto.getSurgery(), equalTo(updateHealth.getSurgery()));
+        assertThat(actualPetDto.getPastDisease(), equalTo(updateHealth.getPastDisease()));
+        assertThat(actualPetDto.getHealthCharacteristic(), equalTo(updateHealth.getHealthCharacteristic()));
+        assertThat(actualPetDto.getUrineAnalysis(), equalTo(updateHealth.getUrineAnalysis()));
+        assertThat(actualPetDto.getIsAllergy(), equalTo(updateHealth.getIsAllergy()));
+        assertThat(actualPetDto.getAllergyType(), equalTo(updateHealth.getAllergyType()));
+        assertThat(actualPetDto.getIsChronicDisease(), equalTo(updateHealth.getIsChronicDisease()));
+        assertThat(actualPetDto.getChronicDiseaseType(), equalTo(updateHealth.getChronicDiseaseType()));
+        assertThat(actualPetDto.getHeatDate(), equalTo(updateHealth.getHeatDate()));
+        assertThat(actualPetDto.getVetData(), equalTo(updateHealth.getVetData()));
+        assertThat(actualPetDto.getStayWithoutMaster(), equalTo(updateBehaviour.getStayWithoutMaster()));
+        assertThat(actualPetDto.getStayAlone(), equalTo(updateBehaviour.getStayAlone()));
+        assertThat(actualPetDto.getSpecialCare(), equalTo(updateBehaviour.getSpecialCare()));
+        assertThat(actualPetDto.getBarkHowl(), equalTo(updateBehaviour.getBarkHowl()));
+        assertThat(actualPetDto.getFurnitureDamage(), equalTo(updateBehaviour.getFurnitureDamage()));
+        assertThat(actualPetDto.getFoodFromTable(), equalTo(updateBehaviour.getFoodFromTable()));
+        assertThat(actualPetDto.getDefecateAtHome(), equalTo(updateBehaviour.getDefecateAtHome()));
+        assertThat(actualPetDto.getMarkAtHome(), equalTo(updateBehaviour.getMarkAtHome()));
+        assertThat(actualPetDto.getNewPeople(), equalTo(updateBehaviour.getNewPeople()));
+        assertThat(actualPetDto.getIsBitePeople(), equalTo(updateBehaviour.getIsBitePeople()));
+        assertThat(actualPetDto.getReasonOfBite(), equalTo(updateBehaviour.getReasonOfBite()));
+        assertThat(actualPetDto.getPlayWithDogs(), equalTo(updateBehaviour.getPlayWithDogs()));
+        assertThat(actualPetDto.getIsDogTraining(), equalTo(updateBehaviour.getIsDogTraining()));
+        assertThat(actualPetDto.getTrainingName(), equalTo(updateBehaviour.getTrainingName()));
+        assertThat(actualPetDto.getLike(), equalTo(updateBehaviour.getLike()));
+        assertThat(actualPetDto.getNotLike(), equalTo(updateBehaviour.getNotLike()));
+        assertThat(actualPetDto.getToys(), equalTo(updateBehaviour.getToys()));
+        assertThat(actualPetDto.getBadHabit(), equalTo(updateBehaviour.getBadHabit()));
+        assertThat(actualPetDto.getWalking(), equalTo(updateCare.getWalking()));
+        assertThat(actualPetDto.getMorningWalking(), equalTo(updateCare.getMorningWalking()));
+        assertThat(actualPetDto.getDayWalking(), equalTo(updateCare.getDayWalking()));
+        assertThat(actualPetDto.getEveningWalking(), equalTo(updateCare.getEveningWalking()));
+        assertThat(actualPetDto.getFeedingQuantity(), equalTo(updateCare.getFeedingQuantity()));
+        assertThat(actualPetDto.getFeedType(), equalTo(updateCare.getFeedType()));
+        assertThat(actualPetDto.getFeedName(), equalTo(updateCare.getFeedName()));
+        assertThat(actualPetDto.getFeedComposition(), equalTo(updateCare.getFeedComposition()));
+        assertThat(actualPetDto.getFeedingRate(), equalTo(updateCare.getFeedingRate()));
+        assertThat(actualPetDto.getFeedingPractice(), equalTo(updateCare.getFeedingPractice()));
+        assertThat(actualPetDto.getTreat(), equalTo(updateCare.getTreat()));
+        assertThat(actualPetDto.getIsMedicine(), equalTo(updateHealth.getIsMedicine()));
+        assertThat(actualPetDto.getMedicineRegimen(), equalTo(updateHealth.getMedicineRegimen()));
+        assertThat(actualPetDto.getAdditionalData(), equalTo(updateCare.getAdditionalData()));
     }
 
     @Test
     void updatePet_whenUpdatePetPetByAdmin_thenReturnUpdatePetDto() {
         when(entityService.getUserIfExists(requesterAdmin.getId())).thenReturn(requesterAdmin);
         when(entityService.getPetIfExists(any())).thenReturn(pet);
-        when(mockPetRepository.save(any())).thenReturn(updatePet);
-        when(mockPetMapper.toPetDto(updatePet)).thenReturn(updatedPetDto);
-        when(mockPetMapper.toPet(updatePetDto)).thenReturn(updatePet);
+        when(petQuestionnaireStore.updateQuestionnaire(pet, updatePetDto)).thenReturn(questionnaire);
+        when(mockPetMapper.toPetDto(pet, questionnaire)).thenReturn(updatedPetDto);
 
         PetDto actualPetDto = petService.updatePet(requesterAdmin.getId(), pet.getId(), updatePetDto);
 
         assertNotNull(actualPetDto);
+        assertThat(pet.getName(), equalTo(updatePetDto.getName()));
+        assertThat(pet.getBreed(), equalTo(updatePetDto.getBreed()));
+        verify(petQuestionnaireStore).updateQuestionnaire(pet, updatePetDto);
+        verify(mockPetRepository, never()).save(any());
         assertThat(actualPetDto.getId(), equalTo(pet.getId()));
         assertThat(actualPetDto.getType(), equalTo(updatePet.getType()));
         assertThat(actualPetDto.getName(), equalTo(updatePet.getName()));
@@ -808,52 +888,52 @@ public class PetServiceImplTest {
         assertThat(actualPetDto.getColor(), equalTo(updatePet.getColor()));
         assertThat(actualPetDto.getSign(), equalTo(updatePet.getSign()));
         assertThat(actualPetDto.getIsExhibition(), equalTo(updatePet.getIsExhibition()));
-        assertThat(actualPetDto.getVetVisitReason(), equalTo(updatePet.getVetVisitReason()));
-        assertThat(actualPetDto.getVaccine(), equalTo(updatePet.getVaccine()));
-        assertThat(actualPetDto.getParasites(), equalTo(updatePet.getParasites()));
-        assertThat(actualPetDto.getFleaMite(), equalTo(updatePet.getFleaMite()));
-        assertThat(actualPetDto.getSurgery(), equalTo(updatePet.getSurgery()));
-        assertThat(actualPetDto.getPastDisease(), equalTo(updatePet.getPastDisease()));
-        assertThat(actualPetDto.getHealthCharacteristic(), equalTo(updatePet.getHealthCharacteristic()));
-        assertThat(actualPetDto.getUrineAnalysis(), equalTo(updatePet.getUrineAnalysis()));
-        assertThat(actualPetDto.getIsAllergy(), equalTo(updatePet.getIsAllergy()));
-        assertThat(actualPetDto.getAllergyType(), equalTo(updatePet.getAllergyType()));
-        assertThat(actualPetDto.getIsChronicDisease(), equalTo(updatePet.getIsChronicDisease()));
-        assertThat(actualPetDto.getChronicDiseaseType(), equalTo(updatePet.getChronicDiseaseType()));
-        assertThat(actualPetDto.getHeatDate(), equalTo(updatePet.getHeatDate()));
-        assertThat(actualPetDto.getVetData(), equalTo(updatePet.getVetData()));
-        assertThat(actualPetDto.getStayWithoutMaster(), equalTo(updatePet.getStayWithoutMaster()));
-        assertThat(actualPetDto.getStayAlone(), equalTo(updatePet.getStayAlone()));
-        assertThat(actualPetDto.getSpecialCare(), equalTo(updatePet.getSpecialCare()));
-        assertThat(actualPetDto.getBarkHowl(), equalTo(updatePet.getBarkHowl()));
-        assertThat(actualPetDto.getFurnitureDamage(), equalTo(updatePet.getFurnitureDamage()));
-        assertThat(actualPetDto.getFoodFromTable(), equalTo(updatePet.getFoodFromTable()));
-        assertThat(actualPetDto.getDefecateAtHome(), equalTo(updatePet.getDefecateAtHome()));
-        assertThat(actualPetDto.getMarkAtHome(), equalTo(updatePet.getMarkAtHome()));
-        assertThat(actualPetDto.getNewPeople(), equalTo(updatePet.getNewPeople()));
-        assertThat(actualPetDto.getIsBitePeople(), equalTo(updatePet.getIsBitePeople()));
-        assertThat(actualPetDto.getReasonOfBite(), equalTo(updatePet.getReasonOfBite()));
-        assertThat(actualPetDto.getPlayWithDogs(), equalTo(updatePet.getPlayWithDogs()));
-        assertThat(actualPetDto.getIsDogTraining(), equalTo(updatePet.getIsDogTraining()));
-        assertThat(actualPetDto.getTrainingName(), equalTo(updatePet.getTrainingName()));
-        assertThat(actualPetDto.getLike(), equalTo(updatePet.getLike()));
-        assertThat(actualPetDto.getNotLike(), equalTo(updatePet.getNotLike()));
-        assertThat(actualPetDto.getToys(), equalTo(updatePet.getToys()));
-        assertThat(actualPetDto.getBadHabit(), equalTo(updatePet.getBadHabit()));
-        assertThat(actualPetDto.getWalking(), equalTo(updatePet.getWalking()));
-        assertThat(actualPetDto.getMorningWalking(), equalTo(updatePet.getMorningWalking()));
-        assertThat(actualPetDto.getDayWalking(), equalTo(updatePet.getDayWalking()));
-        assertThat(actualPetDto.getEveningWalking(), equalTo(updatePet.getEveningWalking()));
-        assertThat(actualPetDto.getFeedingQuantity(), equalTo(updatePet.getFeedingQuantity()));
-        assertThat(actualPetDto.getFeedType(), equalTo(updatePet.getFeedType()));
-        assertThat(actualPetDto.getFeedName(), equalTo(updatePet.getFeedName()));
-        assertThat(actualPetDto.getFeedComposition(), equalTo(updatePet.getFeedComposition()));
-        assertThat(actualPetDto.getFeedingRate(), equalTo(updatePet.getFeedingRate()));
-        assertThat(actualPetDto.getFeedingPractice(), equalTo(updatePet.getFeedingPractice()));
-        assertThat(actualPetDto.getTreat(), equalTo(updatePet.getTreat()));
-        assertThat(actualPetDto.getIsMedicine(), equalTo(updatePet.getIsMedicine()));
-        assertThat(actualPetDto.getMedicineRegimen(), equalTo(updatePet.getMedicineRegimen()));
-        assertThat(actualPetDto.getAdditionalData(), equalTo(updatePet.getAdditionalData()));
+        assertThat(actualPetDto.getVetVisitReason(), equalTo(updateHealth.getVetVisitReason()));
+        assertThat(actualPetDto.getVaccine(), equalTo(updateHealth.getVaccine()));
+        assertThat(actualPetDto.getParasites(), equalTo(updateHealth.getParasites()));
+        assertThat(actualPetDto.getFleaMite(), equalTo(updateHealth.getFleaMite()));
+        assertThat(actualPetDto.getSurgery(), equalTo(updateHealth.getSurgery()));
+        assertThat(actualPetDto.getPastDisease(), equalTo(updateHealth.getPastDisease()));
+        assertThat(actualPetDto.getHealthCharacteristic(), equalTo(updateHealth.getHealthCharacteristic()));
+        assertThat(actualPetDto.getUrineAnalysis(), equalTo(updateHealth.getUrineAnalysis()));
+        assertThat(actualPetDto.getIsAllergy(), equalTo(updateHealth.getIsAllergy()));
+        assertThat(actualPetDto.getAllergyType(), equalTo(updateHealth.getAllergyType()));
+        assertThat(actualPetDto.getIsChronicDisease(), equalTo(updateHealth.getIsChronicDisease()));
+        assertThat(actualPetDto.getChronicDiseaseType(), equalTo(updateHealth.getChronicDiseaseType()));
+        assertThat(actualPetDto.getHeatDate(), equalTo(updateHealth.getHeatDate()));
+        assertThat(actualPetDto.getVetData(), equalTo(updateHealth.getVetData()));
+        assertThat(actualPetDto.getStayWithoutMaster(), equalTo(updateBehaviour.getStayWithoutMaster()));
+        assertThat(actualPetDto.getStayAlone(), equalTo(updateBehaviour.getStayAlone()));
+        assertThat(actualPetDto.getSpecialCare(), equalTo(updateBehaviour.getSpecialCare()));
+        assertThat(actualPetDto.getBarkHowl(), equalTo(updateBehaviour.getBarkHowl()));
+        assertThat(actualPetDto.getFurnitureDamage(), equalTo(updateBehaviour.getFurnitureDamage()));
+        assertThat(actualPetDto.getFoodFromTable(), equalTo(updateBehaviour.getFoodFromTable()));
+        assertThat(actualPetDto.getDefecateAtHome(), equalTo(updateBehaviour.getDefecateAtHome()));
+        assertThat(actualPetDto.getMarkAtHome(), equalTo(updateBehaviour.getMarkAtHome()));
+        assertThat(actualPetDto.getNewPeople(), equalTo(updateBehaviour.getNewPeople()));
+        assertThat(actualPetDto.getIsBitePeople(), equalTo(updateBehaviour.getIsBitePeople()));
+        assertThat(actualPetDto.getReasonOfBite(), equalTo(updateBehaviour.getReasonOfBite()));
+        assertThat(actualPetDto.getPlayWithDogs(), equalTo(updateBehaviour.getPlayWithDogs()));
+        assertThat(actualPetDto.getIsDogTraining(), equalTo(updateBehaviour.getIsDogTraining()));
+        assertThat(actualPetDto.getTrainingName(), equalTo(updateBehaviour.getTrainingName()));
+        assertThat(actualPetDto.getLike(), equalTo(updateBehaviour.getLike()));
+        assertThat(actualPetDto.getNotLike(), equalTo(updateBehaviour.getNotLike()));
+        assertThat(actualPetDto.getToys(), equalTo(updateBehaviour.getToys()));
+        assertThat(actualPetDto.getBadHabit(), equalTo(updateBehaviour.getBadHabit()));
+        assertThat(actualPetDto.getWalking(), equalTo(updateCare.getWalking()));
+        assertThat(actualPetDto.getMorningWalking(), equalTo(updateCare.getMorningWalking()));
+        assertThat(actualPetDto.getDayWalking(), equalTo(updateCare.getDayWalking()));
+        assertThat(actualPetDto.getEveningWalking(), equalTo(updateCare.getEveningWalking()));
+        assertThat(actualPetDto.getFeedingQuantity(), equalTo(updateCare.getFeedingQuantity()));
+        assertThat(actualPetDto.getFeedType(), equalTo(updateCare.getFeedType()));
+        assertThat(actualPetDto.getFeedName(), equalTo(updateCare.getFeedName()));
+        assertThat(actualPetDto.getFeedComposition(), equalTo(updateCare.getFeedComposition()));
+        assertThat(actualPetDto.getFeedingRate(), equalTo(updateCare.getFeedingRate()));
+        assertThat(actualPetDto.getFeedingPractice(), equalTo(updateCare.getFeedingPractice()));
+        assertThat(actualPetDto.getTreat(), equalTo(updateCare.getTreat()));
+        assertThat(actualPetDto.getIsMedicine(), equalTo(updateHealth.getIsMedicine()));
+        assertThat(actualPetDto.getMedicineRegimen(), equalTo(updateHealth.getMedicineRegimen()));
+        assertThat(actualPetDto.getAdditionalData(), equalTo(updateCare.getAdditionalData()));
     }
 
     @Test
@@ -927,4 +1007,34 @@ public class PetServiceImplTest {
 
         assertEquals(error, exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPetsBySearch_whenTextNotNull_thenPageRequestedFromRepository() {
+        PageRequest pageable = PageRequest.of(1, 1);
+        when(mockPetRepository.findPetsByParams(any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(pet), pageable, 3));
+        when(mockPetMapper.toListPetSummaryDto(List.of(pet))).thenReturn(List.of(petSummaryDto));
+        when(ownerMapper.toOwnerShortDto(any())).thenReturn(ownerShortDto);
+
+        Page<PetSummaryDto> result = petService.getPetsBySearch(requesterAdmin.getId(), "ш", 1, 1);
+
+        assertThat(result.getContent(), equalTo(List.of(petSummaryDto)));
+        assertThat(result.getTotalElements(), equalTo(3L));
+        assertThat(result.getContent().get(0).getOwnerShortDto(), equalTo(ownerShortDto));
+        verify(mockPetRepository, times(1)).findPetsByParams(any(), eq(pageable));
+    }
+
+    @Test
+    void getPetsByFuzzySearch_whenPetFound_thenReturnedWithOwner() {
+        when(fuzzySearchService.findPetIds("шарек", 10)).thenReturn(List.of(pet.getId()));
+        when(mockPetRepository.findAllByIdIn(List.of(pet.getId()))).thenReturn(Optional.of(List.of(pet)));
+        when(mockPetMapper.toListPetSummaryDto(List.of(pet))).thenReturn(List.of(petSummaryDto));
+        when(ownerMapper.toOwnerShortDto(owner)).thenReturn(ownerShortDto);
+
+        List<PetSummaryDto> result = petService.getPetsByFuzzySearch(requesterAdmin.getId(), "шарек", 10);
+
+        assertThat(result, equalTo(List.of(petSummaryDto)));
+        assertThat(result.get(0).getOwnerShortDto(), equalTo(ownerShortDto));
+        verify(fuzzySearchService, times(1)).findPetIds("шарек", 10);
+    }
+}
@@ -5,14 +5,19 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.modgy.exception.NotFoundException;
 import ru.modgy.owner.model.Owner;
 import ru.modgy.pet.dto.NewPetDto;
 import ru.modgy.pet.dto.PetDto;
+import ru.modgy.pet.dto.PetSummaryDto;
 import ru.modgy.pet.dto.UpdatePetDto;
 import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.PetBehaviour;
+import ru.modgy.pet.model.PetCare;
+import ru.modgy.pet.model.PetHealth;
 import ru.modgy.pet.model.Sex;
 import ru.modgy.pet.model.TypeOfPet;
 import ru.modgy.user.model.Roles;
@@ -20,11 +25,13 @@ import ru.modgy.user.model.User;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static ru.modgy.metrics.QueryAssertions.assertMaxQueries;
 
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -132,6 +139,10 @@ public class PetServiceIntegrationTest {
             .color("black")
             .sign("Клеймо")
             .isExhibition(true)
+            .build();
+
+    final PetHealth health = PetHealth.builder()
+            .pet(pet)
             .vetVisitDate(VET_VISIT_DATE)
             .vetVisitReason("Ушиб")
             .vaccine("22.11.2023 антиклещ")
@@ -147,6 +158,12 @@ public class PetServiceIntegrationTest {
             .chronicDiseaseType("Пиелонефрит")
             .heatDate(HEAT_DATE)
             .vetData("89000000000 Иван Иваныч Иванов")
+            .isMedicine(true)
+            .medicineRegimen("Здоровая собака")
+            .build();
+
+    final PetBehaviour behaviour = PetBehaviour.builder()
+            .pet(pet)
             .stayWithoutMaster("Да, разлучается спокойно")
             .stayAlone("нет, воет, когда остаётся один")
             .specialCare("да, нужно расчёсывать шерсть два раза в день")
@@ -165,6 +182,10 @@ public class PetServiceIntegrationTest {
             .notLike("Когда трогают хвост")
             .toys("Мячик")
             .badHabit("Разбрасывает еду из миски")
+            .build();
+
+    final PetCare care = PetCare.builder()
+            .pet(pet)
             .walking("3 раза")
             .morningWalking("В 6 утра")
             .dayWalking("В 2 часа дня")
@@ -176,8 +197,6 @@ public class PetServiceIntegrationTest {
             .feedingRate("100 г")
             .feedingPractice("без особенностей")
             .treat("сахар")
-            .isMedicine(true)
-            .medicineRegimen("Здоровая собака")
             .additionalData("Любит, чтоб чесали животик")
             .build();
 
@@ -249,6 +268,10 @@ public class PetServiceIntegrationTest {
             .color("red")
             .sign("Чип")
             .isExhibition(false)
+            .build();
+
+    final PetHealth updatedHealth = PetHealth.builder()
+            .pet(updatedPet)
             .vetVisitDate(VET_VISIT_DATE.minusMonths(1))
             .vetVisitReason("Укус")
             .vaccine("22.09.2023 антиклещ")
@@ -264,6 +287,12 @@ public class PetServiceIntegrationTest {
             .chronicDiseaseType("Гломерулонефрит")
             .heatDate(HEAT_DATE.plusDays(10))
             .vetData("89000000015 Иван Иваныч Иванов")
+            .isMedicine(true)
+            .medicineRegimen("Здоровая кошка")
+            .build();
+
+    final PetBehaviour updatedBehaviour = PetBehaviour.builder()
+            .pet(updatedPet)
             .stayWithoutMaster("разлучается неспокойно")
             .stayAlone("да, ведёт себя спокойно, когда остаётся один")
             .specialCare("нет")
@@ -282,6 +311,10 @@ public class PetServiceIntegrationTest {
             .notLike("Когда трогают уши")
             .toys("Мышка")
             .badHabit("Разбрасывает наполнитель из лотка")
+            .build();
+
+    final PetCare updatedCare = PetCare.builder()
+            .pet(updatedPet)
             .walking("4 раз")
             .morningWalking("В 7 утра")
             .dayWalking("В 2 и 4 часа дня")
@@ -293,8 +326,6 @@ public class PetServiceIntegrationTest {
             .feedingRate("10 г")
             .feedingPractice("нужно погреть корм")
             .treat("сметана")
-            .isMedicine(true)
-            .medicineRegimen("Здоровая кошка")
             .additionalData("Любит, чтоб чесали за ушком")
             .build();
 
@@ -316,59 +347,59 @@ public class PetServiceIntegrationTest {
         assertThat(actualPet.getColor(), equalTo(pet.getColor()));
         assertThat(actualPet.getSign(), equalTo(pet.getSign()));
         assertThat(actualPet.getIsExhibition(), equalTo(pet.getIsExhibition()));
-        assertThat(actualPet.getVetVisitReason(), equalTo(pet.getVetVisitReason()));
-        assertThat(actualPet.getVaccine(), equalTo(pet.getVaccine()));
-        assertThat(actualPet.getParasites(), equalTo(pet.getParasites()));
-        assertThat(actualPet.getFleaMite(), equalTo(pet.getFleaMite()));
-        assertThat(actualPet.getSurgery(), equalTo(pet.getSurgery()));
-        assertThat(actualPet.getPastDisease(), equalTo(pet.getPastDisease()));
-        assertThat(actualPet.getHealthCharacteristic(), equalTo(pet.getHealthCharacteristic()));
-        assertThat(actualPet.getUrineAnalysis(), equalTo(pet.getUrineAnalysis()));
-        assertThat(actualPet.getIsAllergy(), equalTo(pet.getIsAllergy()));
-        assertThat(actualPet.getAllergyType(), equalTo(pet.getAllergyType()));
-        assertThat(actualPet.getIsChronicDisease(), equalTo(pet.getIsChronicDisease()));
-        assertThat(actualPet.getChronicDiseaseType(), equalTo(pet.getChronicDiseaseType()));
-        assertThat(actualPet.getHeatDate(), equalTo(pet.getHeatDate()));
-        assertThat(actualPet.getVetData(), equalTo(pet.getVetData()));
-        assertThat(actualPet.getStayWithoutMaster(), equalTo(pet.getStayWithoutMaster()));
-        assertThat(actualPet.getStayAlone(), equalTo(pet.getStayAlone()));
-        assertThat(actualPet.getSpecialCare(), equalTo(pet.getSpecialCare()));
-        assertThat(actualPet.getBarkHowl(), equalTo(pet.getBarkHowl()));
-        assertThat(actualPet.getFurnitureDamage(), equalTo(pet.getFurnitureDamage()));
-        assertThat(actualPet.getFoodFromTable(), equalTo(pet.getFoodFromTable()));
-        assertThat(actualPet.getDefecateAtHome(), equalTo(pet.getDefecateAtHome()));
-        assertThat(actualPet.getMarkAtHome(), equalTo(pet.getMarkAtHome()));
-        assertThat(actualPet.getNewPeople(), equalTo(pet.getNewPeople()));
-        assertThat(actualPet.getIsBitePeople(), equalTo(pet.getIsBitePeople()));
-        assertThat(actualPet.getReasonOfBite(), equalTo(pet.getReasonOfBite()));
-        assertThat(actualPet.getPlayWithDogs(), equalTo(pet.getPlayWithDogs()));
-        assertThat(actualPet.getIsDogTraining(), equalTo(pet.getIsDogTraining()));
-        assertThat(actualPet.getTrainingName(), equalTo(pet.getTrainingName()));
-        assertThat(actualPet.getLike(), equalTo(pet.getLike()));
-        assertThat(actualPet.getNotLike(), equalTo(pet.getNotLike()));
-        assertThat(actualPet.getToys(), equalTo(pet.getToys()));
-        assertThat(actualPet.getBadHabit(), equalTo(pet.getBadHabit()));
-        assertThat(actualPet.getWalking(), equalTo(pet.getWalking()));
-        assertThat(actualPet.getMorningWalking(), equalTo(pet.getMorningWalking()));
-        assertThat(actualPet.getDayWalking(), equalTo(pet.getDayWalking()));
-        assertThat(actualPet.getEveningWalking(), equalTo(pet.getEveningWalking()));
-        assertThat(actualPet.getFeedingQuantity(), equalTo(pet.getFeedingQuantity()));
-        assertThat(actualPet.getFeedType(), equalTo(pet.getFeedType()));
-        assertThat(actualPet.getFeedName(), equalTo(pet.getFeedName()));
-        assertThat(actualPet.getFeedComposition(), equalTo(pet.getFeedComposition()));
-        assertThat(actualPet.getFeedingRate(), equalTo(pet.getFeedingRate()));
-        assertThat(actualPet.getFeedingPractice(), equalTo(pet.getFeedingPractice()));
-        assertThat(actualPet.getTreat(), equalTo(pet.getTreat()));
-        assertThat(actualPet.getIsMedicine(), equalTo(pet.getIsMedicine()));
-        assertThat(actualPet.getMedicineRegimen(), equalTo(pet.getMedicineRegimen()));
-        assertThat(actualPet.getAdditionalData(), equalTo(pet.getAdditionalData()));
+        assertThat(actualPet.getVetVisitReason(), equalTo(health.getVetVisitReason()));
+        assertThat(actualPet.getVaccine(), equalTo(health.getVaccine()));
+        assertThat(actualPet.getParasites(), equalTo(health.getParasites()));
+        assertThat(actualPet.getFleaMite(), equalTo(health.getFleaMite()));
+        assertThat(actualPet.getSurgery(), equalTo(health.getSurgery()));
+        assertThat(actualPet.getPastDisease(), equalTo(health.getPastDisease()));
+        assertThat(actualPet.getHealthCharacteristic(), equalTo(health.getHealthCharacteristic()));
+        assertThat(actualPet.getUrineAnalysis(), equalTo(health.getUrineAnalysis()));
+        assertThat(actualPet.getIsAllergy(), equalTo(health.getIsAllergy()));
+        assertThat(actualPet.getAllergyType(), equalTo(health.getAllergyType()));
+        assertThat(actualPet.getIsChronicDisease(), equalTo(health.getIsChronicDisease()));
+        assertThat(actualPet.getChronicDiseaseType(), equalTo(health.getChronicDiseaseType()));
+        assertThat(actualPet.getHeatDate(), equalTo(health.getHeatDate()));
+        assertThat(actualPet.getVetData(), equalTo(health.getVetData()));
+        assertThat(actualPet.getStayWithoutMaster(), equalTo(behaviour.getStayWithoutMaster()));
+        assertThat(actualPet.getStayAlone(), equalTo(behaviour.getStayAlone()));
+        assertThat(actualPet.getSpecialCare(), equalTo(behaviour.getSpecialCare()));
+        assertThat(actualPet.getBarkHowl(), equalTo(behaviour.getBarkHowl()));
+        assertThat(actualPet.getFurnitureDamage(), equalTo(behaviour.getFurnitureDamage()));
+        assertThat(actualPet.getFoodFromTable(), equalTo(behaviour.getFoodFromTable()));
+        assertThat(actualPet.getDefecateAtHome(), equalTo(behaviour.getDefecateAtHome()));
+        assertThat(actualPet.getMarkAtHome(), equalTo(behaviour.getMarkAtHome()));
+        assertThat(actualPet.getNewPeople(), equalTo(behaviour.getNewPeople()));
+        assertThat(actualPet.getIsBitePeople(), equalTo(behaviour.getIsBitePeople()));
+        assertThat(actualPet.getReasonOfBite(), equalTo(behaviour.getReasonOfBite()));
+        assertThat(actualPet.getPlayWithDogs(), equalTo(behaviour.getPlayWithDogs()));
+        assertThat(actualPet.getIsDogTraining(), equalTo(behaviour.getIsDogTraining()));
+        assertThat(actualPet.getTrainingName(), equalTo(behaviour.getTrainingName()));
+        assertThat(actualPet.getLike(), equalTo(behaviour.getLike()));
+        assertThat(actualPet.getNotLike(), equalTo(behaviour.getNotLike()));
+        assertThat(actualPet.getToys(), equalTo(behaviour.getToys()));
+        assertThat(actualPet.getBadHabit(), equalTo(behaviour.getBadHabit()));
+        assertThat(actualPet.getWalking(), equalTo(care.getWalking()));
+        assertThat(actualPet.getMorningWalking(), equalTo(care.getMorningWalking()));
+        assertThat(actualPet.getDayWalking(), equalTo(care.getDayWalking()));
+        assertThat(actualPet.getEveningWalking(), equalTo(care.getEveningWalking()));
+        assertThat(actualPet.getFeedingQuantity(), equalTo(care.getFeedingQuantity()));
+        assertThat(actualPet.getFeedType(), equalTo(care.getFeedType()));
+        assertThat(actualPet.getFeedName(), equalTo(care.getFeedName()));
+        assertThat(actualPet.getFeedComposition(), equalTo(care.getFeedComposition()));
+        assertThat(actualPet.getFeedingRate(), equalTo(care.getFeedingRate()));
+        assertThat(actualPet.getFeedingPractice(), equalTo(care.getFeedingPractice()));
+        assertThat(actualPet.getTreat(), equalTo(care.getTreat()));
+        assertThat(actualPet.getIsMedicine(), equalTo(health.getIsMedicine()));
+        assertThat(actualPet.getMedicineRegimen(), equalTo(health.getMedicineRegimen()));
+        assertThat(actualPet.getAdditionalData(), equalTo(care.getAdditionalData()));
     }
 
     @Test
     void updatePet() {
         em.persist(requesterAdmin);
         em.persist(owner);
-        em.persist(pet);
+        persistPet();
         PetDto actualPet = service.updatePet(requesterAdmin.getId(), pet.getId(), updatePetDto);
 
         assertThat(actualPet.getId(), notNullValue());
@@ -381,59 +412,59 @@ public class PetServiceIntegrationTest {
         assertThat(actualPet.getColor(), equalTo(updatedPet.getColor()));
         assertThat(actualPet.getSign(), equalTo(updatedPet.getSign()));
         assertThat(actualPet.getIsExhibition(), equalTo(updatedPet.getIsExhibition()));
-        assertThat(actualPet.getVetVisitReason(), equalTo(updatedPet.getVetVisitReason()));
-        assertThat(actualPet.getVaccine(), equalTo(updatedPet.getVaccine()));
-        assertThat(actualPet.getParasites(), equalTo(updatedPet.getParasites()));
-        assertThat(actualPet.getFleaMite(), equalTo(updatedPet.getFleaMite()));
-        assertThat(actualPet.getSurgery(), equalTo(updatedPet.getSurgery()));
-        assertThat(actualPet.getPastDisease(), equalTo(updatedPet.getPastDisease()));
-        assertThat(actualPet.getHealthCharacteristic(), equalTo(updatedPet.getHealthCharacteristic()));
-        assertThat(actualPet.getUrineAnalysis(), equalTo(updatedPet.getUrineAnalysis()));
-        assertThat(actualPet.getIsAllergy(), equalTo(updatedPet.getIsAllergy()));
-        assertThat(actualPet.getAllergyType(), equalTo(updatedPet.getAllergyType()));
-        assertThat(actualPet.getIsChronicDisease(), equalTo(updatedPet.getIsChronicDisease()));
-        assertThat(actualPet.getChronicDiseaseType(), equalTo(updatedPet.getChronicDiseaseType()));
-        assertThat(actualPet.getHeatDate(), equalTo(updatedPet.getHeatDate()));
-        assertThat(actualPet.getVetData(), equalTo(updatedPet.getVetData()));
-        assertThat(actualPet.getStayWithoutMaster(), equalTo(updatedPet.getStayWithoutMaster()));
-        assertThat(actualPet.getStayAlone(), equalTo(updatedPet.getStayAlone()));
-        assertThat(actualPet.getSpecialCare(), equalTo(updatedPet.getSpecialCare()));
-        assertThat(actualPet.getBarkHowl(), equalTo(updatedPet.getBarkHowl()));
-        assertThat(actualPet.getFurnitureDamage(), equalTo(updatedPet.getFurnitureDamage()));
-        assertThat(actualPet.getFoodFromTable(), equalTo(updatedPet.getFoodFromTable()));
-        assertThat(actualPet.getDefecateAtHome(), equalTo(updatedPet.getDefecateAtHome()));
-        assertThat(actualPet.getMarkAtHome(), equalTo(updatedPet.getMarkAtHome()));
-        assertThat(actualPet.getNewPeople(), equalTo(updatedPet.getNewPeople()));
-        assertThat(actualPet.getIsBitePeople(), equalTo(updatedPet.getIsBitePeople()));
-        assertThat(actualPet.getReasonOfBite(), equalTo(updatedPet.getReasonOfBite()));
-        assertThat(actualPet.getPlayWithDogs(), equalTo(updatedPet.getPlayWithDogs()));
-        assertThat(actualPet.getIsDogTraining(), equalTo(updatedPet.getIsDogTraining()));
-        assertThat(actualPet.getTrainingName(), equalTo(updatedPet.getTrainingName()));
-        assertThat(actualPet.getLike(), equalTo(updatedPet.getLike()));
-        assertThat(actualPet.getNotLike(), equalTo(updatedPet.getNotLike()));
-        assertThat(actualPet.getToys(), equalTo(updatedPet.getToys()));
-        assertThat(actualPet.getBadHabit(), equalTo(updatedPet.getBadHabit()));
-        assertThat(actualPet.getWalking(), equalTo(updatedPet.getWalking()));
-        assertThat(actualPet.getMorningWalking(), equalTo(updatedPet.getMorningWalking()));
-        assertThat(actualPet.getDayWalking(), equalTo(updatedPet.getDayWalking()));
-        assertThat(actualPet.getEveningWalking(), equalTo(updatedPet.getEveningWalking()));
-        assertThat(actualPet.getFeedingQuantity(), equalTo(updatedPet.getFeedingQuantity()));
-        assertThat(actualPet.getFeedType(), equalTo(updatedPet.getFeedType()));
-        assertThat(actualPet.getFeedName(), equalTo(updatedPet.getFeedName()));
-        assertThat(actualPet.getFeedComposition(), equalTo(updatedPet.getFeedComposition()));
-        assertThat(actualPet.getFeedingRate(), equalTo(updatedPet.getFeedingRate()));
-        assertThat(actualPet.getFeedingPractice(), equalTo(updatedPet.getFeedingPractice()));
-        assertThat(actualPet.getTreat(), equalTo(updatedPet.getTreat()));
-        assertThat(actualPet.getIsMedicine(), equalTo(updatedPet.getIsMedicine()));
-        assertThat(actualPet.getMedicineRegimen(), equalTo(updatedPet.getMedicineRegimen()));
-        assertThat(actualPet.getAdditionalData(), equalTo(updatedPet.getAdditionalData()));
+        assertThat(actualPet.getVetVisitReason(), equalTo(updatedHealth.getVetVisitReason()));
+        assertThat(actualPet.getVaccine(), equalTo(updatedHealth.getVaccine()));
+        assertThat(actualPet.getParasites(), equalTo(updatedHealth.getParasites()));
+        assertThat(actualPet.getFleaMite(), equalTo(updatedHealth.getFleaMite()));
+        assertThat(actualPet.getSurgery(), equalTo(updatedHealth.getSurgery()));
+        assertThat(actualPet.getPastDisease(), equalTo(updatedHealth.getPastDisease()));
+        assertThat(actualPet.getHealthCharacteristic(), equalTo(updatedHealth.getHealthCharacteristic()));
+        assertThat(actualPet.getUrineAnalysis(), equalTo(updatedHealth.getUrineAnalysis()));
+        assertThat(actualPet.getIsAllergy(), equalTo(updatedHealth.getIsAllergy()));
+        assertThat(actualPet.getAllergyType(), equalTo(updatedHealth.getAllergyType()));
+        assertThat(actualPet.getIsChronicDisease(), equalTo(updatedHealth.getIsChronicDisease()));
+        assertThat(actualPet.getChronicDiseaseType(), equalTo(updatedHealth.getChronicDiseaseType()));
+        assertThat(actualPet.getHeatDate(), equalTo(updatedHealth.getHeatDate()));
+        assertThat(actualPet.getVetData(), equalTo(updatedHealth.getVetData()));
+        assertThat(actualPet.getStayWithoutMaster(), equalTo(updatedBehaviour.getStayWithoutMaster()));
+        assertThat(actualPet.getStayAlone(), equalTo(updatedBehaviour.getStayAlone()));
+        assertThat(actualPet.getSpecialCare(), equalTo(updatedBehaviour.getSpecialCare()));
+        assertThat(actualPet.getBarkHowl(), equalTo(updatedBehaviour.getBarkHowl()));
+        assertThat(actualPet.getFurnitureDamage(), equalTo(updatedBehaviour.getFurnitureDamage()));
+        assertThat(actualPet.getFoodFromTable(), equalTo(updatedBehaviour.getFoodFromTable()));
+        assertThat(actualPet.getDefecateAtHome(), equalTo(updatedBehaviour.getDefecateAtHome()));
+        assertThat(actualPet.getMarkAtHome(), equalTo(updatedBehaviour.getMarkAtHome()));
+        assertThat(actualPet.getNewPeople(), equalTo(updatedBehaviour.getNewPeople()));
+        assertThat(actualPet.getIsBitePeople(), equalTo(updatedBehaviour.getIsBitePeople()));
+        assertThat(actualPet.getReasonOfBite(), equalTo(updatedBehaviour.getReasonOfBite()));
+        assertThat(actualPet.getPlayWithDogs(), equalTo(updatedBehaviour.getPlayWithDogs()));
+        assertThat(actualPet.getIsDogTraining(), equalTo(updatedBehaviour.getIsDogTraining()));
+        assertThat(actualPet.getTrainingName(), equalTo(updatedBehaviour.getTrainingName()));
+        assertThat(actualPet.getLike(), equalTo(updatedBehaviour.getLike()));
+        assertThat(actualPet.getNotLike(), equalTo(updatedBehaviour.getNotLike()));
+        assertThat(actualPet.getToys(), equalTo(updatedBehaviour.getToys()));
+        assertThat(actualPet.getBadHabit(), equalTo(updatedBehaviour.getBadHabit()));
+        assertThat(actualPet.getWalking(), equalTo(updatedCare.getWalking()));
+        assertThat(actualPet.getMorningWalking(), equalTo(updatedCare.getMorningWalking()));
+        assertThat(actualPet.getDayWalking(), equalTo(updatedCare.getDayWalking()));
+        assertThat(actualPet.getEveningWalking(), equalTo(updatedCare.getEveningWalking()));
+        assertThat(actualPet.getFeedingQuantity(), equalTo(updatedCare.getFeedingQuantity()));
+        assertThat(actualPet.getFeedType(), equalTo(updatedCare.getFeedType()));
+        assertThat(actualPet.getFeedName(), equalTo(updatedCare.getFeedName()));
+        assertThat(actualPet.getFeedComposition(), equalTo(updatedCare.getFeedComposition()));
+        assertThat(actualPet.getFeedingRate(), equalTo(updatedCare.getFeedingRate()));
+        assertThat(actualPet.getFeedingPractice(), equalTo(updatedCare.getFeedingPractice()));
+        assertThat(actualPet.getTreat(), equalTo(updatedCare.getTreat()));
+        assertThat(actualPet.getIsMedicine(), equalTo(updatedHealth.getIsMedicine()));
+        assertThat(actualPet.getMedicineRegimen(), equalTo(updatedHealth.getMedicineRegimen()));
+        assertThat(actualPet.getAdditionalData(), equalTo(updatedCare.getAdditionalData()));
     }
 
     @Test
     void getPetById() {
         em.persist(requesterAdmin);
         em.persist(owner);
-        em.persist(pet);
+        persistPet();
 
         PetDto actualPet = service.getPetById(requesterAdmin.getId(), pet.getId());
 
@@ -447,59 +478,72 @@ public class PetServiceIntegrationTest {
         assertThat(actualPet.getColor(), equalTo(pet.getColor()));
         assertThat(actualPet.getSign(), equalTo(pet.getSign()));
         assertThat(actualPet.getIsExhibition(), equalTo(pet.getIsExhibition()));
-        assertThat(actualPet.getVetVisitReason(), equalTo(pet.getVetVisitReason()));
-        assertThat(actualPet.getVaccine(), equalTo(pet.getVaccine()));
-        assertThat(actualPet.getParasites(), equalTo(pet.getParasites()));
-        assertThat(actualPet.getFleaMite(), equalTo(pet.getFleaMite()));
-        assertThat(actualPet.getSurgery(), equalTo(pet.getSurgery()));
-        assertThat(actualPet.getPastDisease(), equalTo(pet.getPastDisease()));
-        assertThat(actualPet.getHealthCharacteristic(), equalTo(pet.getHealthCharacteristic()));
-        assertThat(actualPet.getUrineAnalysis(), equalTo(pet.getUrineAnalysis()));
-        assertThat(actualPet.getIsAllergy(), equalTo(pet.getIsAllergy()));
-        assertThat(actualPet.getAllergyType(), equalTo(pet.getAllergyType()));
-        assertThat(actualPet.getIsChronicDisease(), equalTo(pet.getIsChronicDisease()));
-        assertThat(actualPet.getChronicDiseaseType(), equalTo(pet.getChronicDiseaseType()));
-        assertThat(actualPet.getHeatDate(), equalTo(pet.getHeatDate()));
-        assertThat(actualPet.getVetData(), equalTo(pet.getVetData()));
-        assertThat(actualPet.getStayWithoutMaster(), equalTo(pet.getStayWithoutMaster()));
-        assertThat(actualPet.getStayAlone(), equalTo(pet.getStayAlone()));
-        assertThat(actualPet.getSpecialCare(), equalTo(pet.getSpecialCare()));
-        assertThat(actualPet.getBarkHowl(), equalTo(pet.getBarkHowl()));
-        assertThat(actualPet.getFurnitureDamage(), equalTo(pet.getFurnitureDamage()));
-        assertThat(actualPet.getFoodFromTable(), equalTo(pet.getFoodFromTable()));
-        assertThat(actualPet.getDefecateAtHome(), equalTo(pet.getDefecateAtHome()));
-        assertThat(actualPet.getMarkAtHome(), equalTo(pet.getMarkAtHome()));
-        assertThat(actualPet.getNewPeople(), equalTo(pet.getNewPeople()));
-        assertThat(actualPet.getIsBitePeople(), equalTo(pet.getIsBitePeople()));
-        assertThat(actualPet.getReasonOfBite(), equalTo(pet.getReasonOfBite()));
-        assertThat(actualPet.getPlayWithDogs(), equalTo(pet.getPlayWithDogs()));
-        assertThat(actualPet.getIsDogTraining(), equalTo(pet.getIsDogTraining()));
-        assertThat(actualPet.getTrainingName(), equalTo(pet.getTrainingName()));
-        assertThat(actualPet.getLike(), equalTo(pet.getLike()));
-        assertThat(actualPet.getNotLike(), equalTo(pet.getNotLike()));
-        assertThat(actualPet.getToys(), equalTo(pet.getToys()));
-        assertThat(actualPet.getBadHabit(), equalTo(pet.getBadHabit()));
-        assertThat(actualPet.getWalking(), equalTo(pet.getWalking()));
-        assertThat(actualPet.getMorningWalking(), equalTo(pet.getMorningWalking()));
-        assertThat(actualPet.getDayWalking(), equalTo(pet.getDayWalking()));
-        assertThat(actualPet.getEveningWalking(), equalTo(pet.getEveningWalking()));
-        assertThat(actualPet.getFeedingQuantity(), equalTo(pet.getFeedingQuantity()));
-        assertThat(actualPet.getFeedType(), equalTo(pet.getFeedType()));
-        assertThat(actualPet.getFeedName(), equalTo(pet.getFeedName()));
-        assertThat(actualPet.getFeedComposition(), equalTo(pet.getFeedComposition()));
-        assertThat(actualPet.getFeedingRate(), equalTo(pet.getFeedingRate()));
-        assertThat(actualPet.getFeedingPractice(), equalTo(pet.getFeedingPractice()));
-        assertThat(actualPet.getTreat(), equalTo(pet.getTreat()));
-        assertThat(actualPet.getIsMedicine(), equalTo(pet.getIsMedicine()));
-        assertThat(actualPet.getMedicineRegimen(), equalTo(pet.getMedicineRegimen()));
-        assertThat(actualPet.getAdditionalData(), equalTo(pet.getAdditionalData()));
+        assertThat(actualPet.getVetVisitReason(), equalTo(health.getVetVisitReason()));
+        assertThat(actualPet.getVaccine(), equalTo(health.getVaccine()));
+        assertThat(actualPet.getParasites(), equalTo(health.getParasites()));
+        assertThat(actualPet.getFleaMite(), equalTo(health.getFleaMite()));
+        assertThat(actualPet.getSurgery(), equalTo(health.getSurgery()));
+        assertThat(actualPet.getPastDisease(), equalTo(health.getPastDisease()));
+        assertThat(actualPet.getHealthCharacteristic(), equalTo(health.getHealthCharacteristic()));
+        assertThat(actualPet.getUrineAnalysis(), equalTo(health.getUrineAnalysis()));
+        assertThat(actualPet.getIsAllergy(), equalTo(health.getIsAllergy()));
+        assertThat(actualPet.getAllergyType(), equalTo(health.getAllergyType()));
+        assertThat(actualPet.getIsChronicDisease(), equalTo(health.getIsChronicDisease()));
+        assertThat(actualPet.getChronicDiseaseType(), equalTo(health.getChronicDiseaseType()));
+        assertThat(actualPet.getHeatDate(), equalTo(health.getHeatDate()));
+        assertThat(actualPet.getVetData(), equalTo(health.getVetData()));
+        assertThat(actualPet.getStayWithoutMaster(), equalTo(behaviour.getStayWithoutMaster()));
+        assertThat(actualPet.getStayAlone(), equalTo(behaviour.getStayAlone()));
+        assertThat(actualPet.getSpecialCare(), equalTo(behaviour.getSpecialCare()));
+        assertThat(actualPet.getBarkHowl(), equalTo(behaviour.getBarkHowl()));
+        assertThat(actualPet.getFurnitureDamage(), equalTo(behaviour.getFurnitureDamage()));
+        assertThat(actualPet.getFoodFromTable(), equalTo(behaviour.getFoodFromTable()));
+        assertThat(actualPet.getDefecateAtHome(), equalTo(behaviour.getDefecateAtHome()));
+        assertThat(actualPet.getMarkAtHome(), equalTo(behaviour.getMarkAtHome()));
+        assertThat(actualPet.getNewPeople(), equalTo(behaviour.getNewPeople()));
+        assertThat(actualPet.getIsBitePeople(), equalTo(behaviour.getIsBitePeople()));
+        assertThat(actualPet.getReasonOfBite(), equalTo(behaviour.getReasonOfBite()));
+        assertThat(actualPet.getPlayWithDogs(), equalTo(behaviour.getPlayWithDogs()));
+        assertThat(actualPet.getIsDogTraining(), equalTo(behaviour.getIsDogTraining()));
+        assertThat(actualPet.getTrainingName(), equalTo(behaviour.getTrainingName()));
+        assertThat(actualPet.getLike(), equalTo(behaviour.getLike()));
+        assertThat(actualPet.getNotLike(), equalTo(behaviour.getNotLike()));
+        assertThat(actualPet.getToys(), equalTo(behaviour.getToys()));
+        assertThat(actualPet.getBadHabit(), equalTo(behaviour.getBadHabit()));
+        assertThat(actualPet.getWalking(), equalTo(care.getWalking()));
+        assertThat(actualPet.getMorningWalking(), equalTo(care.getMorningWalking()));
+        assertThat(actualPet.getDayWalking(), equalTo(care.getDayWalking()));
+        assertThat(actualPet.getEveningWalking(), equalTo(care.getEveningWalking()));
+        assertThat(actualPet.getFeedingQuantity(), equalTo(care.getFeedingQuantity()));
+        assertThat(actualPet.getFeedType(), equalTo(care.getFeedType()));
+        assertThat(actualPet.getFeedName(), equalTo(care.getFeedName()));
+        assertThat(actualPet.getFeedComposition(), equalTo(care.getFeedComposition()));
+        assertThat(actualPet.getFeedingRate(), equalTo(care.getFeedingRate()));
+        assertThat(actualPet.getFeedingPractice(), equalTo(care.getFeedingPractice()));
+        assertThat(actualPet.getTreat(), equalTo(care.getTreat()));
+        assertThat(actualPet.getIsMedicine(), equalTo(health.getIsMedicine()));
+        assertThat(actualPet.getMedicineRegimen(), equalTo(health.getMedicineRegimen()));
+        assertThat(actualPet.getAdditionalData(), equalTo(care.getAdditionalData()));
+    }
+
+    @Test
+    void getPetById_whenNotInPersistenceContext_thenQueriesBounded() {
+        em.persist(requesterAdmin);
+        em.persist(owner);
+        persistPet();
+        em.flush();
+        em.clear();
+
+        PetDto actualPet = assertMaxQueries(4, () -> service.getPetById(requesterAdmin.getId(), pet.getId()));
+
+        assertThat(actualPet.getOwnerShortDto(), notNullValue());
     }
 
     @Test
     void deletePetById() {
         em.persist(requesterAdmin);
         em.persist(owner);
-        em.persist(pet);
+        persistPet();
 
         service.deletePetById(requesterAdmin.getId(), pet.getId());
 
@@ -511,4 +555,78 @@ public class PetServiceIntegrationTest {
 
         assertEquals(error, exception.getMessage());
     }
+
+    @Test
+    void getPetsBySearch() {
+        em.persist(requesterAdmin);
+        em.persist(owner);
+        for (String name : List.of("Мурка", "Шарик", "Бобик", "Барсик")) {
+            newPetDto.setOwnerId(owner.getId());
+            newPetDto.setName(name);
+            service.addPet(requesterAdmin.getId(), newPetDto);
+        }
+
+        Page<PetSummaryDto> firstPage = service.getPetsBySearch(requesterAdmin.getId(), "ИК", 0, 2);
+        Page<PetSummaryDto> secondPage = service.getPetsBySearch(requesterAdmin.getId(), "ИК", 1, 2);
+
+        assertThat(firstPage.getTotalElements(), equalTo(3L));
+        assertThat(firstPage.getContent().stream().map(PetSummaryDto::getName).toList(),
+                equalTo(List.of("Барсик", "Бобик")));
+        assertThat(secondPage.getContent().stream().map(PetSummaryDto::getName).toList(),
+                equalTo(List.of("Шарик")));
+        assertThat(secondPage.getContent().get(0).getOwnerShortDto().getId(), equalTo(owner.getId()));
+    }
+
+    @Test
+    void getPetsByFuzzySearch() {
+        em.persist(requesterAdmin);
+        em.persist(owner);
+        for (String name : List.of("Мурка", "Шарик", "Барсик")) {
+            newPetDto.setOwnerId(owner.getId());
+            newPetDto.setName(name);
+            service.addPet(requesterAdmin.getId(), newPetDto);
+        }
+
+        List<PetSummaryDto> result = service.getPetsByFuzzySearch(requesterAdmin.getId(), "барсек", 10);
+
+        assertThat(result.stream().map(PetSummaryDto::getName).toList(), equalTo(List.of("Барсик")));
+        assertThat(result.get(0).getOwnerShortDto().getId(), equalTo(owner.getId()));
+    }
+
+    @Test
+    void updatePet_whenOnlyQuestionnaireChanged_thenVersionIncremented() {
+        em.persist(requesterAdmin);
+        em.persist(owner);
+        persistPet();
+        em.flush();
+        Long version = pet.getVersion();
+
+        PetDto actualPet = service.updatePet(requesterAdmin.getId(), pet.getId(),
+                UpdatePetDto.builder().additionalData("Боится пылесоса").build());
+
+        assertThat(actualPet.getAdditionalData(), equalTo("Боится пылесоса"));
+        assertThat(actualPet.getVaccine(), equalTo(health.getVaccine()));
+        assertThat(actualPet.getVersion(), equalTo(version + 1));
+    }
+
+    @Test
+    void updatePet_whenSectionsMissing_thenSectionsCreated() {
+        em.persist(requesterAdmin);
+        em.persist(owner);
+        em.persist(pet);
+
+        service.updatePet(requesterAdmin.getId(), pet.getId(), UpdatePetDto.builder().vaccine("бешенство").build());
+        em.clear();
+
+        PetDto actualPet = service.getPetById(requesterAdmin.getId(), pet.getId());
+        assertThat(actualPet.getVaccine(), equalTo("бешенство"));
+        assertThat(actualPet.getAdditionalData(), nullValue());
+    }
+
+    private void persistPet() {
+        em.persist(pet);
+        em.persist(health);
+        em.persist(behaviour);
+        em.persist(care);
+    }
 }
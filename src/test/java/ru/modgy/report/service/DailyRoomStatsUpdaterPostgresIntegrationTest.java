@@ -0,0 +1,69 @@
+package ru.modgy.report.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.modgy.report.model.BookingContribution;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверяет upsert дней через ON CONFLICT на PostgreSQL в контейнере. Без Docker пропускается
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class DailyRoomStatsUpdaterPostgresIntegrationTest {
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private DailyRoomStatsUpdater dailyRoomStatsUpdater;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    @Transactional
+    void onBookingsChanged_whenDayExists_thenDeltaAddedToDay() {
+        Long categoryId = jdbcTemplate.queryForObject("INSERT INTO categories (name_categories) " +
+                                                      "VALUES ('Upsert') RETURNING id_categories", Long.class);
+        LocalDate day = LocalDate.of(2030, 1, 10);
+        BookingContribution first = new BookingContribution(categoryId, day, day, 1,
+                new BigDecimal("100.0000"), new BigDecimal("10.0000"));
+        BookingContribution second = new BookingContribution(categoryId, day, day.plusDays(1), 2,
+                new BigDecimal("50.5000"), BigDecimal.ZERO.setScale(BookingContribution.SCALE));
+
+        dailyRoomStatsUpdater.onBookingsChanged(List.of(), List.of(first));
+        dailyRoomStatsUpdater.onBookingsChanged(List.of(), List.of(second));
+        dailyRoomStatsUpdater.onBookingChanged(first, null);
+
+        List<Map<String, Object>> days = jdbcTemplate.queryForList("SELECT occupied_rooms_daily_room_stats, " +
+                                                                   "pets_daily_room_stats, revenue_daily_room_stats " +
+                                                                   "FROM daily_room_stats " +
+                                                                   "WHERE category_id_daily_room_stats = ? " +
+                                                                   "ORDER BY date_daily_room_stats", categoryId);
+        assertEquals(2, days.size());
+        assertEquals(1, days.get(0).get("occupied_rooms_daily_room_stats"));
+        assertEquals(2, days.get(0).get("pets_daily_room_stats"));
+        assertEquals(new BigDecimal("25.2500"), days.get(0).get("revenue_daily_room_stats"));
+        assertEquals(1, days.get(1).get("occupied_rooms_daily_room_stats"));
+    }
+}
@@ -0,0 +1,196 @@
+package ru.modgy.report.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.modgy.booking.dto.BookingDto;
+import ru.modgy.booking.dto.NewBookingDto;
+import ru.modgy.booking.dto.UpdateBookingDto;
+import ru.modgy.booking.model.StatusBooking;
+import ru.modgy.booking.model.TypesBooking;
+import ru.modgy.booking.service.BookingService;
+import ru.modgy.exception.BadRequestException;
+import ru.modgy.owner.model.Owner;
+import ru.modgy.pet.model.Pet;
+import ru.modgy.pet.model.Sex;
+import ru.modgy.pet.model.TypeOfPet;
+import ru.modgy.report.dto.DailyOccupancyDto;
+import ru.modgy.report.dto.DailyRevenueDto;
+import ru.modgy.report.dto.OccupancyReportDto;
+import ru.modgy.report.dto.RevenueReportDto;
+import ru.modgy.room.category.model.Category;
+import ru.modgy.room.dto.UpdateRoomDto;
+import ru.modgy.room.model.Room;
+import ru.modgy.room.service.RoomService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@ActiveProfiles("test")
+class ReportServiceIntegrationTest {
+    private final LocalDate checkIn = LocalDate.of(2025, 1, 10);
+    private final LocalDate checkOut = LocalDate.of(2025, 1, 13);
+    private final Category category = Category.builder()
+            .name("Report room")
+            .build();
+    private final Room room = Room.builder()
+            .area(5.0)
+            .number("report room")
+            .category(category)
+            .isVisible(true)
+            .build();
+    private final Owner owner = Owner.builder()
+            .firstName("Ivan")
+            .mainPhone("89000000077")
+            .registrationDate(LocalDateTime.now())
+            .build();
+    private final Pet pet = Pet.builder()
+            .owner(owner)
+            .type(TypeOfPet.DOG)
+            .name("Шарик")
+            .breed("Spaniel")
+            .birthDate(LocalDate.of(2023, 1, 1))
+            .sex(Sex.FEMALE)
+            .build();
+    private final NewBookingDto newBookingDto = NewBookingDto.builder()
+            .type(TypesBooking.TYPE_BOOKING)
+            .checkInDate(checkIn)
+            .checkOutDate(checkOut)
+            .amount(100.0)
+            .prepaymentAmount(10.0)
+            .build();
+    private final EntityManager em;
+    private final ReportService reportService;
+    private final BookingService bookingService;
+    private final RoomService roomService;
+
+    @BeforeEach
+    void setUp() {
+        em.persist(category);
+        em.persist(room);
+        em.persist(owner);
+        em.persist(pet);
+        newBookingDto.setRoomId(room.getId());
+        newBookingDto.setPetIds(List.of(pet.getId()));
+    }
+
+    @Test
+    void getOccupancyReport_whenBookingAdded_thenCheckOutDayFree() {
+        bookingService.addBooking(1L, newBookingDto);
+
+        OccupancyReportDto report = reportService.getOccupancyReport(1L, checkIn.minusDays(1), checkOut,
+                category.getId());
+
+        assertEquals(1L, report.getTotalRooms());
+        assertEquals(List.of(0L, 1L, 1L, 1L, 0L),
+                report.getDays().stream().map(DailyOccupancyDto::getOccupiedRooms).toList());
+        assertEquals(1.0, report.getDays().get(1).getOccupancy());
+        assertEquals(1L, report.getDays().get(1).getPets());
+    }
+
+    @Test
+    void getRevenueReport_whenBookingAdded_thenAmountSplitByDays() {
+        bookingService.addBooking(1L, newBookingDto);
+
+        RevenueReportDto report = reportService.getRevenueReport(1L, checkIn, checkOut, category.getId());
+
+        assertEquals(List.of(new BigDecimal("33.3334"), new BigDecimal("33.3333"), new BigDecimal("33.3333"),
+                        new BigDecimal("0.0000")),
+                report.getDays().stream().map(DailyRevenueDto::getRevenue).toList());
+        assertEquals(new BigDecimal("100.0000"), report.getRevenue());
+        assertEquals(new BigDecimal("10.0000"), report.getPrepayments());
+    }
+
+    @Test
+    void getRevenueReport_whenBookingCancelled_thenContributionRemoved() {
+        BookingDto added = bookingService.addBooking(1L, newBookingDto);
+        bookingService.updateBooking(1L, added.getId(), UpdateBookingDto.builder()
+                .status(StatusBooking.STATUS_CANCELLED)
+                .build());
+
+        RevenueReportDto revenue = reportService.getRevenueReport(1L, checkIn, checkOut, category.getId());
+        OccupancyReportDto occupancy = reportService.getOccupancyReport(1L, checkIn, checkOut, category.getId());
+
+        assertEquals(new BigDecimal("0.0000"), revenue.getRevenue());
+        occupancy.getDays().forEach(day -> assertEquals(0L, day.getOccupiedRooms()));
+    }
+
+    @Test
+    void getOccupancyReport_whenBookingMovedAndDeleted_thenDaysFollowBooking() {
+        BookingDto added = bookingService.addBooking(1L, newBookingDto);
+        BookingDto updated = bookingService.updateBooking(1L, added.getId(), UpdateBookingDto.builder()
+                .checkInDate(checkIn.plusDays(1))
+                .checkOutDate(checkOut.plusDays(1))
+                .build());
+
+        assertEquals(List.of(0L, 1L, 1L, 1L), reportService.getOccupancyReport(1L, checkIn, checkOut, category.getId())
+                .getDays().stream().map(DailyOccupancyDto::getOccupiedRooms).toList());
+
+        bookingService.deleteBookingById(1L, updated.getId());
+
+        assertEquals(List.of(0L, 0L, 0L, 0L), reportService.getOccupancyReport(1L, checkIn, checkOut, category.getId())
+                .getDays().stream().map(DailyOccupancyDto::getOccupiedRooms).toList());
+    }
+
+    @Test
+    void getRevenueReport_whenRoomMovedToAnotherCategory_thenBookingsMovedWithRoom() {
+        BookingDto added = bookingService.addBooking(1L, newBookingDto);
+        Category otherCategory = Category.builder()
+                .name("Other report room")
+                .build();
+        em.persist(otherCategory);
+
+        roomService.updateRoom(1L, room.getId(), UpdateRoomDto.builder().categoryId(otherCategory.getId()).build());
+
+        assertEquals(new BigDecimal("0.0000"),
+                reportService.getRevenueReport(1L, checkIn, checkOut, category.getId()).getRevenue());
+        assertEquals(new BigDecimal("100.0000"),
+                reportService.getRevenueReport(1L, checkIn, checkOut, otherCategory.getId()).getRevenue());
+        assertEquals(List.of(1L, 1L, 1L, 0L), reportService.getOccupancyReport(1L, checkIn, checkOut,
+                otherCategory.getId()).getDays().stream().map(DailyOccupancyDto::getOccupiedRooms).toList());
+
+        bookingService.deleteBookingById(1L, added.getId());
+
+        for (Long categoryId : List.of(category.getId(), otherCategory.getId())) {
+            assertEquals(new BigDecimal("0.0000"),
+                    reportService.getRevenueReport(1L, checkIn, checkOut, categoryId).getRevenue());
+            reportService.getOccupancyReport(1L, checkIn, checkOut, categoryId).getDays()
+                    .forEach(day -> assertEquals(0L, day.getOccupiedRooms()));
+        }
+    }
+
+    @Test
+    void rebuildDailyRoomStats_whenCalled_thenSameAsIncremental() {
+        bookingService.addBooking(1L, newBookingDto);
+        LocalDate startDate = checkIn.minusMonths(1);
+        LocalDate endDate = checkOut.plusMonths(1);
+        OccupancyReportDto occupancy = reportService.getOccupancyReport(1L, startDate, endDate, category.getId());
+        RevenueReportDto revenue = reportService.getRevenueReport(1L, startDate, endDate, category.getId());
+
+        reportService.rebuildDailyRoomStats(1L);
+
+        assertEquals(occupancy, reportService.getOccupancyReport(1L, startDate, endDate, category.getId()));
+        assertEquals(revenue, reportService.getRevenueReport(1L, startDate, endDate, category.getId()));
+    }
+
+    @Test
+    void getRevenueReport_whenPeriodTooLong_thenBadRequestException() {
+        LocalDate startDate = LocalDate.of(2020, 1, 1);
+
+        assertThrows(BadRequestException.class,
+                () -> reportService.getRevenueReport(1L, startDate, startDate.plusYears(5), null));
+    }
+}
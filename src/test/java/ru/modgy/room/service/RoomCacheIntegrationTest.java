@@ -0,0 +1,102 @@
+package ru.modgy.room.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.modgy.room.category.model.Category;
+import ru.modgy.room.dto.RoomDto;
+import ru.modgy.room.dto.UpdateRoomDto;
+import ru.modgy.room.model.Room;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Кеш второго уровня заполняется после коммита, поэтому тест работает без @Transactional
+ * и удаляет свои данные сам
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+@ActiveProfiles("test")
+class RoomCacheIntegrationTest {
+    private final EntityManager em;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final RoomService roomService;
+    private Statistics statistics;
+    private Long roomId;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate.executeWithoutResult(status -> {
+            Category category = Category.builder().name("cached category").description("description").build();
+            em.persist(category);
+            Room room = Room.builder()
+                    .number("cached room")
+                    .area(10.0)
+                    .category(category)
+                    .description("description")
+                    .isVisible(true)
+                    .build();
+            em.persist(room);
+            roomId = room.getId();
+            categoryId = category.getId();
+        });
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.remove(em.find(Room.class, roomId));
+            em.remove(em.find(Category.class, categoryId));
+        });
+    }
+
+    @Test
+    void getRoomById_whenRoomReadTwice_thenSecondReadFromCache() {
+        roomService.getRoomById(1L, roomId);
+        long missesAfterFirstRead = statistics.getSecondLevelCacheMissCount();
+
+        roomService.getRoomById(1L, roomId);
+
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+        assertEquals(missesAfterFirstRead, statistics.getSecondLevelCacheMissCount());
+    }
+
+    @Test
+    void getAllRooms_whenRoomHidden_thenCachedQueryResultInvalidated() {
+        roomService.getAllRooms(1L, true);
+        roomService.getAllRooms(1L, true);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        roomService.hideRoomById(1L, roomId);
+        Collection<RoomDto> visibleRooms = roomService.getAllRooms(1L, true);
+        Collection<RoomDto> hiddenRooms = roomService.getAllRooms(1L, false);
+
+        assertTrue(visibleRooms.stream().noneMatch(room -> room.getId().equals(roomId)));
+        assertTrue(hiddenRooms.stream().anyMatch(room -> room.getId().equals(roomId)));
+    }
+
+    @Test
+    void getRoomById_whenRoomUpdated_thenCachedRoomUpdated() {
+        roomService.getRoomById(1L, roomId);
+
+        roomService.updateRoom(1L, roomId, UpdateRoomDto.builder().number("updated cached room").build());
+
+        assertEquals("updated cached room", roomService.getRoomById(1L, roomId).getNumber());
+    }
+}
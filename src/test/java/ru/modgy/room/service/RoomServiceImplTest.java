@@ -15,6 +15,7 @@ import ru.modgy.booking.repository.BookingRepository;
 import ru.modgy.exception.ConflictException;
 import ru.modgy.exception.NotFoundException;
 import ru.modgy.pet.model.Pet;
+import ru.modgy.report.service.DailyRoomStatsUpdater;
 import ru.modgy.room.category.dto.CategoryDto;
 import ru.modgy.room.category.dto.mapper.CategoryMapper;
 import ru.modgy.room.category.model.Category;
@@ -130,6 +131,8 @@ class RoomServiceImplTest {
     private CategoryMapper categoryMapper;
     @Mock
     private EntityService entityService;
+    @Mock
+    private DailyRoomStatsUpdater dailyRoomStatsUpdater;
 
     @Test
     void addRoom_whenAddRoomByBoss_thenRoomAdded() {
@@ -185,17 +188,8 @@ class RoomServiceImplTest {
                 .isVisible(false)
                 .build();
 
-        Room newRoom = Room.builder()
-                .area(10.0)
-                .number("new standard room")
-                .category(new Category(1L, "name", "description"))
-                .isVisible(false)
-                .build();
-
         when(entityService.getCategoryIfExists(anyLong())).thenReturn(category);
         when(entityService.getRoomIfExists(anyLong())).thenReturn(room);
-        when(roomRepository.save(any(Room.class))).thenReturn(newRoom);
-        when(roomMapper.toRoom(any(UpdateRoomDto.class))).thenReturn(room);
         when(roomMapper.toRoomDto(any(Room.class))).thenReturn(updatedRoomDto);
 
         RoomDto result = roomService.updateRoom(boss.getId(), room.getId(), newRoomDto);
@@ -207,7 +201,8 @@ class RoomServiceImplTest {
         Assertions.assertFalse(result.getIsVisible());
         Assertions.assertEquals(updatedRoomDto.getNumber(), result.getNumber());
 
-        verify(roomRepository, times(1)).save(any(Room.class));
+        verify(roomMapper, times(1)).updateRoom(newRoomDto, room);
+        verify(roomRepository, never()).save(any(Room.class));
     }
 
     @Test
@@ -224,21 +219,9 @@ class RoomServiceImplTest {
                 .isVisible(true)
                 .build();
 
-        Room updatedRoom = Room.builder()
-                .build();
-
-        Room newRoom = Room.builder()
-                .area(10.0)
-                .number("standard room")
-                .category(new Category(1L, "name", "description"))
-                .isVisible(true)
-                .build();
-
         when(entityService.getCategoryIfExists(anyLong())).thenReturn(category);
         when(categoryMapper.toCategoryDto(any(Category.class))).thenReturn(categoryDto);
         when(entityService.getRoomIfExists(anyLong())).thenReturn(room);
-        when(roomRepository.save(any(Room.class))).thenReturn(newRoom);
-        when(roomMapper.toRoom(any(UpdateRoomDto.class))).thenReturn(updatedRoom);
         when(roomMapper.toRoomDto(any(Room.class))).thenReturn(updatedRoomDto);
 
         RoomDto result = roomService.updateRoom(boss.getId(), room.getId(), newRoomDto);
@@ -250,7 +233,8 @@ class RoomServiceImplTest {
         Assertions.assertTrue(result.getIsVisible());
         Assertions.assertEquals(updatedRoomDto.getNumber(), result.getNumber());
 
-        verify(roomRepository, times(1)).save(any(Room.class));
+        verify(roomMapper, times(1)).updateRoom(newRoomDto, room);
+        verify(roomRepository, never()).save(any(Room.class));
     }
 
     @Test
@@ -267,21 +251,8 @@ class RoomServiceImplTest {
                 .isVisible(false)
                 .build();
 
-        Room updatedRoom = Room.builder()
-                .isVisible(false)
-                .build();
-
-        Room newRoom = Room.builder()
-                .area(5.0)
-                .number("standard room")
-                .category(new Category(1L, "name", "description"))
-                .isVisible(false)
-                .build();
-
         when(entityService.getCategoryIfExists(anyLong())).thenReturn(category);
         when(entityService.getRoomIfExists(anyLong())).thenReturn(room);
-        when(roomRepository.save(any(Room.class))).thenReturn(newRoom);
-        when(roomMapper.toRoom(any(UpdateRoomDto.class))).thenReturn(updatedRoom);
         when(roomMapper.toRoomDto(any(Room.class))).thenReturn(updatedRoomDto);
 
         RoomDto result = roomService.updateRoom(boss.getId(), room.getId(), newRoomDto);
@@ -293,7 +264,8 @@ class RoomServiceImplTest {
         Assertions.assertFalse(result.getIsVisible());
         Assertions.assertEquals(updatedRoomDto.getNumber(), result.getNumber());
 
-        verify(roomRepository, times(1)).save(any(Room.class));
+        verify(roomMapper, times(1)).updateRoom(newRoomDto, room);
+        verify(roomRepository, never()).save(any(Room.class));
     }
 
     @Test
@@ -0,0 +1,47 @@
+package ru.modgy.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+class NgramIndexTest {
+    private final NgramIndex index = new NgramIndex(List.of(
+            new SearchDocument(1L, "Барсик Сиамская"),
+            new SearchDocument(2L, "Шарик Spaniel"),
+            new SearchDocument(3L, "Бобик Spaniel"),
+            new SearchDocument(4L, "+79001234567 ")));
+
+    @Test
+    void trigrams_whenTwoWords_thenWordsPaddedLikePgTrgm() {
+        Assertions.assertEquals(Set.of("  a", " ab", "ab ", "  c", " c "), NgramIndex.trigrams("ab c"));
+    }
+
+    @Test
+    void search_whenQueryWithTypo_thenFound() {
+        Assertions.assertEquals(List.of(1L), index.search("барсек", FuzzySearchService.SIMILARITY_THRESHOLD, 10));
+    }
+
+    @Test
+    void search_whenQueryIsSubstring_thenFoundFirst() {
+        List<Long> result = index.search("ик", FuzzySearchService.SIMILARITY_THRESHOLD, 10);
+
+        Assertions.assertEquals(List.of(1L, 2L, 3L), result);
+    }
+
+    @Test
+    void search_whenPartOfPhone_thenFound() {
+        Assertions.assertEquals(List.of(4L), index.search("1234567", FuzzySearchService.SIMILARITY_THRESHOLD, 10));
+    }
+
+    @Test
+    void search_whenLimitLessThanFound_thenLimited() {
+        Assertions.assertEquals(2, index.search("spaniel", FuzzySearchService.SIMILARITY_THRESHOLD, 2).size());
+    }
+
+    @Test
+    void search_whenNothingSimilar_thenEmpty() {
+        Assertions.assertTrue(index.search("мурзик", FuzzySearchService.SIMILARITY_THRESHOLD, 10).isEmpty());
+    }
+}
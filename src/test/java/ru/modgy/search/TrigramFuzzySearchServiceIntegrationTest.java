@@ -0,0 +1,79 @@
+package ru.modgy.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+/**
+ * Запускается на PostgreSQL в контейнере без профилей ci и test, как в рабочем окружении.
+ * Без Docker пропускается
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class TrigramFuzzySearchServiceIntegrationTest {
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private FuzzySearchService fuzzySearchService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    void schema_whenApplicationStarted_thenTrigramIndexesCreatedAfterTables() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE indexname LIKE '%trgm'", String.class);
+
+        assertThat(fuzzySearchService, instanceOf(TrigramFuzzySearchService.class));
+        assertThat(indexes, containsInAnyOrder("idx_pets_search_trgm", "idx_owners_name_search_trgm",
+                "idx_owners_phone_search_trgm", "idx_pets_name_trgm"));
+    }
+
+    @Test
+    @Transactional
+    void findPetIds_whenSeqScanDisabled_thenTrigramIndexUsed() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN SELECT id_pets FROM pets WHERE 'шарик' <% " +
+                                                      TrigramFuzzySearchService.PET_TEXT, String.class);
+
+        assertThat(String.join("\n", plan), containsString("idx_pets_search_trgm"));
+    }
+
+    @Test
+    @Transactional
+    void findOwnerIdsByName_whenQueryWithTypo_thenFound() {
+        // латиница не зависит от локали кластера: для кириллицы pg_trgm нужна локаль с ее поддержкой
+        jdbcTemplate.update("INSERT INTO owners (last_name_owners, first_name_owners, main_phone_owners, " +
+                            "registration_date_owners) VALUES ('Smith', 'Jonathan', '89110001122', now())");
+        Long ownerId = jdbcTemplate.queryForObject(
+                "SELECT id_owners FROM owners WHERE main_phone_owners = '89110001122'", Long.class);
+
+        assertThat(fuzzySearchService.findOwnerIdsByName("jonatan", 10), contains(ownerId));
+        // совпадение по подстроке идет первым, похожие номера других клиентов - после него
+        assertThat(fuzzySearchService.findOwnerIdsByPhone("8911000", 10).get(0), equalTo(ownerId));
+    }
+}
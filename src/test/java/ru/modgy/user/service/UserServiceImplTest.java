@@ -15,10 +15,13 @@ import ru.modgy.user.dto.NewUserDto;
 import ru.modgy.user.dto.UpdateUserDto;
 import ru.modgy.user.dto.UserDto;
 import ru.modgy.user.dto.mapper.UserMapper;
+import ru.modgy.user.dto.mapper.UserMapperImpl;
 import ru.modgy.user.model.Roles;
 import ru.modgy.user.model.User;
 import ru.modgy.user.repository.UserRepository;
 import ru.modgy.utility.EntityService;
+import ru.modgy.utility.RequesterContext;
+import ru.modgy.utility.RequesterInfo;
 import ru.modgy.utility.UtilityService;
 
 import java.util.Arrays;
@@ -42,12 +45,17 @@ class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    private final UserMapper realUserMapper = new UserMapperImpl();
+
     @Mock
     private UtilityService utilityService;
 
     @Mock
     private EntityService entityService;
 
+    @Mock
+    private RequesterContext requesterContext;
+
     final long requesterId = 1L;
     final User requester = User.builder()
             .email("requester@mail.ru")
@@ -271,452 +279,107 @@ class UserServiceImplTest {
 
     @Test
     void updateUser_whenRequesterBossAndUserFoundAndAllNewFieldsNotNull_thenUpdateAllFieldsThanIdAndIsActive() {
-        Roles requesterRole = Roles.ROLE_BOSS;
-        Roles oldUserRole = Roles.ROLE_USER;
-        Roles newUserRole = Roles.ROLE_FINANCIAL;
-        requester.setRole(requesterRole);
-
-        UpdateUserDto newUserDto = UpdateUserDto.builder()
-                .lastName("new" + userLastName)
-                .firstName("new" + userFirstName)
-                .middleName("new" + userMiddleName)
-                .email("new" + email)
-                .role(newUserRole)
-                .password("new" + userPassword)
-                .build();
-
-        User oldUser = User.builder()
-                .id(userId)
-                .lastName(userLastName)
-                .firstName(userFirstName)
-                .middleName(userMiddleName)
-                .email(email)
-                .role(oldUserRole)
-                .password(userPassword)
-                .build();
-
-        User newUser = User.builder()
-                .id(oldUser.getId())
-                .lastName(newUserDto.getLastName())
-                .firstName(newUserDto.getFirstName())
-                .middleName(newUserDto.getMiddleName())
-                .email(newUserDto.getEmail())
-                .role(newUserDto.getRole())
-                .password(newUserDto.getPassword())
-                .isActive(oldUser.getIsActive())
-                .build();
-
-        User userAfter = User.builder()
-                .id(oldUser.getId())
-                .lastName(newUserDto.getLastName())
-                .firstName(newUserDto.getFirstName())
-                .middleName(newUserDto.getMiddleName())
-                .email(newUserDto.getEmail())
-                .role(newUserDto.getRole())
-                .password(newUserDto.getPassword())
-                .isActive(oldUser.getIsActive())
-                .build();
-
-        UserDto userDtoAfter = UserDto.builder()
-                .id(userAfter.getId())
-                .lastName(userAfter.getLastName())
-                .firstName(userAfter.getFirstName())
-                .middleName(userAfter.getMiddleName())
-                .email(userAfter.getEmail())
-                .role(userAfter.getRole())
-                .password(userAfter.getPassword())
-                .isActive(userAfter.getIsActive())
-                .build();
+        requester.setRole(Roles.ROLE_BOSS);
+        UpdateUserDto newUserDto = fullUpdateUserDto(Roles.ROLE_FINANCIAL);
+        User oldUser = oldUser(Roles.ROLE_USER);
+        UserDto userDtoAfter = UserDto.builder().id(userId).build();
 
         when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
         when(entityService.getUserIfExists(userId)).thenReturn(oldUser);
-        when(userMapper.toUser(newUserDto)).thenReturn(newUser);
-        when(userRepository.save(newUser)).thenReturn(userAfter);
-        when(userMapper.toUserDto(userAfter)).thenReturn(userDtoAfter);
+        patchWithRealMapper();
+        when(userMapper.toUserDto(oldUser)).thenReturn(userDtoAfter);
 
         UserDto returnedUserDto = userService.updateUser(requesterId, userId, newUserDto);
 
-        verify(userRepository).save(userArgumentCaptor.capture());
-        User userForSave = userArgumentCaptor.getValue();
-
         assertAll(
-                () -> assertEquals(userDtoAfter, returnedUserDto,
-                        "entity field test failed"),
-                () -> assertEquals(userId, userForSave.getId(),
-                        "id field test1 failed"),
-                () -> assertEquals(oldUser.getId(), userForSave.getId(),
-                        "id field test2 failed"),
-                () -> assertEquals(newUserDto.getLastName(), userForSave.getLastName(),
-                        "lastName field test failed"),
-                () -> assertEquals(newUserDto.getFirstName(), userForSave.getFirstName(),
-                        "firstName field test failed"),
-                () -> assertEquals(newUserDto.getMiddleName(), userForSave.getMiddleName(),
+                () -> assertEquals(userDtoAfter, returnedUserDto, "entity field test failed"),
+                () -> assertEquals(userId, oldUser.getId(), "id field test failed"),
+                () -> assertEquals(newUserDto.getLastName(), oldUser.getLastName(), "lastName field test failed"),
+                () -> assertEquals(newUserDto.getFirstName(), oldUser.getFirstName(), "firstName field test failed"),
+                () -> assertEquals(newUserDto.getMiddleName(), oldUser.getMiddleName(),
                         "middleName field test failed"),
-                () -> assertEquals(newUserDto.getEmail(), userForSave.getEmail(),
-                        "email field test failed"),
-                () -> assertEquals(newUserDto.getRole(), userForSave.getRole(),
-                        "role field test failed"),
-
-
-                () -> verify(entityService).getUserIfExists(requesterId),
-                () -> verify(entityService).getUserIfExists(userId),
-                () -> verify(userMapper).toUser(newUserDto),
-                () -> verify(userRepository).save(newUser),
-                () -> verify(userMapper).toUserDto(userAfter)
+                () -> assertEquals(newUserDto.getEmail(), oldUser.getEmail(), "email field test failed"),
+                () -> assertEquals(newUserDto.getPassword(), oldUser.getPassword(), "password field test failed"),
+                () -> assertEquals(newUserDto.getRole(), oldUser.getRole(), "role field test failed"),
+                () -> assertEquals(isActive, oldUser.getIsActive(), "isActive field test failed"),
+                () -> verify(utilityService).checkHigherOrdinalRoleAccessForUsers(requester, oldUser),
+                () -> verify(utilityService).checkHigherOrdinalRoleAccessForUsers(requester, newUserDto.getRole()),
+                () -> verify(userMapper).updateUser(newUserDto, oldUser),
+                () -> verify(userRepository, never()).save(any()),
+                () -> verify(requesterContext).evict(userId)
         );
     }
 
     @Test
     void updateUser_whenRequesterBossAndUserFoundAndOnlyEmailNotNull_thenUpdateEmailOnly() {
-        Roles requesterRole = Roles.ROLE_BOSS;
-        Roles oldUserRole = Roles.ROLE_USER;
-        requester.setRole(requesterRole);
-
-        UpdateUserDto newUserDto = UpdateUserDto.builder()
-                .email("new" + email)
-                .build();
-
-        User oldUser = User.builder()
-                .id(userId)
-                .lastName(userLastName)
-                .firstName(userFirstName)
-                .middleName(userMiddleName)
-                .email(email)
-                .role(oldUserRole)
-                .password(userPassword)
-                .build();
-
-        User newUser = User.builder()
-                .id(oldUser.getId())
-                .lastName(newUserDto.getLastName())
-                .firstName(newUserDto.getFirstName())
-                .middleName(newUserDto.getMiddleName())
-                .email(newUserDto.getEmail())
-                .role(newUserDto.getRole())
-                .password(newUserDto.getPassword())
-                .isActive(oldUser.getIsActive())
-                .build();
-
-        User userAfter = User.builder()
-                .id(oldUser.getId())
-                .lastName(oldUser.getLastName())
-                .firstName(oldUser.getFirstName())
-                .middleName(oldUser.getMiddleName())
-                .email(newUserDto.getEmail())
-                .role(oldUser.getRole())
-                .password(oldUser.getPassword())
-                .isActive(oldUser.getIsActive())
-                .build();
-
-        UserDto userDtoAfter = UserDto.builder()
-                .id(userAfter.getId())
-                .lastName(userAfter.getLastName())
-                .firstName(userAfter.getFirstName())
-                .middleName(userAfter.getMiddleName())
-                .email(userAfter.getEmail())
-                .role(userAfter.getRole())
-                .password(userAfter.getPassword())
-                .isActive(userAfter.getIsActive())
-                .build();
+        requester.setRole(Roles.ROLE_BOSS);
+        UpdateUserDto newUserDto = UpdateUserDto.builder().email("new" + email).build();
+        User oldUser = oldUser(Roles.ROLE_USER);
 
         when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
         when(entityService.getUserIfExists(userId)).thenReturn(oldUser);
-        when(userMapper.toUser(newUserDto)).thenReturn(newUser);
-        when(userRepository.save(newUser)).thenReturn(userAfter);
-        when(userMapper.toUserDto(userAfter)).thenReturn(userDtoAfter);
+        patchWithRealMapper();
 
-        UserDto returnedUserDto = userService.updateUser(requesterId, userId, newUserDto);
-        verify(userRepository).save(userArgumentCaptor.capture());
-        User userForSave = userArgumentCaptor.getValue();
+        userService.updateUser(requesterId, userId, newUserDto);
 
         assertAll(
-                () -> assertEquals(userDtoAfter, returnedUserDto,
-                        "entity field test failed"),
-                () -> assertEquals(oldUser.getId(), userForSave.getId(),
-                        "id field test2 failed"),
-                () -> assertEquals(oldUser.getLastName(), userForSave.getLastName(),
-                        "lastName field test failed"),
-                () -> assertEquals(oldUser.getFirstName(), userForSave.getFirstName(),
-                        "firstName field test failed"),
-                () -> assertEquals(oldUser.getMiddleName(), userForSave.getMiddleName(),
-                        "middleName field test failed"),
-                () -> assertEquals(newUserDto.getEmail(), userForSave.getEmail(),
-                        "email field test failed"),
-                () -> assertEquals(oldUser.getRole(), userForSave.getRole(),
-                        "role field test failed"),
-
-                () -> verify(entityService).getUserIfExists(requesterId),
-                () -> verify(entityService).getUserIfExists(userId),
-                () -> verify(userMapper).toUser(newUserDto),
-                () -> verify(userRepository).save(newUser),
-                () -> verify(userMapper).toUserDto(userAfter)
+                () -> assertEquals(newUserDto.getEmail(), oldUser.getEmail(), "email field test failed"),
+                () -> assertEquals(userLastName, oldUser.getLastName(), "lastName field test failed"),
+                () -> assertEquals(userFirstName, oldUser.getFirstName(), "firstName field test failed"),
+                () -> assertEquals(userMiddleName, oldUser.getMiddleName(), "middleName field test failed"),
+                () -> assertEquals(userPassword, oldUser.getPassword(), "password field test failed"),
+                () -> assertEquals(Roles.ROLE_USER, oldUser.getRole(), "role field test failed"),
+                () -> assertEquals(isActive, oldUser.getIsActive(), "isActive field test failed"),
+                () -> verify(utilityService).checkHigherOrdinalRoleAccessForUsers(requester, (Roles) null),
+                () -> verify(userRepository, never()).save(any())
         );
     }
 
     @Test
     void updateUser_whenRequesterAdminAndUserFoundAndAllNewFieldsNotNull_thenUpdateAllFieldsThanIdAndIsActive() {
-        Roles requesterRole = Roles.ROLE_ADMIN;
-        Roles oldUserRole = Roles.ROLE_USER;
-        Roles newUserRole = Roles.ROLE_FINANCIAL;
-        requester.setRole(requesterRole);
-
-        UpdateUserDto newUserDto = UpdateUserDto.builder()
-                .lastName("new" + userLastName)
-                .firstName("new" + userFirstName)
-                .middleName("new" + userMiddleName)
-                .email("new" + email)
-                .role(newUserRole)
-                .password("new" + userPassword)
-                .build();
-
-        User oldUser = User.builder()
-                .id(userId)
-                .lastName(userLastName)
-                .firstName(userFirstName)
-                .middleName(userMiddleName)
-                .email(email)
-                .role(oldUserRole)
-                .password(userPassword)
-                .build();
-
-        User newUser = User.builder()
-                .id(oldUser.getId())
-                .lastName(newUserDto.getLastName())
-                .firstName(newUserDto.getFirstName())
-                .middleName(newUserDto.getMiddleName())
-                .email(newUserDto.getEmail())
-                .role(newUserDto.getRole())
-                .password(newUserDto.getPassword())
-                .isActive(oldUser.getIsActive())
-                .build();
-
-        User userAfter = User.builder()
-                .id(oldUser.getId())
-                .lastName(newUserDto.getLastName())
-                .firstName(newUserDto.getFirstName())
-                .middleName(newUserDto.getMiddleName())
-                .email(newUserDto.getEmail())
-                .role(newUserDto.getRole())
-                .password(newUserDto.getPassword())
-                .isActive(oldUser.getIsActive())
-                .build();
-
-        UserDto userDtoAfter = UserDto.builder()
-                .id(userAfter.getId())
-                .lastName(userAfter.getLastName())
-                .firstName(userAfter.getFirstName())
-                .middleName(userAfter.getMiddleName())
-                .email(userAfter.getEmail())
-                .role(userAfter.getRole())
-                .password(userAfter.getPassword())
-                .isActive(userAfter.getIsActive())
-                .build();
-
-        when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
-        when(entityService.getUserIfExists(userId)).thenReturn(oldUser);
-        when(userMapper.toUser(newUserDto)).thenReturn(newUser);
-        when(userRepository.save(newUser)).thenReturn(userAfter);
-        when(userMapper.toUserDto(userAfter)).thenReturn(userDtoAfter);
-
-        UserDto returnedUserDto = userService.updateUser(requesterId, userId, newUserDto);
-
-        verify(userRepository).save(userArgumentCaptor.capture());
-        User userForSave = userArgumentCaptor.getValue();
-
-        assertAll(
-                () -> assertEquals(userDtoAfter, returnedUserDto,
-                        "entity field test failed"),
-                () -> assertEquals(userId, userForSave.getId(),
-                        "id field test1 failed"),
-                () -> assertEquals(oldUser.getId(), userForSave.getId(),
-                        "id field test2 failed"),
-                () -> assertEquals(newUserDto.getLastName(), userForSave.getLastName(),
-                        "lastName field test failed"),
-                () -> assertEquals(newUserDto.getFirstName(), userForSave.getFirstName(),
-                        "firstName field test failed"),
-                () -> assertEquals(newUserDto.getMiddleName(), userForSave.getMiddleName(),
-                        "middleName field test failed"),
-                () -> assertEquals(newUserDto.getEmail(), userForSave.getEmail(),
-                        "email field test failed"),
-                () -> assertEquals(newUserDto.getRole(), userForSave.getRole(),
-                        "role field test failed"),
-
-
-                () -> verify(entityService).getUserIfExists(requesterId),
-                () -> verify(entityService).getUserIfExists(userId),
-                () -> verify(userMapper).toUser(newUserDto),
-                () -> verify(userRepository).save(newUser),
-                () -> verify(userMapper).toUserDto(userAfter)
-        );
-    }
-
-    @Test
-    void updateUser_whenRequesterAdminAndUserFoundAndOnlyEmailNotNull_thenUpdateEmailOnly() {
-        Roles requesterRole = Roles.ROLE_ADMIN;
-        Roles oldUserRole = Roles.ROLE_USER;
-        requester.setRole(requesterRole);
-
-        UpdateUserDto newUserDto = UpdateUserDto.builder()
-                .email("new" + email)
-                .build();
-
-        User oldUser = User.builder()
-                .id(userId)
-                .lastName(userLastName)
-                .firstName(userFirstName)
-                .middleName(userMiddleName)
-                .email(email)
-                .role(oldUserRole)
-                .password(userPassword)
-                .build();
-
-        User newUser = User.builder()
-                .id(oldUser.getId())
-                .lastName(newUserDto.getLastName())
-                .firstName(newUserDto.getFirstName())
-                .middleName(newUserDto.getMiddleName())
-                .email(newUserDto.getEmail())
-                .role(newUserDto.getRole())
-                .password(newUserDto.getPassword())
-                .isActive(oldUser.getIsActive())
-                .build();
-
-        User userAfter = User.builder()
-                .id(oldUser.getId())
-                .lastName(oldUser.getLastName())
-                .firstName(oldUser.getFirstName())
-                .middleName(oldUser.getMiddleName())
-                .email(newUserDto.getEmail())
-                .role(oldUser.getRole())
-                .password(oldUser.getPassword())
-                .isActive(oldUser.getIsActive())
-                .build();
-
-        UserDto userDtoAfter = UserDto.builder()
-                .id(userAfter.getId())
-                .lastName(userAfter.getLastName())
-                .firstName(userAfter.getFirstName())
-                .middleName(userAfter.getMiddleName())
-                .email(userAfter.getEmail())
-                .role(userAfter.getRole())
-                .password(userAfter.getPassword())
-                .isActive(userAfter.getIsActive())
-                .build();
+        requester.setRole(Roles.ROLE_ADMIN);
+        UpdateUserDto newUserDto = fullUpdateUserDto(Roles.ROLE_FINANCIAL);
+        User oldUser = oldUser(Roles.ROLE_USER);
 
         when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
         when(entityService.getUserIfExists(userId)).thenReturn(oldUser);
-        when(userMapper.toUser(newUserDto)).thenReturn(newUser);
-        when(userRepository.save(newUser)).thenReturn(userAfter);
-        when(userMapper.toUserDto(userAfter)).thenReturn(userDtoAfter);
+        patchWithRealMapper();
 
-        UserDto returnedUserDto = userService.updateUser(requesterId, userId, newUserDto);
-        verify(userRepository).save(userArgumentCaptor.capture());
-        User userForSave = userArgumentCaptor.getValue();
+        userService.updateUser(requesterId, userId, newUserDto);
 
         assertAll(
-                () -> assertEquals(userDtoAfter, returnedUserDto,
-                        "entity field test failed"),
-                () -> assertEquals(oldUser.getId(), userForSave.getId(),
-                        "id field test2 failed"),
-                () -> assertEquals(oldUser.getLastName(), userForSave.getLastName(),
-                        "lastName field test failed"),
-                () -> assertEquals(oldUser.getFirstName(), userForSave.getFirstName(),
-                        "firstName field test failed"),
-                () -> assertEquals(oldUser.getMiddleName(), userForSave.getMiddleName(),
-                        "middleName field test failed"),
-                () -> assertEquals(newUserDto.getEmail(), userForSave.getEmail(),
-                        "email field test failed"),
-                () -> assertEquals(oldUser.getRole(), userForSave.getRole(),
-                        "role field test failed"),
-
-                () -> verify(entityService).getUserIfExists(requesterId),
-                () -> verify(entityService).getUserIfExists(userId),
-                () -> verify(userMapper).toUser(newUserDto),
-                () -> verify(userRepository).save(newUser),
-                () -> verify(userMapper).toUserDto(userAfter)
+                () -> assertEquals(newUserDto.getLastName(), oldUser.getLastName(), "lastName field test failed"),
+                () -> assertEquals(newUserDto.getEmail(), oldUser.getEmail(), "email field test failed"),
+                () -> assertEquals(newUserDto.getRole(), oldUser.getRole(), "role field test failed"),
+                () -> assertEquals(isActive, oldUser.getIsActive(), "isActive field test failed"),
+                () -> verify(utilityService).checkHigherOrdinalRoleAccessForUsers(requester, newUserDto.getRole()),
+                () -> verify(userRepository, never()).save(any())
         );
     }
 
     @Test
     void updateUser_whenRequesterIsUserAndFoundAndAllNewFieldsNotNull_thenUpdateAllFieldsThanIdAndRoleAndIsActive() {
-        Roles requesterRole = Roles.ROLE_USER;
-        Roles newUserRole = Roles.ROLE_ADMIN;
-        userId = requesterId;
-        requester.setRole(requesterRole);
-
-        UpdateUserDto newUserDto = UpdateUserDto.builder()
-                .lastName("new" + requester.getLastName())
-                .firstName("new" + requester.getFirstName())
-                .middleName("new" + requester.getMiddleName())
-                .email("new" + requester.getEmail())
-                .role(newUserRole)
-                .password("new" + requester.getPassword())
-                .build();
-
-        User oldUser = requester;
-
-        User newUser = User.builder()
-                .lastName(newUserDto.getLastName())
-                .firstName(newUserDto.getFirstName())
-                .middleName(newUserDto.getMiddleName())
-                .email(newUserDto.getEmail())
-                .role(newUserDto.getRole())
-                .password(newUserDto.getPassword())
-                .build();
-
-        User userAfter = User.builder()
-                .id(oldUser.getId())
-                .lastName(newUserDto.getLastName())
-                .firstName(newUserDto.getFirstName())
-                .middleName(newUserDto.getMiddleName())
-                .email(newUserDto.getEmail())
-                .role(oldUser.getRole())
-                .password(newUserDto.getPassword())
-                .isActive(oldUser.getIsActive())
-                .build();
-
-        UserDto userDtoAfter = UserDto.builder()
-                .id(userAfter.getId())
-                .lastName(userAfter.getLastName())
-                .firstName(userAfter.getFirstName())
-                .middleName(userAfter.getMiddleName())
-                .email(userAfter.getEmail())
-                .role(userAfter.getRole())
-                .password(userAfter.getPassword())
-                .isActive(userAfter.getIsActive())
-                .build();
+        requester.setRole(Roles.ROLE_USER);
+        requester.setIsActive(true);
+        UpdateUserDto newUserDto = fullUpdateUserDto(Roles.ROLE_ADMIN);
 
+        when(utilityService.checkRequesterRequestsHimself(requesterId, requesterId)).thenReturn(true);
         when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
-        when(entityService.getUserIfExists(userId)).thenReturn(oldUser);
-        when(userMapper.toUser(newUserDto)).thenReturn(newUser);
-        when(userRepository.save(newUser)).thenReturn(userAfter);
-        when(userMapper.toUserDto(userAfter)).thenReturn(userDtoAfter);
-
-        UserDto returnedUserDto = userService.updateUser(requesterId, userId, newUserDto);
+        patchWithRealMapper();
 
-        verify(userRepository).save(userArgumentCaptor.capture());
-        User userForSave = userArgumentCaptor.getValue();
+        userService.updateUser(requesterId, requesterId, newUserDto);
 
         assertAll(
-                () -> assertEquals(userDtoAfter, returnedUserDto,
-                        "entity field test failed"),
-                () -> assertEquals(userId, userForSave.getId(),
-                        "id field test1 failed"),
-                () -> assertEquals(oldUser.getId(), userForSave.getId(),
-                        "id field test2 failed"),
-                () -> assertEquals(newUserDto.getLastName(), userForSave.getLastName(),
-                        "lastName field test failed"),
-                () -> assertEquals(newUserDto.getFirstName(), userForSave.getFirstName(),
-                        "firstName field test failed"),
-                () -> assertEquals(newUserDto.getMiddleName(), userForSave.getMiddleName(),
-                        "middleName field test failed"),
-                () -> assertEquals(newUserDto.getEmail(), userForSave.getEmail(),
-                        "email field test failed"),
-
-
-                () -> verify(userMapper).toUser(newUserDto),
-                () -> verify(userRepository).save(newUser),
-                () -> verify(userMapper).toUserDto(userAfter)
+                () -> assertEquals(newUserDto.getLastName(), requester.getLastName(), "lastName field test failed"),
+                () -> assertEquals(newUserDto.getEmail(), requester.getEmail(), "email field test failed"),
+                () -> assertEquals(Roles.ROLE_USER, requester.getRole(), "role field test failed"),
+                () -> assertEquals(true, requester.getIsActive(), "isActive field test failed"),
+                () -> verify(utilityService, never()).checkHigherOrdinalRoleAccessForUsers(any(User.class),
+                        nullable(Roles.class)),
+                () -> verify(utilityService, never()).checkHigherOrdinalRoleAccessForUsers(any(User.class),
+                        any(User.class)),
+                () -> verify(entityService, times(1)).getUserIfExists(anyLong()),
+                () -> verify(userRepository, never()).save(any())
         );
     }
 
@@ -731,196 +394,109 @@ class UserServiceImplTest {
 
     @Test
     void updateUser_whenUserNotFound_thenNotFoundException() {
-        Roles requesterRole = Roles.ROLE_ADMIN;
-        requester.setRole(requesterRole);
-        when(userMapper.toUser(any(UpdateUserDto.class))).thenReturn(new User());
-        doThrow(new NotFoundException(String.format("User with id=%d is not found", requesterId)))
+        requester.setRole(Roles.ROLE_ADMIN);
+        when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
+        doThrow(new NotFoundException(String.format("User with id=%d is not found", userId)))
                 .when(entityService).getUserIfExists(userId);
 
         assertThrows(NotFoundException.class,
                 () -> userService.updateUser(requesterId, userId, new UpdateUserDto()));
+        verify(userMapper, never()).updateUser(any(), any());
     }
 
     @Test
-    void updateUser_whenAdminUpdateBoss_thenNotAccessDeniedException() {
-        Roles requesterRole = Roles.ROLE_ADMIN;
-        Roles oldUserRole = Roles.ROLE_BOSS;
-
-        requester.setRole(requesterRole);
-
-        UpdateUserDto newUserDto = UpdateUserDto.builder()
-                .firstName(requester.getFirstName() + " new")
-                .email("new " + requester.getEmail())
-                .build();
-
-        User oldUser = User.builder()
-                .id(userId)
-                .firstName(userFirstName)
-                .email(email)
-                .role(oldUserRole)
-                .build();
-
-        User newUser = User.builder()
-                .id(oldUser.getId())
-                .firstName(newUserDto.getFirstName())
-                .email(newUserDto.getEmail())
-                .role(oldUser.getRole())
-                .build();
+    void updateUser_whenAdminUpdateBoss_thenAccessDeniedException() {
+        User oldUser = oldUser(Roles.ROLE_BOSS);
+        doThrow(accessDenied(Roles.ROLE_ADMIN))
+                .when(utilityService).checkHigherOrdinalRoleAccessForUsers(requester, oldUser);
 
-        when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
-        when(entityService.getUserIfExists(userId)).thenReturn(oldUser);
-        when(userMapper.toUser(any(UpdateUserDto.class))).thenReturn(newUser);
-        doThrow(new AccessDeniedException(String.format("User with role=%s, can't access for this action",
-                requesterRole))).when(utilityService).checkHigherOrdinalRoleAccessForUsers(any(User.class), any(User.class));
-
-        assertThrows(AccessDeniedException.class,
-                () -> userService.updateUser(requesterId, userId, newUserDto));
+        assertUpdateAccessDenied(Roles.ROLE_ADMIN, oldUser, null);
     }
 
     @Test
     void updateUser_whenAdminUpdateUserToAdmin_thenAccessDeniedException() {
-        Roles requesterRole = Roles.ROLE_ADMIN;
-        Roles oldUserRole = Roles.ROLE_USER;
-        Roles newUserRole = Roles.ROLE_ADMIN;
-
-        requester.setRole(requesterRole);
-
-        UpdateUserDto newUserDto = UpdateUserDto.builder()
-                .firstName(requester.getFirstName() + " new")
-                .email("new " + requester.getEmail())
-                .role(newUserRole)
-                .build();
+        doThrow(accessDenied(Roles.ROLE_ADMIN))
+                .when(utilityService).checkHigherOrdinalRoleAccessForUsers(requester, Roles.ROLE_ADMIN);
 
-        User oldUser = User.builder()
-                .id(userId)
-                .firstName(userFirstName)
-                .email(email)
-                .role(oldUserRole)
-                .build();
-
-        User newUser = User.builder()
-                .id(oldUser.getId())
-                .firstName(newUserDto.getFirstName())
-                .email(newUserDto.getEmail())
-                .role(newUserDto.getRole())
-                .build();
-
-        when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
-        when(entityService.getUserIfExists(userId)).thenReturn(oldUser);
-        when(userMapper.toUser(any(UpdateUserDto.class))).thenReturn(newUser);
-        doThrow(new AccessDeniedException(String.format("User with role=%s, can't access for this action",
-                requesterRole))).when(utilityService).checkHigherOrdinalRoleAccessForUsers(any(User.class), any(User.class));
-
-        assertThrows(AccessDeniedException.class,
-                () -> userService.updateUser(requesterId, userId, newUserDto));
+        assertUpdateAccessDenied(Roles.ROLE_ADMIN, oldUser(Roles.ROLE_USER), Roles.ROLE_ADMIN);
     }
 
     @Test
-    void updateUser_whenUserUpdateAdmin_thenAccessDeniedException() {
-        Roles requesterRole = Roles.ROLE_USER;
-        Roles oldUserRole = Roles.ROLE_ADMIN;
-
-        requester.setRole(requesterRole);
+    void updateUser_whenAdminUpdateUserToBoss_thenAccessDeniedException() {
+        doThrow(accessDenied(Roles.ROLE_ADMIN))
+                .when(utilityService).checkHigherOrdinalRoleAccessForUsers(requester, Roles.ROLE_BOSS);
 
-        UpdateUserDto newUserDto = UpdateUserDto.builder()
-                .firstName(requester.getFirstName() + " new")
-                .email("new " + requester.getEmail())
-                .build();
+        assertUpdateAccessDenied(Roles.ROLE_ADMIN, oldUser(Roles.ROLE_USER), Roles.ROLE_BOSS);
+    }
 
-        User oldUser = User.builder()
-                .id(userId)
-                .firstName(userFirstName)
-                .email(email)
-                .role(oldUserRole)
-                .build();
+    @Test
+    void updateUser_whenUserUpdateUser_thenAccessDeniedException() {
+        User oldUser = oldUser(Roles.ROLE_USER);
+        doThrow(accessDenied(Roles.ROLE_USER))
+                .when(utilityService).checkHigherOrdinalRoleAccessForUsers(requester, oldUser);
 
-        User newUser = User.builder()
-                .id(oldUser.getId())
-                .firstName(newUserDto.getFirstName())
-                .email(newUserDto.getEmail())
-                .role(oldUser.getRole())
-                .build();
+        assertUpdateAccessDenied(Roles.ROLE_USER, oldUser, null);
+    }
 
-        when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
-        when(entityService.getUserIfExists(userId)).thenReturn(oldUser);
-        when(userMapper.toUser(any(UpdateUserDto.class))).thenReturn(newUser);
-        doThrow(new AccessDeniedException(String.format("User with role=%s, can't access for this action",
-                requesterRole))).when(utilityService).checkHigherOrdinalRoleAccessForUsers(any(User.class), any(User.class));
+    @Test
+    void updateUser_whenUserUpdateFinancial_thenAccessDeniedException() {
+        User oldUser = oldUser(Roles.ROLE_FINANCIAL);
+        doThrow(accessDenied(Roles.ROLE_USER))
+                .when(utilityService).checkHigherOrdinalRoleAccessForUsers(requester, oldUser);
 
-        assertThrows(AccessDeniedException.class,
-                () -> userService.updateUser(requesterId, userId, newUserDto));
+        assertUpdateAccessDenied(Roles.ROLE_USER, oldUser, null);
     }
 
-    @Test
-    void updateUser_whenUserUpdateUser_thenAccessDeniedException() {
-        Roles requesterRole = Roles.ROLE_USER;
-        Roles oldUserRole = Roles.ROLE_USER;
+    private AccessDeniedException accessDenied(Roles requesterRole) {
+        return new AccessDeniedException(String.format("User with role=%s, can't access for this action",
+                requesterRole));
+    }
 
+    private void assertUpdateAccessDenied(Roles requesterRole, User oldUser, Roles newUserRole) {
         requester.setRole(requesterRole);
-
         UpdateUserDto newUserDto = UpdateUserDto.builder()
                 .firstName(requester.getFirstName() + " new")
-                .email("new " + requester.getEmail())
-                .build();
-
-        User oldUser = User.builder()
-                .id(userId)
-                .firstName(userFirstName)
-                .email(email)
-                .role(oldUserRole)
-                .build();
-
-        User newUser = User.builder()
-                .id(oldUser.getId())
-                .firstName(newUserDto.getFirstName())
-                .email(newUserDto.getEmail())
-                .role(oldUser.getRole())
+                .role(newUserRole)
                 .build();
 
         when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
         when(entityService.getUserIfExists(userId)).thenReturn(oldUser);
-        when(userMapper.toUser(any(UpdateUserDto.class))).thenReturn(newUser);
-        doThrow(new AccessDeniedException(String.format("User with role=%s, can't access for this action",
-                requesterRole))).when(utilityService).checkHigherOrdinalRoleAccessForUsers(any(User.class), any(User.class));
 
         assertThrows(AccessDeniedException.class,
                 () -> userService.updateUser(requesterId, userId, newUserDto));
+        verify(userMapper, never()).updateUser(any(), any());
+        assertEquals(userFirstName, oldUser.getFirstName());
     }
 
-    @Test
-    void updateUser_whenUserUpdateFinancial_thenNotAccessDeniedException() {
-        Roles requesterRole = Roles.ROLE_USER;
-        Roles oldUserRole = Roles.ROLE_FINANCIAL;
-
-        requester.setRole(requesterRole);
-
-        UpdateUserDto newUserDto = UpdateUserDto.builder()
-                .firstName(requester.getFirstName() + " new")
-                .email("new " + requester.getEmail())
+    private UpdateUserDto fullUpdateUserDto(Roles role) {
+        return UpdateUserDto.builder()
+                .lastName("new" + userLastName)
+                .firstName("new" + userFirstName)
+                .middleName("new" + userMiddleName)
+                .email("new" + email)
+                .role(role)
+                .password("new" + userPassword)
                 .build();
+    }
 
-        User oldUser = User.builder()
+    private User oldUser(Roles role) {
+        return User.builder()
                 .id(userId)
+                .lastName(userLastName)
                 .firstName(userFirstName)
+                .middleName(userMiddleName)
                 .email(email)
-                .role(oldUserRole)
-                .build();
-
-        User newUser = User.builder()
-                .id(oldUser.getId())
-                .firstName(newUserDto.getFirstName())
-                .email(newUserDto.getEmail())
-                .role(oldUser.getRole())
+                .role(role)
+                .password(userPassword)
+                .isActive(isActive)
                 .build();
+    }
 
-        when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
-        when(entityService.getUserIfExists(userId)).thenReturn(oldUser);
-        when(userMapper.toUser(any(UpdateUserDto.class))).thenReturn(newUser);
-        doThrow(new AccessDeniedException(String.format("User with role=%s, can't access for this action",
-                requesterRole))).when(utilityService).checkHigherOrdinalRoleAccessForUsers(any(User.class), any(User.class));
-
-        assertThrows(AccessDeniedException.class,
-                () -> userService.updateUser(requesterId, userId, newUserDto));
+    private void patchWithRealMapper() {
+        doAnswer(invocation -> {
+            realUserMapper.updateUser(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(userMapper).updateUser(any(UpdateUserDto.class), any(User.class));
     }
 
     @Test
@@ -963,7 +539,7 @@ class UserServiceImplTest {
 
         List<UserDto> userDtoList = List.of(userDto1, userDto2, userDto3);
 
-        when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
+        when(requesterContext.getActiveRequester(requesterId)).thenReturn(RequesterInfo.of(requester));
         when(userRepository.findAllByRoleIn(roles)).thenReturn(Optional.of(userList));
         when(userMapper.map(userList)).thenReturn(userDtoList);
 
@@ -1007,7 +583,7 @@ class UserServiceImplTest {
 
         List<UserDto> userDtoList = List.of(userDto1, userDto3);
 
-        when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
+        when(requesterContext.getActiveRequester(requesterId)).thenReturn(RequesterInfo.of(requester));
         when(userRepository.findAllByRoleInAndIsActive(roles, isActive)).thenReturn(Optional.of(userList));
         when(userMapper.map(userList)).thenReturn(userDtoList);
 
@@ -1042,7 +618,7 @@ class UserServiceImplTest {
 
         List<UserDto> userDtoList = List.of(userDto2);
 
-        when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
+        when(requesterContext.getActiveRequester(requesterId)).thenReturn(RequesterInfo.of(requester));
         when(userRepository.findAllByRoleInAndIsActive(roles, isActive)).thenReturn(Optional.of(userList));
         when(userMapper.map(userList)).thenReturn(userDtoList);
 
@@ -1085,7 +661,7 @@ class UserServiceImplTest {
 
         List<UserDto> userDtoList = List.of(userDto1, userDto3);
 
-        when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
+        when(requesterContext.getActiveRequester(requesterId)).thenReturn(RequesterInfo.of(requester));
         when(userRepository.findAllByRoleIn(roles)).thenReturn(Optional.of(userList));
         when(userMapper.map(userList)).thenReturn(userDtoList);
 
@@ -1119,7 +695,7 @@ class UserServiceImplTest {
 
         List<UserDto> userDtoList = List.of(userDto1);
 
-        when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
+        when(requesterContext.getActiveRequester(requesterId)).thenReturn(RequesterInfo.of(requester));
         when(userRepository.findAllByRoleInAndIsActive(roles, isActive)).thenReturn(Optional.of(userList));
         when(userMapper.map(userList)).thenReturn(userDtoList);
 
@@ -1153,7 +729,7 @@ class UserServiceImplTest {
 
         List<UserDto> userDtoList = List.of(userDto2);
 
-        when(entityService.getUserIfExists(requesterId)).thenReturn(requester);
+        when(requesterContext.getActiveRequester(requesterId)).thenReturn(RequesterInfo.of(requester));
         when(userRepository.findAllByRoleInAndIsActive(roles, isActive)).thenReturn(Optional.of(userList));
         when(userMapper.map(userList)).thenReturn(userDtoList);
 
@@ -1169,7 +745,7 @@ class UserServiceImplTest {
     @Test
     void getAllUsers_whenRequesterNotFound_thenNotFoundException() {
         doThrow(new NotFoundException(String.format("User with id=%d is not found", requesterId)))
-                .when(entityService).getUserIfExists(anyLong());
+                .when(requesterContext).getActiveRequester(anyLong());
 
         assertThrows(NotFoundException.class,
                 () -> userService.getAllUsers(requesterId, isActive));
@@ -1197,6 +773,7 @@ class UserServiceImplTest {
         verify(userRepository).deleteUserById(longArgumentCaptor.capture());
         Long idForDelete = longArgumentCaptor.getValue();
         assertEquals(userId, idForDelete);
+        verify(requesterContext).evict(userId);
     }
 
     @Test
@@ -6,8 +6,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
+import ru.modgy.exception.AccessDeniedException;
 import ru.modgy.user.dto.NewUserDto;
 import ru.modgy.user.dto.UpdateUserDto;
 import ru.modgy.user.dto.UserDto;
@@ -25,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @SpringBootTest
 @ActiveProfiles("test")
 @Sql(scripts = "classpath:schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@TestPropertySource(properties = "requester.cache.ttl=0s")
 public class UserServiceIntegrationTest {
     private final EntityManager em;
     private final UserService service;
@@ -134,6 +137,47 @@ public class UserServiceIntegrationTest {
         );
     }
 
+    @Test
+    void updateUser_whenOnlyFirstNameGiven_thenOtherFieldsKept() {
+        em.persist(requesterAdmin);
+        em.persist(user);
+        UpdateUserDto partialDto = UpdateUserDto.builder().firstName(userFirstName + " upd").build();
+
+        UserDto actualUser = service.updateUser(requesterAdmin.getId(), user.getId(), partialDto);
+
+        assertAll(
+                () -> assertEquals(partialDto.getFirstName(), actualUser.getFirstName()),
+                () -> assertEquals(userLastName, actualUser.getLastName()),
+                () -> assertEquals(userEmail, actualUser.getEmail()),
+                () -> assertEquals(userPassword, actualUser.getPassword()),
+                () -> assertEquals(userRole, actualUser.getRole()),
+                () -> assertEquals(isActive, actualUser.getIsActive())
+        );
+    }
+
+    @Test
+    void updateUser_whenUserUpdatesHimself_thenRoleKept() {
+        em.persist(requesterAdmin);
+
+        UserDto actualUser = service.updateUser(requesterAdmin.getId(), requesterAdmin.getId(), updateUserDto);
+
+        assertAll(
+                () -> assertEquals(updateUserDto.getFirstName(), actualUser.getFirstName()),
+                () -> assertEquals(Roles.ROLE_ADMIN, actualUser.getRole()),
+                () -> assertEquals(true, actualUser.getIsActive())
+        );
+    }
+
+    @Test
+    void updateUser_whenRoleNotLowerThanRequester_thenAccessDenied() {
+        em.persist(requesterAdmin);
+        em.persist(user);
+        UpdateUserDto bossDto = UpdateUserDto.builder().role(Roles.ROLE_BOSS).build();
+
+        assertThrows(AccessDeniedException.class,
+                () -> service.updateUser(requesterAdmin.getId(), user.getId(), bossDto));
+    }
+
     @Test
     void getAllUsers() {
         em.persist(user1);
@@ -0,0 +1,59 @@
+package ru.modgy.utility;
+
+import org.junit.jupiter.api.Test;
+import ru.modgy.exception.BadRequestException;
+import ru.modgy.exception.PreconditionFailedException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityVersionTest {
+
+    @Test
+    void fromIfMatch_whenHeaderAbsentOrAny_thenNoCondition() {
+        assertNull(EntityVersion.fromIfMatch(null));
+        assertNull(EntityVersion.fromIfMatch(" "));
+        assertNull(EntityVersion.fromIfMatch("*"));
+    }
+
+    @Test
+    void fromIfMatch_whenOneStrongTag_thenVersionReturned() {
+        assertEquals(List.of(3L), EntityVersion.fromIfMatch("\"3\""));
+    }
+
+    @Test
+    void fromIfMatch_whenListOfTags_thenEveryTagParsed() {
+        assertEquals(List.of(3L, 4L), EntityVersion.fromIfMatch("\"3\", \"4\""));
+        assertEquals(List.of(3L, 4L), EntityVersion.fromIfMatch("\"3\",\"4\""));
+    }
+
+    @Test
+    void fromIfMatch_whenWeakTag_thenPreconditionFailed() {
+        assertThrows(PreconditionFailedException.class, () -> EntityVersion.fromIfMatch("W/\"3\""));
+        assertThrows(PreconditionFailedException.class, () -> EntityVersion.fromIfMatch("W/\"3\", W/\"4\""));
+    }
+
+    @Test
+    void fromIfMatch_whenWeakAndStrongTags_thenOnlyStrongTagsReturned() {
+        assertEquals(List.of(4L), EntityVersion.fromIfMatch("W/\"3\", \"4\""));
+    }
+
+    @Test
+    void fromIfMatch_whenTagNotVersion_thenBadRequest() {
+        assertThrows(BadRequestException.class, () -> EntityVersion.fromIfMatch("\"abc\""));
+        assertThrows(BadRequestException.class, () -> EntityVersion.fromIfMatch("\"3\", \"abc\""));
+    }
+
+    @Test
+    void checkVersion_whenCurrentVersionInList_thenNoException() {
+        assertDoesNotThrow(() -> EntityVersion.checkVersion("Booking", 1L, 4L, List.of(3L, 4L)));
+        assertDoesNotThrow(() -> EntityVersion.checkVersion("Booking", 1L, 4L, null));
+    }
+
+    @Test
+    void checkVersion_whenCurrentVersionNotInList_thenPreconditionFailed() {
+        assertThrows(PreconditionFailedException.class,
+                () -> EntityVersion.checkVersion("Booking", 1L, 5L, List.of(3L, 4L)));
+    }
+}
@@ -0,0 +1,97 @@
+package ru.modgy.utility;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.modgy.exception.AccessDeniedException;
+import ru.modgy.exception.NotFoundException;
+import ru.modgy.user.model.Roles;
+import ru.modgy.user.model.User;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequesterContextTest {
+    private final User admin = User.builder()
+            .id(1L)
+            .firstName("admin")
+            .email("admin@pethotel.ru")
+            .role(Roles.ROLE_ADMIN)
+            .isActive(true)
+            .build();
+    @Mock
+    private EntityService entityService;
+    private RequesterContext requesterContext;
+
+    @BeforeEach
+    void setUp() {
+        requesterContext = new RequesterContext(entityService, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void getRequester_whenCalledTwice_thenUserLoadedOnce() {
+        when(entityService.getUserIfExists(admin.getId())).thenReturn(admin);
+
+        RequesterInfo first = requesterContext.getRequester(admin.getId());
+        RequesterInfo second = requesterContext.getRequester(admin.getId());
+
+        assertEquals(new RequesterInfo(admin.getId(), Roles.ROLE_ADMIN, true), first);
+        assertEquals(first, second);
+        verify(entityService, times(1)).getUserIfExists(admin.getId());
+    }
+
+    @Test
+    void getRequester_whenEvicted_thenUserReloaded() {
+        User boss = User.builder().id(admin.getId()).role(Roles.ROLE_BOSS).isActive(true).build();
+        when(entityService.getUserIfExists(admin.getId())).thenReturn(admin, boss);
+
+        requesterContext.getRequester(admin.getId());
+        requesterContext.evict(admin.getId());
+
+        Assertions.assertEquals(Roles.ROLE_BOSS, requesterContext.getRequester(admin.getId()).role());
+        verify(entityService, times(2)).getUserIfExists(admin.getId());
+    }
+
+    @Test
+    void getRequester_whenTtlExpired_thenUserReloaded() {
+        requesterContext = new RequesterContext(entityService, Duration.ZERO);
+        when(entityService.getUserIfExists(admin.getId())).thenReturn(admin);
+
+        requesterContext.getRequester(admin.getId());
+        requesterContext.getRequester(admin.getId());
+
+        verify(entityService, times(2)).getUserIfExists(admin.getId());
+    }
+
+    @Test
+    void getRequester_whenUserNotFound_thenNotFoundExceptionThrownEveryTime() {
+        when(entityService.getUserIfExists(0L)).thenThrow(new NotFoundException("User with id=0 is not found"));
+
+        assertThrows(NotFoundException.class, () -> requesterContext.getRequester(0L));
+        assertThrows(NotFoundException.class, () -> requesterContext.getRequester(0L));
+        verify(entityService, times(2)).getUserIfExists(0L);
+    }
+
+    @Test
+    void getActiveRequester_whenUserActive_thenRequesterReturned() {
+        when(entityService.getUserIfExists(admin.getId())).thenReturn(admin);
+
+        assertEquals(Roles.ROLE_ADMIN, requesterContext.getActiveRequester(admin.getId()).role());
+    }
+
+    @Test
+    void getActiveRequester_whenUserNotActive_thenAccessDeniedException() {
+        User inactive = User.builder().id(admin.getId()).role(Roles.ROLE_ADMIN).isActive(false).build();
+        when(entityService.getUserIfExists(admin.getId())).thenReturn(inactive);
+
+        assertThrows(AccessDeniedException.class, () -> requesterContext.getActiveRequester(admin.getId()));
+        assertEquals(false, requesterContext.getRequester(admin.getId()).isActive());
+    }
+}
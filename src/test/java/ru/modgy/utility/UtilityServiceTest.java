@@ -2,8 +2,8 @@ package ru.modgy.utility;
 
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -12,6 +12,8 @@ import ru.modgy.exception.AccessDeniedException;
 import ru.modgy.user.model.Roles;
 import ru.modgy.user.model.User;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
@@ -49,10 +51,14 @@ class UtilityServiceTest {
             .isActive(true)
             .build();
 
-    @InjectMocks
-    private UtilityService utilityService;
     @Mock
     private EntityService entityService;
+    private UtilityService utilityService;
+
+    @BeforeEach
+    void setUp() {
+        utilityService = new UtilityService(new RequesterContext(entityService, Duration.ofMinutes(1)));
+    }
 
     @Test
     void checkBossAdminAccess_whenCheckBoss_thenAccessGranted() {
@@ -297,4 +303,31 @@ class UtilityServiceTest {
     void checkHigherOrEqualOrdinalRoleAccess_whenCheckFinancialAndFinancial_thenAccessDenied() {
         assertThrows(AccessDeniedException.class, () -> utilityService.checkHigherOrdinalRoleAccessForUsers(financial, Roles.ROLE_FINANCIAL));
     }
+
+    @Test
+    void checkBossAdminAccess_whenBossNotActive_thenAccessDenied() {
+        User inactiveBoss = User.builder().id(boss.getId()).role(Roles.ROLE_BOSS).isActive(false).build();
+        when(entityService.getUserIfExists(anyLong())).thenReturn(inactiveBoss);
+
+        assertThrows(AccessDeniedException.class, () -> utilityService.checkBossAdminAccess(boss.getId()));
+    }
+
+    @Test
+    void checkHigherOrdinalRoleAccessForUsers_whenTargetUserNotActive_thenAccessGranted() {
+        User inactiveUser = User.builder().id(user.getId()).role(Roles.ROLE_USER).isActive(false).build();
+        when(entityService.getUserIfExists(boss.getId())).thenReturn(boss);
+        when(entityService.getUserIfExists(user.getId())).thenReturn(inactiveUser);
+
+        Assertions.assertDoesNotThrow(
+                () -> utilityService.checkHigherOrdinalRoleAccessForUsers(boss.getId(), user.getId()));
+    }
+
+    @Test
+    void checkRequesterRequestsHimself_whenRequesterNotActive_thenAccessDenied() {
+        User inactiveUser = User.builder().id(user.getId()).role(Roles.ROLE_USER).isActive(false).build();
+        when(entityService.getUserIfExists(user.getId())).thenReturn(inactiveUser);
+
+        assertThrows(AccessDeniedException.class,
+                () -> utilityService.checkRequesterRequestsHimself(user.getId(), user.getId()));
+    }
 }